@@ -0,0 +1,111 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.assertion;
+
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import fr.enedis.chutney.action.common.ResourceResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.xml.sax.SAXException;
+
+/**
+ * Compiled XSD and JSON schemas shared between validation actions, keyed by a hash of their content.
+ * <p>
+ * Both compiled forms are thread-safe : XSD {@link javax.xml.validation.Schema} gives a new validator for each validation,
+ * and JSON {@link Schema} validates without state.
+ * Resources imported by an XSD are resolved when it is compiled only, so changing them requires changing the main XSD or a restart.
+ */
+final class CompiledSchemas {
+
+    static final int DEFAULT_MAX_SCHEMAS = 256;
+
+    private static final CompiledSchemas SHARED = new CompiledSchemas(DEFAULT_MAX_SCHEMAS, globalRegistry);
+
+    private final Cache<String, javax.xml.validation.Schema> xsdSchemas;
+    private final Cache<String, Schema> jsonSchemas;
+
+    private final Counter xsdHitCounter;
+    private final Counter xsdMissCounter;
+    private final Counter jsonHitCounter;
+    private final Counter jsonMissCounter;
+
+    CompiledSchemas(int maxSchemas, MeterRegistry meterRegistry) {
+        this.xsdSchemas = CacheBuilder.newBuilder().maximumSize(maxSchemas).build();
+        this.jsonSchemas = CacheBuilder.newBuilder().maximumSize(maxSchemas).build();
+        this.xsdHitCounter = meterRegistry.counter("chutney_schema_cache", "type", "xsd", "result", "hit");
+        this.xsdMissCounter = meterRegistry.counter("chutney_schema_cache", "type", "xsd", "result", "miss");
+        this.jsonHitCounter = meterRegistry.counter("chutney_schema_cache", "type", "json", "result", "hit");
+        this.jsonMissCounter = meterRegistry.counter("chutney_schema_cache", "type", "json", "result", "miss");
+        Gauge.builder("chutney_schema_cache_size", this, c -> c.xsdSchemas.size() + c.jsonSchemas.size()).register(meterRegistry);
+    }
+
+    static CompiledSchemas shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param xsdPath location of the xsd, from which its imports are resolved
+     * @param content content of the xsd
+     */
+    javax.xml.validation.Schema xsd(String xsdPath, byte[] content) throws SAXException {
+        String key = xsdPath + "#" + Hashing.sha256().hashBytes(content);
+        javax.xml.validation.Schema schema = xsdSchemas.getIfPresent(key);
+        if (schema != null) {
+            xsdHitCounter.increment();
+            return schema;
+        }
+        xsdMissCounter.increment();
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        factory.setResourceResolver(new ResourceResolver(xsdPath));
+        schema = factory.newSchema(new StreamSource(new ByteArrayInputStream(content)));
+        xsdSchemas.put(key, schema);
+        return schema;
+    }
+
+    boolean containsJson(String schema) {
+        return jsonSchemas.getIfPresent(jsonKey(schema)) != null;
+    }
+
+    /**
+     * @param parsedSchema gives the parsed schema when it is not already compiled
+     */
+    Schema json(String schema, Supplier<JSONObject> parsedSchema) {
+        String key = jsonKey(schema);
+        Schema compiled = jsonSchemas.getIfPresent(key);
+        if (compiled != null) {
+            jsonHitCounter.increment();
+            return compiled;
+        }
+        jsonMissCounter.increment();
+        compiled = SchemaLoader.load(parsedSchema.get());
+        jsonSchemas.put(key, compiled);
+        return compiled;
+    }
+
+    long size() {
+        return xsdSchemas.size() + jsonSchemas.size();
+    }
+
+    private static String jsonKey(String schema) {
+        return Hashing.sha256().hashString(schema, StandardCharsets.UTF_8).toString();
+    }
+}
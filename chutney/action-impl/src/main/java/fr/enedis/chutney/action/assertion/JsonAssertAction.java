@@ -13,15 +13,14 @@ import static fr.enedis.chutney.action.spi.validation.Validator.getErrorsFrom;
 
 import fr.enedis.chutney.action.assertion.placeholder.PlaceholderAsserter;
 import fr.enedis.chutney.action.assertion.placeholder.PlaceholderAsserterUtils;
+import fr.enedis.chutney.action.common.ParsedDocuments;
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
 import fr.enedis.chutney.action.spi.injectable.Input;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
-import com.jayway.jsonpath.ReadContext;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
@@ -53,7 +52,7 @@ public class JsonAssertAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-            ReadContext json = JsonPath.parse(document, Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS));
+            ParsedDocuments.JsonDocument json = ParsedDocuments.shared().json(document, Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS));
 
             AtomicBoolean matchesOk = new AtomicBoolean(true);
             mapExpectedResults.forEach((path, expected) -> {
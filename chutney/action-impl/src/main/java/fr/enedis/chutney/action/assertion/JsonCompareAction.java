@@ -15,13 +15,12 @@ import static java.util.Optional.ofNullable;
 import static java.util.function.Predicate.not;
 
 import fr.enedis.chutney.action.common.JsonUtils;
+import fr.enedis.chutney.action.common.ParsedDocuments;
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
 import fr.enedis.chutney.action.spi.injectable.Input;
 import fr.enedis.chutney.action.spi.injectable.Logger;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
-import com.jayway.jsonpath.ReadContext;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -62,8 +61,8 @@ public class JsonCompareAction implements Action {
 
     @Override
     public ActionExecutionResult execute() {
-        ReadContext doc1 = JsonPath.parse(JsonUtils.jsonStringify(document1));
-        ReadContext doc2 = JsonPath.parse(JsonUtils.jsonStringify(document2));
+        ParsedDocuments.JsonDocument doc1 = ParsedDocuments.shared().json(JsonUtils.jsonStringify(document1));
+        ParsedDocuments.JsonDocument doc2 = ParsedDocuments.shared().json(JsonUtils.jsonStringify(document2));
         AtomicBoolean result = new AtomicBoolean(true);
         paths.forEach((path1, path2) -> {
             try {
@@ -19,17 +19,23 @@ import java.util.List;
 import java.util.Objects;
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
+/**
+ * Compiled schemas are shared between steps, see {@link CompiledSchemas}.
+ * Documents parsed when validating inputs are kept for the execution.
+ */
 public class JsonValidationAction implements Action {
 
     private final String json;
     private final String schema;
     private final Logger logger;
 
+    private JSONObject parsedJson;
+    private JSONObject parsedSchema;
+
     public JsonValidationAction(Logger logger, @Input("json") String json, @Input("schema") String schema) {
         this.logger = logger;
         this.json = json;
@@ -40,19 +46,18 @@ public class JsonValidationAction implements Action {
     public List<String> validateInputs() {
         Validator<String> jsonValidation = of(json)
             .validate(Objects::nonNull, "No json provided")
-            .validate(j -> new JSONObject(new JSONTokener(j)), noException -> true, "Cannot parse json");
+            .validate(j -> parsedJson = new JSONObject(new JSONTokener(j)), noException -> true, "Cannot parse json");
         Validator<String> schemaValidation = of(schema)
             .validate(Objects::nonNull, "No schema provided")
-            .validate(s -> new JSONObject(new JSONTokener(s)), noException -> true, "Cannot parse schema");
+            .validate(this::parseSchemaUnlessCompiled, noException -> true, "Cannot parse schema");
         return getErrorsFrom(jsonValidation, schemaValidation);
     }
 
     @Override
     public ActionExecutionResult execute() {
         try {
-            final JSONObject schemaJson = new JSONObject(new JSONTokener(schema));
-            final JSONObject document = new JSONObject(new JSONTokener(json));
-            final Schema createdSchema = SchemaLoader.load(schemaJson);
+            final JSONObject document = parsedJson != null ? parsedJson : new JSONObject(new JSONTokener(json));
+            final Schema createdSchema = CompiledSchemas.shared().json(schema, () -> parsedSchema != null ? parsedSchema : new JSONObject(new JSONTokener(schema)));
             createdSchema.validate(document);
         } catch (ValidationException validationException) {
             validationException.getAllMessages().forEach(message -> logger.error(message));
@@ -64,4 +69,11 @@ public class JsonValidationAction implements Action {
         return ActionExecutionResult.ok();
     }
 
+    private boolean parseSchemaUnlessCompiled(String schema) {
+        if (!CompiledSchemas.shared().containsJson(schema)) {
+            parsedSchema = new JSONObject(new JSONTokener(schema));
+        }
+        return true;
+    }
+
 }
@@ -11,7 +11,6 @@ import static fr.enedis.chutney.action.spi.validation.ActionValidatorsUtils.notB
 import static fr.enedis.chutney.action.spi.validation.Validator.getErrorsFrom;
 import static fr.enedis.chutney.action.spi.validation.Validator.of;
 
-import fr.enedis.chutney.action.common.ResourceResolver;
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
 import fr.enedis.chutney.action.spi.injectable.Input;
@@ -22,16 +21,16 @@ import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
-import javax.xml.XMLConstants;
-import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.xml.sax.SAXException;
 
+/**
+ * Compiled schemas are shared between steps, see {@link CompiledSchemas}.
+ */
 public class XsdValidationAction implements Action {
 
     private String xml;
@@ -56,13 +55,12 @@ public class XsdValidationAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            factory.setResourceResolver(new ResourceResolver(xsdPath));
-
             Resource resource = resourceLoader.getResource(xsdPath);
-            Source schemaSource = new StreamSource(resource.getInputStream());
-            Schema schema = factory.newSchema(schemaSource);
+            byte[] xsd;
+            try (var in = resource.getInputStream()) {
+                xsd = in.readAllBytes();
+            }
+            Schema schema = CompiledSchemas.shared().xsd(xsdPath, xsd);
             javax.xml.validation.Validator validator = schema.newValidator();
             try (StringReader sr = new StringReader(xml)) {
                 StreamSource ss = new StreamSource(sr);
@@ -9,8 +9,8 @@ package fr.enedis.chutney.action.assertion.placeholder;
 
 import static fr.enedis.chutney.action.common.JsonUtils.lenientEqual;
 
+import fr.enedis.chutney.action.common.ParsedDocuments;
 import fr.enedis.chutney.action.spi.injectable.Logger;
-import com.jayway.jsonpath.JsonPath;
 
 public class LenientEqualAsserter extends GuardedPlaceholderAsserter {
 
@@ -28,7 +28,7 @@ public class LenientEqualAsserter extends GuardedPlaceholderAsserter {
     @Override
     public boolean assertGuardedValue(Logger logger, Object actual, Object expected) {
         String expect = expected.toString().substring(IS_LENIENT_EQUAL.length());
-        Object expectedRead = JsonPath.parse(expect).read("$");
+        Object expectedRead = ParsedDocuments.shared().json(expect).read("$");
         return lenientEqual(actual, expectedRead, true);
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.common;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resources shared between actions, i.e. connection pools or clients, keyed by their configuration.
+ * <p>
+ * Resources not leased for the idle eviction duration are evicted, as well as least recently used ones when more than
+ * the maximum size are cached. An evicted resource is closed once its last lease is released, so running operations are never aborted.
+ * Eviction runs every {@link #EVICTION_PERIOD} on the {@link SharedResources} scheduler, as long as the registry is not closed.
+ * <p>
+ * Resources are created outside of the cache lock, since they may connect eagerly: leases of a resource being created wait for it,
+ * other leases are not blocked. A resource failing to be created is not cached, its pending leases failing with the same error.
+ * <p>
+ * A lease released by an interrupted thread (i.e. a stopped execution) retires its resource: interruption may have closed
+ * some of its connections mid-operation, so following leases get a new resource and the retired one is closed once released.
+ * <p>
+ * Cache hits and misses are counted by the {@code <name>_cache} counter, cached resources by the {@code <name>_cache_size} gauge.
+ *
+ * @param <K> resource key, holding everything the resource is configured with
+ */
+public class LeasedRegistry<K, R extends AutoCloseable> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeasedRegistry.class);
+
+    public static final Duration EVICTION_PERIOD = Duration.ofSeconds(30);
+
+    private final Cache<K, Pooled<R>> resources;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private volatile ScheduledFuture<?> eviction;
+
+    /**
+     * @param name metrics name prefix
+     */
+    public LeasedRegistry(String name, Duration idleEviction, MeterRegistry meterRegistry) {
+        this(name, idleEviction, Long.MAX_VALUE, meterRegistry);
+    }
+
+    public LeasedRegistry(String name, Duration idleEviction, long maxSize, MeterRegistry meterRegistry) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().expireAfterAccess(idleEviction);
+        if (maxSize < Long.MAX_VALUE) {
+            builder.maximumSize(maxSize);
+        }
+        this.resources = builder
+            .removalListener((RemovalNotification<K, Pooled<R>> notification) -> notification.getValue().retire())
+            .build();
+        this.hitCounter = meterRegistry.counter(name + "_cache", "result", "hit");
+        this.missCounter = meterRegistry.counter(name + "_cache", "result", "miss");
+        Gauge.builder(name + "_cache_size", resources, Cache::size).register(meterRegistry);
+    }
+
+    /**
+     * @param factory creates the resource when none matches given key
+     * @return a lease on the resource matching given key, to be released when no more operations are needed
+     */
+    public Lease<R> lease(K key, Function<? super K, ? extends R> factory) {
+        scheduleEviction();
+        boolean[] created = {false};
+        Pooled<R> pooled = resources.asMap().compute(key, (k, existing) -> {
+            if (existing != null && !existing.resource.isCompletedExceptionally() && existing.acquire()) {
+                return existing;
+            }
+            created[0] = true;
+            Pooled<R> pending = new Pooled<>();
+            pending.acquire();
+            return pending;
+        });
+        if (created[0]) {
+            missCounter.increment();
+            try {
+                pooled.resource.complete(factory.apply(key));
+            } catch (RuntimeException | Error e) {
+                pooled.resource.completeExceptionally(e);
+            }
+        } else {
+            hitCounter.increment();
+        }
+        try {
+            return new Lease<>(pooled, pooled.resource.join(), () -> resources.asMap().remove(key, pooled));
+        } catch (CompletionException e) {
+            resources.asMap().remove(key, pooled);
+            pooled.release();
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    public long size() {
+        return resources.size();
+    }
+
+    /**
+     * Close resources evicted for idleness, eviction being otherwise only done on registry accesses.
+     */
+    public void evictIdle() {
+        resources.cleanUp();
+    }
+
+    /**
+     * Close all resources once released. The registry can still be used, new leases opening new resources.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (eviction != null) {
+                eviction.cancel(false);
+                eviction = null;
+            }
+        }
+        resources.invalidateAll();
+        resources.cleanUp();
+    }
+
+    /**
+     * @return cached resources, including leased ones
+     */
+    protected Collection<R> resources() {
+        return resources.asMap().values().stream()
+            .filter(pooled -> pooled.resource.state() == Future.State.SUCCESS)
+            .map(pooled -> pooled.resource.resultNow())
+            .toList();
+    }
+
+    private void scheduleEviction() {
+        if (eviction == null) {
+            synchronized (this) {
+                if (eviction == null) {
+                    eviction = SharedResources.scheduleEviction(this::evictIdle, EVICTION_PERIOD);
+                }
+            }
+        }
+    }
+
+    public static class Lease<R extends AutoCloseable> {
+        private final Pooled<R> pooled;
+        private final R resource;
+        private final Runnable retire;
+        private boolean released = false;
+
+        private Lease(Pooled<R> pooled, R resource, Runnable retire) {
+            this.pooled = pooled;
+            this.resource = resource;
+            this.retire = retire;
+        }
+
+        public R resource() {
+            return resource;
+        }
+
+        public synchronized void release() {
+            if (!released) {
+                released = true;
+                if (Thread.currentThread().isInterrupted()) {
+                    LOGGER.debug("Retire {} released by an interrupted thread", resource);
+                    retire.run();
+                }
+                pooled.release();
+            }
+        }
+    }
+
+    private static class Pooled<R extends AutoCloseable> {
+        private final CompletableFuture<R> resource = new CompletableFuture<>();
+        private int leases = 0;
+        private boolean retired = false;
+        private boolean closed = false;
+
+        private synchronized boolean acquire() {
+            if (closed) {
+                return false;
+            }
+            leases++;
+            return true;
+        }
+
+        private synchronized void release() {
+            leases--;
+            closeIfUnused();
+        }
+
+        private synchronized void retire() {
+            retired = true;
+            closeIfUnused();
+        }
+
+        private void closeIfUnused() {
+            if (retired && leases == 0 && !closed) {
+                closed = true;
+                if (resource.state() == Future.State.SUCCESS) {
+                    R created = resource.resultNow();
+                    LOGGER.debug("Close {}", created);
+                    try {
+                        created.close();
+                    } catch (Exception e) {
+                        LOGGER.warn("Cannot close {}", created, e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.common;
+
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.jdom2.Attribute;
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Text;
+import org.jdom2.xpath.XPathExpression;
+
+/**
+ * Parsed JSON and XML documents, and compiled XPath expressions, shared between functions and actions reading them.
+ * <p>
+ * Documents are keyed by their text, so extracting many values from one payload parses it once.
+ * Documents are evicted by their estimated heap size, expressions by count.
+ * Shared documents are never handed out : read JSON objects and arrays, and selected XML nodes, are copies.
+ * Functions and actions modifying a document (i.e. jsonSet) parse their own copy.
+ * JsonPath expressions are not cached here, being already cached by the JsonPath library.
+ */
+public class ParsedDocuments {
+
+    public static final long DEFAULT_MAX_DOCUMENTS_WEIGHT = 128 * 1024 * 1024;
+    public static final int DEFAULT_MAX_EXPRESSIONS = 1024;
+
+    private static final ParsedDocuments SHARED = new ParsedDocuments(DEFAULT_MAX_DOCUMENTS_WEIGHT, DEFAULT_MAX_EXPRESSIONS, globalRegistry);
+
+    private final Cache<String, Weighted<Object>> jsonDocuments;
+    private final Cache<String, Weighted<Document>> xmlDocuments;
+    private final Cache<List<Object>, XPathExpression<Object>> xpathExpressions;
+
+    private final Counter jsonHitCounter;
+    private final Counter jsonMissCounter;
+    private final Counter xmlHitCounter;
+    private final Counter xmlMissCounter;
+
+    /**
+     * @param maxDocumentsWeight maximum estimated heap size in bytes of the documents of each type, their text included
+     */
+    public ParsedDocuments(long maxDocumentsWeight, int maxExpressions, MeterRegistry meterRegistry) {
+        this.jsonDocuments = CacheBuilder.newBuilder()
+            .maximumWeight(maxDocumentsWeight)
+            .<String, Weighted<Object>>weigher((text, document) -> document.weight())
+            .build();
+        this.xmlDocuments = CacheBuilder.newBuilder()
+            .maximumWeight(maxDocumentsWeight)
+            .<String, Weighted<Document>>weigher((text, document) -> document.weight())
+            .build();
+        this.xpathExpressions = CacheBuilder.newBuilder().maximumSize(maxExpressions).build();
+        this.jsonHitCounter = meterRegistry.counter("chutney_parsed_document_cache", "type", "json", "result", "hit");
+        this.jsonMissCounter = meterRegistry.counter("chutney_parsed_document_cache", "type", "json", "result", "miss");
+        this.xmlHitCounter = meterRegistry.counter("chutney_parsed_document_cache", "type", "xml", "result", "hit");
+        this.xmlMissCounter = meterRegistry.counter("chutney_parsed_document_cache", "type", "xml", "result", "miss");
+        Gauge.builder("chutney_parsed_document_cache_size", this, d -> d.jsonDocuments.size() + d.xmlDocuments.size()).register(meterRegistry);
+    }
+
+    public static ParsedDocuments shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return a reader of given JSON document, using the default configuration
+     */
+    public JsonDocument json(String json) {
+        return json(json, Configuration.defaultConfiguration());
+    }
+
+    /**
+     * @param configuration JsonPath configuration of the reads, its JSON provider must be the default one
+     * @return a reader of given JSON document
+     */
+    public JsonDocument json(String json, Configuration configuration) {
+        if (json == null) {
+            throw new IllegalArgumentException("json string can not be null or empty");
+        }
+        Weighted<Object> document = jsonDocuments.getIfPresent(json);
+        if (document != null) {
+            jsonHitCounter.increment();
+        } else {
+            jsonMissCounter.increment();
+            Object parsed = Configuration.defaultConfiguration().jsonProvider().parse(json);
+            if (parsed == null) {
+                return new JsonDocument(null, configuration);
+            }
+            document = new Weighted<>(parsed, weight(json, jsonWeight(parsed)));
+            jsonDocuments.put(json, document);
+        }
+        return new JsonDocument(document.value(), configuration);
+    }
+
+    /**
+     * @return a detached copy of the first node selected by given XPath in given document, or the selected value
+     */
+    public Object xpathFirst(String xml, String xpath, Map<String, String> nsPrefixes) throws XmlUtils.InvalidXmlDocumentException, XmlUtils.InvalidXPathException {
+        Document document = xml(xml);
+        List<Object> key = List.of(xpath, Map.copyOf(nsPrefixes));
+        XPathExpression<Object> expression = xpathExpressions.getIfPresent(key);
+        if (expression == null) {
+            expression = XmlUtils.compileXPath(xpath, nsPrefixes);
+            xpathExpressions.put(key, expression);
+        }
+        Object first;
+        // Compiled expressions hold evaluation state
+        synchronized (expression) {
+            first = expression.evaluateFirst(document);
+        }
+        return switch (first) {
+            case Content content -> content.clone();
+            case Attribute attribute -> attribute.clone();
+            case Document selected -> selected.clone();
+            case null, default -> first;
+        };
+    }
+
+    public void invalidateAll() {
+        jsonDocuments.invalidateAll();
+        xmlDocuments.invalidateAll();
+        xpathExpressions.invalidateAll();
+    }
+
+    private Document xml(String xml) throws XmlUtils.InvalidXmlDocumentException {
+        Weighted<Document> document = xmlDocuments.getIfPresent(xml);
+        if (document != null) {
+            xmlHitCounter.increment();
+            return document.value();
+        }
+        xmlMissCounter.increment();
+        Document parsed = XmlUtils.toDocument(xml);
+        xmlDocuments.put(xml, new Weighted<>(parsed, weight(xml, xmlWeight(parsed))));
+        return parsed;
+    }
+
+    /**
+     * Reads values of a shared JSON document, objects and arrays being copied.
+     */
+    public static final class JsonDocument {
+        private final Object document;
+        private final Configuration configuration;
+
+        private JsonDocument(Object document, Configuration configuration) {
+            this.document = document;
+            this.configuration = configuration;
+        }
+
+        public Object read(String path) {
+            return copyOf(JsonPath.using(configuration).parse(document).read(path), configuration.jsonProvider());
+        }
+
+        private static Object copyOf(Object value, JsonProvider provider) {
+            if (provider.isMap(value)) {
+                Object copy = provider.createMap();
+                for (String key : provider.getPropertyKeys(value)) {
+                    provider.setProperty(copy, key, copyOf(provider.getMapValue(value, key), provider));
+                }
+                return copy;
+            }
+            if (provider.isArray(value)) {
+                Object copy = provider.createArray();
+                int i = 0;
+                for (Object item : provider.toIterable(value)) {
+                    provider.setArrayIndex(copy, i++, copyOf(item, provider));
+                }
+                return copy;
+            }
+            return value;
+        }
+    }
+
+    private record Weighted<T>(T value, int weight) {
+    }
+
+    /**
+     * Estimate the heap size of a cached document from rough 64-bit JVM object sizes, a parsed tree taking several times the size of its text.
+     */
+    private static int weight(String text, long documentWeight) {
+        return (int) Math.min(Integer.MAX_VALUE, 40 + 2L * text.length() + documentWeight);
+    }
+
+    private static long jsonWeight(Object node) {
+        return switch (node) {
+            case Map<?, ?> map -> {
+                long weight = 64 + 48L * map.size();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    weight += jsonWeight(entry.getKey()) + jsonWeight(entry.getValue());
+                }
+                yield weight;
+            }
+            case List<?> list -> {
+                long weight = 40 + 8L * list.size();
+                for (Object item : list) {
+                    weight += jsonWeight(item);
+                }
+                yield weight;
+            }
+            case String string -> 40 + 2L * string.length();
+            case null -> 0;
+            default -> 24;
+        };
+    }
+
+    private static long xmlWeight(Document document) {
+        long weight = 80;
+        for (Content content : document.getDescendants()) {
+            weight += switch (content) {
+                case Element element -> {
+                    long attributesWeight = 0;
+                    for (Attribute attribute : element.getAttributes()) {
+                        attributesWeight += 120 + 2L * (attribute.getName().length() + attribute.getValue().length());
+                    }
+                    yield 160 + 2L * element.getName().length() + attributesWeight;
+                }
+                case Text text -> 64 + 2L * text.getText().length();
+                default -> 64;
+            };
+        }
+        return weight;
+    }
+}
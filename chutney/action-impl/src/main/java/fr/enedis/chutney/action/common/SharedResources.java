@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.common;
+
+import fr.enedis.chutney.action.spi.ActionResources;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resources shared between actions, such as {@link LeasedRegistry registries}, closed by the engine on shutdown.
+ * <p>
+ * Their idle eviction runs on one scheduler thread for all of them.
+ */
+public final class SharedResources implements ActionResources {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedResources.class);
+
+    private static final List<AutoCloseable> RESOURCES = new CopyOnWriteArrayList<>();
+
+    private static final ScheduledExecutorService EVICTION = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chutney-shared-resources-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @return given resource, to be closed on engine shutdown
+     */
+    public static <T extends AutoCloseable> T register(T resource) {
+        RESOURCES.add(resource);
+        return resource;
+    }
+
+    /**
+     * Run given eviction periodically, until the returned future is cancelled.
+     */
+    public static ScheduledFuture<?> scheduleEviction(Runnable eviction, Duration period) {
+        long periodMillis = Math.max(1, period.toMillis());
+        return EVICTION.scheduleWithFixedDelay(() -> {
+            try {
+                eviction.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Eviction of idle resources failed", e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        for (AutoCloseable resource : RESOURCES) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                LOGGER.warn("Cannot close shared resource {}", resource, e);
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import static java.util.Objects.requireNonNull;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import fr.enedis.chutney.action.common.JsonUtils;
+import fr.enedis.chutney.action.common.ParsedDocuments;
 import fr.enedis.chutney.action.spi.SpelFunction;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -31,7 +32,7 @@ public class JsonFunctions {
 
     @SpelFunction
     public static Object jsonPath(Object document, String jsonPath) {
-        return JsonPath.parse(JsonUtils.jsonStringify(document)).read(jsonPath);
+        return ParsedDocuments.shared().json(JsonUtils.jsonStringify(document)).read(jsonPath);
     }
 
     @SpelFunction
@@ -7,6 +7,7 @@
 
 package fr.enedis.chutney.action.function;
 
+import fr.enedis.chutney.action.common.ParsedDocuments;
 import fr.enedis.chutney.action.common.XmlUtils;
 import fr.enedis.chutney.action.spi.SpelFunction;
 import java.util.HashMap;
@@ -14,12 +15,10 @@ import java.util.List;
 import java.util.Map;
 import org.jdom2.Attribute;
 import org.jdom2.Content;
-import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Text;
 import org.jdom2.filter.ContentFilter;
 import org.jdom2.filter.Filter;
-import org.jdom2.xpath.XPathExpression;
 
 public class XPathFunction {
 
@@ -30,9 +29,7 @@ public class XPathFunction {
 
     @SpelFunction
     public static Object xpathNs(String documentAsString, String xpath, Map<String, String> nsPrefixes) throws XmlUtils.InvalidXmlDocumentException, XmlUtils.InvalidXPathException {
-        Document document = XmlUtils.toDocument(documentAsString);
-        XPathExpression<Object> xpathExpression = XmlUtils.compileXPath(xpath, nsPrefixes);
-        Object jDomObject = xpathExpression.evaluateFirst(document);
+        Object jDomObject = ParsedDocuments.shared().xpathFirst(documentAsString, xpath, nsPrefixes);
         return unwrapJdomSimpleObject(jDomObject);
     }
 
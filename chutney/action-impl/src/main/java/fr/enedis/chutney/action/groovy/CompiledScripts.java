@@ -0,0 +1,114 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.groovy;
+
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.hash.Hashing;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+/**
+ * Groovy script classes shared between steps, keyed by a hash of the script text.
+ * <p>
+ * Scripts are compiled once, each run getting a new script instance and binding.
+ * Each script is compiled by a class loader of its own, holding the script class and the classes it declares (closures, inner classes...).
+ * So scripts cannot resolve classes declared by other scripts, and an evicted script loader is dropped with all its classes.
+ * <p>
+ * Compilation time, cache hits and misses and cache size are exposed as metrics,
+ * along with the metaspace usage of the whole JVM, script classes being one of its consumers.
+ */
+final class CompiledScripts {
+
+    static final int DEFAULT_MAX_SCRIPTS = 256;
+
+    private static final CompiledScripts SHARED = new CompiledScripts(DEFAULT_MAX_SCRIPTS, globalRegistry);
+
+    private final Cache<String, CompiledScript> scripts;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer compilationTimer;
+
+    CompiledScripts(int maxScripts, MeterRegistry meterRegistry) {
+        this.scripts = CacheBuilder.newBuilder()
+            .maximumSize(maxScripts)
+            .removalListener((RemovalNotification<String, CompiledScript> notification) -> notification.getValue().classLoader().clearCache())
+            .build();
+        this.hitCounter = meterRegistry.counter("chutney_groovy_script_cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("chutney_groovy_script_cache", "result", "miss");
+        this.compilationTimer = meterRegistry.timer("chutney_groovy_script_compilation");
+        Gauge.builder("chutney_groovy_script_cache_size", scripts, Cache::size).register(meterRegistry);
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> "Metaspace".equals(pool.getName()))
+            .findFirst()
+            .ifPresent(metaspace -> Gauge.builder("chutney_jvm_metaspace_used", metaspace, m -> m.getUsage().getUsed()).baseUnit("bytes").register(meterRegistry));
+    }
+
+    static CompiledScripts shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return a new instance of given script, bound to given binding
+     * @throws CompilationFailedException when the script does not compile
+     */
+    Script newScript(String scriptText, Binding binding) throws CompilationFailedException {
+        String key = Hashing.sha256().hashString(scriptText, StandardCharsets.UTF_8).toString();
+        boolean[] compiled = {false};
+        CompiledScript script;
+        try {
+            // Concurrent first runs of a script wait for a single compilation
+            script = scripts.get(key, () -> {
+                compiled[0] = true;
+                return compile(scriptText, key);
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+        (compiled[0] ? missCounter : hitCounter).increment();
+        return InvokerHelper.createScript(script.scriptClass(), binding);
+    }
+
+    long size() {
+        return scripts.size();
+    }
+
+    private CompiledScript compile(String scriptText, String key) throws CompilationFailedException {
+        GroovyClassLoader classLoader = new GroovyClassLoader(GroovyShell.class.getClassLoader());
+        long start = System.nanoTime();
+        try {
+            Class<?> scriptClass = classLoader.parseClass(new GroovyCodeSource(scriptText, "Script_" + key, GroovyShell.DEFAULT_CODE_BASE), false);
+            return new CompiledScript(scriptClass, classLoader);
+        } finally {
+            compilationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record CompiledScript(Class<?> scriptClass, GroovyClassLoader classLoader) {
+    }
+}
@@ -18,7 +18,6 @@ import fr.enedis.chutney.action.spi.injectable.Input;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import fr.enedis.chutney.action.spi.validation.Validator;
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
 import groovy.lang.Script;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,9 @@ import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilationFailedException;
 
+/**
+ * Compiled scripts are shared between steps, see {@link CompiledScripts}.
+ */
 public class GroovyAction implements Action {
 
     private final String scriptAsString;
@@ -51,8 +53,7 @@ public class GroovyAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         try {
-            Script script = new GroovyShell().parse(scriptAsString);
-            script.setBinding(getBindingFromMap(parameters));
+            Script script = CompiledScripts.shared().newScript(scriptAsString, getBindingFromMap(parameters));
 
             Map<String, Object> result = (Map<String, Object>) script.run();
 
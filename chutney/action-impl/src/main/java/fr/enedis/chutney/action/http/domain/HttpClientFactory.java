@@ -13,6 +13,7 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 
+import fr.enedis.chutney.action.common.LeasedRegistry;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import fr.enedis.chutney.action.spi.injectable.Target;
 import java.io.IOException;
@@ -25,15 +26,17 @@ import java.security.GeneralSecurityException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.net.ssl.SSLContext;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.routing.DefaultProxyRoutePlanner;
 import org.apache.hc.client5.http.impl.routing.SystemDefaultRoutePlanner;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.routing.HttpRoutePlanner;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
@@ -50,6 +53,20 @@ import org.springframework.web.client.RestTemplate;
 public class HttpClientFactory {
 
     private static final String PROXY_PROPERTY = "proxy";
+    private static final String MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "maxConnectionsPerRoute";
+    private static final String MAX_CONNECTIONS_TOTAL_PROPERTY = "maxConnectionsTotal";
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 50;
+
+    private final HttpClientRegistry clientRegistry;
+
+    public HttpClientFactory() {
+        this(HttpClientRegistry.shared());
+    }
+
+    public HttpClientFactory(HttpClientRegistry clientRegistry) {
+        this.clientRegistry = clientRegistry;
+    }
 
     /**
      * @return an {@link HttpClient} depending on given {@link Target} able to handle:
@@ -63,14 +80,27 @@ public class HttpClientFactory {
      * </ul>
      * </li>
      * </ul>
+     * Underlying connection pools are shared between clients of the same target and timeout, see {@link HttpClientRegistry}.
      */
     public HttpClient create(Logger logger, Target target, Class<String> responseType, int timeout) {
-        RestTemplate restTemplate = buildRestTemplate(logger, target, timeout);
+        HttpClientRegistry.HttpClientKey key = HttpClientRegistry.HttpClientKey.of(target, timeout);
+        Optional<HttpRoutePlanner> httpRoutePlanner = getProxyConfiguration(logger, target);
+        Supplier<HttpClientRegistry.PooledClient> clientBuilder = () -> buildClient(target, timeout, httpRoutePlanner);
+
+        // Build client now so that configuration errors are raised before any call
+        clientRegistry.lease(key, clientBuilder).release();
 
-        return (httpMethod, resource, input) -> restTemplate.exchange(target.uri().toString() + resource, httpMethod, input, responseType);
+        return (httpMethod, resource, input) -> {
+            LeasedRegistry.Lease<HttpClientRegistry.PooledClient> lease = clientRegistry.lease(key, clientBuilder);
+            try {
+                return lease.resource().restTemplate().exchange(target.uri().toString() + resource, httpMethod, input, responseType);
+            } finally {
+                lease.release();
+            }
+        };
     }
 
-    private static RestTemplate buildRestTemplate(Logger logger, Target target, int timeout) {
+    private static HttpClientRegistry.PooledClient buildClient(Target target, int timeout, Optional<HttpRoutePlanner> httpRoutePlanner) {
 
         SSLContext sslContext;
         try {
@@ -81,26 +111,30 @@ public class HttpClientFactory {
 
         final SSLConnectionSocketFactory socketFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
 
-        final HttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        final PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
             .setSSLSocketFactory(socketFactory)
             .setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(timeout, TimeUnit.MILLISECONDS).build())
+            .setMaxConnPerRoute(target.numericProperty(MAX_CONNECTIONS_PER_ROUTE_PROPERTY).map(Number::intValue).orElse(DEFAULT_MAX_CONNECTIONS_PER_ROUTE))
+            .setMaxConnTotal(target.numericProperty(MAX_CONNECTIONS_TOTAL_PROPERTY).map(Number::intValue).orElse(DEFAULT_MAX_CONNECTIONS_TOTAL))
             .build();
         final RequestConfig requestConfig = RequestConfig.custom()
             .setConnectTimeout(Timeout.ofMilliseconds(timeout))
             .build();
-        final HttpClientBuilder httpClient = HttpClients.custom()
+        // Client is shared between steps and executions, which must not see each other's cookies
+        final HttpClientBuilder httpClientBuilder = HttpClients.custom()
             .setConnectionManager(connectionManager)
-            .setDefaultRequestConfig(requestConfig);
+            .setDefaultRequestConfig(requestConfig)
+            .disableCookieManagement();
 
-        final Optional<HttpRoutePlanner> httpRoutePlanner = getProxyConfiguration(logger, target);
-        httpRoutePlanner.ifPresent(httpClient::setRoutePlanner);
+        httpRoutePlanner.ifPresent(httpClientBuilder::setRoutePlanner);
 
-        final HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient.build());
+        final CloseableHttpClient httpClient = httpClientBuilder.build();
+        final HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
 
         final RestTemplate restTemplate = new RestTemplate(requestFactory);
         configureBasicAuth(target, restTemplate);
         removeErrorHandler(restTemplate);
-        return restTemplate;
+        return new HttpClientRegistry.PooledClient(restTemplate, connectionManager, httpClient);
     }
 
     private static Optional<HttpRoutePlanner> getProxyConfiguration(Logger logger, Target target) {
@@ -0,0 +1,177 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.http.domain;
+
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
+
+import com.google.common.hash.Hashing;
+import fr.enedis.chutney.action.common.LeasedRegistry;
+import fr.enedis.chutney.action.common.SharedResources;
+import fr.enedis.chutney.action.spi.injectable.Target;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shared HTTP clients, keyed by target identity (URI, TLS material, proxy, basic-auth) and timeout.
+ * <p>
+ * Clients not used for {@link #DEFAULT_IDLE_EVICTION} are evicted, see {@link LeasedRegistry}.
+ * Connections idle for {@link #IDLE_CONNECTION_EVICTION} are closed by the same periodic eviction.
+ * Clients of the {@link #shared() shared registry} are closed on engine shutdown.
+ */
+public class HttpClientRegistry extends LeasedRegistry<HttpClientRegistry.HttpClientKey, HttpClientRegistry.PooledClient> {
+
+    public static final Duration DEFAULT_IDLE_EVICTION = Duration.ofMinutes(10);
+    public static final TimeValue IDLE_CONNECTION_EVICTION = TimeValue.ofMinutes(1);
+
+    private static final HttpClientRegistry SHARED = SharedResources.register(new HttpClientRegistry(DEFAULT_IDLE_EVICTION, globalRegistry));
+
+    public HttpClientRegistry(Duration idleEviction, MeterRegistry meterRegistry) {
+        super("chutney_http_client", idleEviction, meterRegistry);
+        Gauge.builder("chutney_http_client_pool_connections", this, r -> r.poolStats(PoolStats::getLeased)).tag("state", "leased").register(meterRegistry);
+        Gauge.builder("chutney_http_client_pool_connections", this, r -> r.poolStats(PoolStats::getAvailable)).tag("state", "available").register(meterRegistry);
+        Gauge.builder("chutney_http_client_pool_connections", this, r -> r.poolStats(PoolStats::getPending)).tag("state", "pending").register(meterRegistry);
+    }
+
+    public static HttpClientRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param builder builds a new client when none matches given key
+     * @return a lease on the client matching given key, to be released when the call is done
+     * @throws IllegalArgumentException when client cannot be built
+     */
+    public Lease<PooledClient> lease(HttpClientKey key, Supplier<PooledClient> builder) {
+        return lease(key, k -> builder.get());
+    }
+
+    /**
+     * Also close expired connections and connections idle for more than {@link #IDLE_CONNECTION_EVICTION}.
+     */
+    @Override
+    public void evictIdle() {
+        super.evictIdle();
+        resources().forEach(client -> {
+            client.connectionPool.closeExpired();
+            client.connectionPool.closeIdle(IDLE_CONNECTION_EVICTION);
+        });
+    }
+
+    private double poolStats(Function<PoolStats, Integer> stat) {
+        return resources().stream()
+            .mapToInt(client -> stat.apply(client.connectionPool.getTotalStats()))
+            .sum();
+    }
+
+    public static class PooledClient implements Closeable {
+        private final RestTemplate restTemplate;
+        private final ConnPoolControl<?> connectionPool;
+        private final Closeable httpClient;
+
+        public PooledClient(RestTemplate restTemplate, ConnPoolControl<?> connectionPool, Closeable httpClient) {
+            this.restTemplate = restTemplate;
+            this.connectionPool = connectionPool;
+            this.httpClient = httpClient;
+        }
+
+        public RestTemplate restTemplate() {
+            return restTemplate;
+        }
+
+        @Override
+        public void close() throws IOException {
+            httpClient.close();
+        }
+    }
+
+    /**
+     * Timeout is part of the key since it is set on the connection pool socket configuration.
+     * Key and trust stores are identified by a SHA-256 digest of their content, so that a store replaced at the same path is loaded again.
+     * Digests are computed again only when the store modification time or size changes.
+     */
+    public record HttpClientKey(
+        URI uri,
+        Optional<String> user,
+        Optional<String> password,
+        Optional<String> proxy,
+        Optional<String> sslProtocol,
+        Optional<String> keyStoreDigest,
+        Optional<String> keyStorePassword,
+        Optional<String> keyPassword,
+        Optional<String> trustStoreDigest,
+        Optional<String> trustStorePassword,
+        Optional<String> maxConnectionsPerRoute,
+        Optional<String> maxConnectionsTotal,
+        int timeout
+    ) {
+        private static final Map<Path, StoreDigest> STORE_DIGESTS = new ConcurrentHashMap<>();
+
+        /**
+         * @throws IllegalArgumentException when key or trust store cannot be read
+         */
+        public static HttpClientKey of(Target target, int timeout) {
+            return new HttpClientKey(
+                target.uri(),
+                target.user(),
+                target.userPassword(),
+                target.property("proxy"),
+                target.property("sslProtocol"),
+                target.keyStore().map(HttpClientKey::digest),
+                target.keyStorePassword(),
+                target.keyPassword(),
+                target.trustStore().map(HttpClientKey::digest),
+                target.trustStorePassword(),
+                target.property("maxConnectionsPerRoute"),
+                target.property("maxConnectionsTotal"),
+                timeout
+            );
+        }
+
+        private static String digest(String store) {
+            Path path = Paths.get(store);
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                StoreDigest known = STORE_DIGESTS.get(path);
+                if (known != null && known.lastModified().equals(attributes.lastModifiedTime()) && known.size() == attributes.size()) {
+                    return known.digest();
+                }
+                String digest = Hashing.sha256().hashBytes(Files.readAllBytes(path)).toString();
+                STORE_DIGESTS.put(path, new StoreDigest(attributes.lastModifiedTime(), attributes.size(), digest));
+                return digest;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read " + store, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "HttpClientKey[uri=" + uri + ", timeout=" + timeout + "]";
+        }
+
+        private record StoreDigest(FileTime lastModified, long size, String digest) {
+        }
+    }
+}
@@ -10,9 +10,10 @@ package fr.enedis.chutney.action.mongo;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
+import fr.enedis.chutney.action.common.LeasedRegistry;
 import fr.enedis.chutney.action.common.SecurityUtils;
+import fr.enedis.chutney.action.mongo.MongoClientRegistry.ClientKey;
 import fr.enedis.chutney.action.spi.injectable.Target;
 import fr.enedis.chutney.tools.CloseableResource;
 import java.security.GeneralSecurityException;
@@ -21,17 +22,40 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Databases are given from clients shared between actions, see {@link MongoClientRegistry}.
+ */
 public class DefaultMongoDatabaseFactory implements MongoDatabaseFactory {
 
     private static final String DATABASE_NAME_PROPERTY = "databaseName";
     private static final String DATASOURCE_PREFIX = "connectionOptions.";
 
+    private final MongoClientRegistry mongoClientRegistry;
+
+    public DefaultMongoDatabaseFactory() {
+        this(MongoClientRegistry.shared());
+    }
+
+    public DefaultMongoDatabaseFactory(MongoClientRegistry mongoClientRegistry) {
+        this.mongoClientRegistry = mongoClientRegistry;
+    }
+
     public CloseableResource<MongoDatabase> create(Target target) throws IllegalArgumentException {
         String databaseName = target.property(DATABASE_NAME_PROPERTY).orElse("");
         if (StringUtils.isEmpty(databaseName)) {
             throw new IllegalArgumentException(String.format("Missing Target property '%s'", DATABASE_NAME_PROPERTY));
         }
         String connectionString = String.format("mongodb://%s%s:%d/%s", credentials(target), target.host(), target.port(), queryParams(target));
+        LeasedRegistry.Lease<MongoClient> lease = mongoClientRegistry.lease(ClientKey.of(connectionString, target), () -> settings(connectionString, target));
+        try {
+            return CloseableResource.build(lease.resource().getDatabase(databaseName), lease::release);
+        } catch (RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    private MongoClientSettings settings(String connectionString, Target target) {
         MongoClientSettings.Builder mongoClientSettings = MongoClientSettings.builder();
         mongoClientSettings.applyConnectionString(new ConnectionString(connectionString));
         target.keyStore().ifPresent(keystore ->
@@ -45,8 +69,7 @@ public class DefaultMongoDatabaseFactory implements MongoDatabaseFactory {
                 }
             })
         );
-        MongoClient mongoClient = MongoClients.create(mongoClientSettings.build());
-        return CloseableResource.build(mongoClient.getDatabase(databaseName), mongoClient::close);
+        return mongoClientSettings.build();
     }
 
     private String queryParams(Target target) {
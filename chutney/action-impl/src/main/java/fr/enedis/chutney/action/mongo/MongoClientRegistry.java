@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.mongo;
+
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import fr.enedis.chutney.action.common.LeasedRegistry;
+import fr.enedis.chutney.action.common.SharedResources;
+import fr.enedis.chutney.action.spi.injectable.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Shared Mongo clients, keyed by {@link ClientKey} (i.e. connection string and TLS material).
+ * <p>
+ * Clients not leased for {@link #DEFAULT_IDLE_EVICTION} are evicted, as well as least recently used ones when more than
+ * {@link #DEFAULT_MAX_CLIENTS} are cached, which bounds cluster monitoring threads, see {@link LeasedRegistry}.
+ * Clients of the {@link #shared() shared registry} are closed on engine shutdown.
+ */
+public class MongoClientRegistry extends LeasedRegistry<MongoClientRegistry.ClientKey, MongoClient> {
+
+    public static final Duration DEFAULT_IDLE_EVICTION = Duration.ofMinutes(10);
+    public static final int DEFAULT_MAX_CLIENTS = 20;
+
+    private static final MongoClientRegistry SHARED = SharedResources.register(new MongoClientRegistry(DEFAULT_IDLE_EVICTION, DEFAULT_MAX_CLIENTS, globalRegistry));
+
+    public MongoClientRegistry(Duration idleEviction, int maxClients, MeterRegistry meterRegistry) {
+        super("chutney_mongo_client", idleEviction, maxClients, meterRegistry);
+    }
+
+    public static MongoClientRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param settings settings of the client to create when none matches given key
+     * @return a lease on the client matching given key, to be released when no more operations are needed
+     */
+    public Lease<MongoClient> lease(ClientKey key, Supplier<MongoClientSettings> settings) {
+        return lease(key, k -> MongoClients.create(settings.get()));
+    }
+
+    public record ClientKey(String connectionString, String sslProtocol, String trustStore, String trustStorePassword,
+                            String keyStore, String keyStorePassword, String keyPassword) {
+
+        public static ClientKey of(String connectionString, Target target) {
+            return new ClientKey(
+                connectionString,
+                target.property("sslProtocol").orElse(null),
+                target.trustStore().orElse(null),
+                target.trustStorePassword().orElse(null),
+                target.keyStore().orElse(null),
+                target.keyStorePassword().orElse(null),
+                target.keyPassword().orElse(null)
+            );
+        }
+
+        @Override
+        public String toString() {
+            return "ClientKey[" + connectionString.replaceFirst("//[^@/]*@", "//***@") + ", keyStore=" + keyStore + ", trustStore=" + trustStore + "]";
+        }
+    }
+}
@@ -7,6 +7,7 @@
 
 package fr.enedis.chutney.action.sql;
 
+import static fr.enedis.chutney.action.spi.validation.ActionValidatorsUtils.notBlankStringValidation;
 import static fr.enedis.chutney.action.spi.validation.ActionValidatorsUtils.notEmptyListValidation;
 import static fr.enedis.chutney.action.spi.validation.ActionValidatorsUtils.targetValidation;
 import static fr.enedis.chutney.action.spi.validation.Validator.getErrorsFrom;
@@ -15,14 +16,19 @@ import static java.util.Optional.ofNullable;
 
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
+import fr.enedis.chutney.action.spi.FinallyAction;
 import fr.enedis.chutney.action.spi.injectable.ActionsConfiguration;
+import fr.enedis.chutney.action.spi.injectable.FinallyActionRegistry;
 import fr.enedis.chutney.action.spi.injectable.Input;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import fr.enedis.chutney.action.spi.injectable.Target;
 import fr.enedis.chutney.action.spi.validation.Validator;
+import fr.enedis.chutney.action.sql.core.BatchResult;
+import fr.enedis.chutney.action.sql.core.CsvRows;
 import fr.enedis.chutney.action.sql.core.DefaultSqlClientFactory;
 import fr.enedis.chutney.action.sql.core.Records;
 import fr.enedis.chutney.action.sql.core.SqlClient;
+import fr.enedis.chutney.action.sql.core.StreamedRecords;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,28 +45,61 @@ public class SqlAction implements Action {
     private static final String CONFIGURABLE_MINIMUM_MEMORY_PERCENTAGE_REQUIRED = "chutney.actions.sql.minimum-memory-percentage-required";
     private static final Integer MINIMUM_MEMORY_PERCENTAGE_REQUIRED = 0;
 
+    private static final String CONFIGURABLE_STREAMING_MAX_IN_MEMORY_ROWS = "chutney.actions.sql.streaming.max-in-memory-rows";
+    private static final Integer DEFAULT_STREAMING_MAX_IN_MEMORY_ROWS = 10000;
+
+    private static final String CONFIGURABLE_BATCH_SIZE = "chutney.actions.sql.batch-size";
+    private static final Integer DEFAULT_BATCH_SIZE = 1000;
+
     private final Target target;
     private final Logger logger;
+    private final FinallyActionRegistry finallyActionRegistry;
     private final List<String> statements;
     private final Integer nbLoggedRow;
     private final Integer minimumMemoryPercentageRequired;
+    private final boolean streaming;
+    private final int maxInMemoryRows;
+    private final String batchStatement;
+    private final List<Object> parameters;
+    private final String csv;
+    private final Integer batchSize;
 
     private final DefaultSqlClientFactory clientFactory = new DefaultSqlClientFactory();
 
-    public SqlAction(Target target, Logger logger, ActionsConfiguration configuration, @Input("statements") List<String> statements, @Input("nbLoggedRow") Integer nbLoggedRow, @Input("minimumMemoryPercentageRequired") Integer minimumMemoryPercentageRequired) {
+    public SqlAction(Target target, Logger logger, ActionsConfiguration configuration, FinallyActionRegistry finallyActionRegistry, @Input("statements") List<String> statements, @Input("nbLoggedRow") Integer nbLoggedRow, @Input("minimumMemoryPercentageRequired") Integer minimumMemoryPercentageRequired, @Input("streaming") Boolean streaming, @Input("batchStatement") String batchStatement, @Input("parameters") List<Object> parameters, @Input("csv") String csv, @Input("batchSize") Integer batchSize) {
         this.target = target;
         this.logger = logger;
+        this.finallyActionRegistry = finallyActionRegistry;
         this.statements = statements;
         this.nbLoggedRow = ofNullable(nbLoggedRow)
             .orElse(configuration.getInteger(CONFIGURABLE_NB_LOGGED_ROW, DEFAULT_NB_LOGGED_ROW));
         this.minimumMemoryPercentageRequired = ofNullable(minimumMemoryPercentageRequired)
             .orElse(configuration.getInteger(CONFIGURABLE_MINIMUM_MEMORY_PERCENTAGE_REQUIRED, MINIMUM_MEMORY_PERCENTAGE_REQUIRED));
+        this.streaming = Boolean.TRUE.equals(streaming);
+        this.maxInMemoryRows = configuration.getInteger(CONFIGURABLE_STREAMING_MAX_IN_MEMORY_ROWS, DEFAULT_STREAMING_MAX_IN_MEMORY_ROWS);
+        this.batchStatement = batchStatement;
+        this.parameters = parameters;
+        this.csv = csv;
+        this.batchSize = ofNullable(batchSize)
+            .orElse(configuration.getInteger(CONFIGURABLE_BATCH_SIZE, DEFAULT_BATCH_SIZE));
     }
 
     @Override
     public List<String> validateInputs() {
         Validator<Target> targetPropertiesValidation = of(target)
             .validate(t -> target.property("jdbcUrl").orElse(""), StringUtils::isNotBlank, "Missing Target property 'jdbcUrl'");
+        if (batchStatement != null) {
+            Validator<String> batchValidation = of(batchStatement)
+                .validate(s -> statements == null || statements.isEmpty(), "Inputs 'statements' and 'batchStatement' cannot be used together")
+                .validate(s -> (parameters != null && !parameters.isEmpty()) ^ csv != null, "Exactly one of inputs 'parameters' or 'csv' is required with 'batchStatement'")
+                .validate(s -> batchSize > 0, "Input 'batchSize' must be positive");
+            return getErrorsFrom(
+                targetPropertiesValidation,
+                targetValidation(target),
+                notBlankStringValidation(batchStatement, "batchStatement"),
+                batchValidation
+            );
+        }
         return getErrorsFrom(
             targetPropertiesValidation,
             targetValidation(target),
@@ -71,6 +110,12 @@ public class SqlAction implements Action {
     @Override
     public ActionExecutionResult execute() {
         SqlClient sqlClient = clientFactory.create(target, minimumMemoryPercentageRequired);
+        if (batchStatement != null) {
+            return executeBatch(sqlClient);
+        }
+        if (streaming) {
+            return executeStreaming(sqlClient);
+        }
         try {
             var records = new ArrayList<Records>();
             Map<String, Object> outputs = new HashMap<>();
@@ -107,4 +152,89 @@ public class SqlAction implements Action {
             }
         }
     }
+
+    /**
+     * Rows are iterated lazily, aggregations being computed while reading them.
+     * Spilled rows files are deleted at the end of the execution.
+     */
+    private ActionExecutionResult executeStreaming(SqlClient sqlClient) {
+        try {
+            var records = new ArrayList<StreamedRecords>();
+            Map<String, Object> outputs = new HashMap<>();
+            AtomicBoolean failure = new AtomicBoolean(false);
+            statements.forEach(statement -> {
+                try {
+                    StreamedRecords result = sqlClient.executeStreaming(statement, maxInMemoryRows, nbLoggedRow);
+                    records.add(result);
+                    logger.info(result.printable(nbLoggedRow));
+                } catch (SQLException e) {
+                    logger.error(e.getMessage() + " for " + statement + "; Vendor error code: " + e.getErrorCode());
+                    records.add(StreamedRecords.empty());
+                    failure.set(true);
+                } catch (Exception e) {
+                    logger.error(e.getMessage());
+                    records.add(StreamedRecords.empty());
+                    failure.set(true);
+                }
+            });
+
+            if (statements.size() == 1) {
+                StreamedRecords result = records.getFirst();
+                outputs.put("affectedRows", result.affectedRows);
+                outputs.put("rows", result);
+                outputs.put("firstRow", result.firstRow());
+                outputs.put("count", result.count());
+                outputs.put("checksum", result.checksum());
+                outputs.put("min", result.min());
+                outputs.put("max", result.max());
+            }
+            outputs.put("recordResult", records); // List of all results from each statement
+            createSpillDeleteFinallyAction(records);
+
+            return failure.get() ? ActionExecutionResult.ko(outputs) : ActionExecutionResult.ok(outputs);
+        } finally {
+            sqlClient.closeDatasource();
+        }
+    }
+
+    private void createSpillDeleteFinallyAction(List<StreamedRecords> records) {
+        List<StreamedRecords> spilled = records.stream().filter(StreamedRecords::isSpilled).toList();
+        if (!spilled.isEmpty()) {
+            finallyActionRegistry.registerFinallyAction(
+                FinallyAction.Builder
+                    .forAction("sql-spill-delete", SqlAction.class)
+                    .withInput("records", spilled)
+                    .build()
+            );
+        }
+    }
+
+    /**
+     * Bind each parameters row to the batch statement, sending rows by batches within one transaction.
+     */
+    private ActionExecutionResult executeBatch(SqlClient sqlClient) {
+        try {
+            List<?> rows;
+            try {
+                rows = csv != null ? CsvRows.parse(csv) : parameters;
+            } catch (IllegalArgumentException e) {
+                logger.error("Cannot read input 'csv': " + e.getMessage());
+                return ActionExecutionResult.ko();
+            }
+            BatchResult result = sqlClient.executeBatch(batchStatement, rows, batchSize);
+            logger.info(result.printable());
+            return ActionExecutionResult.ok(Map.of(
+                "affectedRows", result.affectedRows(),
+                "batches", result.batches()
+            ));
+        } catch (SQLException e) {
+            logger.error(e.getMessage() + " for " + batchStatement + "; Vendor error code: " + e.getErrorCode() + "; Transaction rolled back");
+            return ActionExecutionResult.ko();
+        } catch (Exception e) {
+            logger.error(e.getMessage() + "; Transaction rolled back");
+            return ActionExecutionResult.ko();
+        } finally {
+            sqlClient.closeDatasource();
+        }
+    }
 }
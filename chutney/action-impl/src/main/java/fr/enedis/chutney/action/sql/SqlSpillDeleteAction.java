@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql;
+
+import fr.enedis.chutney.action.spi.Action;
+import fr.enedis.chutney.action.spi.ActionExecutionResult;
+import fr.enedis.chutney.action.spi.injectable.Input;
+import fr.enedis.chutney.action.spi.injectable.Logger;
+import fr.enedis.chutney.action.sql.core.StreamedRecords;
+import java.util.List;
+
+/**
+ * Delete the temporary files of query results spilled to disk by {@link SqlAction} in streaming mode.
+ */
+public class SqlSpillDeleteAction implements Action {
+
+    private final Logger logger;
+    private final List<StreamedRecords> records;
+
+    public SqlSpillDeleteAction(Logger logger, @Input("records") List<StreamedRecords> records) {
+        this.logger = logger;
+        this.records = records;
+    }
+
+    @Override
+    public ActionExecutionResult execute() {
+        records.forEach(StreamedRecords::close);
+        logger.info(records.size() + " spilled query result(s) deleted");
+        return ActionExecutionResult.ok();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import java.util.List;
+
+/**
+ * Result of a prepared statement executed in batches, within one transaction.
+ *
+ * @param affectedRows total of affected rows reported by the driver, batches the driver did not count being ignored
+ * @param batches      each executed batch, in execution order
+ */
+public record BatchResult(long affectedRows, List<Batch> batches) {
+
+    /**
+     * @param index        batch index, starting at 1
+     * @param rows         number of parameter rows of this batch
+     * @param affectedRows affected rows reported by the driver, -1 when unknown
+     * @param durationMs   execution time of the batch
+     */
+    public record Batch(int index, int rows, long affectedRows, long durationMs) {
+
+        @Override
+        public String toString() {
+            return "Batch " + index + ": " + rows + " rows, " + (affectedRows < 0 ? "unknown" : affectedRows) + " affected in " + durationMs + " ms";
+        }
+    }
+
+    public int rows() {
+        return batches.stream().mapToInt(Batch::rows).sum();
+    }
+
+    public long durationMs() {
+        return batches.stream().mapToLong(Batch::durationMs).sum();
+    }
+
+    public String printable() {
+        StringBuilder sb = new StringBuilder();
+        batches.forEach(batch -> sb.append(batch).append("\n"));
+        sb.append(rows()).append(" rows in ").append(batches.size()).append(" batches, ")
+            .append(affectedRows).append(" affected in ").append(durationMs()).append(" ms\n");
+        return sb.toString();
+    }
+}
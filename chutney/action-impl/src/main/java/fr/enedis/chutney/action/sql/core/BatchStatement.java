@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameterized statement, using either positional {@code ?} or named {@code :name} placeholders.
+ * <p>
+ * Positional statements are bound to lists, or to maps in their iteration order.
+ * Named statements are bound to maps by key, ignoring case when no key matches exactly.
+ * Each row must provide exactly one value per placeholder.
+ */
+final class BatchStatement {
+
+    final String sql;
+    final List<String> names;
+    final int placeholders;
+
+    private BatchStatement(String sql, List<String> names, int placeholders) {
+        this.sql = sql;
+        this.names = names;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Replace named placeholders by {@code ?}, ignoring quoted text and {@code ::} casts.
+     */
+    static BatchStatement parse(String statement) {
+        StringBuilder sql = new StringBuilder(statement.length());
+        List<String> names = new ArrayList<>();
+        int placeholders = 0;
+        char quote = 0;
+        int i = 0;
+        while (i < statement.length()) {
+            char c = statement.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '?') {
+                placeholders++;
+            } else if (c == ':' && i + 1 < statement.length() && statement.charAt(i + 1) == ':') {
+                sql.append("::");
+                i += 2;
+                continue;
+            } else if (c == ':' && i + 1 < statement.length() && Character.isJavaIdentifierStart(statement.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < statement.length() && Character.isJavaIdentifierPart(statement.charAt(end))) {
+                    end++;
+                }
+                names.add(statement.substring(i + 1, end));
+                placeholders++;
+                sql.append('?');
+                i = end;
+                continue;
+            }
+            sql.append(c);
+            i++;
+        }
+        return new BatchStatement(sql.toString(), Collections.unmodifiableList(names), placeholders);
+    }
+
+    void bind(PreparedStatement statement, Object parameters, int rowIndex) throws SQLException {
+        List<?> values = switch (parameters) {
+            case Map<?, ?> map when !names.isEmpty() -> names.stream().map(name -> named(map, name, rowIndex)).toList();
+            case Map<?, ?> map -> new ArrayList<>(map.values());
+            case List<?> list when names.isEmpty() -> list;
+            case List<?> list -> throw new IllegalArgumentException("Parameters row " + rowIndex + " must be a map to bind named parameters " + names);
+            case null, default -> Collections.singletonList(parameters);
+        };
+        if (values.size() != placeholders) {
+            throw new IllegalArgumentException("Parameters row " + rowIndex + " has " + values.size() + " values, expected " + placeholders);
+        }
+        statement.clearParameters();
+        for (int i = 0; i < values.size(); i++) {
+            statement.setObject(i + 1, values.get(i));
+        }
+    }
+
+    private static Object named(Map<?, ?> parameters, String name, int rowIndex) {
+        if (parameters.containsKey(name)) {
+            return parameters.get(name);
+        }
+        return parameters.entrySet().stream()
+            .filter(e -> String.valueOf(e.getKey()).equalsIgnoreCase(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Missing parameter " + name + " in parameters row " + rowIndex))
+            .getValue();
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Temporary file holding rows by blocks, each block storing its values column after column, deflated.
+ * <p>
+ * Values keep their type for the JDBC types returned by {@link SqlClient}, other values are stored as strings.
+ */
+final class ColumnarSpillFile implements Closeable {
+
+    static final int BLOCK_ROWS = 4096;
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte INTEGER = 4;
+    private static final byte LONG = 5;
+    private static final byte FLOAT = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte DECIMAL = 8;
+    private static final byte DATE = 9;
+    private static final byte TIME = 10;
+    private static final byte TIMESTAMP = 11;
+    private static final byte STRING = 12;
+
+    private final Path path;
+    private final int columnCount;
+    private final Object[][] block;
+    private DataOutputStream out;
+    private int blockRows = 0;
+    private long rows = 0;
+
+    ColumnarSpillFile(int columnCount) throws IOException {
+        this.path = Files.createTempFile("chutney-sql-", ".spill");
+        path.toFile().deleteOnExit(); // In case the file is not deleted at the end of its execution
+        this.columnCount = columnCount;
+        this.block = new Object[columnCount][BLOCK_ROWS];
+        this.out = new DataOutputStream(new DeflaterOutputStream(new BufferedOutputStream(Files.newOutputStream(path)), new Deflater(Deflater.BEST_SPEED), 64 * 1024));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    void add(Object[] values) throws IOException {
+        for (int column = 0; column < columnCount; column++) {
+            block[column][blockRows] = values[column];
+        }
+        rows++;
+        if (++blockRows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Write pending rows, the file being only readable afterward.
+     */
+    void finish() throws IOException {
+        if (out != null) {
+            flushBlock();
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * @return a new iterator over the values of each row, in insertion order, to be closed when not read until its end
+     */
+    BlockIterator iterator() {
+        return new BlockIterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRows == 0) {
+            return;
+        }
+        out.writeInt(blockRows);
+        for (int column = 0; column < columnCount; column++) {
+            Object[] values = block[column];
+            for (int row = 0; row < blockRows; row++) {
+                write(values[row]);
+                values[row] = null;
+            }
+        }
+        blockRows = 0;
+    }
+
+    private void write(Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case Boolean b -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(b);
+            }
+            case Byte b -> {
+                out.writeByte(BYTE);
+                out.writeByte(b);
+            }
+            case Short s -> {
+                out.writeByte(SHORT);
+                out.writeShort(s);
+            }
+            case Integer i -> {
+                out.writeByte(INTEGER);
+                out.writeInt(i);
+            }
+            case Long l -> {
+                out.writeByte(LONG);
+                out.writeLong(l);
+            }
+            case Float f -> {
+                out.writeByte(FLOAT);
+                out.writeFloat(f);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(d);
+            }
+            case BigDecimal d -> {
+                out.writeByte(DECIMAL);
+                writeString(d.toString());
+            }
+            case Timestamp t -> {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(t.getTime());
+                out.writeInt(t.getNanos());
+            }
+            case Date d -> {
+                out.writeByte(DATE);
+                out.writeLong(d.getTime());
+            }
+            case Time t -> {
+                out.writeByte(TIME);
+                out.writeLong(t.getTime());
+            }
+            default -> {
+                out.writeByte(STRING);
+                writeString(value.toString());
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case BOOLEAN -> in.readBoolean();
+            case BYTE -> in.readByte();
+            case SHORT -> in.readShort();
+            case INTEGER -> in.readInt();
+            case LONG -> in.readLong();
+            case FLOAT -> in.readFloat();
+            case DOUBLE -> in.readDouble();
+            case DECIMAL -> new BigDecimal(readString(in));
+            case DATE -> new Date(in.readLong());
+            case TIME -> new Time(in.readLong());
+            case TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case STRING -> readString(in);
+            default -> throw new IOException("Unknown value type " + type + " in " + ColumnarSpillFile.class.getSimpleName());
+        };
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads one block at a time, closing the file once the last row is read.
+     */
+    final class BlockIterator implements Iterator<Object[]>, Closeable {
+        private DataInputStream in;
+        private Object[][] current;
+        private int currentRows = 0;
+        private int next = 0;
+
+        private BlockIterator() {
+            try {
+                in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(Files.newInputStream(path)), 64 * 1024));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < currentRows) {
+                return true;
+            }
+            if (in == null) {
+                return false;
+            }
+            try {
+                readBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next < currentRows;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] values = new Object[columnCount];
+            for (int column = 0; column < columnCount; column++) {
+                values[column] = current[column][next];
+            }
+            next++;
+            return values;
+        }
+
+        private void readBlock() throws IOException {
+            int blockSize;
+            try {
+                blockSize = in.readInt();
+            } catch (EOFException e) {
+                close();
+                return;
+            }
+            current = new Object[columnCount][blockSize];
+            for (int column = 0; column < columnCount; column++) {
+                for (int row = 0; row < blockSize; row++) {
+                    current[column][row] = read(in);
+                }
+            }
+            currentRows = blockSize;
+            next = 0;
+        }
+
+        @Override
+        public void close() {
+            if (in == null) {
+                return;
+            }
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                in = null;
+                current = null;
+                currentRows = next = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal CSV reader turning a text with a header line into rows of named values.
+ * <p>
+ * Values are separated by commas and may be enclosed in double quotes, a double quote being escaped by another one.
+ * Blank lines are ignored.
+ */
+public final class CsvRows {
+
+    private CsvRows() {
+    }
+
+    public static List<Map<String, String>> parse(String csv) {
+        List<List<String>> lines = lines(csv);
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        List<String> headers = lines.getFirst().stream().map(String::trim).toList();
+        List<Map<String, String>> rows = new ArrayList<>(lines.size() - 1);
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> values = lines.get(i);
+            if (values.size() != headers.size()) {
+                throw new IllegalArgumentException("CSV line " + (i + 1) + " has " + values.size() + " values, expected " + headers.size());
+            }
+            Map<String, String> row = new LinkedHashMap<>(headers.size());
+            for (int j = 0; j < headers.size(); j++) {
+                row.put(headers.get(j), values.get(j));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<String>> lines(String csv) {
+        List<List<String>> lines = new ArrayList<>();
+        List<String> line = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean blank = true;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                blank = false;
+            } else if (c == ',') {
+                line.add(value.toString());
+                value.setLength(0);
+                blank = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (!blank) {
+                    line.add(value.toString());
+                    lines.add(line);
+                }
+                line = new ArrayList<>();
+                value.setLength(0);
+                blank = true;
+            } else {
+                value.append(c);
+                blank = blank && Character.isWhitespace(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV has an unclosed quoted value");
+        }
+        if (!blank) {
+            line.add(value.toString());
+            lines.add(line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import fr.enedis.chutney.action.common.LeasedRegistry;
+import fr.enedis.chutney.action.common.SharedResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Shared connection pools, keyed by their whole configuration (JDBC URL, credentials, pool settings and {@code dataSource.*} properties).
+ * <p>
+ * Pools not leased for {@link #DEFAULT_IDLE_EVICTION} are evicted, see {@link LeasedRegistry}.
+ * Pools of the {@link #shared() shared registry} are closed on engine shutdown.
+ */
+public class DataSourceRegistry extends LeasedRegistry<Properties, HikariDataSource> {
+
+    public static final Duration DEFAULT_IDLE_EVICTION = Duration.ofMinutes(10);
+
+    private static final DataSourceRegistry SHARED = SharedResources.register(new DataSourceRegistry(DEFAULT_IDLE_EVICTION, globalRegistry));
+
+    private final Timer borrowTimer;
+
+    public DataSourceRegistry(Duration idleEviction, MeterRegistry meterRegistry) {
+        super("chutney_sql_datasource", idleEviction, meterRegistry);
+        this.borrowTimer = meterRegistry.timer("chutney_sql_connection_borrow");
+    }
+
+    public static DataSourceRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param configuration Hikari configuration of the pool, must not be modified afterward
+     * @return a lease on the pool matching given configuration, to be released when no more connections are needed
+     */
+    public Lease lease(Properties configuration) {
+        return new Lease(lease(configuration, c -> new HikariDataSource(new HikariConfig(c))));
+    }
+
+    public class Lease {
+        private final LeasedRegistry.Lease<HikariDataSource> lease;
+
+        private Lease(LeasedRegistry.Lease<HikariDataSource> lease) {
+            this.lease = lease;
+        }
+
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return lease.resource().getConnection();
+            } finally {
+                borrowTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+
+        public HikariDataSource dataSource() {
+            return lease.resource();
+        }
+
+        public void release() {
+            lease.release();
+        }
+    }
+}
@@ -7,14 +7,24 @@
 
 package fr.enedis.chutney.action.sql.core;
 
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import fr.enedis.chutney.action.spi.injectable.Target;
+import java.util.List;
 import java.util.Properties;
 
 public class DefaultSqlClientFactory implements SqlClientFactory {
 
     private final int DEFAULT_MAX_FETCH_SIZE = 1000;
+    private static final List<String> POOL_PROPERTIES = List.of("maximumPoolSize", "minimumIdle", "idleTimeout", "connectionTimeout", "maxLifetime");
+
+    private final DataSourceRegistry dataSourceRegistry;
+
+    public DefaultSqlClientFactory() {
+        this(DataSourceRegistry.shared());
+    }
+
+    public DefaultSqlClientFactory(DataSourceRegistry dataSourceRegistry) {
+        this.dataSourceRegistry = dataSourceRegistry;
+    }
 
     @Override
     public SqlClient create(Target target, int minimumMemoryPercentageRequired) {
@@ -27,12 +37,12 @@ public class DefaultSqlClientFactory implements SqlClientFactory {
         target.user().ifPresent(user -> props.put("username", user));
         target.userPassword().ifPresent(password -> props.put("password", password));
 
+        POOL_PROPERTIES.forEach(property -> target.property(property).ifPresent(value -> props.put(property, value)));
+
         props.putAll(target.prefixedProperties("dataSource."));
-        final HikariConfig config = new HikariConfig(props);
-        final HikariDataSource ds = new HikariDataSource(config);
 
         return new SqlClient(
-            ds,
+            dataSourceRegistry.lease(props),
             target.numericProperty("maxFetchSize").map(Number::intValue).orElse(DEFAULT_MAX_FETCH_SIZE),
             minimumMemoryPercentageRequired
         );
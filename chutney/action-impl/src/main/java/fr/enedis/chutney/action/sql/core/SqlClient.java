@@ -17,10 +17,13 @@ import com.zaxxer.hikari.HikariDataSource;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -37,14 +40,27 @@ import org.slf4j.LoggerFactory;
 
 public class SqlClient {
 
-    private final HikariDataSource dataSource;
+    private final ConnectionProvider connectionProvider;
+    private final Runnable datasourceCloser;
     private final int maxFetchSize;
     private final int minimumMemoryPercentageRequired;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SqlClient.class);
 
     public SqlClient(HikariDataSource dataSource, int maxFetchSize, int minimumMemoryPercentageRequired) {
-        this.dataSource = dataSource;
+        this(dataSource::getConnection, dataSource::close, maxFetchSize, minimumMemoryPercentageRequired);
+    }
+
+    /**
+     * Client on a shared pool, {@link #closeDatasource()} releasing the lease instead of closing the pool.
+     */
+    public SqlClient(DataSourceRegistry.Lease lease, int maxFetchSize, int minimumMemoryPercentageRequired) {
+        this(lease::getConnection, lease::release, maxFetchSize, minimumMemoryPercentageRequired);
+    }
+
+    private SqlClient(ConnectionProvider connectionProvider, Runnable datasourceCloser, int maxFetchSize, int minimumMemoryPercentageRequired) {
+        this.connectionProvider = connectionProvider;
+        this.datasourceCloser = datasourceCloser;
         this.maxFetchSize = maxFetchSize;
         this.minimumMemoryPercentageRequired = minimumMemoryPercentageRequired;
     }
@@ -52,7 +68,7 @@ public class SqlClient {
     public Records execute(String query) throws SQLException {
         Connection connection = null;
         try {
-            connection = dataSource.getConnection();
+            connection = connectionProvider.getConnection();
             try (final Statement statement = connection.createStatement()) {
                 statement.setFetchSize(maxFetchSize);
                 statement.execute(query);
@@ -64,14 +80,151 @@ public class SqlClient {
         }
     }
 
+    /**
+     * Execute given query reading its result set in one pass, without row limit.
+     * <p>
+     * The result set is read forward only, within a transaction, so that drivers fetch it by chunks instead of loading it whole.
+     *
+     * @param maxInMemoryRows number of rows kept in memory before spilling them to a temporary file
+     * @param headRows        number of first rows kept in memory even when spilled, to log them
+     */
+    public StreamedRecords executeStreaming(String query, int maxInMemoryRows, int headRows) throws SQLException {
+        Connection connection = null;
+        boolean autoCommit = true;
+        try {
+            connection = connectionProvider.getConnection();
+            autoCommit = connection.getAutoCommit();
+            // PostgreSQL driver only uses a cursor outside auto-commit mode
+            connection.setAutoCommit(false);
+            try (final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(streamingFetchSize(connection));
+                statement.execute(query);
+                var converter = new StatementConverter(minimumMemoryPercentageRequired);
+                StreamedRecords records = converter.createStreamedRecords(statement, maxInMemoryRows, headRows);
+                connection.commit();
+                return records;
+            } catch (SQLException | RuntimeException e) {
+                silentRollback(connection);
+                throw e;
+            }
+        } finally {
+            restoreAutoCommit(connection, autoCommit);
+            silentClose(connection);
+        }
+    }
+
+    /**
+     * MySQL driver streams rows one by one only with a fetch size of {@link Integer#MIN_VALUE}, other drivers honor the fetch size.
+     */
+    private int streamingFetchSize(Connection connection) throws SQLException {
+        if ("MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+            return Integer.MIN_VALUE;
+        }
+        return maxFetchSize;
+    }
+
+    /**
+     * Execute given parameterized statement once per parameters row, sending rows by batches within one transaction.
+     * The transaction is rolled back when any batch fails, the thrown {@link BatchUpdateException} telling the failed batch and parameters row.
+     *
+     * @param parameterRows each row being a list of positional values or a map of named values
+     */
+    public BatchResult executeBatch(String statement, List<?> parameterRows, int batchSize) throws SQLException {
+        BatchStatement batchStatement = BatchStatement.parse(statement);
+        Connection connection = null;
+        boolean autoCommit = true;
+        try {
+            connection = connectionProvider.getConnection();
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(batchStatement.sql)) {
+                List<BatchResult.Batch> batches = new ArrayList<>();
+                long affectedRows = 0;
+                int rows = 0;
+                for (int i = 0; i < parameterRows.size(); i++) {
+                    batchStatement.bind(preparedStatement, parameterRows.get(i), i);
+                    preparedStatement.addBatch();
+                    if (++rows == batchSize || i == parameterRows.size() - 1) {
+                        BatchResult.Batch batch = executeBatch(preparedStatement, batches.size() + 1, i - rows + 1, rows);
+                        batches.add(batch);
+                        affectedRows += Math.max(batch.affectedRows(), 0);
+                        rows = 0;
+                    }
+                }
+                connection.commit();
+                return new BatchResult(affectedRows, batches);
+            } catch (SQLException | RuntimeException e) {
+                silentRollback(connection);
+                throw e;
+            }
+        } finally {
+            restoreAutoCommit(connection, autoCommit);
+            silentClose(connection);
+        }
+    }
+
+    private BatchResult.Batch executeBatch(PreparedStatement preparedStatement, int index, int firstRow, int rows) throws SQLException {
+        long start = System.nanoTime();
+        int[] counts;
+        try {
+            counts = preparedStatement.executeBatch();
+        } catch (BatchUpdateException e) {
+            throw new BatchUpdateException("Batch " + index + " failed at parameters row " + (firstRow + failedRow(e.getUpdateCounts(), rows)) + ": " + e.getMessage(),
+                e.getSQLState(), e.getErrorCode(), e.getUpdateCounts(), e);
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        long affectedRows = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                affectedRows = -1; // Statement.SUCCESS_NO_INFO
+                break;
+            }
+            affectedRows += count;
+        }
+        return new BatchResult.Batch(index, rows, affectedRows, durationMs);
+    }
+
+    /**
+     * Drivers either stop at the first failed row, returning counts of the previous ones, or mark failed rows and go on.
+     */
+    private static int failedRow(int[] counts, int rows) {
+        if (counts == null) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+        return Math.min(counts.length, rows - 1);
+    }
+
     public void closeDatasource() {
-        this.dataSource.close();
+        this.datasourceCloser.run();
     }
 
     public Records emptyRecords() {
         return new Records(0, Collections.emptyList(), Collections.emptyList());
     }
 
+    private void silentRollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (Exception e) {
+            LOGGER.warn("Cannot rollback transaction: {}", e.getMessage());
+        }
+    }
+
+    private void restoreAutoCommit(Connection connection, boolean autoCommit) {
+        if (connection != null) {
+            try {
+                connection.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                LOGGER.warn("Cannot restore auto-commit of connection: {}", e.getMessage());
+            }
+        }
+    }
+
     private void silentClose(Connection connection) {
         if (connection != null) {
             try {
@@ -82,8 +235,15 @@ public class SqlClient {
         }
     }
 
+    @FunctionalInterface
+    private interface ConnectionProvider {
+        Connection getConnection() throws SQLException;
+    }
+
     private static class StatementConverter {
 
+        private static final int MEMORY_CHECK_INTERVAL = 1024;
+
         private final int minimumMemoryPercentageRequired;
 
         private StatementConverter(int minimumMemoryPercentageRequired) {
@@ -107,6 +267,44 @@ public class SqlClient {
             return new Records(affectedRows, columns, rows);
         }
 
+        private StreamedRecords createStreamedRecords(Statement statement, int maxInMemoryRows, int headRows) throws SQLException {
+            final int affectedRows = statement.getUpdateCount();
+            if (!isSelectQuery(affectedRows)) {
+                return StreamedRecords.withoutRows(affectedRows);
+            }
+
+            try (final ResultSet rs = statement.getResultSet()) {
+                final ResultSetMetaData md = rs.getMetaData();
+                final int columnCount = md.getColumnCount();
+                final var collector = new StreamedRecords.Collector(affectedRows, createHeaders(md, columnCount), headRows);
+                try {
+                    long j = 0;
+                    while (rs.next()) {
+                        final Object[] values = new Object[columnCount];
+                        for (int i = 1; i <= columnCount; i++) {
+                            values[i - 1] = boxed(rs, i);
+                        }
+                        collector.add(values);
+
+                        if (!collector.isSpilled() && (collector.bufferedRows() > maxInMemoryRows || (++j % MEMORY_CHECK_INTERVAL == 0 && !hasEnoughMemory()))) {
+                            collector.spill();
+                        }
+                    }
+                    return collector.build();
+                } catch (IOException e) {
+                    collector.discard();
+                    throw new UncheckedIOException("Cannot spill query result to disk", e);
+                } catch (SQLException | RuntimeException e) {
+                    collector.discard();
+                    throw e;
+                }
+            }
+        }
+
+        private boolean hasEnoughMemory() {
+            return minimumMemoryPercentageRequired <= 0 || hasEnoughAvailableMemory(minimumMemoryPercentageRequired);
+        }
+
         private boolean isSelectQuery(int affectedRows) {
             return affectedRows == -1;
         }
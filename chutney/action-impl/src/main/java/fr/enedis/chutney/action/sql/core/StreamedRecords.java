@@ -0,0 +1,346 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Result of a query read in one pass, its rows being iterated lazily.
+ * <p>
+ * Count, checksum and minimum / maximum of each column are computed while reading the result set.
+ * Rows are kept in memory up to a limit, then spilled to a temporary columnar file, deleted when this result is closed.
+ * First rows are always kept in memory, so that they can be logged without reading the file.
+ * <p>
+ * The checksum does not depend on the rows order, so it can be compared between two databases without ordering the queries.
+ */
+public class StreamedRecords implements Iterable<Row>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamedRecords.class);
+
+    public final int affectedRows;
+    public final List<Column> columns;
+
+    private final List<Object[]> buffered;
+    private final List<Object[]> head;
+    private final ColumnarSpillFile spillFile;
+    private final long count;
+    private final long checksum;
+    private final Map<String, Object> min;
+    private final Map<String, Object> max;
+
+    private StreamedRecords(int affectedRows, List<Column> columns, List<Object[]> buffered, List<Object[]> head, ColumnarSpillFile spillFile, long count, long checksum, Map<String, Object> min, Map<String, Object> max) {
+        this.affectedRows = affectedRows;
+        this.columns = columns;
+        this.buffered = buffered;
+        this.head = head;
+        this.spillFile = spillFile;
+        this.count = count;
+        this.checksum = checksum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static StreamedRecords empty() {
+        return withoutRows(0);
+    }
+
+    static StreamedRecords withoutRows(int affectedRows) {
+        return new StreamedRecords(affectedRows, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), null, 0, 0, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return hexadecimal sum of the murmur3 hashes of each row values
+     */
+    public String checksum() {
+        return String.format("%016x", checksum);
+    }
+
+    /**
+     * @return the minimum value of each column, columns having no value or values not comparable to each other being absent
+     */
+    public Map<String, Object> min() {
+        return min;
+    }
+
+    public Object min(String column) {
+        return min.get(column);
+    }
+
+    /**
+     * @return the maximum value of each column, columns having no value or values not comparable to each other being absent
+     */
+    public Map<String, Object> max() {
+        return max;
+    }
+
+    public Object max(String column) {
+        return max.get(column);
+    }
+
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    public Row firstRow() {
+        return head.isEmpty() ? new Row(Collections.emptyList()) : toRow(head.getFirst());
+    }
+
+    /**
+     * @return a new iterator over all rows, reading them from disk when spilled, the file being closed once the last row is read
+     */
+    @Override
+    public RowIterator iterator() {
+        return spillFile != null ? new RowIterator(spillFile.iterator()) : new RowIterator(buffered.iterator());
+    }
+
+    /**
+     * @return a stream over all rows, to be closed when not consumed until its end
+     */
+    public Stream<Row> stream() {
+        RowIterator rows = iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+            .onClose(rows::close);
+    }
+
+    public String printable(int limit) {
+        List<Row> firstRows;
+        if (limit <= head.size() || count <= head.size()) {
+            firstRows = head.stream().limit(limit).map(this::toRow).toList();
+        } else {
+            try (Stream<Row> rows = stream()) {
+                firstRows = rows.limit(limit).toList();
+            }
+        }
+        Records firstRecords = new Records(affectedRows, columns, firstRows);
+        return firstRecords.printable(limit) + count + " rows" + (isSpilled() ? " (spilled to disk)" : "") + ", checksum " + checksum() + "\n";
+    }
+
+    /**
+     * Delete the temporary file of spilled rows, which cannot be read afterward.
+     */
+    @Override
+    public void close() {
+        if (spillFile != null) {
+            delete(spillFile);
+        }
+    }
+
+    private Row toRow(Object[] values) {
+        List<Cell> cells = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            cells.add(new Cell(columns.get(i), values[i]));
+        }
+        return new Row(cells);
+    }
+
+    private static void delete(ColumnarSpillFile spillFile) {
+        try {
+            spillFile.close();
+        } catch (IOException e) {
+            LOGGER.warn("Cannot delete SQL spill file {}: {}", spillFile.path(), e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamedRecords{" +
+            "affectedRows=" + affectedRows +
+            ", columns=" + columns +
+            ", count=" + count +
+            ", checksum=" + checksum() +
+            ", spilled=" + isSpilled() +
+            '}';
+    }
+
+    /**
+     * Iterator over rows, releasing the file it reads when closed.
+     */
+    public final class RowIterator implements Iterator<Row>, AutoCloseable {
+        private final Iterator<Object[]> values;
+
+        private RowIterator(Iterator<Object[]> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return values.hasNext();
+        }
+
+        @Override
+        public Row next() {
+            return toRow(values.next());
+        }
+
+        @Override
+        public void close() {
+            if (values instanceof ColumnarSpillFile.BlockIterator blocks) {
+                blocks.close();
+            }
+        }
+    }
+
+    /**
+     * Aggregates rows one at a time, buffering them until {@link #spill()} is called.
+     * <p>
+     * First rows are kept aside whatever the storage, up to the given number of head rows and at least one.
+     */
+    static final class Collector {
+        private final int affectedRows;
+        private final List<Column> columns;
+        private final int headRows;
+        private final List<Object[]> head = new ArrayList<>();
+        private final Object[] min;
+        private final Object[] max;
+        private final boolean[] unordered;
+
+        private List<Object[]> buffered = new ArrayList<>();
+        private ColumnarSpillFile spillFile;
+        private long count = 0;
+        private long checksum = 0;
+
+        Collector(int affectedRows, List<Column> columns, int headRows) {
+            this.affectedRows = affectedRows;
+            this.columns = columns;
+            this.headRows = Math.max(headRows, 1);
+            this.min = new Object[columns.size()];
+            this.max = new Object[columns.size()];
+            this.unordered = new boolean[columns.size()];
+        }
+
+        void add(Object[] values) throws IOException {
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    hasher.putByte((byte) 0);
+                } else {
+                    hasher.putByte((byte) 1).putString(value.toString(), StandardCharsets.UTF_8);
+                    aggregate(i, value);
+                }
+            }
+            checksum += hasher.hash().asLong();
+            count++;
+            if (head.size() < headRows) {
+                head.add(values);
+            }
+            if (spillFile != null) {
+                spillFile.add(values);
+            } else {
+                buffered.add(values);
+            }
+        }
+
+        int bufferedRows() {
+            return spillFile != null ? 0 : buffered.size();
+        }
+
+        boolean isSpilled() {
+            return spillFile != null;
+        }
+
+        /**
+         * Move buffered rows to a temporary file, following rows being written to it.
+         */
+        void spill() throws IOException {
+            if (spillFile == null) {
+                spillFile = new ColumnarSpillFile(columns.size());
+                for (Object[] values : buffered) {
+                    spillFile.add(values);
+                }
+                buffered = null;
+            }
+        }
+
+        StreamedRecords build() throws IOException {
+            if (spillFile != null) {
+                spillFile.finish();
+            }
+            return new StreamedRecords(affectedRows, columns, buffered, head, spillFile, count, checksum, byColumnName(min), byColumnName(max));
+        }
+
+        /**
+         * Delete the temporary file when reading the result set failed.
+         */
+        void discard() {
+            if (spillFile != null) {
+                delete(spillFile);
+            }
+        }
+
+        private void aggregate(int column, Object value) {
+            if (unordered[column]) {
+                return;
+            }
+            if (min[column] == null) {
+                min[column] = value;
+                max[column] = value;
+                return;
+            }
+            Integer toMin = compare(value, min[column]);
+            Integer toMax = compare(value, max[column]);
+            if (toMin == null || toMax == null) {
+                unordered[column] = true;
+                min[column] = null;
+                max[column] = null;
+                return;
+            }
+            if (toMin < 0) {
+                min[column] = value;
+            }
+            if (toMax > 0) {
+                max[column] = value;
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Integer compare(Object a, Object b) {
+            if (a.getClass() == b.getClass() && a instanceof Comparable comparable) {
+                return comparable.compareTo(b);
+            }
+            if (a instanceof Number && b instanceof Number) {
+                try {
+                    return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+                } catch (NumberFormatException e) {
+                    return null; // NaN or infinite
+                }
+            }
+            return null;
+        }
+
+        private Map<String, Object> byColumnName(Object[] values) {
+            Map<String, Object> byName = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    byName.putIfAbsent(columns.get(i).name, values[i]);
+                }
+            }
+            return Collections.unmodifiableMap(byName);
+        }
+    }
+}
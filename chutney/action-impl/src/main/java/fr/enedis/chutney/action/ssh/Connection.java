@@ -15,6 +15,7 @@ import java.net.URISyntaxException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.ToIntFunction;
 
 public class Connection {
@@ -89,6 +90,24 @@ public class Connection {
         return isNotBlank(privateKey);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Connection that = (Connection) o;
+        return serverPort == that.serverPort &&
+            Objects.equals(serverHost, that.serverHost) &&
+            Objects.equals(username, that.username) &&
+            Objects.equals(password, that.password) &&
+            Objects.equals(privateKey, that.privateKey) &&
+            Objects.equals(passphrase, that.passphrase);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serverHost, serverPort, username, password, privateKey, passphrase);
+    }
+
     private static void guardClause(Target target) {
         if (target.uri() == null) {
             throw new IllegalArgumentException("Target URL is undefined");
@@ -7,11 +7,19 @@
 
 package fr.enedis.chutney.action.ssh;
 
+import static fr.enedis.chutney.action.ssh.SshSessionPool.DEFAULT_IDLE_EVICTION;
+import static fr.enedis.chutney.action.ssh.SshSessionPool.DEFAULT_MAX_SESSIONS;
+import static fr.enedis.chutney.action.ssh.SshSessionPool.KEEP_ALIVE_INTERVAL;
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
 import static java.util.Collections.singletonList;
 
+import fr.enedis.chutney.action.common.SharedResources;
 import fr.enedis.chutney.action.spi.injectable.Target;
+import fr.enedis.chutney.action.ssh.SshSessionPool.Lease;
+import fr.enedis.chutney.action.ssh.SshSessionPool.SessionKey;
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.auth.UserAuthFactory;
@@ -21,23 +29,42 @@ import org.apache.sshd.client.future.ConnectFuture;
 import org.apache.sshd.client.session.ClientSession;
 import org.apache.sshd.common.config.keys.FilePasswordProvider;
 import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
+import org.apache.sshd.core.CoreModuleProperties;
 
+/**
+ * Authenticated sessions for SCP and SFTP actions, opened by one shared client and kept open between actions, see {@link SshSessionPool}.
+ */
 public class SshClientFactory {
 
     public static String DEFAULT_TIMEOUT = "5 s";
 
-    public static ClientSession buildSSHClientSession(Target target, long timeout) throws IOException {
+    private static final SshClient CLIENT = createDefaultClient();
+    private static final SshSessionPool<ClientSession> SESSIONS = SharedResources.register(new SshSessionPool<>("mina", s -> s.isOpen() && s.isAuthenticated(), DEFAULT_IDLE_EVICTION, DEFAULT_MAX_SESSIONS, globalRegistry));
+
+    /**
+     * @param timeout authentication timeout, also used as the maximum waiting duration for a session when all sessions are in use
+     * @return a lease on an authenticated session, to be closed in order to give the session back
+     */
+    public static Lease<ClientSession> leaseSSHClientSession(Target target, long timeout) throws IOException {
         Connection connection = Connection.from(target);
-        SshClient defaultClient = createDefaultClient();
-        defaultClient.setUserAuthFactories(getAuthFactory(connection));
-        ClientSession session = getConnectedSession(defaultClient, connection);
+        return SESSIONS.lease(SessionKey.of(connection, List.of()), () -> buildSSHClientSession(connection, timeout), Duration.ofMillis(timeout));
+    }
 
-        session.auth().verify(timeout);
-        return session;
+    private static ClientSession buildSSHClientSession(Connection connection, long timeout) throws IOException {
+        ClientSession session = getConnectedSession(CLIENT, connection);
+        try {
+            session.setUserAuthFactories(getAuthFactory(connection));
+            session.auth().verify(timeout);
+            return session;
+        } catch (IOException | RuntimeException e) {
+            session.close(true);
+            throw e;
+        }
     }
 
     private static SshClient createDefaultClient() {
         SshClient defaultClient = SshClient.setUpDefaultClient();
+        CoreModuleProperties.HEARTBEAT_INTERVAL.set(defaultClient, KEEP_ALIVE_INTERVAL);
         defaultClient.start();
         return defaultClient;
     }
@@ -0,0 +1,320 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.ssh;
+
+import fr.enedis.chutney.action.common.SharedResources;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Authenticated SSH sessions, keyed by {@link SessionKey} (i.e. host, credentials and proxy chain), kept open between actions.
+ * <p>
+ * A session is leased by one action at a time. Released sessions are reused by following leases of the same key,
+ * unless found closed (i.e. by the server) or idle for more than the idle eviction duration.
+ * Sessions released by an interrupted thread (i.e. a stopped execution) are closed, since interruption may have broken their channels.
+ * At most maxSessions sessions are open at the same time : once reached, the oldest idle session is closed to open a new one,
+ * or the lease waits for a session to be released.
+ * <p>
+ * Idle sessions are evicted on the {@link SharedResources} scheduler, every half idle eviction duration, until the pool is closed.
+ * <p>
+ * Handshakes and reuses are counted by the {@value #SESSIONS_METRIC} counter, tagged with the client name.
+ */
+public class SshSessionPool<S extends Closeable> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SshSessionPool.class);
+
+    static final String SESSIONS_METRIC = "chutney_ssh_sessions";
+
+    public static final Duration DEFAULT_IDLE_EVICTION = Duration.ofMinutes(2);
+    public static final int DEFAULT_MAX_SESSIONS = 32;
+    public static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(30);
+
+    private final Predicate<S> isOpen;
+    private final Duration idleEviction;
+    private final long idleEvictionNanos;
+    private final int maxSessions;
+    private final Map<SessionKey, Deque<IdleSession<S>>> idleSessions = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int openSessions = 0;
+    private ScheduledFuture<?> eviction;
+
+    private final Counter handshakeCounter;
+    private final Counter reuseCounter;
+
+    /**
+     * @param name   client name, used as metrics tag
+     * @param isOpen tells if a session can still be used
+     */
+    public SshSessionPool(String name, Predicate<S> isOpen, Duration idleEviction, int maxSessions, MeterRegistry meterRegistry) {
+        this.isOpen = isOpen;
+        this.idleEviction = idleEviction;
+        this.idleEvictionNanos = idleEviction.toNanos();
+        this.maxSessions = maxSessions;
+        this.handshakeCounter = meterRegistry.counter(SESSIONS_METRIC, "client", name, "result", "handshake");
+        this.reuseCounter = meterRegistry.counter(SESSIONS_METRIC, "client", name, "result", "reuse");
+        Gauge.builder(SESSIONS_METRIC + "_open", this, SshSessionPool::openSessions).tag("client", name).register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface SessionOpener<S> {
+        /**
+         * @return a connected and authenticated session
+         */
+        S open() throws IOException;
+    }
+
+    /**
+     * @param opener opens a new session when no idle one matches given key
+     * @param wait   maximum duration to wait for a session when maxSessions are in use
+     * @return a lease on a session, to be closed when the action is done with it
+     * @throws IOException when no session can be opened
+     */
+    public Lease<S> lease(SessionKey key, SessionOpener<S> opener, Duration wait) throws IOException {
+        List<S> toClose = new ArrayList<>();
+        long nanosLeft = wait.toNanos();
+        lock.lock();
+        try {
+            if (eviction == null) {
+                eviction = SharedResources.scheduleEviction(this::evictIdle, idleEviction.dividedBy(2));
+            }
+            while (true) {
+                Deque<IdleSession<S>> idle = idleSessions.get(key);
+                while (idle != null && !idle.isEmpty()) {
+                    S session = idle.removeLast().session;
+                    if (isOpen.test(session)) {
+                        reuseCounter.increment();
+                        return new Lease<>(this, key, session, true);
+                    }
+                    toClose.add(session);
+                    openSessions--;
+                }
+                if (openSessions < maxSessions) {
+                    openSessions++;
+                    break;
+                }
+                S oldestIdle = removeOldestIdle();
+                if (oldestIdle != null) {
+                    toClose.add(oldestIdle);
+                    openSessions--;
+                    continue;
+                }
+                if (nanosLeft <= 0) {
+                    throw new IOException("No SSH session available after " + wait.toMillis() + " ms, " + maxSessions + " sessions are in use");
+                }
+                nanosLeft = released.awaitNanos(nanosLeft);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Waiting for an SSH session have been interrupted", e);
+        } finally {
+            lock.unlock();
+            toClose.forEach(SshSessionPool::closeQuietly);
+        }
+
+        try {
+            S session = opener.open();
+            handshakeCounter.increment();
+            return new Lease<>(this, key, session, false);
+        } catch (IOException | RuntimeException e) {
+            sessionClosed();
+            throw e;
+        }
+    }
+
+    /**
+     * Close sessions idle for more than the idle eviction duration.
+     */
+    public void evictIdle() {
+        List<S> toClose = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            for (Iterator<Deque<IdleSession<S>>> it = idleSessions.values().iterator(); it.hasNext(); ) {
+                Deque<IdleSession<S>> idle = it.next();
+                while (!idle.isEmpty() && (now - idle.peekFirst().releaseNanos >= idleEvictionNanos || !isOpen.test(idle.peekFirst().session))) {
+                    toClose.add(idle.removeFirst().session);
+                    openSessions--;
+                }
+                if (idle.isEmpty()) {
+                    it.remove();
+                }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(SshSessionPool::closeQuietly);
+    }
+
+    /**
+     * Close idle sessions and stop their eviction, which starts again with the next lease.
+     */
+    @Override
+    public void close() {
+        List<S> toClose = new ArrayList<>();
+        lock.lock();
+        try {
+            if (eviction != null) {
+                eviction.cancel(false);
+                eviction = null;
+            }
+            idleSessions.values().forEach(idle -> idle.forEach(s -> toClose.add(s.session)));
+            openSessions -= toClose.size();
+            idleSessions.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(SshSessionPool::closeQuietly);
+    }
+
+    public int openSessions() {
+        return openSessions;
+    }
+
+    private S removeOldestIdle() {
+        SessionKey oldestKey = null;
+        long oldestNanos = 0;
+        for (Map.Entry<SessionKey, Deque<IdleSession<S>>> entry : idleSessions.entrySet()) {
+            IdleSession<S> first = entry.getValue().peekFirst();
+            if (first != null && (oldestKey == null || first.releaseNanos - oldestNanos < 0)) {
+                oldestKey = entry.getKey();
+                oldestNanos = first.releaseNanos;
+            }
+        }
+        if (oldestKey == null) {
+            return null;
+        }
+        Deque<IdleSession<S>> idle = idleSessions.get(oldestKey);
+        S session = idle.removeFirst().session;
+        if (idle.isEmpty()) {
+            idleSessions.remove(oldestKey);
+        }
+        return session;
+    }
+
+    private void release(SessionKey key, S session) {
+        if (!isOpen.test(session)) {
+            discard(session);
+            return;
+        }
+        lock.lock();
+        try {
+            idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(new IdleSession<>(session, System.nanoTime()));
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(S session) {
+        closeQuietly(session);
+        sessionClosed();
+    }
+
+    private void sessionClosed() {
+        lock.lock();
+        try {
+            openSessions--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void closeQuietly(Closeable session) {
+        try {
+            session.close();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot close SSH session", e);
+        }
+    }
+
+    private record IdleSession<S>(S session, long releaseNanos) {
+    }
+
+    /**
+     * A session leased by an action. Closing the lease gives the session back to the pool, unless the current thread is interrupted.
+     */
+    public static class Lease<S extends Closeable> implements AutoCloseable {
+        private final SshSessionPool<S> pool;
+        private final SessionKey key;
+        private final S session;
+        private final boolean reused;
+        private boolean done = false;
+
+        private Lease(SshSessionPool<S> pool, SessionKey key, S session, boolean reused) {
+            this.pool = pool;
+            this.key = key;
+            this.session = session;
+            this.reused = reused;
+        }
+
+        public S session() {
+            return session;
+        }
+
+        /**
+         * @return true if the session was opened by a previous lease
+         */
+        public boolean reused() {
+            return reused;
+        }
+
+        /**
+         * Close the session instead of giving it back to the pool, i.e. when it is found broken.
+         */
+        public synchronized void discard() {
+            if (!done) {
+                done = true;
+                pool.discard(session);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!done) {
+                done = true;
+                if (Thread.currentThread().isInterrupted()) {
+                    pool.discard(session);
+                    return;
+                }
+                pool.release(key, session);
+            }
+        }
+    }
+
+    public record SessionKey(Connection connection, List<Connection> proxies) {
+        public static SessionKey of(Connection connection, List<Connection> proxies) {
+            return new SessionKey(connection, List.copyOf(proxies));
+        }
+
+        @Override
+        public String toString() {
+            return "SessionKey[" + connection.username + "@" + connection.serverHost + ":" + connection.serverPort + ", proxies=" + proxies.size() + "]";
+        }
+    }
+}
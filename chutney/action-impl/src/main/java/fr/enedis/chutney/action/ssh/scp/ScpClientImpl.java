@@ -9,18 +9,18 @@ package fr.enedis.chutney.action.ssh.scp;
 
 import fr.enedis.chutney.action.spi.injectable.Target;
 import fr.enedis.chutney.action.ssh.SshClientFactory;
+import fr.enedis.chutney.action.ssh.SshSessionPool.Lease;
 import java.io.IOException;
 import java.util.Collections;
 import org.apache.sshd.client.session.ClientSession;
-import org.apache.sshd.scp.client.CloseableScpClient;
 import org.apache.sshd.scp.client.ScpClientCreator;
 
 public class ScpClientImpl implements ScpClient {
 
-    private final ClientSession session;
-    private final CloseableScpClient scpClient;
+    private final Lease<ClientSession> session;
+    private final org.apache.sshd.scp.client.ScpClient scpClient;
 
-    private ScpClientImpl(ClientSession session, CloseableScpClient scpClient) {
+    private ScpClientImpl(Lease<ClientSession> session, org.apache.sshd.scp.client.ScpClient scpClient) {
         this.session = session;
         this.scpClient = scpClient;
     }
@@ -35,22 +35,17 @@ public class ScpClientImpl implements ScpClient {
         scpClient.download(remote, local, Collections.emptyList());
     }
 
+    /**
+     * Give the session back, each transfer using its own channel.
+     */
     @Override
-    public void close() throws Exception {
+    public void close() {
         session.close();
-        scpClient.close();
     }
 
     public static ScpClient buildFor(Target target, long timeout) throws IOException {
-        ClientSession session = SshClientFactory.buildSSHClientSession(target, timeout);
-        return new ScpClientImpl(session, closeableScpClient(session));
-    }
-
-    private static CloseableScpClient closeableScpClient(ClientSession session) {
-        ScpClientCreator creator = ScpClientCreator.instance();
-        return CloseableScpClient.singleSessionInstance(
-            creator.createScpClient(session)
-        );
+        Lease<ClientSession> session = SshClientFactory.leaseSSHClientSession(target, timeout);
+        return new ScpClientImpl(session, ScpClientCreator.instance().createScpClient(session.session()));
     }
 
 }
@@ -13,6 +13,7 @@ import static java.time.ZoneId.systemDefault;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import fr.enedis.chutney.action.spi.injectable.Target;
 import fr.enedis.chutney.action.ssh.SshClientFactory;
+import fr.enedis.chutney.action.ssh.SshSessionPool.Lease;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -35,10 +36,10 @@ import org.apache.sshd.sftp.client.impl.DefaultSftpClientFactory;
 
 public class SftpClientImpl implements ChutneySftpClient {
 
-    private final ClientSession session;
+    private final Lease<ClientSession> session;
     private final SftpClient sftpClient;
 
-    private SftpClientImpl(ClientSession session, SftpClient sftpClient) {
+    private SftpClientImpl(Lease<ClientSession> session, SftpClient sftpClient) {
         this.session = session;
         this.sftpClient = sftpClient;
     }
@@ -90,21 +91,31 @@ public class SftpClientImpl implements ChutneySftpClient {
         );
     }
 
+    /**
+     * Close the SFTP channel and give the session back.
+     */
     @Override
     public void close() throws Exception {
-        sftpClient.close();
-        session.close();
+        try {
+            sftpClient.close();
+        } finally {
+            session.close();
+        }
     }
 
     public static ChutneySftpClient buildFor(Target target, long timeout, Logger logger) throws IOException {
-        ClientSession session = SshClientFactory.buildSSHClientSession(target, timeout);
-        return new SftpClientImpl(session, buildSftpClient(session, logger));
+        Lease<ClientSession> session = SshClientFactory.leaseSSHClientSession(target, timeout);
+        try {
+            return new SftpClientImpl(session, buildSftpClient(session.session(), logger));
+        } catch (IOException | RuntimeException e) {
+            session.discard();
+            throw e;
+        }
     }
 
     private static SftpClient buildSftpClient(ClientSession session, Logger logger) throws IOException {
         SftpClientFactory factory = DefaultSftpClientFactory.INSTANCE;
-        SftpClient client = factory.createSftpClient(session, new ActionSftpErrorDataHandler(logger));
-        return client.singleSessionInstance();
+        return factory.createSftpClient(session, new ActionSftpErrorDataHandler(logger));
     }
 
     /*
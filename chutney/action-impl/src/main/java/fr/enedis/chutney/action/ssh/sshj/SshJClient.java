@@ -7,17 +7,27 @@
 
 package fr.enedis.chutney.action.ssh.sshj;
 
+import static fr.enedis.chutney.action.ssh.SshSessionPool.DEFAULT_IDLE_EVICTION;
+import static fr.enedis.chutney.action.ssh.SshSessionPool.DEFAULT_MAX_SESSIONS;
+import static fr.enedis.chutney.action.ssh.SshSessionPool.KEEP_ALIVE_INTERVAL;
+import static io.micrometer.core.instrument.Metrics.globalRegistry;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
+import fr.enedis.chutney.action.common.SharedResources;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import fr.enedis.chutney.action.ssh.Connection;
+import fr.enedis.chutney.action.ssh.SshSessionPool;
+import fr.enedis.chutney.action.ssh.SshSessionPool.Lease;
+import fr.enedis.chutney.action.ssh.SshSessionPool.SessionKey;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.security.PublicKey;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import net.schmizz.concurrent.Event;
@@ -31,8 +41,16 @@ import net.schmizz.sshj.transport.verification.HostKeyVerifier;
 import net.schmizz.sshj.userauth.UserAuthException;
 import net.schmizz.sshj.userauth.keyprovider.KeyProvider;
 
+/**
+ * Run commands through SSH sessions shared between actions, see {@link SshSessionPool}.
+ */
 public class SshJClient implements SshClient {
 
+    private static final SshSessionPool<Tunnel> SESSIONS = SharedResources.register(new SshSessionPool<>("sshj", Tunnel::isOpen, DEFAULT_IDLE_EVICTION, DEFAULT_MAX_SESSIONS, globalRegistry));
+    private static final Duration LEASE_WAIT = Duration.ofMinutes(1);
+    // Pooled sessions outlive the step, so their lifecycle is not logged in the step report
+    private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(SshJClient.class);
+
     private final Connection connection;
     private final List<Connection> proxyConnections;
     private final Logger logger;
@@ -45,34 +63,61 @@ public class SshJClient implements SshClient {
         this.shell = shell;
     }
 
+    /**
+     * A session found closed when starting the command channel is replaced by a new one, the command not being sent yet.
+     */
     @Override
     public CommandResult execute(Command command) throws IOException {
+        SessionKey key = SessionKey.of(connection, proxyConnections);
+        while (true) {
+            Lease<Tunnel> lease = SESSIONS.lease(key, this::open, LEASE_WAIT);
+            if (lease.reused()) {
+                proxyConnections.forEach(pc -> logger.info(authenticationMessage(pc) + " (reused session)"));
+                logger.info(authenticationMessage(connection) + " (reused session)");
+            }
+            Session session;
+            try {
+                session = lease.session().client.startSession();
+            } catch (IOException e) {
+                lease.discard();
+                if (lease.reused()) {
+                    continue;
+                }
+                throw e;
+            }
+            try {
+                CommandResult result = executeCommand(session, command);
+                lease.close();
+                return result;
+            } catch (IOException | RuntimeException e) {
+                lease.discard();
+                throw e;
+            }
+        }
+    }
+
+    private Tunnel open() throws IOException {
         SSHClient sshClient = new SSHClient();
-        List<SSHClient> tunnel = connect(sshClient);
+        List<SSHClient> tunnel = tunnel();
+        Tunnel session = new Tunnel(sshClient, tunnel);
         try {
+            connect(sshClient, tunnel);
             authenticate(sshClient, connection);
-            return executeCommand(sshClient, command);
-        } finally {
-            sshClient.disconnect();
-            tunnel.reversed().forEach(t -> {
-                try {
-                    t.disconnect();
-                } catch (IOException e) {
-                    logger.error("Error disconnecting tunnel : " + e.getMessage());
-                }
-            });
+            return session;
+        } catch (IOException | RuntimeException e) {
+            session.close();
+            throw e;
         }
     }
 
-    private List<SSHClient> connect(SSHClient client) throws IOException {
+    private void connect(SSHClient client, List<SSHClient> tunnel) throws IOException {
         client.addHostKeyVerifier(alwaysVerified()); // TODO : Add best way host key verifier to really check.
-        List<SSHClient> tunnel = tunnel();
         if (!tunnel.isEmpty()) {
             client.connectVia(tunnel.getLast().newDirectConnection(connection.serverHost, connection.serverPort));
         } else {
             client.connect(connection.serverHost, connection.serverPort);
         }
-        return tunnel;
+        client.getConnection().getKeepAlive().setKeepAliveInterval((int) KEEP_ALIVE_INTERVAL.toSeconds());
     }
 
     private List<SSHClient> tunnel() {
@@ -87,6 +132,7 @@ public class SshJClient implements SshClient {
                 } else {
                     sshClient.connectVia(result.getLast().newDirectConnection(pc.serverHost, pc.serverPort));
                 }
+                sshClient.getConnection().getKeepAlive().setKeepAliveInterval((int) KEEP_ALIVE_INTERVAL.toSeconds());
                 authenticate(sshClient, pc);
             } catch (IOException e) {
                 logger.error("Error in tunnel setup : " + e.getMessage());
@@ -97,15 +143,19 @@ public class SshJClient implements SshClient {
     }
 
     private void authenticate(SSHClient client, Connection connection) throws IOException {
+        logger.info(authenticationMessage(connection));
         if (isBlank(connection.privateKey)) {
-            logger.info("Authentication on " + connection.serverHost + " via username/password as " + connection.username);
             loginWithPassword(client, connection.username, connection.password);
         } else {
-            logger.info("Authentication on " + connection.serverHost + " via private key as " + connection.username);
             loginWithPrivateKey(client, connection.username, connection.privateKey, connection.passphrase);
         }
     }
 
+    private static String authenticationMessage(Connection connection) {
+        String method = isBlank(connection.privateKey) ? "username/password" : "private key";
+        return "Authentication on " + connection.serverHost + " via " + method + " as " + connection.username;
+    }
+
     private void loginWithPassword(SSHClient client, String username, String password) throws UserAuthException, TransportException {
         client.authPassword(username, password);
     }
@@ -115,8 +165,8 @@ public class SshJClient implements SshClient {
         client.authPublickey(username, keyProvider);
     }
 
-    private CommandResult executeCommand(SSHClient sshClient, Command command) throws IOException {
-        try (Session session = sshClient.startSession()) {
+    private CommandResult executeCommand(Session startedSession, Command command) throws IOException {
+        try (Session session = startedSession) {
             if (shell) {
                 return shellCommand(command, session);
             } else {
@@ -204,4 +254,28 @@ public class SshJClient implements SshClient {
             .replace(BRACKETED_PASTE_END, "")
             .replaceAll(ESCAPE_SEQUENCE, "");
     }
+
+    /**
+     * Connected and authenticated client, along with the proxies it is connected through.
+     */
+    private record Tunnel(SSHClient client, List<SSHClient> proxies) implements Closeable {
+
+        private boolean isOpen() {
+            return client.isConnected() && client.isAuthenticated();
+        }
+
+        @Override
+        public void close() {
+            disconnect(client);
+            proxies.reversed().forEach(this::disconnect);
+        }
+
+        private void disconnect(SSHClient sshClient) {
+            try {
+                sshClient.disconnect();
+            } catch (IOException e) {
+                LOGGER.warn("Error disconnecting tunnel : {}", e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.assertion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class CompiledSchemasTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompiledSchemas sut = new CompiledSchemas(10, meterRegistry);
+
+    @Test
+    void should_compile_xsd_once_per_content() throws IOException, SAXException {
+        byte[] xsd = resource("/xsd_samples/employee.xsd");
+
+        javax.xml.validation.Schema first = sut.xsd("/xsd_samples/employee.xsd", xsd);
+        javax.xml.validation.Schema second = sut.xsd("/xsd_samples/employee.xsd", xsd.clone());
+        javax.xml.validation.Schema changed = sut.xsd("/xsd_samples/employee.xsd", (new String(xsd, StandardCharsets.UTF_8) + "<!-- changed -->").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(second).isSameAs(first);
+        assertThat(changed).isNotSameAs(first);
+        assertThat(meterRegistry.counter("chutney_schema_cache", "type", "xsd", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_schema_cache", "type", "xsd", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_compile_json_schema_once_per_content() {
+        String schema = "{\"type\": \"object\"}";
+
+        org.everit.json.schema.Schema first = sut.json(schema, () -> new JSONObject(schema));
+        org.everit.json.schema.Schema second = sut.json(new String(schema), () -> {
+            throw new AssertionError("Schema should not be parsed again");
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(sut.containsJson(schema)).isTrue();
+        assertThat(sut.containsJson("{\"type\": \"array\"}")).isFalse();
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    private static byte[] resource(String path) throws IOException {
+        try (InputStream in = CompiledSchemasTest.class.getResourceAsStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+}
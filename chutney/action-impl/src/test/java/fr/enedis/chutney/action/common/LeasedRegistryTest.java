@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LeasedRegistryTest {
+
+    private final LeasedRegistry<String, TestResource> sut = new LeasedRegistry<>("test", Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void close() {
+        sut.close();
+    }
+
+    @Test
+    void should_not_block_other_keys_while_creating_a_resource() throws Exception {
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(1);
+        AtomicInteger slowCreations = new AtomicInteger();
+
+        CompletableFuture<LeasedRegistry.Lease<TestResource>> slowLeases = CompletableFuture.supplyAsync(() -> sut.lease("slow", key -> {
+            slowCreations.incrementAndGet();
+            connecting.countDown();
+            await(connected);
+            return new TestResource(key);
+        }));
+        assertThat(connecting.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<LeasedRegistry.Lease<TestResource>> waitingLease = CompletableFuture.supplyAsync(() -> sut.lease("slow", key -> {
+            slowCreations.incrementAndGet();
+            return new TestResource(key);
+        }));
+
+        LeasedRegistry.Lease<TestResource> fast = sut.lease("fast", TestResource::new);
+        assertThat(fast.resource().key()).isEqualTo("fast");
+        assertThat(slowLeases).isNotDone();
+
+        connected.countDown();
+        assertThat(slowLeases.get(5, TimeUnit.SECONDS).resource()).isSameAs(waitingLease.get(5, TimeUnit.SECONDS).resource());
+        assertThat(slowCreations).hasValue(1);
+    }
+
+    @Test
+    void should_not_cache_resource_failing_to_be_created() {
+        assertThatThrownBy(() -> sut.lease("key", key -> {
+            throw new IllegalStateException("Connection refused");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("Connection refused");
+        assertThat(sut.size()).isZero();
+
+        assertThat(sut.lease("key", TestResource::new).resource().key()).isEqualTo("key");
+    }
+
+    @Test
+    void should_retire_resource_released_by_an_interrupted_thread() {
+        LeasedRegistry.Lease<TestResource> interrupted = sut.lease("key", TestResource::new);
+        LeasedRegistry.Lease<TestResource> other = sut.lease("key", TestResource::new);
+
+        Thread.currentThread().interrupt();
+        try {
+            interrupted.release();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(sut.lease("key", TestResource::new).resource()).isNotSameAs(interrupted.resource());
+        assertThat(interrupted.resource().closed()).isFalse();
+        other.release();
+        assertThat(interrupted.resource().closed()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record TestResource(String key, AtomicBoolean closing) implements AutoCloseable {
+        private TestResource(String key) {
+            this(key, new AtomicBoolean());
+        }
+
+        private boolean closed() {
+            return closing.get();
+        }
+
+        @Override
+        public void close() {
+            closing.set(true);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.Option;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.jdom2.Element;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+class ParsedDocumentsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_parse_json_document_once() {
+        ParsedDocuments sut = new ParsedDocuments(64 * 1024, 10, meterRegistry);
+        String json = "{\"a\": {\"b\": 1}, \"c\": \"d\"}";
+
+        Object first = sut.json(json).read("$.a");
+        Object second = sut.json(new String(json)).read("$.a");
+        Object other = sut.json(json, Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS)).read("$.unknown");
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(other).isNull();
+        assertThat(meterRegistry.counter("chutney_parsed_document_cache", "type", "json", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_parsed_document_cache", "type", "json", "result", "hit").count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_share_read_objects_and_arrays() {
+        ParsedDocuments sut = new ParsedDocuments(64 * 1024, 10, meterRegistry);
+        String json = "{\"a\": {\"b\": [1, 2]}}";
+
+        ((Map<String, Object>) sut.json(json).read("$.a")).put("c", 3);
+        ((List<Object>) sut.json(json).read("$.a.b")).add(3);
+
+        assertThat(sut.json(json).read("$")).isEqualTo(Map.of("a", Map.of("b", List.of(1, 2))));
+    }
+
+    @Test
+    void should_evict_json_documents_by_estimated_size() {
+        ParsedDocuments sut = new ParsedDocuments(10, 10, meterRegistry);
+
+        sut.json("{\"key\": \"a long value\"}");
+        sut.json("{\"key\": \"a long value\"}");
+
+        assertThat(meterRegistry.counter("chutney_parsed_document_cache", "type", "json", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_cache_invalid_json() {
+        ParsedDocuments sut = new ParsedDocuments(64 * 1024, 10, meterRegistry);
+
+        assertThatThrownBy(() -> sut.json("{invalid")).isInstanceOf(InvalidJsonException.class);
+        assertThatThrownBy(() -> sut.json("{invalid")).isInstanceOf(InvalidJsonException.class);
+    }
+
+    @Test
+    void should_parse_xml_document_once_and_evaluate_xpath() throws Exception {
+        ParsedDocuments sut = new ParsedDocuments(64 * 1024, 10, meterRegistry);
+        String xml = "<ns:root xmlns:ns=\"urn:test\"><ns:child>value</ns:child></ns:root>";
+
+        Object first = sut.xpathFirst(xml, "/x:root/x:child/text()", Map.of("x", "urn:test"));
+        Element child = (Element) sut.xpathFirst(new String(xml), "/x:root/x:child", Map.of("x", "urn:test"));
+        child.setText("changed");
+
+        assertThat(first).hasToString("[Text: value]");
+        assertThat(child.getParent()).isNull();
+        assertThat(sut.xpathFirst(xml, "/x:root/x:child/text()", Map.of("x", "urn:test"))).hasToString("[Text: value]");
+        assertThat(meterRegistry.counter("chutney_parsed_document_cache", "type", "xml", "result", "hit").count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.groovy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.junit.jupiter.api.Test;
+
+class CompiledScriptsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_compile_script_once_and_run_new_instances() {
+        CompiledScripts sut = new CompiledScripts(10, meterRegistry);
+        String script = "counter = (binding.hasVariable('counter') ? counter : 0) + 1; return [value: value, counter: counter]";
+
+        Script first = sut.newScript(script, new Binding(new HashMap<>(Map.of("value", "first"))));
+        Script second = sut.newScript(new String(script), new Binding(new HashMap<>(Map.of("value", "second"))));
+
+        assertThat(second.getClass()).isSameAs(first.getClass());
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.run()).isEqualTo(Map.of("value", "first", "counter", 1));
+        assertThat(second.run()).isEqualTo(Map.of("value", "second", "counter", 1));
+        assertThat(meterRegistry.counter("chutney_groovy_script_cache", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_groovy_script_cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("chutney_groovy_script_compilation").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_compile_script_once_when_first_run_concurrently() throws Exception {
+        CompiledScripts sut = new CompiledScripts(10, meterRegistry);
+        int runs = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(runs)) {
+            List<Future<Class<?>>> scriptClasses = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                scriptClasses.add(executor.submit(() -> {
+                    start.await();
+                    return sut.newScript("return 'concurrent'", new Binding()).getClass();
+                }));
+            }
+            start.countDown();
+
+            Class<?> first = scriptClasses.getFirst().get(10, TimeUnit.SECONDS);
+            for (Future<Class<?>> scriptClass : scriptClasses) {
+                assertThat(scriptClass.get(10, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        }
+        assertThat(meterRegistry.timer("chutney_groovy_script_compilation").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_groovy_script_cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_bound_cached_scripts() {
+        CompiledScripts sut = new CompiledScripts(2, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            sut.newScript("return " + i, new Binding());
+        }
+
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_resolve_classes_declared_by_other_scripts() {
+        CompiledScripts sut = new CompiledScripts(10, meterRegistry);
+
+        Script first = sut.newScript("class Helper { def value() { 'first' } }; new Helper().value()", new Binding());
+        Script second = sut.newScript("class Helper { def value() { 'second' } }; new Helper().value()", new Binding());
+
+        assertThat(first.run()).isEqualTo("first");
+        assertThat(second.run()).isEqualTo("second");
+        assertThat(second.getClass().getClassLoader()).isNotSameAs(first.getClass().getClassLoader());
+        assertThatThrownBy(() -> sut.newScript("new Helper()", new Binding())).isInstanceOf(CompilationFailedException.class);
+    }
+
+    @Test
+    void should_not_cache_script_failing_to_compile() {
+        CompiledScripts sut = new CompiledScripts(10, meterRegistry);
+
+        assertThatThrownBy(() -> sut.newScript("retu]", new Binding())).isInstanceOf(CompilationFailedException.class);
+        assertThat(sut.size()).isZero();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.http.domain;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import fr.enedis.chutney.action.TestTarget;
+import fr.enedis.chutney.action.spi.injectable.Logger;
+import fr.enedis.chutney.action.spi.injectable.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+
+class HttpClientFactoryTest {
+
+    private final WireMockServer wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpClientRegistry clientRegistry = new HttpClientRegistry(Duration.ofMinutes(1), meterRegistry);
+    private final HttpClientFactory sut = new HttpClientFactory(clientRegistry);
+    private final Logger logger = mock(Logger.class);
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientRegistry.close();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void should_reuse_client_and_connections_of_same_target() {
+        Target target = target();
+
+        sut.create(logger, target, String.class, 1000).get("/", new HttpHeaders());
+        sut.create(logger, target, String.class, 1000).get("/", new HttpHeaders());
+
+        assertThat(clientRegistry.size()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_http_client_cache", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chutney_http_client_pool_connections").tag("state", "available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_share_client_between_different_timeouts() {
+        Target target = target();
+
+        sut.create(logger, target, String.class, 1000);
+        sut.create(logger, target, String.class, 2000);
+
+        assertThat(clientRegistry.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_rebuild_evicted_client() {
+        Target target = target();
+        HttpClient httpClient = sut.create(logger, target, String.class, 1000);
+
+        clientRegistry.close();
+
+        assertThat(httpClient.get("/", new HttpHeaders()).getStatusCode().value()).isEqualTo(200);
+        assertThat(clientRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_send_cookies_received_by_a_previous_step() {
+        wireMockServer.stubFor(get(urlEqualTo("/login")).willReturn(aResponse().withStatus(200).withHeader("Set-Cookie", "session=secret; Path=/")));
+        Target target = target();
+
+        sut.create(logger, target, String.class, 1000).get("/login", new HttpHeaders());
+        sut.create(logger, target, String.class, 1000).get("/", new HttpHeaders());
+
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/")).withoutHeader("Cookie"));
+    }
+
+    @Test
+    void should_not_share_client_when_trust_store_content_changes(@TempDir Path tempDir) throws Exception {
+        Path trustStore = tempDir.resolve("truststore.jks");
+        Files.copy(Paths.get("src/test/resources/security/server.jks"), trustStore);
+        Target target = TestTarget.TestTargetBuilder.builder()
+            .withTargetId("http")
+            .withUrl("http://localhost:" + wireMockServer.port())
+            .withProperty("trustStore", trustStore.toString())
+            .withProperty("trustStorePassword", "server")
+            .build();
+
+        sut.create(logger, target, String.class, 1000);
+        sut.create(logger, target, String.class, 1000);
+        Files.copy(Paths.get("src/test/resources/security/keystore-with-keypwd.jks"), trustStore, StandardCopyOption.REPLACE_EXISTING);
+        sut.create(logger, target, String.class, 1000);
+
+        assertThat(clientRegistry.size()).isEqualTo(2);
+    }
+
+    private Target target() {
+        return TestTarget.TestTargetBuilder.builder()
+            .withTargetId("http")
+            .withUrl("http://localhost:" + wireMockServer.port())
+            .build();
+    }
+}
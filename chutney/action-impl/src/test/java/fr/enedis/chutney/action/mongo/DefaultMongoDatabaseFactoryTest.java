@@ -19,8 +19,10 @@ import fr.enedis.chutney.action.TestLogger;
 import fr.enedis.chutney.action.TestTarget;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
 import fr.enedis.chutney.action.spi.injectable.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
+import java.time.Duration;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -69,7 +71,8 @@ public class DefaultMongoDatabaseFactoryTest {
             .withProperty("connectionOptions.proxyHost", "testProxyHost")
             .withProperty("connectionOptions.proxyPort", "2222")
             .build();
-        DefaultMongoDatabaseFactory factory = new DefaultMongoDatabaseFactory();
+        MongoClientRegistry registry = new MongoClientRegistry(Duration.ofMinutes(1), 1, new SimpleMeterRegistry());
+        DefaultMongoDatabaseFactory factory = new DefaultMongoDatabaseFactory(registry);
 
         MongoClient mockClient = mock(MongoClient.class);
         try (MockedStatic<MongoClients> mocked = Mockito.mockStatic(MongoClients.class)) {
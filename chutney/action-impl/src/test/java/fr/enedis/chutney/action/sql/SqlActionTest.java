@@ -8,24 +8,31 @@
 package fr.enedis.chutney.action.sql;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import fr.enedis.chutney.action.TestActionsConfiguration;
+import fr.enedis.chutney.action.TestFinallyActionRegistry;
 import fr.enedis.chutney.action.TestTarget;
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
+import fr.enedis.chutney.action.spi.FinallyAction;
 import fr.enedis.chutney.action.spi.injectable.ActionsConfiguration;
 import fr.enedis.chutney.action.spi.injectable.Logger;
 import fr.enedis.chutney.action.spi.injectable.Target;
+import fr.enedis.chutney.action.sql.core.BatchResult;
 import fr.enedis.chutney.action.sql.core.Records;
 import fr.enedis.chutney.action.sql.core.Row;
 import fr.enedis.chutney.action.sql.core.Rows;
+import fr.enedis.chutney.action.sql.core.StreamedRecords;
 import com.google.common.collect.Lists;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
@@ -45,6 +52,7 @@ public class SqlActionTest {
         .build();
 
     private final Logger logger = Mockito.mock(Logger.class);
+    private final TestFinallyActionRegistry finallyActionRegistry = new TestFinallyActionRegistry();
 
     @BeforeEach
     public void setUp() {
@@ -61,7 +69,7 @@ public class SqlActionTest {
     public void should_output_only_one_result_when_single_statement() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Collections.singletonList("select * from users"), 2, 0);
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, Collections.singletonList("select * from users"), 2, 0, null, null, null, null, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -91,7 +99,7 @@ public class SqlActionTest {
     public void should_provide_affectedRows_when_single_statement() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Collections.singletonList("UPDATE USERS SET NAME = 'toto' WHERE ID = 1"), 5, 0);
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, Collections.singletonList("UPDATE USERS SET NAME = 'toto' WHERE ID = 1"), 5, 0, null, null, null, null, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -104,7 +112,7 @@ public class SqlActionTest {
     public void should_output_only_many_results_when_multi_statements() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users where id = 1", "select * from users where id = 2") , 2, 0);
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, Lists.newArrayList("select * from users where id = 1", "select * from users where id = 2") , 2, 0, null, null, null, null, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -143,7 +151,7 @@ public class SqlActionTest {
     public void should_be_non_sensitive_to_header_case_or_spaces() {
         // Given
         ActionsConfiguration configuration = new TestActionsConfiguration();
-        Action action = new SqlAction(sqlTarget, logger, configuration, Lists.newArrayList("select * from users"), 2, 0);
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, Lists.newArrayList("select * from users"), 2, 0, null, null, null, null, null);
 
         // When
         ActionExecutionResult result = action.execute();
@@ -155,4 +163,133 @@ public class SqlActionTest {
         assertThat(rows.get("NaMe")).isEqualTo(List.of("laitue","carotte", "tomate"));
         assertThat(rows.get(" EMAIL ")).isEqualTo(List.of("laitue@fake.com","kakarot@fake.db","null"));
     }
+
+    @Test
+    public void should_stream_rows_and_aggregate_them_when_streaming() {
+        // Given
+        TestActionsConfiguration configuration = new TestActionsConfiguration();
+        configuration.configuration.put("chutney.actions.sql.streaming.max-in-memory-rows", "1");
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, Lists.newArrayList("select * from users"), 2, 0, true, null, null, null, null);
+        Action inMemoryAction = new SqlAction(sqlTarget, logger, new TestActionsConfiguration(), finallyActionRegistry, Lists.newArrayList("select * from users order by id desc"), 2, 0, true, null, null, null, null);
+
+        // When
+        ActionExecutionResult result = action.execute();
+        ActionExecutionResult inMemoryResult = inMemoryAction.execute();
+
+        // Then
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Success);
+
+        StreamedRecords rows = (StreamedRecords) result.outputs.get("rows");
+        assertThat(rows.isSpilled()).isTrue();
+        assertThat(rows).extracting(row -> row.get("NAME")).containsExactly("laitue", "carotte", "tomate");
+        assertThat(((Row) result.outputs.get("firstRow")).get("ID")).isEqualTo(1);
+        assertThat(result.outputs.get("count")).isEqualTo(3L);
+        assertThat((Map<String, Object>) result.outputs.get("min")).containsEntry("ID", 1).containsEntry("NAME", "carotte");
+        assertThat((Map<String, Object>) result.outputs.get("max")).containsEntry("ID", 3).containsEntry("NAME", "tomate");
+
+        assertThat(((StreamedRecords) inMemoryResult.outputs.get("rows")).isSpilled()).isFalse();
+        assertThat(inMemoryResult.outputs.get("checksum")).isEqualTo(result.outputs.get("checksum"));
+
+        assertThat(finallyActionRegistry.finallyActions).hasSize(1);
+        FinallyAction spillDelete = finallyActionRegistry.finallyActions.getFirst();
+        assertThat(spillDelete.type()).isEqualTo("sql-spill-delete");
+        assertThat(spillDelete.inputs()).containsEntry("records", List.of(rows));
+    }
+
+    @Test
+    public void should_delete_spilled_rows_file() {
+        TestActionsConfiguration configuration = new TestActionsConfiguration();
+        configuration.configuration.put("chutney.actions.sql.streaming.max-in-memory-rows", "1");
+        StreamedRecords rows = (StreamedRecords) new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, List.of("select * from users"), 2, 0, true, null, null, null, null)
+            .execute().outputs.get("rows");
+
+        ActionExecutionResult result = new SqlSpillDeleteAction(logger, List.of(rows)).execute();
+
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Success);
+        assertThatThrownBy(() -> rows.iterator().hasNext()).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    public void should_insert_parameters_rows_by_batches() {
+        // Given
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        List<Object> parameters = List.of(List.of(4, "radis"), List.of(5, "navet"), List.of(6, "poireau"), List.of(7, "celeri"), List.of(8, "chou"));
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, null, null, 0, null, "INSERT INTO users (id, name) VALUES (?, ?)", parameters, null, 2);
+
+        // When
+        ActionExecutionResult result = action.execute();
+
+        // Then
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Success);
+        assertThat(result.outputs.get("affectedRows")).isEqualTo(5L);
+        assertThat((List<BatchResult.Batch>) result.outputs.get("batches")).extracting(BatchResult.Batch::rows).containsExactly(2, 2, 1);
+        assertThat(countUsers()).isEqualTo(8);
+    }
+
+    @Test
+    public void should_bind_named_parameters_from_csv() {
+        // Given
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        String csv = """
+            NAME,ID
+            radis,4
+            "navet, long",5
+            """;
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, null, null, 0, null, "INSERT INTO users (id, name) VALUES (:id, :name)", null, csv, null);
+
+        // When
+        ActionExecutionResult result = action.execute();
+
+        // Then
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Success);
+        assertThat(result.outputs.get("affectedRows")).isEqualTo(2L);
+        assertThat(countUsers()).isEqualTo(5);
+    }
+
+    @Test
+    public void should_rollback_all_batches_when_one_fails() {
+        // Given
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        List<Object> parameters = List.of(Map.of("ID", 4), Map.of("ID", 5), Map.of("ID", 1));
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, null, null, 0, null, "INSERT INTO users (id) VALUES (:id)", parameters, null, 2);
+
+        // When
+        ActionExecutionResult result = action.execute();
+
+        // Then
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Failure);
+        assertThat(countUsers()).isEqualTo(3);
+        verify(logger).error(Mockito.startsWith("Batch 2 failed at parameters row 2: "));
+    }
+
+    @Test
+    public void should_not_execute_batch_statement_with_malformed_csv() {
+        // Given
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, null, null, 0, null, "INSERT INTO users (id) VALUES (:id)", null, "ID\n4,5", null);
+
+        // When
+        ActionExecutionResult result = action.execute();
+
+        // Then
+        assertThat(result.status).isEqualTo(ActionExecutionResult.Status.Failure);
+        verify(logger).error("Cannot read input 'csv': CSV line 2 has 2 values, expected 1");
+        assertThat(countUsers()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_not_validate_batch_statement_without_parameters() {
+        ActionsConfiguration configuration = new TestActionsConfiguration();
+        Action action = new SqlAction(sqlTarget, logger, configuration, finallyActionRegistry, List.of("select * from users"), null, 0, null, "INSERT INTO users (id) VALUES (?)", null, null, null);
+
+        assertThat(action.validateInputs()).contains(
+            "Inputs 'statements' and 'batchStatement' cannot be used together",
+            "Exactly one of inputs 'parameters' or 'csv' is required with 'batchStatement'"
+        );
+    }
+
+    private long countUsers() {
+        Action count = new SqlAction(sqlTarget, logger, new TestActionsConfiguration(), finallyActionRegistry, List.of("select count(*) as total from users"), null, 0, true, null, null, null, null);
+        return ((Number) ((Row) count.execute().outputs.get("firstRow")).get("TOTAL")).longValue();
+    }
 }
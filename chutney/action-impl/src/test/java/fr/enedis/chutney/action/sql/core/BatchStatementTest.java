@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class BatchStatementTest {
+
+    @Test
+    void should_replace_named_parameters_outside_quotes_and_casts() {
+        BatchStatement statement = BatchStatement.parse("INSERT INTO t (a, b, c) VALUES (:first, ':not_a_param', :second_one::text)");
+
+        assertThat(statement.sql).isEqualTo("INSERT INTO t (a, b, c) VALUES (?, ':not_a_param', ?::text)");
+        assertThat(statement.names).containsExactly("first", "second_one");
+    }
+
+    @Test
+    void should_keep_positional_statement_unchanged() {
+        BatchStatement statement = BatchStatement.parse("UPDATE t SET a = ? WHERE b = ?");
+
+        assertThat(statement.sql).isEqualTo("UPDATE t SET a = ? WHERE b = ?");
+        assertThat(statement.names).isEmpty();
+    }
+
+    @Test
+    void should_clear_previous_row_parameters_before_binding() throws SQLException {
+        BatchStatement statement = BatchStatement.parse("INSERT INTO t (a, b) VALUES (:a, :b)");
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+        statement.bind(preparedStatement, Map.of("A", 1, "b", "x"), 0);
+
+        InOrder inOrder = inOrder(preparedStatement);
+        inOrder.verify(preparedStatement).clearParameters();
+        inOrder.verify(preparedStatement).setObject(1, 1);
+        inOrder.verify(preparedStatement).setObject(2, "x");
+    }
+
+    @Test
+    void should_reject_row_not_having_one_value_per_placeholder() {
+        BatchStatement statement = BatchStatement.parse("UPDATE t SET a = ? WHERE b = ? AND c = '?'");
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+        assertThat(statement.placeholders).isEqualTo(2);
+        assertThatThrownBy(() -> statement.bind(preparedStatement, List.of(1), 3))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Parameters row 3 has 1 values, expected 2");
+        assertThatThrownBy(() -> statement.bind(preparedStatement, List.of(1, 2, 3), 3))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(preparedStatement);
+    }
+}
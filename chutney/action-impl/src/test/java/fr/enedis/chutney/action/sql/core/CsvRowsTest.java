@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package fr.enedis.chutney.action.sql.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CsvRowsTest {
+
+    @Test
+    void should_parse_csv_rows_by_header() {
+        List<Map<String, String>> rows = CsvRows.parse("""
+            ID, NAME
+            1,"quoted, ""value""\"
+
+            2,plain
+            """);
+
+        assertThat(rows).containsExactly(
+            Map.of("ID", "1", "NAME", "quoted, \"value\""),
+            Map.of("ID", "2", "NAME", "plain")
+        );
+    }
+
+    @Test
+    void should_read_quoted_line_breaks_and_crlf_line_ends() {
+        List<Map<String, String>> rows = CsvRows.parse("ID,NAME\r\n1,\"two\nlines\"\r\n");
+
+        assertThat(rows).containsExactly(Map.of("ID", "1", "NAME", "two\nlines"));
+    }
+
+    @Test
+    void should_return_no_rows_for_blank_csv() {
+        assertThat(CsvRows.parse("  \n")).isEmpty();
+        assertThat(CsvRows.parse("ID,NAME\n")).isEmpty();
+    }
+
+    @Test
+    void should_reject_malformed_csv() {
+        assertThatThrownBy(() -> CsvRows.parse("A,B\n1"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("CSV line 2 has 1 values, expected 2");
+        assertThatThrownBy(() -> CsvRows.parse("A\n\"unclosed"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("CSV has an unclosed quoted value");
+    }
+}
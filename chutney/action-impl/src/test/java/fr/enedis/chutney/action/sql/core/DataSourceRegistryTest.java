@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class DataSourceRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_share_pool_between_same_configurations() throws Exception {
+        DataSourceRegistry sut = new DataSourceRegistry(Duration.ofMinutes(1), meterRegistry);
+
+        DataSourceRegistry.Lease first = sut.lease(h2Configuration("shared"));
+        DataSourceRegistry.Lease second = sut.lease(h2Configuration("shared"));
+        try (Connection ignored = second.getConnection()) {
+            assertThat(second.dataSource()).isSameAs(first.dataSource());
+        }
+
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_sql_datasource_cache", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_sql_datasource_cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("chutney_sql_connection_borrow").count()).isEqualTo(1);
+        sut.close();
+    }
+
+    @Test
+    void should_not_share_pool_between_different_configurations() {
+        DataSourceRegistry sut = new DataSourceRegistry(Duration.ofMinutes(1), meterRegistry);
+
+        DataSourceRegistry.Lease first = sut.lease(h2Configuration("first"));
+        DataSourceRegistry.Lease second = sut.lease(h2Configuration("second"));
+
+        assertThat(second.dataSource()).isNotSameAs(first.dataSource());
+        assertThat(sut.size()).isEqualTo(2);
+        sut.close();
+    }
+
+    @Test
+    void should_close_evicted_pool_when_last_lease_is_released() {
+        DataSourceRegistry sut = new DataSourceRegistry(Duration.ZERO, meterRegistry);
+
+        DataSourceRegistry.Lease lease = sut.lease(h2Configuration("evicted"));
+        sut.evictIdle();
+        assertThat(lease.dataSource().isClosed()).isFalse();
+
+        lease.release();
+        assertThat(lease.dataSource().isClosed()).isTrue();
+    }
+
+    @Test
+    void should_close_all_pools() {
+        DataSourceRegistry sut = new DataSourceRegistry(Duration.ofMinutes(1), meterRegistry);
+        DataSourceRegistry.Lease lease = sut.lease(h2Configuration("closed"));
+        lease.release();
+
+        sut.close();
+
+        assertThat(lease.dataSource().isClosed()).isTrue();
+        assertThat(sut.size()).isZero();
+    }
+
+    private static Properties h2Configuration(String dbName) {
+        Properties props = new Properties();
+        props.put("jdbcUrl", "jdbc:h2:mem:" + dbName);
+        props.put("username", "sa");
+        props.put("minimumIdle", "1");
+        return props;
+    }
+}
@@ -9,14 +9,25 @@ package fr.enedis.chutney.action.sql.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import fr.enedis.chutney.action.TestTarget;
 import fr.enedis.chutney.action.spi.injectable.Target;
 import fr.enedis.chutney.tools.ChutneyMemoryInfo;
 import fr.enedis.chutney.tools.NotEnoughMemoryException;
+import com.zaxxer.hikari.HikariDataSource;
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.Date;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.List;
@@ -25,6 +36,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
@@ -34,6 +46,48 @@ import org.testcontainers.utility.MountableFile;
 
 public class SqlClientTest {
 
+    @Test
+    public void should_stream_forward_only_within_a_transaction_and_restore_auto_commit() throws SQLException {
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        Statement statement = mock(Statement.class);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("MySQL");
+        when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        when(statement.getUpdateCount()).thenReturn(3);
+
+        StreamedRecords records = new SqlClient(dataSource, 100, 0).executeStreaming("UPDATE USERS SET NAME = 'toto'", 10, 1);
+
+        assertThat(records.affectedRows).isEqualTo(3);
+        InOrder inOrder = inOrder(connection, statement);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(statement).setFetchSize(Integer.MIN_VALUE);
+        inOrder.verify(statement).execute("UPDATE USERS SET NAME = 'toto'");
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setAutoCommit(true);
+        inOrder.verify(connection).close();
+    }
+
+    @Test
+    public void should_rollback_streaming_read_on_error_and_restore_auto_commit() throws SQLException {
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        Statement statement = mock(Statement.class);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        when(statement.execute(anyString())).thenThrow(new SQLException("boom"));
+
+        assertThrows(SQLException.class, () -> new SqlClient(dataSource, 100, 0).executeStreaming("select * from users", 10, 1));
+
+        verify(statement).setFetchSize(100);
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).setAutoCommit(true);
+    }
+
     @Nested
     class H2SqlClientTest extends AllTests {
         @BeforeAll
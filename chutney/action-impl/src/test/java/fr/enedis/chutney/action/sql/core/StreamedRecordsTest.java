@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.sql.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class StreamedRecordsTest {
+
+    private static final List<Column> COLUMNS = List.of(new Column("ID", 0), new Column("AMOUNT", 1), new Column("LABEL", 2), new Column("AT", 3));
+
+    @Test
+    void should_read_spilled_rows_back_in_order_with_their_types() throws IOException {
+        StreamedRecords.Collector collector = new StreamedRecords.Collector(-1, COLUMNS, 1);
+        int rowCount = ColumnarSpillFile.BLOCK_ROWS * 2 + 10;
+        for (int i = 0; i < rowCount; i++) {
+            collector.add(row(i));
+            if (i == 100) {
+                collector.spill();
+            }
+        }
+
+        StreamedRecords records = collector.build();
+
+        assertThat(records.isSpilled()).isTrue();
+        assertThat(records.count()).isEqualTo(rowCount);
+        int i = 0;
+        for (Row row : records) {
+            assertThat(row).isEqualTo(new Row(List.of(
+                new Cell(COLUMNS.get(0), i), new Cell(COLUMNS.get(1), new BigDecimal(i + ".50")), new Cell(COLUMNS.get(2), "label " + i), new Cell(COLUMNS.get(3), new Timestamp(1_000_000L * i)))));
+            i++;
+        }
+        assertThat(i).isEqualTo(rowCount);
+        assertThat(records.stream().count()).isEqualTo(rowCount);
+    }
+
+    @Test
+    void should_compute_same_aggregations_whatever_the_rows_order_and_storage() throws IOException {
+        StreamedRecords.Collector inMemory = new StreamedRecords.Collector(-1, COLUMNS, 1);
+        StreamedRecords.Collector spilled = new StreamedRecords.Collector(-1, COLUMNS, 1);
+        spilled.spill();
+        for (int i = 0; i < 100; i++) {
+            inMemory.add(row(i));
+            spilled.add(row(99 - i));
+        }
+
+        StreamedRecords first = inMemory.build();
+        StreamedRecords second = spilled.build();
+
+        assertThat(first.checksum()).isEqualTo(second.checksum());
+        assertThat(first.min()).isEqualTo(second.min());
+        assertThat(first.max()).isEqualTo(second.max());
+        assertThat(first.min("ID")).isEqualTo(0);
+        assertThat(first.max("AMOUNT")).isEqualTo(new BigDecimal("99.50"));
+        assertThat(first.max("LABEL")).isEqualTo("label 99");
+        assertThat(first.min("AT")).isEqualTo(new Timestamp(0));
+    }
+
+    @Test
+    void should_compare_numbers_of_different_types_and_ignore_incomparable_columns() throws IOException {
+        StreamedRecords.Collector collector = new StreamedRecords.Collector(-1, List.of(new Column("NUMBER", 0), new Column("MIXED", 1)), 1);
+        collector.add(new Object[]{1, "a"});
+        collector.add(new Object[]{new BigDecimal("0.5"), 2});
+        collector.add(new Object[]{3L, "b"});
+
+        StreamedRecords records = collector.build();
+
+        assertThat(records.min()).containsOnlyKeys("NUMBER").containsEntry("NUMBER", new BigDecimal("0.5"));
+        assertThat(records.max()).containsOnlyKeys("NUMBER").containsEntry("NUMBER", 3L);
+    }
+
+    @Test
+    void should_keep_first_rows_to_log_them_without_reading_spill_file() throws IOException {
+        StreamedRecords.Collector collector = new StreamedRecords.Collector(-1, COLUMNS, 2);
+        collector.spill();
+        for (int i = 0; i < 10; i++) {
+            collector.add(row(i));
+        }
+        StreamedRecords records = collector.build();
+
+        records.close();
+
+        assertThat(records.firstRow().get("ID")).isEqualTo(0);
+        assertThat(records.printable(2)).contains("label 0", "label 1").doesNotContain("label 2").contains("10 rows (spilled to disk)");
+    }
+
+    @Test
+    void should_close_spill_file_reader_when_closing_stream() throws IOException {
+        StreamedRecords.Collector collector = new StreamedRecords.Collector(-1, COLUMNS, 1);
+        collector.spill();
+        for (int i = 0; i < 10; i++) {
+            collector.add(row(i));
+        }
+        StreamedRecords records = collector.build();
+
+        StreamedRecords.RowIterator iterator = records.iterator();
+        try (StreamedRecords.RowIterator rows = iterator) {
+            assertThat(rows.next().get("ID")).isEqualTo(0);
+        }
+        assertThat(iterator.hasNext()).isFalse();
+        try (Stream<Row> rows = records.stream()) {
+            assertThat(rows.limit(3).count()).isEqualTo(3);
+        }
+        records.close();
+
+        assertThat(records.printable(1)).contains("label 0");
+    }
+
+    @Test
+    void should_delete_spill_file_when_discarded() throws IOException {
+        ColumnarSpillFile spillFile = new ColumnarSpillFile(1);
+        spillFile.add(new Object[]{"value"});
+
+        spillFile.close();
+
+        assertThat(Files.exists(spillFile.path())).isFalse();
+    }
+
+    private static Object[] row(int i) {
+        return new Object[]{i, new BigDecimal(i + ".50"), "label " + i, new Timestamp(1_000_000L * i)};
+    }
+}
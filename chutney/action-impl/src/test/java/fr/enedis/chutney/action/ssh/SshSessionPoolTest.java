@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.ssh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import fr.enedis.chutney.action.TestTarget;
+import fr.enedis.chutney.action.ssh.SshSessionPool.Lease;
+import fr.enedis.chutney.action.ssh.SshSessionPool.SessionKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SshSessionPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SshSessionPool<FakeSession> pool = new SshSessionPool<>("test", s -> !s.closed, Duration.ofMinutes(1), 2, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void reuse_released_session_of_same_key() throws IOException {
+        SessionKey key = key("user", "password");
+
+        Lease<FakeSession> first = pool.lease(key, FakeSession::new, Duration.ZERO);
+        first.close();
+        Lease<FakeSession> second = pool.lease(key, FakeSession::new, Duration.ZERO);
+
+        assertThat(first.reused()).isFalse();
+        assertThat(second.reused()).isTrue();
+        assertThat(second.session()).isSameAs(first.session());
+        assertThat(pool.openSessions()).isEqualTo(1);
+        assertThat(meterRegistry.get(SshSessionPool.SESSIONS_METRIC).tag("result", "handshake").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SshSessionPool.SESSIONS_METRIC).tag("result", "reuse").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void close_session_released_by_an_interrupted_thread() throws IOException {
+        SessionKey key = key("user", "password");
+        Lease<FakeSession> first = pool.lease(key, FakeSession::new, Duration.ZERO);
+
+        Thread.currentThread().interrupt();
+        try {
+            first.close();
+        } finally {
+            Thread.interrupted();
+        }
+        Lease<FakeSession> second = pool.lease(key, FakeSession::new, Duration.ZERO);
+
+        assertThat(first.session().closed).isTrue();
+        assertThat(second.reused()).isFalse();
+        assertThat(pool.openSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void do_not_reuse_session_of_other_credentials_nor_closed_ones() throws IOException {
+        Lease<FakeSession> first = pool.lease(key("user", "password"), FakeSession::new, Duration.ZERO);
+        first.close();
+
+        Lease<FakeSession> otherCredentials = pool.lease(key("user", "other"), FakeSession::new, Duration.ZERO);
+        otherCredentials.close();
+        first.session().closed = true;
+        Lease<FakeSession> afterClose = pool.lease(key("user", "password"), FakeSession::new, Duration.ZERO);
+
+        assertThat(otherCredentials.session()).isNotSameAs(first.session());
+        assertThat(afterClose.reused()).isFalse();
+        assertThat(afterClose.session()).isNotSameAs(first.session());
+    }
+
+    @Test
+    void close_oldest_idle_session_when_max_sessions_reached() throws IOException {
+        Lease<FakeSession> first = pool.lease(key("first", "password"), FakeSession::new, Duration.ZERO);
+        first.close();
+        pool.lease(key("second", "password"), FakeSession::new, Duration.ZERO);
+
+        pool.lease(key("third", "password"), FakeSession::new, Duration.ZERO);
+
+        assertThat(first.session().closed).isTrue();
+        assertThat(pool.openSessions()).isEqualTo(2);
+    }
+
+    @Test
+    void fail_when_all_sessions_are_leased() throws IOException {
+        pool.lease(key("first", "password"), FakeSession::new, Duration.ZERO);
+        Lease<FakeSession> second = pool.lease(key("second", "password"), FakeSession::new, Duration.ZERO);
+        second.discard();
+        pool.lease(key("third", "password"), FakeSession::new, Duration.ZERO);
+
+        assertThat(second.session().closed).isTrue();
+        assertThatThrownBy(() -> pool.lease(key("fourth", "password"), FakeSession::new, Duration.ofMillis(10)))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("2 sessions are in use");
+    }
+
+    @Test
+    void hide_secrets_from_key_description() {
+        assertThat(key("user", "secret").toString()).doesNotContain("secret");
+    }
+
+    private static SessionKey key(String user, String password) {
+        Connection connection = Connection.from(TestTarget.TestTargetBuilder.builder()
+            .withUrl("ssh://ssh-host:1234")
+            .withProperty("user", user)
+            .withProperty("password", password)
+            .build());
+        return SessionKey.of(connection, List.of());
+    }
+
+    private static class FakeSession implements Closeable {
+        private boolean closed = false;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
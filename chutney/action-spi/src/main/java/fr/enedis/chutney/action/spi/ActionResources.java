@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.action.spi;
+
+/**
+ * Resources kept by actions between executions, i.e. connection pools or clients shared by targets.<br>
+ * Implementations are registered in META-INF/extension/chutney.resources, must have a default constructor,
+ * and are closed when the engine shuts down.
+ */
+public interface ActionResources extends AutoCloseable {
+
+    /**
+     * Close all resources, which may be opened again by following executions.
+     */
+    @Override
+    void close();
+}
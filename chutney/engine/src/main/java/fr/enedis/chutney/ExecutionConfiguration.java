@@ -18,6 +18,7 @@ import fr.enedis.chutney.action.domain.ActionTemplateRegistry;
 import fr.enedis.chutney.action.domain.DefaultActionTemplateRegistry;
 import fr.enedis.chutney.action.infra.DefaultActionTemplateLoader;
 import fr.enedis.chutney.action.spi.Action;
+import fr.enedis.chutney.action.spi.ActionResources;
 import fr.enedis.chutney.action.spi.injectable.ActionsConfiguration;
 import fr.enedis.chutney.engine.api.execution.EmbeddedTestEngine;
 import fr.enedis.chutney.engine.api.execution.TestEngine;
@@ -57,13 +58,19 @@ public class ExecutionConfiguration {
     private final SpelFunctions spelFunctions;
     private final Set<StepExecutionStrategy> stepExecutionStrategies;
     private final Long reporterTTL;
+    private final Long reporterSnapshotInterval;
 
     public ExecutionConfiguration() {
         this(5L, Executors.newFixedThreadPool(10), emptyMap(), null, null);
     }
 
     public ExecutionConfiguration(Long reporterTTL, ExecutorService actionExecutor, Map<String, String> actionsConfiguration, String user, String password) {
+        this(reporterTTL, 0L, actionExecutor, actionsConfiguration, user, password);
+    }
+
+    public ExecutionConfiguration(Long reporterTTL, Long reporterSnapshotInterval, ExecutorService actionExecutor, Map<String, String> actionsConfiguration, String user, String password) {
         this.reporterTTL = reporterTTL;
+        this.reporterSnapshotInterval = reporterSnapshotInterval;
 
         ActionTemplateLoader actionTemplateLoaderV2 = createActionTemplateLoaderV2();
         spelFunctions = createSpelFunctions();
@@ -72,7 +79,7 @@ public class ExecutionConfiguration {
         actionTemplateRegistry = new DefaultActionTemplateRegistry(new ActionTemplateLoaders(singletonList(actionTemplateLoaderV2)));
         reporter = createReporter();
         executionEngine = createExecutionEngine(actionExecutor, user, password);
-        embeddedTestEngine = createEmbeddedTestEngine(new EngineActionsConfiguration(actionsConfiguration));
+        embeddedTestEngine = createEmbeddedTestEngine(new EngineActionsConfiguration(actionsConfiguration), createActionResources());
     }
 
     public ActionTemplateRegistry actionTemplateRegistry() {
@@ -122,21 +129,31 @@ public class ExecutionConfiguration {
             .collect(Collectors.toSet());
     }
 
+    private Set<ActionResources> createActionResources() {
+        return ExtensionLoaders
+            .classpathToClass("META-INF/extension/chutney.resources")
+            .load()
+            .stream()
+            .map(ThrowingFunction.toUnchecked(ExecutionConfiguration::<ActionResources>instantiate))
+            .map(identity(r -> LOGGER.debug("Loading action resources: " + r.getClass().getSimpleName())))
+            .collect(Collectors.toSet());
+    }
+
     private Reporter createReporter() {
-        return new Reporter(reporterTTL);
+        return new Reporter(reporterTTL, reporterSnapshotInterval);
     }
 
     private ExecutionEngine createExecutionEngine(ExecutorService actionExecutor, String user, String password) {
         return new DefaultExecutionEngine(
             new StepDataEvaluator(spelFunctions),
-            new StepExecutionStrategies(stepExecutionStrategies),
+            new StepExecutionStrategies(stepExecutionStrategies, actionExecutor),
             new DelegationService(new DefaultStepExecutor(actionTemplateRegistry), new HttpClient(user, password)),
             reporter,
             actionExecutor);
     }
 
-    private TestEngine createEmbeddedTestEngine(ActionsConfiguration actionsConfiguration) {
-        return new EmbeddedTestEngine(executionEngine, reporter, new ExecutionManager(), actionsConfiguration);
+    private TestEngine createEmbeddedTestEngine(ActionsConfiguration actionsConfiguration, Set<ActionResources> actionResources) {
+        return new EmbeddedTestEngine(executionEngine, reporter, new ExecutionManager(), actionsConfiguration, actionResources);
     }
 
     @SuppressWarnings("unchecked")
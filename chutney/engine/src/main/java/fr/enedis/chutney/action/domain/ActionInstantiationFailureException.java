@@ -20,4 +20,8 @@ public class ActionInstantiationFailureException extends RuntimeException {
         super("Unable to instantiate Action[" + actionIdentifier + "]: " + cause.getMessage(), cause);
     }
 
+    public ActionInstantiationFailureException(String actionIdentifier, Throwable cause) {
+        super("Unable to instantiate Action[" + actionIdentifier + "]: " + cause, cause);
+    }
+
 }
@@ -10,24 +10,39 @@ package fr.enedis.chutney.action.domain;
 import fr.enedis.chutney.action.domain.parameter.Parameter;
 import fr.enedis.chutney.action.domain.parameter.ParameterResolver;
 import fr.enedis.chutney.action.spi.Action;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Action template of an {@link Action} implementation with a single constructor.
+ * <p>
+ * For a given list of {@link ParameterResolver#kind() resolvers kinds}, the resolver of each constructor parameter is looked up once
+ * and kept in a binding plan. The constructor is invoked through a {@link MethodHandle}, unless it is not accessible.
+ */
 public class ActionTemplateV2 implements ActionTemplate {
 
     private final String identifier;
     private final Class<? extends Action> implementationClass;
     private final Constructor<? extends Action> constructor;
     private final List<Parameter> parameters;
+    private final MethodHandle factory;
+    private final Map<List<Object>, int[]> bindingPlans = new ConcurrentHashMap<>();
 
     public ActionTemplateV2(String identifier, Class<? extends Action> implementationClass, Constructor<? extends Action> constructor, List<Parameter> parameters) {
         this.identifier = identifier;
         this.implementationClass = implementationClass;
         this.constructor = constructor;
         this.parameters = parameters;
+        this.factory = factory(constructor);
     }
 
     @Override
@@ -47,13 +62,69 @@ public class ActionTemplateV2 implements ActionTemplate {
 
     @Override
     public Action create(List<ParameterResolver> parameterResolvers) {
-        Object[] parameterValues = parameters.stream()
-            .map(p -> resolveParameter(parameterResolvers, p))
-            .toArray(Object[]::new);
+        Object[] parameterValues = resolveParameters(parameterResolvers);
+        if (factory == null) {
+            try {
+                return constructor.newInstance(parameterValues);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new ActionInstantiationFailureException(identifier, e);
+            }
+        }
+        try {
+            return (Action) factory.invokeExact(parameterValues);
+        } catch (Throwable t) {
+            throw new ActionInstantiationFailureException(identifier, t);
+        }
+    }
+
+    private Object[] resolveParameters(List<ParameterResolver> parameterResolvers) {
+        List<Object> kinds = new ArrayList<>(parameterResolvers.size());
+        for (ParameterResolver parameterResolver : parameterResolvers) {
+            Object kind = parameterResolver.kind();
+            if (kind == null) {
+                return parameters.stream()
+                    .map(p -> resolveParameter(parameterResolvers, p))
+                    .toArray(Object[]::new);
+            }
+            kinds.add(kind);
+        }
+        int[] bindingPlan = bindingPlans.computeIfAbsent(kinds, k -> bindingPlan(parameterResolvers));
+        Object[] parameterValues = new Object[bindingPlan.length];
+        for (int i = 0; i < bindingPlan.length; i++) {
+            parameterValues[i] = parameterResolvers.get(bindingPlan[i]).resolve(parameters.get(i));
+        }
+        return parameterValues;
+    }
+
+    /**
+     * @return index of the first resolver of each parameter
+     */
+    private int[] bindingPlan(List<ParameterResolver> parameterResolvers) {
+        int[] bindingPlan = new int[parameters.size()];
+        for (int i = 0; i < bindingPlan.length; i++) {
+            Parameter parameter = parameters.get(i);
+            int resolverIndex = 0;
+            while (resolverIndex < parameterResolvers.size() && !parameterResolvers.get(resolverIndex).canResolve(parameter)) {
+                resolverIndex++;
+            }
+            if (resolverIndex == parameterResolvers.size()) {
+                throw new UnresolvableActionParameterException(identifier, parameter);
+            }
+            bindingPlan[i] = resolverIndex;
+        }
+        return bindingPlan;
+    }
+
+    /**
+     * @return a (Object[])Action method handle of given constructor, null if it is not accessible
+     */
+    private static MethodHandle factory(Constructor<? extends Action> constructor) {
         try {
-            return constructor.newInstance(parameterValues);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            throw new ActionInstantiationFailureException(identifier, e);
+            return MethodHandles.publicLookup().unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(MethodType.methodType(Action.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            return null;
         }
     }
 }
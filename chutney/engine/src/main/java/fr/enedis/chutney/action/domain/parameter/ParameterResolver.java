@@ -23,4 +23,12 @@ public interface ParameterResolver {
      * @return a value adapted to the given {@link Parameter}
      */
     Object resolve(Parameter parameter);
+
+    /**
+     * @return a key shared by resolvers giving the same {@link #canResolve(Parameter)} answers, whatever the value they hold,
+     * so that the resolver of a {@link Parameter} can be looked up once. Default to null, i.e. no such key.
+     */
+    default Object kind() {
+        return null;
+    }
 }
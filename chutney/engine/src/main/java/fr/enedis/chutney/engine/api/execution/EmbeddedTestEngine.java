@@ -7,6 +7,7 @@
 
 package fr.enedis.chutney.engine.api.execution;
 
+import fr.enedis.chutney.action.spi.ActionResources;
 import fr.enedis.chutney.action.spi.injectable.ActionsConfiguration;
 import fr.enedis.chutney.engine.domain.execution.ExecutionEngine;
 import fr.enedis.chutney.engine.domain.execution.ExecutionManager;
@@ -17,19 +18,33 @@ import fr.enedis.chutney.engine.domain.execution.engine.Environment;
 import fr.enedis.chutney.engine.domain.report.Reporter;
 import io.reactivex.rxjava3.core.Observable;
 import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class EmbeddedTestEngine implements TestEngine {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedTestEngine.class);
+
     private final ExecutionEngine engine;
     private final Reporter reporter;
     private final ExecutionManager executionManager;
     private final ActionsConfiguration actionsConfiguration;
+    private final Set<ActionResources> actionResources;
 
     public EmbeddedTestEngine(ExecutionEngine engine, Reporter reporter, ExecutionManager executionManager, ActionsConfiguration actionsConfiguration) {
+        this(engine, reporter, executionManager, actionsConfiguration, Set.of());
+    }
+
+    /**
+     * @param actionResources resources shared by actions, closed with the engine
+     */
+    public EmbeddedTestEngine(ExecutionEngine engine, Reporter reporter, ExecutionManager executionManager, ActionsConfiguration actionsConfiguration, Set<ActionResources> actionResources) {
         this.engine = engine;
         this.reporter = reporter;
         this.executionManager = executionManager;
         this.actionsConfiguration = actionsConfiguration;
+        this.actionResources = actionResources;
     }
 
     @Override
@@ -58,6 +73,12 @@ public final class EmbeddedTestEngine implements TestEngine {
             .map(StepExecutionReportMapper::toDto);
     }
 
+    @Override
+    public Observable<StepExecutionReportPatchDto> receivePatchNotification(Long executionId) {
+        return reporter.subscribePatchesOnExecution(executionId)
+            .map(StepExecutionReportMapper::toDto);
+    }
+
     @Override
     public void pauseExecution(Long executionId) {
         executionManager.pauseExecution(executionId);
@@ -76,5 +97,12 @@ public final class EmbeddedTestEngine implements TestEngine {
     @Override
     public void close() {
         engine.shutdown();
+        actionResources.forEach(resources -> {
+            try {
+                resources.close();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Cannot close {}", resources.getClass().getSimpleName(), e);
+            }
+        });
     }
 }
@@ -47,6 +47,11 @@ public class HttpTestEngine implements TestEngine {
         throw new IllegalArgumentException();
     }
 
+    @Override
+    public Observable<StepExecutionReportPatchDto> receivePatchNotification(Long executionId) {
+        throw new IllegalArgumentException();
+    }
+
     @Override
     public void pauseExecution(Long executionId) {
         throw new IllegalArgumentException();
@@ -12,6 +12,7 @@ import static java.util.Optional.ofNullable;
 
 import fr.enedis.chutney.engine.domain.execution.report.Status;
 import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReport;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReportPatch;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -38,6 +39,14 @@ class StepExecutionReportMapper {
         );
     }
 
+    static StepExecutionReportPatchDto toDto(StepExecutionReportPatch patch) {
+        return new StepExecutionReportPatchDto(
+            patch.path,
+            patch.ancestors.stream().map(StepExecutionReportMapper::toDto).collect(Collectors.toList()),
+            toDto(patch.report)
+        );
+    }
+
     static class StepContextMapper {
 
         @SuppressWarnings("unchecked")
@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.api.execution;
+
+import java.util.List;
+
+/**
+ * Replaces the step found following {@link #path} (sub steps indexes from root step) by {@link #report}.
+ * {@link #ancestors} are the new versions of the steps along the path (root first), without their sub steps.
+ * An empty path means the patch holds the whole report.
+ */
+public class StepExecutionReportPatchDto {
+
+    public List<Integer> path;
+    public List<StepExecutionReportDto> ancestors;
+    public StepExecutionReportDto report;
+
+    public StepExecutionReportPatchDto() {
+    }
+
+    public StepExecutionReportPatchDto(List<Integer> path, List<StepExecutionReportDto> ancestors, StepExecutionReportDto report) {
+        this.path = path;
+        this.ancestors = ancestors;
+        this.report = report;
+    }
+}
@@ -26,6 +26,11 @@ public interface TestEngine extends AutoCloseable {
 
     Observable<StepExecutionReportDto> receiveNotification(Long executionId);
 
+    /**
+     * Follow execution with report patches, first one holding the current report.
+     */
+    Observable<StepExecutionReportPatchDto> receivePatchNotification(Long executionId);
+
     void pauseExecution(Long executionId);
 
     void resumeExecution(Long executionId);
@@ -0,0 +1,250 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Pause, resume and stop gate of an execution.
+ * <p>
+ * Threads waiting on the gate are woken up as soon as the execution is resumed or stopped.
+ * Stopping also interrupts threads running an action through {@link #runInterruptiblyOnStop(Supplier)},
+ * so blocking actions (sleeps, message waits...) end without waiting for their own timeout.
+ * Shared action resources (connection pools, SSH sessions...) released by an interrupted thread are discarded by their pool,
+ * since interruption may leave their connections half closed.
+ * Such actions can also be given a deadline with {@link #runWithActionsTimeout(long, TimeUnit, Supplier)}.
+ * <p>
+ * Time between a resume or stop request and the waiting thread wake up is recorded by the {@value #LATENCY_METRIC} timer.
+ */
+public final class ExecutionControl {
+
+    static final String LATENCY_METRIC = "chutney_execution_control_latency";
+
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chutney-execution-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Set<Thread> interruptibleThreads = ConcurrentHashMap.newKeySet();
+    private final Map<Thread, Integer> expiredDeadlines = new ConcurrentHashMap<>();
+    private final Timer resumeLatency;
+    private final Timer stopLatency;
+
+    private volatile boolean pause = false;
+    private volatile boolean stop = false;
+    private volatile long lastRequestNanos;
+
+    public ExecutionControl() {
+        this(Metrics.globalRegistry);
+    }
+
+    public ExecutionControl(MeterRegistry meterRegistry) {
+        this.resumeLatency = meterRegistry.timer(LATENCY_METRIC, "command", "resume");
+        this.stopLatency = meterRegistry.timer(LATENCY_METRIC, "command", "stop");
+    }
+
+    public boolean isPaused() {
+        return pause;
+    }
+
+    public boolean isStopped() {
+        return stop;
+    }
+
+    public void pause() {
+        signal(() -> pause = true);
+    }
+
+    public void resume() {
+        signal(() -> pause = false);
+    }
+
+    public void stop() {
+        signal(() -> {
+            stop = true;
+            interruptibleThreads.forEach(Thread::interrupt);
+        });
+    }
+
+    /**
+     * Forget a previous stop request, so that following steps (i.e. finally actions) can be executed.
+     */
+    public void clearStop() {
+        signal(() -> stop = false);
+    }
+
+    /**
+     * Wait while the execution is paused, returning as soon as it is resumed or stopped.
+     *
+     * @throws IllegalStateException when waiting is interrupted
+     */
+    public void awaitRestart() {
+        lock.lock();
+        try {
+            if (pause && !stop) {
+                do {
+                    changed.await();
+                } while (pause && !stop);
+                recordLatency(stop ? stopLatency : resumeLatency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Waiting for execution restart have been interrupted", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for given delay, returning earlier if the execution is stopped.
+     *
+     * @return true if the execution has been stopped
+     * @throws IllegalStateException when waiting is interrupted
+     */
+    public boolean awaitStop(long delay, TimeUnit unit) {
+        long nanosLeft = unit.toNanos(delay);
+        lock.lock();
+        try {
+            if (stop) {
+                return true;
+            }
+            while (!stop && nanosLeft > 0) {
+                nanosLeft = changed.awaitNanos(nanosLeft);
+            }
+            if (stop) {
+                recordLatency(stopLatency);
+            }
+            return stop;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Waiting for execution stop have been interrupted", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run given action on current thread, interrupting it if the execution is stopped, before or while it runs.
+     * The action is also interrupted if a deadline given by {@link #runWithActionsTimeout(long, TimeUnit, Supplier)} expires.
+     * Interruption status caused by the stop or the deadline is cleared once the action is done.
+     */
+    public <T> T runInterruptiblyOnStop(Supplier<T> action) {
+        Thread current = Thread.currentThread();
+        boolean stoppedBefore;
+        lock.lock();
+        try {
+            stoppedBefore = stop;
+            interruptibleThreads.add(current);
+            if (stoppedBefore || expiredDeadlines.containsKey(current)) {
+                current.interrupt();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.lock();
+            try {
+                interruptibleThreads.remove(current);
+                if (stop || expiredDeadlines.containsKey(current)) {
+                    Thread.interrupted();
+                }
+                if (stop && !stoppedBefore) {
+                    recordLatency(stopLatency);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Run given steps on current thread, with a deadline for the actions they run through {@link #runInterruptiblyOnStop(Supplier)} on this thread.
+     * Once the timeout elapsed, the running action is interrupted and following ones are interrupted as soon as they start,
+     * so the steps end quickly. Actions run by other threads (i.e. parallel steps) are not concerned.
+     */
+    public <T> T runWithActionsTimeout(long timeout, TimeUnit unit, Supplier<T> steps) {
+        Thread current = Thread.currentThread();
+        Deadline deadline = new Deadline(current);
+        ScheduledFuture<?> expiration = DEADLINES.schedule(deadline::expire, timeout, unit);
+        try {
+            return steps.get();
+        } finally {
+            expiration.cancel(false);
+            deadline.close();
+        }
+    }
+
+    private void signal(Runnable change) {
+        lock.lock();
+        try {
+            lastRequestNanos = System.nanoTime();
+            change.run();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLatency(Timer timer) {
+        timer.record(System.nanoTime() - lastRequestNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private final class Deadline {
+        private final Thread thread;
+        private boolean expired = false;
+        private boolean closed = false;
+
+        private Deadline(Thread thread) {
+            this.thread = thread;
+        }
+
+        private void expire() {
+            lock.lock();
+            try {
+                if (!closed) {
+                    expired = true;
+                    expiredDeadlines.merge(thread, 1, Integer::sum);
+                    if (interruptibleThreads.contains(thread)) {
+                        thread.interrupt();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                closed = true;
+                if (expired) {
+                    expiredDeadlines.computeIfPresent(thread, (t, count) -> count == 1 ? null : count - 1);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
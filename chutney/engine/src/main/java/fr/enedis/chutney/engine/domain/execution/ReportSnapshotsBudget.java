@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cap on the size of step inputs and outputs snapshots retained in the report of a scenario execution.
+ */
+public final class ReportSnapshotsBudget {
+
+    private final long maxBytes;
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    public ReportSnapshotsBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static ReportSnapshotsBudget unlimited() {
+        return new ReportSnapshotsBudget(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return true if given size could be retained, false if it would exceed the cap
+     */
+    public boolean retain(long bytes) {
+        long retained = retainedBytes.addAndGet(bytes);
+        if (retained > maxBytes || retained < 0) {
+            retainedBytes.addAndGet(-bytes);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return true once no more bytes can be retained
+     */
+    public boolean isUsedUp() {
+        return retainedBytes.get() >= maxBytes;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+}
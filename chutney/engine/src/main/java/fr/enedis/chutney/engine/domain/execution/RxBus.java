@@ -8,30 +8,41 @@
 package fr.enedis.chutney.engine.domain.execution;
 
 
+import fr.enedis.chutney.engine.domain.execution.command.ExecutionCommand;
+import fr.enedis.chutney.engine.domain.execution.event.EndScenarioExecutionEvent;
 import fr.enedis.chutney.engine.domain.execution.event.Event;
-import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Consumer;
-import io.reactivex.rxjava3.subjects.PublishSubject;
-import io.reactivex.rxjava3.subjects.Subject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A singleton event bus that allows objects to subscribe to and post events.
- * It uses RxJava's `Subject` to allow multiple subscribers to listen to events and respond accordingly.
  * <p>
- * This implementation ensures thread-safety and provides a robust mechanism for error handling.
+ * Events are partitioned by execution ID : each execution subscribed to owns a channel holding its subscribers by event type.
+ * Posting an event is a direct dispatch to the subscribers of its execution channel and to the subscribers of its type,
+ * so its cost does not depend on the number of running executions.
  *
  * <p>It includes:</p>
  * <ul>
  *     <li>Posting events to the bus.</li>
  *     <li>Subscribing to events of a specific type.</li>
- *     <li>Subscribing to events of a specific type with a filter on the execution ID.</li>
- *     <li>Exposing the bus as an Observable to allow further subscriptions.</li>
+ *     <li>Subscribing to events of a specific type for a specific execution ID.</li>
  * </ul>
  *
- * <p>Additionally, error handling is provided in the subscription process to log any issues.</p>
+ * <p>Events of an execution are dispatched one at a time, in posting order, without blocking posting threads.
+ * {@link ExecutionCommand}s are dispatched as soon as posted, so they are never delayed by pending events.
+ * An execution channel is closed once its {@link EndScenarioExecutionEvent} has been dispatched.</p>
+ *
+ * <p>Errors thrown by subscribers are logged and do not prevent other subscribers from being notified.</p>
  */
 public class RxBus {
 
@@ -42,7 +53,8 @@ public class RxBus {
         return INSTANCE;
     }
 
-    private final Subject<Object> bus = PublishSubject.create().toSerialized();
+    private final Map<Long, ExecutionChannel> channels = new ConcurrentHashMap<>();
+    private volatile TypeSubscriptions typeSubscriptions = new TypeSubscriptions(List.of());
 
     /**
      * Posts an event to the bus, notifying all subscribers that a new event has occurred.
@@ -54,7 +66,14 @@ public class RxBus {
      */
     public void post(Object event) {
         try {
-            bus.onNext(event);  // Publishes the event to the bus
+            ExecutionChannel channel = event instanceof Event e ? channels.get(e.executionId()) : null;
+            if (channel == null) {
+                dispatchToTypeSubscribers(event);
+            } else if (event instanceof ExecutionCommand command) {
+                channel.dispatch(command);
+            } else {
+                channel.post((Event) event);
+            }
         } catch (Exception e) {
             LOGGER.error("Error while posting event: {}", event.getClass().getSimpleName(), e);
         }
@@ -64,7 +83,7 @@ public class RxBus {
      * Registers a subscriber for a specific event type. The subscriber will receive events
      * of the specified class type.
      *
-     * <p>Subscribers are notified asynchronously when an event of the given class type
+     * <p>Subscribers are notified on the posting thread when an event of the given class type
      * is posted to the bus. The method ensures that only events of the requested type
      * are passed to the subscriber.</p>
      *
@@ -74,13 +93,9 @@ public class RxBus {
      * @return A Disposable object that can be used to unsubscribe from the bus.
      */
     public <T> Disposable register(final Class<T> eventClass, Consumer<T> onNext) {
-        return bus
-            .filter(eventClass::isInstance)  // Filters events of the specified class type
-            .map(eventClass::cast)  // Safely casts the event to the expected class
-            .subscribe(
-                onNext,  // Action to execute when the event is received
-                throwable -> LOGGER.error("Error while processing event: {}", eventClass.getSimpleName(), throwable)  // Error handling
-            );
+        TypeSubscription<T> subscription = new TypeSubscription<>(eventClass, onNext);
+        addTypeSubscription(subscription);
+        return Disposable.fromRunnable(() -> removeTypeSubscription(subscription));
     }
 
     /**
@@ -97,26 +112,124 @@ public class RxBus {
      * @return A Disposable object that can be used to unsubscribe from the bus.
      */
     public <T extends Event> Disposable registerOnExecutionId(final Class<T> eventClass, long executionId, Consumer<? super Event> onNext) {
-        return bus
-            .filter(event -> event.getClass().equals(eventClass))  // Filters events by the exact class type
-            .map(obj -> (T) obj)  // Safely casts the event to the expected class
-            .filter(e -> e.executionId() == executionId)  // Filters by execution ID
-            .subscribe(
-                onNext,  // Action to execute when the event is received
-                throwable -> LOGGER.error("Error while processing event for executionId {}: {}", executionId, throwable.getMessage(), throwable)  // Error handling
-            );
+        ExecutionSubscription subscription = new ExecutionSubscription(onNext);
+        List<ExecutionSubscription> subscriptions = channels.computeIfAbsent(executionId, ExecutionChannel::new).subscriptions(eventClass);
+        subscriptions.add(subscription);
+        return Disposable.fromRunnable(() -> subscriptions.remove(subscription));
+    }
+
+    private synchronized void addTypeSubscription(TypeSubscription<?> subscription) {
+        List<TypeSubscription<?>> subscriptions = new ArrayList<>(typeSubscriptions.all);
+        subscriptions.add(subscription);
+        typeSubscriptions = new TypeSubscriptions(List.copyOf(subscriptions));
+    }
+
+    private synchronized void removeTypeSubscription(TypeSubscription<?> subscription) {
+        List<TypeSubscription<?>> subscriptions = new ArrayList<>(typeSubscriptions.all);
+        subscriptions.remove(subscription);
+        typeSubscriptions = new TypeSubscriptions(List.copyOf(subscriptions));
+    }
+
+    private void dispatchToTypeSubscribers(Object event) {
+        typeSubscriptions.of(event.getClass()).forEach(subscription -> subscription.accept(event));
     }
 
     /**
-     * Exposes the event bus as an Observable, allowing subscribers to listen to all events.
-     *
-     * <p>This is useful if you want to observe all events on the bus without filtering by event type.</p>
-     *
-     * @return An Observable that emits all events posted to the bus.
+     * Immutable type subscriptions, with their lookup by concrete event class computed on first use.
      */
-    public Observable<Object> toObservable() {
-        return bus;
+    private static final class TypeSubscriptions {
+        private final List<TypeSubscription<?>> all;
+        private final Map<Class<?>, List<TypeSubscription<?>>> byEventClass = new ConcurrentHashMap<>();
+
+        private TypeSubscriptions(List<TypeSubscription<?>> all) {
+            this.all = all;
+        }
+
+        private List<TypeSubscription<?>> of(Class<?> eventClass) {
+            return byEventClass.computeIfAbsent(eventClass, c -> all.stream().filter(s -> s.eventClass.isAssignableFrom(c)).toList());
+        }
+    }
+
+    private record TypeSubscription<T>(Class<T> eventClass, Consumer<T> onNext) {
+        private void accept(Object event) {
+            try {
+                onNext.accept(eventClass.cast(event));
+            } catch (Throwable throwable) {
+                LOGGER.error("Error while processing event: {}", eventClass.getSimpleName(), throwable);
+            }
+        }
     }
-}
 
+    /**
+     * Identity wrapper, so that registering the same consumer twice gives two subscriptions.
+     */
+    private static final class ExecutionSubscription {
+        private final Consumer<? super Event> onNext;
+
+        private ExecutionSubscription(Consumer<? super Event> onNext) {
+            this.onNext = onNext;
+        }
+    }
 
+    private final class ExecutionChannel {
+        private final long executionId;
+        private final Map<Class<?>, List<ExecutionSubscription>> subscriptionsByEventClass = new ConcurrentHashMap<>();
+        private volatile Map<Class<?>, List<List<ExecutionSubscription>>> subscriptionsByConcreteClass = new ConcurrentHashMap<>();
+        private final Queue<Event> pendingEvents = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private ExecutionChannel(long executionId) {
+            this.executionId = executionId;
+        }
+
+        private List<ExecutionSubscription> subscriptions(Class<?> eventClass) {
+            List<ExecutionSubscription> subscriptions = subscriptionsByEventClass.get(eventClass);
+            if (subscriptions == null) {
+                subscriptions = subscriptionsByEventClass.computeIfAbsent(eventClass, c -> new CopyOnWriteArrayList<>());
+                // Lookups by concrete class are computed again, now that they may match the new event class
+                subscriptionsByConcreteClass = new ConcurrentHashMap<>();
+            }
+            return subscriptions;
+        }
+
+        /**
+         * @return subscriptions of the given event class and of its super types, the lookup being computed once per concrete class
+         */
+        private List<List<ExecutionSubscription>> matchingSubscriptions(Class<?> concreteClass) {
+            return subscriptionsByConcreteClass.computeIfAbsent(concreteClass, c -> subscriptionsByEventClass.entrySet().stream()
+                .filter(entry -> entry.getKey().isAssignableFrom(c))
+                .map(Map.Entry::getValue)
+                .toList());
+        }
+
+        /**
+         * Queue the event and drain the queue if no other thread is already doing it.
+         */
+        private void post(Event event) {
+            pendingEvents.offer(event);
+            if (pendingCount.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                dispatch(pendingEvents.poll());
+            } while (pendingCount.decrementAndGet() != 0);
+        }
+
+        private void dispatch(Event event) {
+            try {
+                dispatchToTypeSubscribers(event);
+                matchingSubscriptions(event.getClass()).forEach(subscriptions -> subscriptions.forEach(subscription -> {
+                    try {
+                        subscription.onNext.accept(event);
+                    } catch (Throwable throwable) {
+                        LOGGER.error("Error while processing event for executionId {}: {}", executionId, throwable.getMessage(), throwable);
+                    }
+                }));
+            } finally {
+                if (event instanceof EndScenarioExecutionEvent) {
+                    channels.remove(executionId, this);
+                }
+            }
+        }
+    }
+}
@@ -12,23 +12,23 @@ import fr.enedis.chutney.action.spi.injectable.ActionsConfiguration;
 import fr.enedis.chutney.engine.domain.execution.command.PauseExecutionCommand;
 import fr.enedis.chutney.engine.domain.execution.command.ResumeExecutionCommand;
 import fr.enedis.chutney.engine.domain.execution.command.StopExecutionCommand;
-import fr.enedis.chutney.engine.domain.execution.event.EndScenarioExecutionEvent;
-import io.reactivex.rxjava3.disposables.Disposable;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class ScenarioExecution {
 
-    private final List<FinallyAction> finallyActions = new ArrayList<>();
+    private static final String CONFIGURABLE_REPORT_SNAPSHOTS_MAX_BYTES = "chutney.engine.report.snapshots.max-bytes";
+    private static final int DEFAULT_REPORT_SNAPSHOTS_MAX_BYTES = 100 * 1024 * 1024;
+
+    private final List<FinallyAction> finallyActions = new CopyOnWriteArrayList<>();
     private final ActionsConfiguration actionConfiguration;
+    private final ReportSnapshotsBudget reportSnapshotsBudget;
     public final long executionId;
 
-    private boolean pause = false;
-    private boolean stop = false;
-
-    private Disposable endExecutionSubscriber;
+    private final ExecutionControl control = new ExecutionControl();
 
     public static ScenarioExecution createScenarioExecution(ActionsConfiguration actionConfiguration) {
         long executionId = UUID.randomUUID().getMostSignificantBits();
@@ -38,20 +38,15 @@ public class ScenarioExecution {
     private ScenarioExecution(long executionId, ActionsConfiguration actionConfiguration) {
         this.executionId = executionId;
         this.actionConfiguration = actionConfiguration;
-
-        final Disposable pauseSubscriber = RxBus.getInstance()
-            .registerOnExecutionId(PauseExecutionCommand.class, executionId, e -> this.pause());
-        final Disposable stopSubscriber = RxBus.getInstance()
-            .registerOnExecutionId(StopExecutionCommand.class, executionId, e -> this.stop());
-        final Disposable resumeSubscriber = RxBus.getInstance()
-            .registerOnExecutionId(ResumeExecutionCommand.class, executionId, e -> this.resume());
-
-        endExecutionSubscriber = RxBus.getInstance().registerOnExecutionId(EndScenarioExecutionEvent.class, executionId, e -> {
-            pauseSubscriber.dispose();
-            stopSubscriber.dispose();
-            resumeSubscriber.dispose();
-            endExecutionSubscriber.dispose();
-        });
+        this.reportSnapshotsBudget = actionConfiguration == null
+            ? new ReportSnapshotsBudget(DEFAULT_REPORT_SNAPSHOTS_MAX_BYTES)
+            : new ReportSnapshotsBudget(actionConfiguration.getInteger(CONFIGURABLE_REPORT_SNAPSHOTS_MAX_BYTES, DEFAULT_REPORT_SNAPSHOTS_MAX_BYTES));
+
+        // Execution channel, and these subscriptions with it, is closed by the bus at the end of the execution
+        RxBus bus = RxBus.getInstance();
+        bus.registerOnExecutionId(PauseExecutionCommand.class, executionId, e -> control.pause());
+        bus.registerOnExecutionId(StopExecutionCommand.class, executionId, e -> control.stop());
+        bus.registerOnExecutionId(ResumeExecutionCommand.class, executionId, e -> control.resume());
     }
 
     public void registerFinallyAction(FinallyAction finallyAction) {
@@ -59,43 +54,55 @@ public class ScenarioExecution {
     }
 
     public void initFinallyActionExecution() {
-        this.stop = false; // In case of a stopped scenario, we should set it to false in order to execute finally actions
+        control.clearStop(); // In case of a stopped scenario, we should clear it in order to execute finally actions
     }
 
+    /**
+     * Wait while the execution is paused, returning as soon as it is resumed or stopped.
+     */
     public void waitForRestart() {
-        while (pause) {
-            try {
-                TimeUnit.SECONDS.sleep(1);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        control.awaitRestart();
     }
 
-    public boolean hasToPause() {
-        return pause;
+    /**
+     * Wait for given delay, returning earlier if the execution is stopped.
+     *
+     * @return true if the execution has been stopped
+     */
+    public boolean waitUnlessStopped(long delay, TimeUnit unit) {
+        return control.awaitStop(delay, unit);
     }
 
-    public boolean hasToStop() {
-        return stop;
+    /**
+     * Run given action, interrupting it if the execution is stopped meanwhile.
+     */
+    public <T> T runInterruptiblyOnStop(Supplier<T> action) {
+        return control.runInterruptiblyOnStop(action);
     }
 
-    private void pause() {
-        pause = true;
+    /**
+     * Run given steps, interrupting their actions once given timeout elapsed.
+     */
+    public <T> T runWithActionsTimeout(long timeout, TimeUnit unit, Supplier<T> steps) {
+        return control.runWithActionsTimeout(timeout, unit, steps);
     }
 
-    private void stop() {
-        stop = true;
+    public boolean hasToPause() {
+        return control.isPaused();
     }
 
-    private void resume() {
-        pause = false;
+    public boolean hasToStop() {
+        return control.isStopped();
     }
 
     public ActionsConfiguration getActionsConfiguration() {
         return actionConfiguration;
     }
 
+    public ReportSnapshotsBudget reportSnapshotsBudget() {
+        return reportSnapshotsBudget;
+    }
+
     public List<FinallyAction> finallyActions() {
         return finallyActions;
     }
@@ -0,0 +1,17 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.command;
+
+import fr.enedis.chutney.engine.domain.execution.event.Event;
+
+/**
+ * Control command sent to a running execution.
+ * Commands are handed to the execution subscribers as soon as posted, without waiting for pending execution events.
+ */
+public interface ExecutionCommand extends Event {
+}
@@ -7,9 +7,7 @@
 
 package fr.enedis.chutney.engine.domain.execution.command;
 
-import fr.enedis.chutney.engine.domain.execution.event.Event;
-
-public class PauseExecutionCommand implements Event {
+public class PauseExecutionCommand implements ExecutionCommand {
 
     private final Long executionId;
 
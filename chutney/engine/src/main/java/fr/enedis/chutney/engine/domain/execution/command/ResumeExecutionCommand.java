@@ -7,9 +7,7 @@
 
 package fr.enedis.chutney.engine.domain.execution.command;
 
-import fr.enedis.chutney.engine.domain.execution.event.Event;
-
-public class ResumeExecutionCommand implements Event {
+public class ResumeExecutionCommand implements ExecutionCommand {
 
     private final Long executionId;
 
@@ -54,8 +54,11 @@ public class DefaultStepExecutor implements StepExecutor {
                 Action action = matchedAction.get().create(parameterResolvers);
                 List<String> errors = action.validateInputs();
                 if (errors.isEmpty()) {
-                    executionResult = action.execute();
+                    executionResult = scenarioExecution.runInterruptiblyOnStop(action::execute);
                     step.updateContextFrom(executionResult);
+                    if (executionResult.status == ActionExecutionResult.Status.Failure && scenarioExecution.hasToStop()) {
+                        step.stopDuringExecution();
+                    }
                 } else {
                     step.failure(errors.toArray(new String[0]));
                 }
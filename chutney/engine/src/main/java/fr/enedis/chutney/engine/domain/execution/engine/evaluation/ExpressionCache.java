@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine.evaluation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Bounded and thread-safe cache of parsed SpEL expressions, keyed by expression text.
+ * <p>
+ * Expressions are parsed in {@link SpelCompilerMode#MIXED} mode : they are interpreted first and compiled to bytecode once
+ * they have been evaluated {@link #COMPILATION_THRESHOLD} times. A compiled expression failing at runtime (e.g. variable type change)
+ * falls back to interpretation.
+ */
+public class ExpressionCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    static final int COMPILATION_THRESHOLD = 10;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, ExpressionCache.class.getClassLoader())
+    );
+    private final Cache<String, CachedExpression> expressions;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter compileFailureCounter;
+
+    public ExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE, Metrics.globalRegistry);
+    }
+
+    public ExpressionCache(long maximumSize, MeterRegistry meterRegistry) {
+        this.expressions = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+        this.hitCounter = meterRegistry.counter("chutney_spel_expression_cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("chutney_spel_expression_cache", "result", "miss");
+        this.compileFailureCounter = meterRegistry.counter("chutney_spel_expression_compile_failure");
+        Gauge.builder("chutney_spel_expression_cache_size", expressions, Cache::size).register(meterRegistry);
+    }
+
+    /**
+     * @throws EvaluationException when expression cannot be parsed
+     */
+    public CachedExpression get(String expressionAsString) {
+        CachedExpression cached = expressions.getIfPresent(expressionAsString);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        return expressions.asMap().computeIfAbsent(expressionAsString, e -> {
+            missCounter.increment();
+            return new CachedExpression(parse(e));
+        });
+    }
+
+    public long size() {
+        return expressions.size();
+    }
+
+    private Expression parse(String expressionAsString) {
+        try {
+            return parser.parseExpression(expressionAsString);
+        } catch (ParseException e) {
+            throw new EvaluationException(expressionAsString, e);
+        }
+    }
+
+    public class CachedExpression {
+        private final Expression expression;
+        private final AtomicInteger evaluationCount = new AtomicInteger();
+        private final AtomicBoolean compilationTried = new AtomicBoolean();
+
+        private CachedExpression(Expression expression) {
+            this.expression = expression;
+        }
+
+        public Object getValue(EvaluationContext evaluationContext) {
+            Object value = expression.getValue(evaluationContext);
+            if (!compilationTried.get() && evaluationCount.incrementAndGet() >= COMPILATION_THRESHOLD) {
+                compile();
+            }
+            return value;
+        }
+
+        private void compile() {
+            if (expression instanceof SpelExpression spelExpression && compilationTried.compareAndSet(false, true)) {
+                if (!spelExpression.compileExpression()) {
+                    compileFailureCounter.increment();
+                }
+            }
+        }
+    }
+}
@@ -8,13 +8,16 @@
 package fr.enedis.chutney.engine.domain.execution.engine.evaluation;
 
 import static fr.enedis.chutney.engine.domain.execution.engine.evaluation.Strings.escapeForRegex;
+import static java.util.stream.Collectors.toUnmodifiableMap;
 
 import fr.enedis.chutney.action.spi.injectable.Target;
 import fr.enedis.chutney.engine.domain.environment.TargetImpl;
 import fr.enedis.chutney.engine.domain.execution.evaluation.SpelFunctions;
+import fr.enedis.chutney.engine.domain.execution.evaluation.SpelFunctions.NamedFunctionLink;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -22,10 +25,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.ParseException;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 public class StepDataEvaluator {
@@ -36,11 +35,18 @@ public class StepDataEvaluator {
     private static final Pattern EVALUATION_OBJECT_PATTERN = Pattern.compile("^(?:" + escapeForRegex(EVALUATION_STRING_ESCAPE) + ")?" + escapeForRegex(EVALUATION_STRING_PREFIX) + "(?:(?!" + escapeForRegex(EVALUATION_STRING_PREFIX) + ").)*" + escapeForRegex(EVALUATION_STRING_SUFFIX) + "$", Pattern.DOTALL);
 
 
-    private final SpelFunctions spelFunctions;
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionCache expressionCache;
+    private final StandardEvaluationContext evaluationContextTemplate;
+    private final Map<String, Object> functions;
 
     public StepDataEvaluator(SpelFunctions spelFunctions) {
-        this.spelFunctions = spelFunctions;
+        this(spelFunctions, new ExpressionCache());
+    }
+
+    public StepDataEvaluator(SpelFunctions spelFunctions, ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+        this.evaluationContextTemplate = buildEvaluationContextTemplate();
+        this.functions = buildFunctions(spelFunctions);
     }
 
     public Map<String, Object> evaluateNamedDataWithContextVariables(final Map<String, Object> data, final Map<String, Object> contextVariables) {
@@ -86,15 +92,26 @@ public class StepDataEvaluator {
         return evaluateObject(o, evaluationContext, silentResolve);
     }
 
-    private StandardEvaluationContext buildEvaluationContext(Map<String, Object> contextVariables) {
-        StandardEvaluationContext evaluationContext = new StandardEvaluationContext();
-        evaluationContext.registerMethodFilter(Runtime.class, methods -> Collections.emptyList());
-        evaluationContext.registerMethodFilter(ProcessBuilder.class, methods -> Collections.emptyList());
+    /**
+     * Resolvers and accessors are stateless (apart from their internal caches) and shared between all evaluation contexts.
+     */
+    private static StandardEvaluationContext buildEvaluationContextTemplate() {
+        StandardEvaluationContext template = new StandardEvaluationContext();
+        template.registerMethodFilter(Runtime.class, methods -> Collections.emptyList());
+        template.registerMethodFilter(ProcessBuilder.class, methods -> Collections.emptyList());
+        return template;
+    }
 
-        if (spelFunctions != null) {
-            spelFunctions.stream().forEach(f -> evaluationContext.registerFunction(f.getName(), f.getMethod()));
+    private static Map<String, Object> buildFunctions(SpelFunctions spelFunctions) {
+        if (spelFunctions == null) {
+            return Map.of();
         }
-        evaluationContext.setVariables(contextVariables);
+        return spelFunctions.stream().collect(toUnmodifiableMap(NamedFunctionLink::getName, NamedFunctionLink::getMethod));
+    }
+
+    private StandardEvaluationContext buildEvaluationContext(Map<String, Object> contextVariables) {
+        StandardEvaluationContext evaluationContext = new LayeredVariablesEvaluationContext(contextVariables, functions);
+        evaluationContextTemplate.applyDelegatesTo(evaluationContext);
         return evaluationContext;
     }
 
@@ -107,9 +124,9 @@ public class StepDataEvaluator {
         Object inputEvaluatedValue;
         switch (object) {
             case String stringValue when hasOnlyOneSpel(stringValue) ->
-                inputEvaluatedValue = Strings.replaceExpression(stringValue, s -> evaluate(parser, evaluationContext, s), EVALUATION_STRING_PREFIX, EVALUATION_STRING_SUFFIX, EVALUATION_STRING_ESCAPE, silentResolve);
+                inputEvaluatedValue = Strings.replaceExpression(stringValue, s -> evaluate(evaluationContext, s), EVALUATION_STRING_PREFIX, EVALUATION_STRING_SUFFIX, EVALUATION_STRING_ESCAPE, silentResolve);
             case String stringValue -> {
-                inputEvaluatedValue = Strings.replaceExpressions(stringValue, s -> evaluate(parser, evaluationContext, s), EVALUATION_STRING_PREFIX, EVALUATION_STRING_SUFFIX, EVALUATION_STRING_ESCAPE, silentResolve);
+                inputEvaluatedValue = Strings.replaceExpressions(stringValue, s -> evaluate(evaluationContext, s), EVALUATION_STRING_PREFIX, EVALUATION_STRING_SUFFIX, EVALUATION_STRING_ESCAPE, silentResolve);
             }
             case Map map -> {
                 Map evaluatedMap = new LinkedHashMap();
@@ -144,8 +161,8 @@ public class StepDataEvaluator {
         return inputEvaluatedValue;
     }
 
-    private Object evaluate(ExpressionParser parser, final EvaluationContext evaluationContext, String expressionAsString) {
-        final Expression expression = parseExpression(parser, expressionAsString);
+    private Object evaluate(final EvaluationContext evaluationContext, String expressionAsString) {
+        final ExpressionCache.CachedExpression expression = expressionCache.get(expressionAsString);
 
         try {
             Object result = expression.getValue(evaluationContext);
@@ -165,6 +182,41 @@ public class StepDataEvaluator {
         }
     }
 
+    /**
+     * Evaluation context looking variables up in the given maps instead of copying them.
+     * <p>
+     * Variables set during evaluation are kept locally and shadow context variables, which shadow functions.
+     */
+    private static final class LayeredVariablesEvaluationContext extends StandardEvaluationContext {
+        private final Map<String, Object> localVariables = new HashMap<>();
+        private final Map<String, Object> contextVariables;
+        private final Map<String, Object> functions;
+
+        private LayeredVariablesEvaluationContext(Map<String, Object> contextVariables, Map<String, Object> functions) {
+            this.contextVariables = contextVariables != null ? contextVariables : Map.of();
+            this.functions = functions;
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            localVariables.put(name, value);
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            if (localVariables.containsKey(name)) {
+                return localVariables.get(name);
+            }
+            if (contextVariables.containsKey(name)) {
+                return contextVariables.get(name);
+            }
+            if (functions.containsKey(name)) {
+                return functions.get(name);
+            }
+            return super.lookupVariable(name);
+        }
+    }
+
     /**
      * If there is only one spel, it means it can be evaluated as a whole java Object.
      * ex: ${#webdriver} will retrieve the object Webdriver stored in the context
@@ -176,14 +228,4 @@ public class StepDataEvaluator {
     private boolean hasOnlyOneSpel(String template) {
         return EVALUATION_OBJECT_PATTERN.matcher(template.trim()).matches();
     }
-
-    private Expression parseExpression(ExpressionParser parser, String expressionAsString) {
-        Expression expression;
-        try {
-            expression = parser.parseExpression(expressionAsString);
-        } catch (ParseException e) {
-            throw new EvaluationException(expressionAsString, e);
-        }
-        return expression;
-    }
 }
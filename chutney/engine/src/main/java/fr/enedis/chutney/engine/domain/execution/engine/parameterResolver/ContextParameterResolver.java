@@ -24,6 +24,11 @@ public class ContextParameterResolver implements ParameterResolver {
         return parameter.annotations().isEmpty() && parameter.rawType().equals(Map.class);
     }
 
+    @Override
+    public Object kind() {
+        return ContextParameterResolver.class;
+    }
+
     @Override
     public Object resolve(Parameter parameter) {
         return inputs;
@@ -48,6 +48,11 @@ public class InputParameterResolver implements ParameterResolver {
         return parameter.annotations().optional(Input.class).isPresent();
     }
 
+    @Override
+    public Object kind() {
+        return InputParameterResolver.class;
+    }
+
     @Override
     public Object resolve(Parameter parameter) {
         String inputName = getValidParameter(parameter);
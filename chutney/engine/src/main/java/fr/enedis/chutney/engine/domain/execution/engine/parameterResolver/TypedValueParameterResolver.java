@@ -9,15 +9,18 @@ package fr.enedis.chutney.engine.domain.execution.engine.parameterResolver;
 
 import fr.enedis.chutney.action.domain.parameter.Parameter;
 import fr.enedis.chutney.action.domain.parameter.ParameterResolver;
+import java.util.Map;
 
 public class TypedValueParameterResolver<T> implements ParameterResolver {
 
     private final Class<? extends T> matchingType;
     private final T value;
+    private final Object kind;
 
     public TypedValueParameterResolver(Class<? extends T> matchingType, T value) {
         this.matchingType = matchingType;
         this.value = value;
+        this.kind = Map.entry(TypedValueParameterResolver.class, matchingType);
     }
 
     @Override
@@ -29,4 +32,9 @@ public class TypedValueParameterResolver<T> implements ParameterResolver {
     public Object resolve(Parameter parameter) {
         return value;
     }
+
+    @Override
+    public Object kind() {
+        return kind;
+    }
 }
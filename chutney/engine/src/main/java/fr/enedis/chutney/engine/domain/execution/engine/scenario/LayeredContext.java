@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine.scenario;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read only view over stacked context layers, such as scenario context, then local context, then step outputs.
+ * <p>
+ * Lookups walk the layers from the last one down to the first one, so upper layers shadow lower ones.
+ * Layers are not copied : changes made to them are seen through the view.
+ */
+public final class LayeredContext extends AbstractMap<String, Object> {
+
+    private final List<Map<String, ?>> layers;
+
+    private LayeredContext(List<Map<String, ?>> layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * @param layers from the lowest priority one to the highest priority one
+     */
+    @SafeVarargs
+    public static LayeredContext of(Map<String, ?>... layers) {
+        List<Map<String, ?>> nonNullLayers = new ArrayList<>(layers.length);
+        for (Map<String, ?> layer : layers) {
+            if (layer != null) {
+                nonNullLayers.add(layer);
+            }
+        }
+        return new LayeredContext(nonNullLayers);
+    }
+
+    @Override
+    public Object get(Object key) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Map<String, ?> layer = layers.get(i);
+            Object value = layer.get(key);
+            if (value != null || layer.containsKey(key)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            if (layers.get(i).containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return flatten().entrySet().iterator();
+            }
+
+            @Override
+            public int size() {
+                return flatten().size();
+            }
+        };
+    }
+
+    private Map<String, Object> flatten() {
+        Map<String, Object> flat = new LinkedHashMap<>();
+        layers.forEach(flat::putAll);
+        return flat;
+    }
+}
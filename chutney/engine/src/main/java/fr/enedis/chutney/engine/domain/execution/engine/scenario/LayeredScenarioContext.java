@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine.scenario;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scenario context layered on top of a parent one.
+ * <p>
+ * Reads fall back on the parent context, writes are kept in this context own layer, leaving the parent untouched.
+ * Removing a parent entry only hides it from this context, until it is written again.
+ * Creating such a context is O(1), whatever the size of the parent.
+ * <p>
+ * Entries are flattened when first iterated, then kept until the next write in this context.
+ * The parent is not expected to change meanwhile.
+ */
+public final class LayeredScenarioContext extends AbstractMap<String, Object> implements ScenarioContext {
+
+    private final Map<String, Object> parent;
+    private final Map<String, Object> ownLayer = new LinkedHashMap<>();
+    private final Set<String> removedKeys = new HashSet<>();
+    private Map<String, Object> flattened;
+
+    public LayeredScenarioContext(Map<String, Object> parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * @return entries written in this context, in writing order
+     */
+    public Map<String, Object> ownLayer() {
+        return ownLayer;
+    }
+
+    /**
+     * @return keys of parent entries removed in this context and not written since
+     */
+    public Set<String> removedKeys() {
+        return Collections.unmodifiableSet(removedKeys);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (removedKeys.contains(key)) {
+            return null;
+        }
+        Object value = ownLayer.get(key);
+        if (value != null || ownLayer.containsKey(key)) {
+            return value;
+        }
+        return parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return !removedKeys.contains(key) && (ownLayer.containsKey(key) || parent.containsKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        ownLayer.put(key, value);
+        removedKeys.remove(key);
+        flattened = null;
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        Object previous = get(key);
+        ownLayer.remove(key);
+        if (parent.containsKey(key)) {
+            removedKeys.add((String) key);
+        }
+        flattened = null;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        List.copyOf(keySet()).forEach(this::remove);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return flattened().entrySet();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getOrDefault(String key, T defaultValue) {
+        return containsKey(key) ? (T) get(key) : defaultValue;
+    }
+
+    private Map<String, Object> flattened() {
+        Map<String, Object> flat = flattened;
+        if (flat == null) {
+            flat = new LinkedHashMap<>(parent);
+            flat.keySet().removeAll(removedKeys);
+            flat.putAll(ownLayer);
+            flat = Collections.unmodifiableMap(flat);
+            flattened = flat;
+        }
+        return flat;
+    }
+}
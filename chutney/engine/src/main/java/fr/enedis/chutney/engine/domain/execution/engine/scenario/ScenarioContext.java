@@ -20,6 +20,13 @@ public interface ScenarioContext extends Map<String, Object> {
         return new UnmodifiableScenarioContext(this);
     }
 
+    /**
+     * @return a new context reading through this one, but keeping its own writes
+     */
+    default LayeredScenarioContext newLayer() {
+        return new LayeredScenarioContext(this);
+    }
+
     <T> T getOrDefault(String key, T defaultValue);
 
     class UnmodifiableScenarioContext implements ScenarioContext {
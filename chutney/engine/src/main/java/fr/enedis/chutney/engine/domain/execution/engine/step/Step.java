@@ -9,6 +9,7 @@ package fr.enedis.chutney.engine.domain.execution.engine.step;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.ofNullable;
 
@@ -21,6 +22,7 @@ import fr.enedis.chutney.engine.domain.execution.StepDefinition;
 import fr.enedis.chutney.engine.domain.execution.engine.StepExecutor;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.EvaluationException;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.StepDataEvaluator;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
 import fr.enedis.chutney.engine.domain.execution.event.BeginStepExecutionEvent;
 import fr.enedis.chutney.engine.domain.execution.event.EndStepExecutionEvent;
@@ -35,7 +37,6 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -107,7 +108,7 @@ public class Step {
                     if (Status.SUCCESS.equals(this.state.status())) {
                         executeStepValidations(stepContextExecuted);
                     }
-                    this.stepContext = stepContextExecuted.copy();
+                    this.stepContext = stepContextExecuted.copy(scenarioExecution.reportSnapshotsBudget());
                 })
                 .ifFailed(this::failure);
         } catch (EvaluationException e) {
@@ -137,6 +138,14 @@ public class Step {
         RxBus.getInstance().post(new EndStepExecutionEvent(scenarioExecution, this));
     }
 
+    /**
+     * Action has been interrupted by a stop request while running.
+     */
+    public void stopDuringExecution() {
+        state.addInformation("Stop requested during this step execution");
+        state.stopExecution();
+    }
+
     public void pauseExecution(ScenarioExecution scenarioExecution) {
         state.pauseExecution();
         RxBus.getInstance().post(new PauseStepExecutionEvent(scenarioExecution, this));
@@ -274,11 +283,7 @@ public class Step {
     }
 
     private Map<String, Object> buildEvaluationContext(ScenarioContext scenarioContext, Map<String, Object> localContext) {
-        Map<String, Object> evaluationContext = new HashMap<>();
-        evaluationContext.putAll(scenarioContext);
-        evaluationContext.putAll(localContext);
-        evaluationContext.put("target", target);
-        return evaluationContext;
+        return LayeredContext.of(scenarioContext, localContext, singletonMap("target", target));
     }
 
     private void updateContextWith(ActionExecutionResult.Status status, Map<String, Object> actionOutputs, List<String> information, List<String> errors) {
@@ -11,9 +11,10 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.ofNullable;
 
+import fr.enedis.chutney.engine.domain.execution.ReportSnapshotsBudget;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContextImpl;
-import com.google.common.collect.Maps;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -41,8 +42,8 @@ class StepContext {
         this.stepContextSnapshot = new StepContextSnapshot();
     }
 
-    private StepContext copySnapshotsInputOutput() {
-        this.stepContextSnapshot = new StepContextSnapshot(evaluatedInputs, stepOutputs);
+    private StepContext copySnapshotsInputOutput(ReportSnapshotsBudget reportSnapshotsBudget) {
+        this.stepContextSnapshot = new StepContextSnapshot(evaluatedInputs, stepOutputs, reportSnapshotsBudget);
         return this;
     }
 
@@ -51,10 +52,7 @@ class StepContext {
     }
 
     Map<String, Object> evaluationContext() {
-        final Map<String, Object> allResults = Maps.newLinkedHashMap(scenarioContext);
-        allResults.putAll(localContext);
-        allResults.putAll(stepOutputs);
-        return allResults;
+        return LayeredContext.of(scenarioContext, localContext, stepOutputs);
     }
 
     ScenarioContext getScenarioContext() {
@@ -81,7 +79,7 @@ class StepContext {
         return ofNullable(stepOutputs).orElse(emptyMap());
     }
 
-    StepContext copy() {
-        return new StepContext(scenarioContext.unmodifiable(), unmodifiableMap(localContext), unmodifiableMap(evaluatedInputs), unmodifiableMap(stepOutputs)).copySnapshotsInputOutput();
+    StepContext copy(ReportSnapshotsBudget reportSnapshotsBudget) {
+        return new StepContext(scenarioContext.unmodifiable(), unmodifiableMap(localContext), unmodifiableMap(evaluatedInputs), unmodifiableMap(stepOutputs)).copySnapshotsInputOutput(reportSnapshotsBudget);
     }
 }
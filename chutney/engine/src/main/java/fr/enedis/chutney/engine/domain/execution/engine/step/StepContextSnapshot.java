@@ -8,46 +8,129 @@
 package fr.enedis.chutney.engine.domain.execution.engine.step;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 
+import fr.enedis.chutney.engine.domain.execution.ReportSnapshotsBudget;
 import fr.enedis.chutney.engine.domain.execution.engine.step.jackson.ReportObjectMapperConfiguration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
 
+/**
+ * Step inputs and outputs as they were at the end of the step execution.
+ * <p>
+ * Containers (maps, collections and arrays) are structurally copied when the snapshot is taken, other values are kept as is.
+ * Values are converted to their report json form only when read for the first time, i.e. when the report is built,
+ * and are dropped from the snapshot when they exceed the scenario {@link ReportSnapshotsBudget}.
+ * Once the budget is used up, values are dropped when the snapshot is taken, without being kept nor serialized.
+ */
 class StepContextSnapshot {
-    private final Map<String, Object> inputsSnapshot;
-    private final Map<String, Object> outputsSnapshot;
+    private static final ObjectMapper OBJECT_MAPPER = ReportObjectMapperConfiguration.reportObjectMapper();
+
+    private final ReportSnapshotsBudget budget;
+    private Map<String, Object> inputs;
+    private Map<String, Object> outputs;
+    private Map<String, Object> inputsSnapshot;
+    private Map<String, Object> outputsSnapshot;
 
     public StepContextSnapshot() {
-        this.inputsSnapshot = emptyMap();
-        this.outputsSnapshot = emptyMap();
+        this(emptyMap(), emptyMap());
+    }
+
+    public StepContextSnapshot(Map<String, Object> inputs, Map<String, Object> outputs) {
+        this(inputs, outputs, ReportSnapshotsBudget.unlimited());
     }
 
-    public StepContextSnapshot(Map<String, Object> inputsSnapshot, Map<String, Object> outputsSnapshot) {
-        this.inputsSnapshot = mapStringObjectToString(inputsSnapshot);
-        this.outputsSnapshot = mapStringObjectToString(outputsSnapshot);
+    StepContextSnapshot(Map<String, Object> inputs, Map<String, Object> outputs, ReportSnapshotsBudget budget) {
+        this.budget = budget;
+        this.inputs = structuralCopy(inputs, budget);
+        this.outputs = structuralCopy(outputs, budget);
     }
 
-    public Map<String, Object> getInputsSnapshot() {
+    public synchronized Map<String, Object> getInputsSnapshot() {
+        if (inputsSnapshot == null) {
+            inputsSnapshot = toReportForm(inputs);
+            inputs = null;
+        }
         return unmodifiableMap(inputsSnapshot);
     }
 
-    public Map<String, Object> getOutputsSnapshot() {
+    public synchronized Map<String, Object> getOutputsSnapshot() {
+        if (outputsSnapshot == null) {
+            outputsSnapshot = toReportForm(outputs);
+            outputs = null;
+        }
         return unmodifiableMap(outputsSnapshot);
     }
 
-    private Map<String, Object> mapStringObjectToString(Map<String, Object> originalMap) {
-        Map<String, Object> stringMap = new HashMap<>();
+    private Map<String, Object> toReportForm(Map<String, Object> originalMap) {
+        Map<String, Object> jsonMap = new HashMap<>();
         originalMap.forEach((key, value) -> {
+            if (value instanceof DroppedValue dropped) {
+                jsonMap.put(key, dropped.notice());
+                return;
+            }
+            if (budget.isUsedUp()) {
+                jsonMap.put(key, usedUpNotice(budget));
+                return;
+            }
             try {
-                String stringObject = ReportObjectMapperConfiguration.reportObjectMapper().writeValueAsString(value);
-                Object jsonObject = ReportObjectMapperConfiguration.reportObjectMapper().readTree(stringObject);
-                stringMap.put(key, jsonObject);
+                byte[] json = OBJECT_MAPPER.writeValueAsBytes(value);
+                if (budget.retain(json.length)) {
+                    jsonMap.put(key, OBJECT_MAPPER.readTree(json));
+                } else {
+                    jsonMap.put(key, "Snapshot of " + json.length + " bytes not kept, report snapshots limit of " + budget.maxBytes() + " bytes reached");
+                }
             } catch (JacksonException e) {
                 throw new RuntimeException(e);
             }
         });
-        return stringMap;
+        return jsonMap;
+    }
+
+    private static Map<String, Object> structuralCopy(Map<String, Object> map, ReportSnapshotsBudget budget) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((key, value) -> copy.put(key, budget.isUsedUp() ? new DroppedValue(usedUpNotice(budget)) : structuralCopy(value)));
+        return copy;
+    }
+
+    private static String usedUpNotice(ReportSnapshotsBudget budget) {
+        return "Snapshot not kept, report snapshots limit of " + budget.maxBytes() + " bytes reached";
+    }
+
+    private static Object structuralCopy(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, structuralCopy(v)));
+            return unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            return unmodifiableList(copyElements(list, new ArrayList<>(list.size())));
+        }
+        if (value instanceof Set<?> set) {
+            return unmodifiableSet(copyElements(set, new LinkedHashSet<>()));
+        }
+        if (value instanceof Object[] array) {
+            return unmodifiableList(copyElements(Arrays.asList(array), new ArrayList<>(array.length)));
+        }
+        return value;
+    }
+
+    private static <C extends Collection<Object>> C copyElements(Collection<?> elements, C copy) {
+        elements.forEach(element -> copy.add(structuralCopy(element)));
+        return copy;
+    }
+
+    private record DroppedValue(String notice) {
     }
 }
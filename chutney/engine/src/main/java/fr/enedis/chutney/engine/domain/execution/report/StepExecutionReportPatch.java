@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.report;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental update of an execution report.
+ * <p>
+ * The changed step is addressed by its {@link #path}, i.e. the indexes of the sub steps to follow from the root step.
+ * An empty path targets the root step, so the patch then holds the whole report.
+ * <p>
+ * Ancestors of the changed step (root first) are given without their sub steps, as their own fields (status, duration...)
+ * change with their descendants.
+ */
+public class StepExecutionReportPatch {
+
+    public final Long executionId;
+    public final List<Integer> path;
+    public final List<StepExecutionReport> ancestors;
+    public final StepExecutionReport report;
+
+    public StepExecutionReportPatch(Long executionId, List<Integer> path, List<StepExecutionReport> ancestors, StepExecutionReport report) {
+        if (path.size() != ancestors.size()) {
+            throw new IllegalArgumentException("Patch path and ancestors must have the same size");
+        }
+        this.executionId = executionId;
+        this.path = List.copyOf(path);
+        this.ancestors = List.copyOf(ancestors);
+        this.report = report;
+    }
+
+    public static StepExecutionReportPatch snapshot(Long executionId, StepExecutionReport report) {
+        return new StepExecutionReportPatch(executionId, emptyList(), emptyList(), report);
+    }
+
+    public boolean isSnapshot() {
+        return path.isEmpty();
+    }
+
+    /**
+     * @param snapshot the report this patch is based on
+     * @return a new report with this patch applied
+     * @throws IllegalStateException when the snapshot structure does not match the patch path
+     */
+    public StepExecutionReport applyTo(StepExecutionReport snapshot) {
+        return applyTo(snapshot, 0);
+    }
+
+    private StepExecutionReport applyTo(StepExecutionReport node, int depth) {
+        if (depth == path.size()) {
+            return report;
+        }
+        int index = path.get(depth);
+        if (node == null || index >= node.steps.size()) {
+            throw new IllegalStateException("Cannot apply patch " + path + " on report at depth " + depth);
+        }
+        List<StepExecutionReport> subSteps = new ArrayList<>(node.steps);
+        subSteps.set(index, applyTo(subSteps.get(index), depth + 1));
+        return new StepExecutionReportBuilder()
+            .from(ancestors.get(depth))
+            .setSteps(subSteps)
+            .createStepExecutionReport();
+    }
+}
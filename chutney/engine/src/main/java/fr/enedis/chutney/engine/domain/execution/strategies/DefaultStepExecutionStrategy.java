@@ -8,10 +8,10 @@
 package fr.enedis.chutney.engine.domain.execution.strategies;
 
 import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -42,8 +42,7 @@ public final class DefaultStepExecutionStrategy implements StepExecutionStrategy
             step.beginExecution(scenarioExecution);
             Step currentRunningStep = step;
             try {
-                Map<String, Object> context = new HashMap<>(scenarioContext);
-                context.putAll(localContext);
+                Map<String, Object> context = LayeredContext.of(scenarioContext, localContext);
                 step.resolveName(context);
                 Status childStatus = Status.RUNNING;
                 while (subStepsIterator.hasNext() && childStatus != Status.FAILURE) {
@@ -10,21 +10,21 @@ package fr.enedis.chutney.engine.domain.execution.strategies;
 import static java.util.Collections.emptyList;
 
 import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
-import fr.enedis.chutney.engine.domain.execution.StepDefinition;
-import fr.enedis.chutney.engine.domain.execution.StepDefinitionBuilder;
-import fr.enedis.chutney.engine.domain.execution.engine.StepExecutor;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.StepDataEvaluator;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
-import java.util.HashMap;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import org.apache.commons.lang3.tuple.Pair;
 
 public class ForEachStrategy implements StepExecutionStrategy {
 
@@ -46,7 +46,7 @@ public class ForEachStrategy implements StepExecutionStrategy {
 
         List<Map<String, Object>> dataset = getDataset(step, scenarioContext, strategyDefinition, step.dataEvaluator());
 
-        if (executeRetryWithDataset(scenarioExecution, step, scenarioContext, localContext, strategies, dataset)) {
+        if (executeRetryWithDataset(scenarioExecution, step, scenarioContext, localContext, strategies, dataset, strategyDefinition.strategyProperties)) {
             return step.status();
         }
 
@@ -54,9 +54,9 @@ public class ForEachStrategy implements StepExecutionStrategy {
         step.beginExecution(scenarioExecution);
         replaceIndexInStepName(step, scenarioContext, localContext);
         if (step.isParentStep()) {
-            executeParentStep(scenarioExecution, step, scenarioContext, localContext, strategies, dataset, indexName);
+            executeParentStep(scenarioExecution, step, scenarioContext, localContext, strategies, dataset, indexName, strategyDefinition.strategyProperties);
         } else {
-            executeSubSteps(scenarioExecution, step, scenarioContext, localContext, dataset, indexName);
+            executeSubSteps(scenarioExecution, step, scenarioContext, localContext, strategies, dataset, indexName, strategyDefinition.strategyProperties);
         }
         step.endExecution(scenarioExecution);
         return step.status();
@@ -67,52 +67,47 @@ public class ForEachStrategy implements StepExecutionStrategy {
     }
 
     private void replaceIndexInStepName(Step step, ScenarioContext scenarioContext, Map<String, Object> localContext) {
-        Map<String, Object> context = new HashMap<>(scenarioContext);
-        context.putAll(localContext);
+        Map<String, Object> context = LayeredContext.of(scenarioContext, localContext);
         step.resolveName(context);
     }
 
-    private void executeParentStep(ScenarioExecution scenarioExecution, Step step, ScenarioContext scenarioContext, Map<String, Object> localContext, StepExecutionStrategies strategies, List<Map<String, Object>> dataset, String indexName) {
-        AtomicInteger index = new AtomicInteger(0);
+    private void executeParentStep(ScenarioExecution scenarioExecution, Step step, ScenarioContext scenarioContext, Map<String, Object> localContext, StepExecutionStrategies strategies, List<Map<String, Object>> dataset, String indexName, StrategyProperties strategyProperties) {
         List<Step> subSteps = List.copyOf(step.subSteps());
         step.removeStepExecution();
 
-        List<Pair<Step, Map<String, Object>>> iterations = dataset.stream()
-            .map(iterationContext -> buildParentIteration(indexName, index.getAndIncrement(), step, subSteps, iterationContext))
-            .peek(p -> step.addStepExecution(p.getLeft()))
-            .toList();
-
-        iterations.forEach(it -> {
-            Map<String, Object> mergedContext = new HashMap<>(localContext);
-            mergedContext.putAll(it.getRight());
-            DefaultStepExecutionStrategy.instance.execute(scenarioExecution, it.getLeft(), scenarioContext, mergedContext, strategies);
-        });
+        IterationTemplate template = IterationTemplate.compile(indexName, step, subSteps);
+        executeIterations(strategies, strategyProperties, scenarioContext, new Iterations(step, template, dataset.size(), (iteration, i) -> iterationContext -> {
+            Map<String, Object> mergedContext = LayeredContext.of(localContext, dataset.get(i));
+            return DefaultStepExecutionStrategy.instance.execute(scenarioExecution, iteration, iterationContext, mergedContext, strategies);
+        }));
     }
 
-    private void executeSubSteps(ScenarioExecution scenarioExecution, Step step, ScenarioContext scenarioContext, Map<String, Object> localContext, List<Map<String, Object>> dataset, String indexName) {
-        AtomicInteger index = new AtomicInteger(0);
-        List<Pair<Step, Map<String, Object>>> iterations = dataset.stream()
-            .map(iterationContext -> buildIteration(indexName, index.getAndIncrement(), step, iterationContext))
-            .peek(e -> step.addStepExecution(e.getKey()))
-            .toList();
+    private void executeSubSteps(ScenarioExecution scenarioExecution, Step step, ScenarioContext scenarioContext, Map<String, Object> localContext, StepExecutionStrategies strategies, List<Map<String, Object>> dataset, String indexName, StrategyProperties strategyProperties) {
+        IterationTemplate template = IterationTemplate.compile(indexName, step, emptyList());
+        executeIterations(strategies, strategyProperties, scenarioContext, new Iterations(step, template, dataset.size(), (iteration, i) -> iterationContext -> {
+            Map<String, Object> mergedContext = LayeredContext.of(localContext, dataset.get(i));
+            return iteration.execute(scenarioExecution, iterationContext, mergedContext);
+        }));
+    }
 
-        iterations.forEach(it -> {
-            Map<String, Object> mergedContext = new HashMap<>(localContext);
-            mergedContext.putAll(it.getRight());
-            it.getLeft().execute(scenarioExecution, scenarioContext, mergedContext);
-        });
+    private void executeIterations(StepExecutionStrategies strategies, StrategyProperties strategyProperties, ScenarioContext scenarioContext, List<Function<ScenarioContext, Status>> iterations) {
+        if (ParallelExecution.isParallel(strategyProperties)) {
+            ParallelExecution.from(strategyProperties, strategies.executor()).execute(scenarioContext, iterations);
+        } else {
+            iterations.forEach(iteration -> iteration.apply(scenarioContext));
+        }
     }
 
-    private boolean executeRetryWithDataset(ScenarioExecution scenarioExecution, Step step, ScenarioContext scenarioContext, Map<String, Object> localContext, StepExecutionStrategies strategies, List<Map<String, Object>> dataset) {
+    private boolean executeRetryWithDataset(ScenarioExecution scenarioExecution, Step step, ScenarioContext scenarioContext, Map<String, Object> localContext, StepExecutionStrategies strategies, List<Map<String, Object>> dataset, StrategyProperties strategyProperties) {
         if (step.isForStrategyApplied()) {
             step.beginExecution(scenarioExecution);
-            IntStream.range(0, step.subSteps().size()).forEach(i -> {
-                    Map<String, Object> mergedContext = new HashMap<>(localContext);
-                    mergedContext.putAll(dataset.get(i));
+            executeIterations(strategies, strategyProperties, scenarioContext, IntStream.range(0, step.subSteps().size())
+                .<Function<ScenarioContext, Status>>mapToObj(i -> iterationContext -> {
+                    Map<String, Object> mergedContext = LayeredContext.of(localContext, dataset.get(i));
                     var stepToExecute = step.subSteps().get(i);
-                    DefaultStepExecutionStrategy.instance.execute(scenarioExecution, stepToExecute, scenarioContext, mergedContext, strategies);
-                }
-            );
+                    return DefaultStepExecutionStrategy.instance.execute(scenarioExecution, stepToExecute, iterationContext, mergedContext, strategies);
+                })
+                .toList());
 
             step.endExecution(scenarioExecution);
             return true;
@@ -135,78 +130,40 @@ public class ForEachStrategy implements StepExecutionStrategy {
             .toList();
     }
 
-    private Pair<Step, Map<String, Object>> buildParentIteration(String indexName, Integer index, Step step, List<Step> subSteps, Map<String, Object> iterationContext) {
-
-        StepDefinition newDef = iterationDefinition(indexName, index, step.definition(), new StepStrategyDefinition("", new StrategyProperties()));
-        List<Step> newSubSteps = subSteps.stream().map(
-            subStep -> buildIterationDefinition(indexName, index, subStep.dataEvaluator(), subStep.definition(), subStep.executor(), subStep.subSteps(), subStep.strategy().orElse(new StepStrategyDefinition("", new StrategyProperties())))
-        ).toList();
-
-        return Pair.of(
-            new Step(step.dataEvaluator(), newDef, step.executor(), newSubSteps),
-            iterationContext
-        );
-    }
-
-    private Pair<Step, Map<String, Object>> buildIteration(String indexName, Integer index, Step step, Map<String, Object> iterationContext) {
-        return Pair.of(
-            new Step(step.dataEvaluator(), iterationDefinition(indexName, index, step.definition(), new StepStrategyDefinition("", new StrategyProperties())), step.executor(), emptyList()),
-            iterationContext
-        );
-    }
-
-    private Step buildIterationDefinition(String indexName, Integer index, StepDataEvaluator dataEvaluator, StepDefinition definition, StepExecutor executor, List<Step> subStep, StepStrategyDefinition strategy) {
-        StepDefinition iterationDefinition = iterationDefinition(indexName, index, definition, Optional.ofNullable(strategy).orElse(new StepStrategyDefinition("", new StrategyProperties())));
-        return new Step(dataEvaluator, iterationDefinition, executor, subStep.stream().map(step -> buildIterationDefinition(indexName, index, step.dataEvaluator(), step.definition(), step.executor(), step.subSteps(), step.strategy().orElse(null))).collect(Collectors.toList())); // We need this list to be mutable because of the clear in step.removeStepExecution()
-    }
-
-    private StepDefinition iterationDefinition(String indexName, Integer index, StepDefinition definition, StepStrategyDefinition strategyDefinition) {
-        return StepDefinitionBuilder.copyFrom(definition)
-            .withName(index(indexName, index, definition.name))
-            .withInputs(index(indexName, index, definition.inputs()))
-            .withOutputs(index(indexName, index, definition.outputs))
-            .withValidations(index(indexName, index, definition.validations))
-            .withStrategy(strategyDefinition)
-            .withSteps(definition
-                .steps
-                .stream()
-                .map(subStep -> iterationDefinition(indexName, index, subStep, subStep.getStrategy().orElse(new StepStrategyDefinition("", new StrategyProperties()))))
-                .toList())
-            .build();
-    }
-
-    private String index(String indexName, Integer index, String string) {
-        return string.replace("<" + indexName + ">", index.toString());
-    }
-
-    private Map<String, Object> index(String indexName, Integer index, Map<String, Object> inputs) {
-        return inputs.entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> index(indexName, index, e.getKey()),
-                e -> index(indexName, index, e.getValue())
-            ));
-    }
-
-    private List<Object> index(String indexName, Integer index, List<Object> inputs) {
-        return inputs.stream()
-            .map(e -> index(indexName, index, e))
-            .toList();
-    }
-
-    private Object index(String indexName, Integer index, Object value) {
-        if (value instanceof Map map) {
-            return index(indexName, index, map);
+    /**
+     * Iterations of a step, each iteration step being created and added to the step when its iteration is first read.
+     * <p>
+     * Iterations are read in order when dispatched, so iteration steps only exist once about to run,
+     * and are still reported in dataset order when run in parallel.
+     */
+    private static final class Iterations extends AbstractList<Function<ScenarioContext, Status>> {
+        private final Step step;
+        private final IterationTemplate template;
+        private final BiFunction<Step, Integer, Function<ScenarioContext, Status>> execution;
+        private final List<Function<ScenarioContext, Status>> dispatched;
+
+        private Iterations(Step step, IterationTemplate template, int size, BiFunction<Step, Integer, Function<ScenarioContext, Status>> execution) {
+            this.step = step;
+            this.template = template;
+            this.execution = execution;
+            this.dispatched = new ArrayList<>(Collections.nCopies(size, null));
         }
 
-        if (value instanceof List list) {
-            return index(indexName, index, list);
+        @Override
+        public Function<ScenarioContext, Status> get(int i) {
+            Function<ScenarioContext, Status> iteration = dispatched.get(i);
+            if (iteration == null) {
+                Step iterationStep = template.iteration(i);
+                step.addStepExecution(iterationStep);
+                iteration = execution.apply(iterationStep, i);
+                dispatched.set(i, iteration);
+            }
+            return iteration;
         }
 
-        if (value instanceof String string) {
-            return index(indexName, index, string);
+        @Override
+        public int size() {
+            return dispatched.size();
         }
-
-        return value;
-
     }
 }
@@ -12,10 +12,10 @@ import static fr.enedis.chutney.engine.domain.execution.report.Status.SUCCESS;
 import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.EvaluationException;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.StepDataEvaluator;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
-import java.util.HashMap;
 import java.util.Map;
 
 public class IfStrategy implements StepExecutionStrategy {
@@ -45,8 +45,7 @@ public class IfStrategy implements StepExecutionStrategy {
         if (condition) {
             return DefaultStepExecutionStrategy.instance.execute(scenarioExecution, step, scenarioContext, localContext, strategies);
         } else {
-            Map<String, Object> context = new HashMap<>(scenarioContext);
-            context.putAll(localContext);
+            Map<String, Object> context = LayeredContext.of(scenarioContext, localContext);
             step.resolveName(context);
             step.success();
             skipAllSubSteps(step);
@@ -0,0 +1,235 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import fr.enedis.chutney.engine.domain.execution.StepDefinition;
+import fr.enedis.chutney.engine.domain.execution.StepDefinitionBuilder;
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Step of a for strategy compiled once for all its iterations.
+ * <p>
+ * Index placeholders (i.e. {@code <i>}) are located once, when compiling the step and its sub steps.
+ * Names, inputs, outputs and validations without placeholder are shared between iterations,
+ * others are iteration views resolving placeholders when first read, then keeping resolved values.
+ */
+final class IterationTemplate {
+
+    private static final StepStrategyDefinition NO_STRATEGY = new StepStrategyDefinition("", new StrategyProperties());
+
+    private final Step step;
+    private final DefinitionTemplate definition;
+    private final List<IterationTemplate> subSteps;
+
+    private IterationTemplate(Step step, DefinitionTemplate definition, List<IterationTemplate> subSteps) {
+        this.step = step;
+        this.definition = definition;
+        this.subSteps = subSteps;
+    }
+
+    /**
+     * @param subSteps sub steps to iterate over, which may not be the current sub steps of given step
+     */
+    static IterationTemplate compile(String indexName, Step step, List<Step> subSteps) {
+        String placeholder = "<" + indexName + ">";
+        return new IterationTemplate(
+            step,
+            DefinitionTemplate.compile(placeholder, step.definition()),
+            subSteps.stream().map(subStep -> compile(indexName, subStep, subStep.subSteps())).toList()
+        );
+    }
+
+    /**
+     * @return a new step for given iteration, without strategy
+     */
+    Step iteration(int index) {
+        return iteration(index, NO_STRATEGY);
+    }
+
+    private Step iteration(int index, StepStrategyDefinition strategy) {
+        List<Step> iterationSubSteps = new ArrayList<>(subSteps.size()); // We need this list to be mutable because of the clear in step.removeStepExecution()
+        subSteps.forEach(subStep -> iterationSubSteps.add(subStep.iteration(index, subStep.step.strategy().orElse(NO_STRATEGY))));
+        return new Step(step.dataEvaluator(), definition.iteration(index, strategy), step.executor(), iterationSubSteps);
+    }
+
+    private record DefinitionTemplate(StepDefinition definition, Object name, Object inputs, Object outputs, Object validations, List<DefinitionTemplate> steps) {
+
+        private static DefinitionTemplate compile(String placeholder, StepDefinition definition) {
+            Pattern pattern = Pattern.compile(placeholder, Pattern.LITERAL);
+            return new DefinitionTemplate(
+                definition,
+                compileValue(pattern, definition.name),
+                compileValue(pattern, definition.inputs()),
+                compileValue(pattern, definition.outputs),
+                compileValue(pattern, definition.validations),
+                definition.steps.stream().map(subStep -> compile(placeholder, subStep)).toList()
+            );
+        }
+
+        @SuppressWarnings("unchecked")
+        private StepDefinition iteration(int index, StepStrategyDefinition strategy) {
+            String indexValue = Integer.toString(index);
+            return StepDefinitionBuilder.copyFrom(definition)
+                .withName((String) resolve(name, indexValue))
+                .withInputs((Map<String, Object>) resolve(inputs, indexValue))
+                .withOutputs((Map<String, Object>) resolve(outputs, indexValue))
+                .withValidations((Map<String, Object>) resolve(validations, indexValue))
+                .withStrategy(strategy)
+                .withSteps(new ResolvedList<>(steps.size(), i -> {
+                    DefinitionTemplate subStep = steps.get(i);
+                    return subStep.iteration(index, subStep.definition.getStrategy().orElse(NO_STRATEGY));
+                }))
+                .build();
+        }
+    }
+
+    /**
+     * @return given value if it holds no placeholder, its compiled form otherwise
+     */
+    private static Object compileValue(Pattern placeholder, Object value) {
+        if (value instanceof String string) {
+            String[] parts = placeholder.split(string, -1);
+            return parts.length == 1 ? string : new IndexedString(parts);
+        }
+        if (value instanceof Map<?, ?> map) {
+            List<Map.Entry<Object, Object>> entries = new ArrayList<>(map.size());
+            boolean indexed = false;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object key = compileValue(placeholder, entry.getKey());
+                Object entryValue = compileValue(placeholder, entry.getValue());
+                indexed |= key != entry.getKey() || entryValue != entry.getValue();
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(key, entryValue));
+            }
+            return indexed ? new IndexedMap(entries) : map;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> elements = new ArrayList<>(list.size());
+            boolean indexed = false;
+            for (Object element : list) {
+                Object compiled = compileValue(placeholder, element);
+                indexed |= compiled != element;
+                elements.add(compiled);
+            }
+            return indexed ? new IndexedList(elements) : list;
+        }
+        return value;
+    }
+
+    private static Object resolve(Object compiled, String index) {
+        if (compiled instanceof Indexed indexed) {
+            return indexed.resolve(index);
+        }
+        return compiled;
+    }
+
+    private sealed interface Indexed permits IndexedString, IndexedMap, IndexedList {
+        Object resolve(String index);
+    }
+
+    private record IndexedString(String[] parts) implements Indexed {
+        @Override
+        public String resolve(String index) {
+            return String.join(index, parts);
+        }
+    }
+
+    private record IndexedMap(List<Map.Entry<Object, Object>> entries) implements Indexed {
+        @Override
+        public Map<Object, Object> resolve(String index) {
+            return new ResolvedMap(entries, index);
+        }
+    }
+
+    private record IndexedList(List<Object> elements) implements Indexed {
+        @Override
+        public List<Object> resolve(String index) {
+            return new ResolvedList<>(elements.size(), i -> IterationTemplate.resolve(elements.get(i), index));
+        }
+    }
+
+    /**
+     * Map of one iteration, resolved as a whole when first read.
+     */
+    private static final class ResolvedMap extends AbstractMap<Object, Object> {
+        private final List<Map.Entry<Object, Object>> entries;
+        private final String index;
+        private volatile Map<Object, Object> resolved;
+
+        private ResolvedMap(List<Map.Entry<Object, Object>> entries, String index) {
+            this.entries = entries;
+            this.index = index;
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return resolved().entrySet();
+        }
+
+        @Override
+        public Object get(Object key) {
+            return resolved().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return resolved().containsKey(key);
+        }
+
+        private Map<Object, Object> resolved() {
+            Map<Object, Object> map = resolved;
+            if (map == null) {
+                Map<Object, Object> values = new LinkedHashMap<>(entries.size());
+                entries.forEach(entry -> values.put(IterationTemplate.resolve(entry.getKey(), index), IterationTemplate.resolve(entry.getValue(), index)));
+                map = Collections.unmodifiableMap(values);
+                resolved = map;
+            }
+            return map;
+        }
+    }
+
+    /**
+     * List of one iteration, each element being resolved when first read.
+     */
+    private static final class ResolvedList<T> extends AbstractList<T> {
+        private final IntFunction<T> resolver;
+        private final AtomicReferenceArray<T> resolved;
+
+        private ResolvedList(int size, IntFunction<T> resolver) {
+            this.resolver = resolver;
+            this.resolved = new AtomicReferenceArray<>(size);
+        }
+
+        @Override
+        public T get(int i) {
+            T element = resolved.get(i);
+            if (element == null) {
+                element = resolver.apply(i);
+                if (!resolved.compareAndSet(i, null, element)) {
+                    element = resolved.get(i);
+                }
+            }
+            return element;
+        }
+
+        @Override
+        public int size() {
+            return resolved.length();
+        }
+    }
+}
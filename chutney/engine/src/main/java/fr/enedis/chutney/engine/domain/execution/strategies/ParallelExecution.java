@@ -0,0 +1,163 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredScenarioContext;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Run independent tasks concurrently, each one against its own layer of the scenario context.
+ * <p>
+ * Expects following strategy properties:
+ * - maxConcurrency: maximum number of tasks running at the same time, default to the number of tasks
+ * - failFast: when true, tasks not yet started are not executed once a task failed, default to false (i.e. wait for all tasks).
+ * Tasks already running are not cancelled: actions are not interruptible in general, and interrupting them
+ * could leave shared resources such as pooled connections in a broken state. They are waited for.
+ * <p>
+ * Tasks are read in order by the calling thread, each one when it is submitted, so task lists may create tasks lazily.
+ * They are submitted to the engine executor. Since the calling step already holds one of its threads,
+ * tasks not started yet are run by the calling thread rather than waiting for a saturated executor.
+ * <p>
+ * Once all tasks are done, scenario context entries written or removed by each task are merged back
+ * in the declaration order of the tasks, so last declared task wins on conflicting entries.
+ */
+final class ParallelExecution {
+
+    static final String PARALLEL = "parallel";
+    static final String MAX_CONCURRENCY = "maxConcurrency";
+    static final String FAIL_FAST = "failFast";
+
+    private final int maxConcurrency;
+    private final boolean failFast;
+    private final Executor executor;
+
+    private ParallelExecution(int maxConcurrency, boolean failFast, Executor executor) {
+        this.maxConcurrency = maxConcurrency;
+        this.failFast = failFast;
+        this.executor = executor;
+    }
+
+    static ParallelExecution from(StrategyProperties strategyProperties, Executor executor) {
+        int maxConcurrency = Optional.ofNullable(strategyProperties.get(MAX_CONCURRENCY))
+            .map(Object::toString)
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .orElse(Integer.MAX_VALUE);
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Parameter '" + MAX_CONCURRENCY + "' must be strictly positive");
+        }
+        boolean failFast = Optional.ofNullable(strategyProperties.get(FAIL_FAST))
+            .map(Object::toString)
+            .map(String::trim)
+            .map(Boolean::parseBoolean)
+            .orElse(false);
+        return new ParallelExecution(maxConcurrency, failFast, executor);
+    }
+
+    static boolean isParallel(StrategyProperties strategyProperties) {
+        return Optional.ofNullable(strategyProperties.get(PARALLEL))
+            .map(Object::toString)
+            .map(String::trim)
+            .map(Boolean::parseBoolean)
+            .orElse(false);
+    }
+
+    /**
+     * @return tasks statuses, in tasks order, {@link Status#NOT_EXECUTED} for tasks skipped after a failure
+     * @throws IllegalStateException when waiting for tasks is interrupted
+     */
+    List<Status> execute(ScenarioContext scenarioContext, List<Function<ScenarioContext, Status>> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<LayeredScenarioContext> taskContexts = new ArrayList<>(tasks.size());
+        List<FutureTask<Status>> futures = new ArrayList<>(tasks.size());
+        Semaphore permits = new Semaphore(Math.min(maxConcurrency, tasks.size()));
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        try {
+            for (Function<ScenarioContext, Status> task : tasks) {
+                LayeredScenarioContext taskContext = scenarioContext.newLayer();
+                taskContexts.add(taskContext);
+                FutureTask<Status> future = new FutureTask<>(() -> {
+                    try {
+                        if (failFast && failed.get()) {
+                            return Status.NOT_EXECUTED;
+                        }
+                        Status status = task.apply(taskContext);
+                        if (status == Status.FAILURE) {
+                            failed.set(true);
+                        }
+                        return status;
+                    } finally {
+                        permits.release();
+                    }
+                });
+                acquire(permits, futures);
+                futures.add(future);
+                submit(future);
+            }
+            futures.forEach(FutureTask::run);
+
+            List<Status> statuses = new ArrayList<>(futures.size());
+            RuntimeException taskException = null;
+            for (FutureTask<Status> future : futures) {
+                try {
+                    statuses.add(future.get());
+                } catch (ExecutionException e) {
+                    failed.set(true);
+                    statuses.add(Status.FAILURE);
+                    if (taskException == null) {
+                        taskException = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+                    }
+                }
+            }
+            taskContexts.forEach(taskContext -> {
+                taskContext.removedKeys().forEach(scenarioContext::remove);
+                scenarioContext.putAll(taskContext.ownLayer());
+            });
+            if (taskException != null) {
+                throw taskException;
+            }
+            return statuses;
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Waiting for parallel executions have been interrupted", e);
+        }
+    }
+
+    /**
+     * Wait for a permit, running submitted tasks not started yet meanwhile, so that a saturated executor cannot block this execution.
+     */
+    private static void acquire(Semaphore permits, List<FutureTask<Status>> submitted) throws InterruptedException {
+        if (!permits.tryAcquire()) {
+            submitted.forEach(FutureTask::run); // No-op for tasks already started by the executor
+            permits.acquire();
+        }
+    }
+
+    private void submit(FutureTask<Status> future) {
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            // Run by the calling thread
+        }
+    }
+}
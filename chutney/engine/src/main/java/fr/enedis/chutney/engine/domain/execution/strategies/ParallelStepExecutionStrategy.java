@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execute sub steps concurrently.
+ * Sub steps are expected to be independent : they do not see each other's outputs until all of them are done.
+ * <p>
+ * Accepts following strategy properties:
+ * - maxConcurrency: maximum number of sub steps running at the same time, default to the number of sub steps
+ * - failFast: when true, sub steps not yet started are not executed once a sub step failed, default to false.
+ * Running sub steps are not cancelled.
+ *
+ * @see ParallelExecution
+ */
+public class ParallelStepExecutionStrategy implements StepExecutionStrategy {
+
+    private static final String TYPE = "parallel";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelStepExecutionStrategy.class);
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public Status execute(ScenarioExecution scenarioExecution,
+                          Step step,
+                          ScenarioContext scenarioContext,
+                          Map<String, Object> localContext,
+                          StepExecutionStrategies strategies) {
+        if (!step.isParentStep()) {
+            return step.execute(scenarioExecution, scenarioContext, localContext);
+        }
+
+        ParallelExecution parallelExecution = ParallelExecution.from(
+            step.strategy().map(s -> s.strategyProperties).orElseGet(StrategyProperties::new),
+            strategies.executor()
+        );
+        step.beginExecution(scenarioExecution);
+        try {
+            Map<String, Object> context = LayeredContext.of(scenarioContext, localContext);
+            step.resolveName(context);
+
+            List<Function<ScenarioContext, Status>> subStepsExecutions = step.subSteps().stream()
+                .<Function<ScenarioContext, Status>>map(subStep -> subStepContext -> {
+                    try {
+                        StepExecutionStrategy strategy = strategies.buildStrategyFrom(subStep);
+                        return strategy.execute(scenarioExecution, subStep, subStepContext, localContext, strategies);
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Intercepted exception!", e);
+                        subStep.failure(e);
+                        return Status.FAILURE;
+                    }
+                })
+                .toList();
+            parallelExecution.execute(scenarioContext, subStepsExecutions);
+        } catch (RuntimeException e) {
+            step.failure(e);
+            LOGGER.warn("Intercepted exception!", e);
+        } finally {
+            step.endExecution(scenarioExecution);
+        }
+        return step.status();
+    }
+}
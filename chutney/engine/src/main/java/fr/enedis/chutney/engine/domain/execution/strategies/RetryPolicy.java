@@ -0,0 +1,221 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import static java.util.stream.Collectors.joining;
+
+import fr.enedis.chutney.action.spi.time.Duration;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+
+/**
+ * Retry policy of the {@link RetryWithTimeOutStrategy}, built from its evaluated strategy properties.
+ * <p>
+ * Expects following strategy properties:
+ * - timeOut: duration before giving up on the execution of a failed step
+ * - retryDelay: waiting duration before retrying execution of a failed step, first delay for backoffs
+ * - backoff: how delays evolve between retries, one of
+ * "fixed" (default, always retryDelay),
+ * "exponential" (retryDelay multiplied by multiplier after each retry)
+ * or "decorrelated-jitter" (random delay between retryDelay and three times the previous delay)
+ * - multiplier: exponential backoff factor, default to 2
+ * - maxDelay: maximum duration of a delay, default to timeOut
+ * - maxAttempts: maximum number of executions, default to unlimited
+ * - attemptTimeOut: duration after which actions of an execution are interrupted, default to none
+ * - retryOn: comma separated statuses of executions to retry, default to FAILURE
+ */
+final class RetryPolicy {
+
+    static final String TIME_OUT = "timeOut";
+    static final String RETRY_DELAY = "retryDelay";
+    static final String BACKOFF = "backoff";
+    static final String MULTIPLIER = "multiplier";
+    static final String MAX_DELAY = "maxDelay";
+    static final String MAX_ATTEMPTS = "maxAttempts";
+    static final String ATTEMPT_TIME_OUT = "attemptTimeOut";
+    static final String RETRY_ON = "retryOn";
+
+    enum Backoff {
+        FIXED, EXPONENTIAL, DECORRELATED_JITTER;
+
+        private String label() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        private static Backoff of(String label) {
+            return Arrays.stream(values())
+                .filter(backoff -> backoff.label().equals(label.trim().toLowerCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown " + BACKOFF + " '" + label + "', expected one of "
+                    + Arrays.stream(values()).map(Backoff::label).collect(joining(", "))));
+        }
+    }
+
+    private final String description;
+    private final long timeOutMs;
+    private final long retryDelayMs;
+    private final Backoff backoff;
+    private final double multiplier;
+    private final long maxDelayMs;
+    private final int maxAttempts;
+    private final long attemptTimeOutMs;
+    private final Set<Status> retryOn;
+
+    private RetryPolicy(String description, long timeOutMs, long retryDelayMs, Backoff backoff, double multiplier, long maxDelayMs, int maxAttempts, long attemptTimeOutMs, Set<Status> retryOn) {
+        this.description = description;
+        this.timeOutMs = timeOutMs;
+        this.retryDelayMs = retryDelayMs;
+        this.backoff = backoff;
+        this.multiplier = multiplier;
+        this.maxDelayMs = maxDelayMs;
+        this.maxAttempts = maxAttempts;
+        this.attemptTimeOutMs = attemptTimeOutMs;
+        this.retryOn = retryOn;
+    }
+
+    /**
+     * @param evaluator evaluates properties values against the step context
+     * @throws IllegalStateException    when timeOut or retryDelay is missing
+     * @throws IllegalArgumentException when a property value is not valid
+     */
+    static RetryPolicy from(StrategyProperties strategyProperties, UnaryOperator<String> evaluator) {
+        String timeOut = strategyProperties.getProperty(TIME_OUT, String.class);
+        String retryDelay = strategyProperties.getProperty(RETRY_DELAY, String.class);
+        if (timeOut == null) {
+            throw new IllegalStateException("Undefined parameter '" + TIME_OUT + "'");
+        }
+        if (retryDelay == null) {
+            throw new IllegalStateException("Undefined parameter '" + RETRY_DELAY + "'");
+        }
+        String evaluatedRetryDelay = evaluator.apply(retryDelay);
+        String evaluatedTimeOut = evaluator.apply(timeOut);
+        long timeOutMs = toMilliSeconds(evaluatedTimeOut);
+        StringBuilder description = new StringBuilder("Retry strategy definition : [timeOut " + evaluatedTimeOut + "] [delay " + evaluatedRetryDelay + "]");
+
+        Optional<String> backoffLabel = optionalProperty(strategyProperties, BACKOFF, evaluator);
+        Backoff backoff = backoffLabel.map(Backoff::of).orElse(Backoff.FIXED);
+        backoffLabel.ifPresent(b -> description.append(" [backoff ").append(backoff.label()).append("]"));
+
+        double multiplier = optionalProperty(strategyProperties, MULTIPLIER, evaluator).map(Double::parseDouble).orElse(2d);
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Parameter '" + MULTIPLIER + "' must be greater or equal to 1");
+        }
+        if (backoff == Backoff.EXPONENTIAL) {
+            description.append(" [multiplier ").append(multiplier).append("]");
+        }
+
+        Optional<String> maxDelay = optionalProperty(strategyProperties, MAX_DELAY, evaluator);
+        maxDelay.ifPresent(d -> description.append(" [maxDelay ").append(d).append("]"));
+
+        Optional<Integer> maxAttempts = optionalProperty(strategyProperties, MAX_ATTEMPTS, evaluator).map(Integer::parseInt);
+        if (maxAttempts.isPresent() && maxAttempts.get() < 1) {
+            throw new IllegalArgumentException("Parameter '" + MAX_ATTEMPTS + "' must be strictly positive");
+        }
+        maxAttempts.ifPresent(a -> description.append(" [maxAttempts ").append(a).append("]"));
+
+        Optional<String> attemptTimeOut = optionalProperty(strategyProperties, ATTEMPT_TIME_OUT, evaluator);
+        attemptTimeOut.ifPresent(t -> description.append(" [attemptTimeOut ").append(t).append("]"));
+
+        Set<Status> retryOn = retryOn(strategyProperties.get(RETRY_ON), evaluator);
+        if (!retryOn.equals(EnumSet.of(Status.FAILURE))) {
+            description.append(" [retryOn ").append(retryOn.stream().map(Status::name).collect(joining(", "))).append("]");
+        }
+
+        return new RetryPolicy(
+            description.toString(),
+            timeOutMs,
+            toMilliSeconds(evaluatedRetryDelay),
+            backoff,
+            multiplier,
+            maxDelay.map(RetryPolicy::toMilliSeconds).orElse(timeOutMs),
+            maxAttempts.orElse(Integer.MAX_VALUE),
+            attemptTimeOut.map(RetryPolicy::toMilliSeconds).orElse(0L),
+            retryOn
+        );
+    }
+
+    String description() {
+        return description;
+    }
+
+    long timeOutMs() {
+        return timeOutMs;
+    }
+
+    /**
+     * @return true if given attempt number is not the last allowed one
+     */
+    boolean allowsAttemptAfter(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    boolean hasAttemptTimeOut() {
+        return attemptTimeOutMs > 0;
+    }
+
+    long attemptTimeOutMs() {
+        return attemptTimeOutMs;
+    }
+
+    boolean retryOn(Status status) {
+        return retryOn.contains(status);
+    }
+
+    /**
+     * @param previousDelayMs delay waited before the previous retry, 0 before the first one
+     * @return delay to wait before next retry
+     */
+    long nextDelayMs(long previousDelayMs) {
+        if (previousDelayMs <= 0) {
+            return Math.min(retryDelayMs, maxDelayMs);
+        }
+        long delay = switch (backoff) {
+            case FIXED -> retryDelayMs;
+            case EXPONENTIAL -> Math.round(Math.min(previousDelayMs * multiplier, maxDelayMs));
+            case DECORRELATED_JITTER -> ThreadLocalRandom.current().nextLong(retryDelayMs, Math.max(retryDelayMs, Math.min(previousDelayMs * 3, maxDelayMs)) + 1);
+        };
+        return Math.min(delay, maxDelayMs);
+    }
+
+    private static Optional<String> optionalProperty(StrategyProperties strategyProperties, String key, UnaryOperator<String> evaluator) {
+        return Optional.ofNullable(strategyProperties.get(key))
+            .map(Object::toString)
+            .map(evaluator)
+            .map(String::trim);
+    }
+
+    private static Set<Status> retryOn(Object property, UnaryOperator<String> evaluator) {
+        if (property == null) {
+            return EnumSet.of(Status.FAILURE);
+        }
+        Collection<?> statuses = property instanceof Collection<?> c ? c : Arrays.asList(evaluator.apply(property.toString()).split(","));
+        Set<Status> retryOn = EnumSet.noneOf(Status.class);
+        statuses.stream()
+            .map(Object::toString)
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .map(s -> Status.valueOf(s.toUpperCase(Locale.ROOT)))
+            .forEach(retryOn::add);
+        if (retryOn.isEmpty()) {
+            throw new IllegalArgumentException("Parameter '" + RETRY_ON + "' must hold at least one status");
+        }
+        return retryOn;
+    }
+
+    private static long toMilliSeconds(String duration) {
+        double durationInMS = Duration.parse(duration).toMilliseconds();
+        return Math.round(durationInMS);
+    }
+}
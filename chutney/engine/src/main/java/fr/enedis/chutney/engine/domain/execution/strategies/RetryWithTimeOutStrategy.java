@@ -7,22 +7,21 @@
 
 package fr.enedis.chutney.engine.domain.execution.strategies;
 
-import fr.enedis.chutney.action.spi.time.Duration;
 import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
-import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContextImpl;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Retry every retryDelay execution of a Step until success or until timeOut
- * Expects following strategy properties:
- * - timeOut: duration before giving up on the execution of a failed step
- * - retryDelay: waiting duration before retrying execution of a failed step
+ * Retry execution of a Step until success, until timeOut or until maxAttempts executions.
+ * See {@link RetryPolicy} for expected strategy properties, i.e. timeOut and retryDelay, and optional backoff, maxAttempts, attemptTimeOut...
  * <p>
  * Expected duration format: "floating_positive_number [duration_unit]" where
  * floating_positive_number : the duration value (ex.: 10)
@@ -32,11 +31,14 @@ import java.util.concurrent.TimeUnit;
  * - "ms" for milliseconds
  * empty values are interpreted as seconds
  * Example: timeOut: "5 min", or "300 sec", ...
+ * <p>
+ * Step report keeps the last execution only, along with a summary of the last {@value #REPORTED_ATTEMPTS} executions.
  */
 
 public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
 
     private static final String TYPE = "retry-with-timeout";
+    static final int REPORTED_ATTEMPTS = 10;
 
     @Override
     public String getType() {
@@ -58,44 +60,24 @@ public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
         }
         StepStrategyDefinition strategyDefinition = step.strategy().get();
 
-        // TODO - add a backoff parameter
-        String timeOut = strategyDefinition.strategyProperties.getProperty("timeOut", String.class);
-        String retryDelay = strategyDefinition.strategyProperties.getProperty("retryDelay", String.class); // TODO - respect State of the art : provide number of retries policy instead
-        if (timeOut == null) {
-            throw new IllegalStateException("Undefined parameter 'timeOut'"); // TODO - Provide a default value instead
-        }
-        if (retryDelay == null) {
-            throw new IllegalStateException("Undefined parameter 'retryDelay'"); // TODO - Provide a default value instead
-        }
-
-        ScenarioContextImpl mergedContext = new ScenarioContextImpl();
-        mergedContext.putAll(scenarioContext);
-        mergedContext.putAll(localContext);
+        Map<String, Object> mergedContext = LayeredContext.of(scenarioContext, localContext);
+        RetryPolicy policy = RetryPolicy.from(strategyDefinition.strategyProperties, value -> step.dataEvaluator().evaluateString(value, mergedContext));
 
-        String evaluatedRetryDelay = step.dataEvaluator().evaluateString(retryDelay, mergedContext);
-        String evaluatedTimeOut = step.dataEvaluator().evaluateString(timeOut, mergedContext);
-        long retryDelayMs = toMilliSeconds(evaluatedRetryDelay);
-        long timeLeft = toMilliSeconds(evaluatedTimeOut);
-        Status st;
-        int tries = 1;
+        long deadline = System.currentTimeMillis() + policy.timeOutMs();
+        Deque<String> attemptsHistory = new ArrayDeque<>(REPORTED_ATTEMPTS);
         List<String> lastErrors = new ArrayList<>();
-        do {
+        long delay = 0;
+        int tries = 0;
+        Status st;
+        while (true) {
             long tryStartTime = System.currentTimeMillis();
-            step.addInformation("Retry strategy definition : [timeOut " + evaluatedTimeOut + "] [delay " + evaluatedRetryDelay + "]");
-            step.addInformation("Try number : " + (tries++));
-
-            st = executeAll(scenarioExecution, step, scenarioContext, localContext, strategies);
-            if (st == Status.FAILURE) {
-                try {
-                    step.startWatch();
-                    TimeUnit.MILLISECONDS.sleep(retryDelayMs);
-                } catch (InterruptedException e) {
-                    throw new IllegalStateException("Sleeping between executions have been interrupted", e);
-                } finally {
-                    step.stopWatch();
-                }
-                timeLeft -= System.currentTimeMillis() - tryStartTime;
-            } else {
+            step.addInformation(policy.description());
+            step.addInformation("Try number : " + (++tries));
+
+            st = executeAttempt(policy, scenarioExecution, step, scenarioContext, localContext, strategies);
+            recordAttempt(attemptsHistory, tries, st, System.currentTimeMillis() - tryStartTime, policy);
+
+            if (st == Status.STOPPED || !policy.retryOn(st)) {
                 if (!lastErrors.isEmpty()) {
                     step.addErrorMessage("Error(s) on last step execution:");
                     lastErrors.forEach(step::addErrorMessage);
@@ -103,34 +85,76 @@ public class RetryWithTimeOutStrategy implements StepExecutionStrategy {
                 break;
             }
 
-            if (timeLeft > 0) {
-                lastErrors.clear();
-                lastErrors.addAll(step.errors());
-                step.resetExecution();
+            long timeLeft = deadline - System.currentTimeMillis();
+            if (timeLeft <= 0 || !policy.allowsAttemptAfter(tries)) {
+                break;
+            }
+            delay = policy.nextDelayMs(delay);
+            boolean stopped;
+            try {
+                step.startWatch();
+                stopped = scenarioExecution.waitUnlessStopped(Math.min(delay, timeLeft), TimeUnit.MILLISECONDS);
+            } finally {
+                step.stopWatch();
+            }
+            if (stopped) {
+                step.stopExecution(scenarioExecution);
+                st = Status.STOPPED;
+                break;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+
+            lastErrors.clear();
+            lastErrors.addAll(step.errors());
+            step.resetExecution();
+        }
+
+        if (tries > 1) {
+            if (tries > REPORTED_ATTEMPTS) {
+                step.addInformation((tries - REPORTED_ATTEMPTS) + " earlier attempt(s) not reported");
             }
-        } while (timeLeft > 0); // TODO - needs to backoff a bit before retry
+            attemptsHistory.forEach(step::addInformation);
+        }
         return st;
     }
 
-    private long toMilliSeconds(String duration) {
-        double durationInMS = Duration.parse(duration).toMilliseconds();
-        return Math.round(durationInMS);
+    private static void recordAttempt(Deque<String> attemptsHistory, int tries, Status status, long durationMs, RetryPolicy policy) {
+        if (attemptsHistory.size() == REPORTED_ATTEMPTS) {
+            attemptsHistory.removeFirst();
+        }
+        boolean timedOut = policy.hasAttemptTimeOut() && durationMs >= policy.attemptTimeOutMs();
+        attemptsHistory.addLast("Attempt " + tries + " : " + status + " after " + durationMs + " ms" + (timedOut ? " (attempt timed out)" : ""));
     }
 
+    private Status executeAttempt(RetryPolicy policy,
+                                  ScenarioExecution scenarioExecution,
+                                  Step step,
+                                  ScenarioContext scenarioContext,
+                                  Map<String, Object> localContext,
+                                  StepExecutionStrategies strategies) {
+        if (policy.hasAttemptTimeOut()) {
+            return scenarioExecution.runWithActionsTimeout(policy.attemptTimeOutMs(), TimeUnit.MILLISECONDS,
+                () -> executeAll(scenarioExecution, step, scenarioContext, localContext, strategies));
+        }
+        return executeAll(scenarioExecution, step, scenarioContext, localContext, strategies);
+    }
+
+    /**
+     * @return step status, {@link Status#STOPPED} if it failed because of a stop request
+     */
     private Status executeAll(ScenarioExecution scenarioExecution,
                               Step step,
                               ScenarioContext scenarioContext,
                               Map<String, Object> localContext,
                               StepExecutionStrategies strategies) {
-        Status st = DefaultStepExecutionStrategy.instance.execute(scenarioExecution, step, scenarioContext, localContext, strategies); // TODO - how do you cancel a try ? I call this a spam strategy, not a retry one !
-        if (st == Status.FAILURE) {
-            if (scenarioExecution.hasToStop()) {
-                step.stopExecution(scenarioExecution);
-                return Status.STOPPED;
-            }
-            return st;
+        Status st = DefaultStepExecutionStrategy.instance.execute(scenarioExecution, step, scenarioContext, localContext, strategies);
+        if (st == Status.FAILURE && scenarioExecution.hasToStop()) {
+            step.stopExecution(scenarioExecution);
+            return Status.STOPPED;
         }
-        return Status.SUCCESS;
+        return st;
     }
 }
 
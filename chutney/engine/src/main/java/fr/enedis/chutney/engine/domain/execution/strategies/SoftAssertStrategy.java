@@ -8,6 +8,7 @@
 package fr.enedis.chutney.engine.domain.execution.strategies;
 
 import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.LayeredContext;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContext;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
@@ -38,8 +39,7 @@ public class SoftAssertStrategy implements StepExecutionStrategy {
 
         if (step.isParentStep()) {
             Status status = executeSubSteps(scenarioExecution, step, scenarioContext, localContext, strategies);
-            Map<String, Object> context = new HashMap<>(scenarioContext);
-            context.putAll(localContext);
+            Map<String, Object> context = LayeredContext.of(scenarioContext, localContext);
             step.resolveName(context);
             return softenStatus(status);
         }
@@ -13,17 +13,29 @@ import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class StepExecutionStrategies {
+    private static final Executor VIRTUAL_THREAD_PER_TASK = task -> Thread.ofVirtual().name("chutney-parallel-step").start(task);
+
     private final Map<String, StepExecutionStrategy> strategies;
+    private final Executor executor;
 
     public StepExecutionStrategies() {
         this(new HashSet<>());
     }
 
     public StepExecutionStrategies(Set<StepExecutionStrategy> strategies) {
+        this(strategies, VIRTUAL_THREAD_PER_TASK);
+    }
+
+    /**
+     * @param executor executor of concurrent steps, i.e. the engine one
+     */
+    public StepExecutionStrategies(Set<StepExecutionStrategy> strategies, Executor executor) {
+        this.executor = executor;
 
         if (strategies == null) {
             strategies = new HashSet<>();
@@ -36,6 +48,10 @@ public class StepExecutionStrategies {
             }));
     }
 
+    public Executor executor() {
+        return executor;
+    }
+
     public StepExecutionStrategy buildStrategyFrom(Step step) {
         return step.strategy()
             .map(this::findStrategy)
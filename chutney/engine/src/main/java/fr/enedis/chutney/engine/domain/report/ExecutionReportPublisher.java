@@ -0,0 +1,143 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.report;
+
+import static fr.enedis.chutney.engine.domain.execution.report.Status.PAUSED;
+import static fr.enedis.chutney.engine.domain.execution.report.Status.RUNNING;
+
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReport;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReportPatch;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.ReplaySubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes reports and report patches of one execution.
+ * <p>
+ * With a positive snapshot interval, running reports are coalesced : at most one is published per interval, the last one being always published.
+ * The final report is always published immediately.
+ */
+class ExecutionReportPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionReportPublisher.class);
+
+    private final long executionId;
+    private final LiveReport liveReport;
+    private final Subject<StepExecutionReport> reports = ReplaySubject.<StepExecutionReport>createWithSize(1).toSerialized();
+    private final Subject<StepExecutionReportPatch> patches = PublishSubject.create();
+    private final Subject<Boolean> publicationRequests;
+    private final Disposable publicationThrottling;
+    private boolean completed = false;
+
+    ExecutionReportPublisher(long executionId, Step rootStep, long snapshotIntervalMilliseconds) {
+        this.executionId = executionId;
+        this.liveReport = new LiveReport(executionId, rootStep);
+        if (snapshotIntervalMilliseconds > 0) {
+            publicationRequests = PublishSubject.<Boolean>create().toSerialized();
+            publicationThrottling = publicationRequests
+                .throttleLatest(snapshotIntervalMilliseconds, TimeUnit.MILLISECONDS, Schedulers.io(), true)
+                .subscribe(
+                    request -> publishRunningReport(),
+                    throwable -> LOGGER.error("Cannot publish report for execution {}", executionId, throwable)
+                );
+        } else {
+            publicationRequests = null;
+            publicationThrottling = null;
+        }
+    }
+
+    Observable<StepExecutionReport> reports() {
+        return reports;
+    }
+
+    /**
+     * First patch holds the last published report (if any), following ones are published as the execution goes on.
+     */
+    Observable<StepExecutionReportPatch> patches() {
+        return Observable.create(emitter -> {
+            synchronized (this) {
+                liveReport.lastReport().ifPresent(report -> emitter.onNext(StepExecutionReportPatch.snapshot(executionId, report)));
+                if (completed) {
+                    emitter.onComplete();
+                } else {
+                    emitter.setDisposable(patches.subscribe(emitter::onNext, emitter::tryOnError, emitter::onComplete));
+                }
+            }
+        });
+    }
+
+    void start(Step rootStep) {
+        synchronized (this) {
+            liveReport.reset(rootStep);
+        }
+        requestPublication();
+    }
+
+    void stepChanged(Step step, boolean resetSubSteps) {
+        synchronized (this) {
+            liveReport.markDirty(step, resetSubSteps);
+        }
+        requestPublication();
+    }
+
+    synchronized void publishLastReportAndComplete() {
+        if (completed) {
+            return;
+        }
+        if (publicationThrottling != null) {
+            publicationThrottling.dispose();
+        }
+        liveReport.invalidate();
+        publish(Step::status);
+        completed = true;
+        reports.onComplete();
+        patches.onComplete();
+    }
+
+    private void requestPublication() {
+        if (publicationRequests != null) {
+            publicationRequests.onNext(Boolean.TRUE);
+        } else {
+            publishRunningReport();
+        }
+    }
+
+    private synchronized void publishRunningReport() {
+        if (!completed) {
+            publish(ExecutionReportPublisher::runningStatus);
+        }
+    }
+
+    private void publish(Function<Step, Status> rootStatusSupplier) {
+        LOGGER.trace("Publish report for execution {}", executionId);
+        try {
+            LiveReport.ReportUpdate update = liveReport.update(rootStatusSupplier);
+            reports.onNext(update.report());
+            patches.onNext(update.patch());
+        } catch (Exception e) {
+            LOGGER.warn("Failed to generate report for execution {}", executionId, e);
+        }
+    }
+
+    private static Status runningStatus(Step rootStep) {
+        Status status = rootStep.status();
+        if (!status.equals(RUNNING) && !status.equals(PAUSED)) {
+            return RUNNING;
+        }
+        return status;
+    }
+}
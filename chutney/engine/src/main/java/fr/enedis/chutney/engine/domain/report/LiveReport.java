@@ -0,0 +1,233 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.report;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.newSetFromMap;
+
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReport;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReportBuilder;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReportPatch;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Report tree of one execution.
+ * <p>
+ * Keeps the last report generated for each step so that a new report only regenerates dirty steps,
+ * i.e. steps targeted by an execution event and their ancestors. Unchanged sub trees are shared between successive reports.
+ * <p>
+ * Steps never reported before are looked for under running steps, which may have added them (for strategy iterations...),
+ * the whole report being rebuilt only when they are not found there.
+ * <p>
+ * Not thread-safe, callers must synchronize access.
+ */
+class LiveReport {
+
+    private final long executionId;
+    private final Map<Step, StepExecutionReport> reports = new IdentityHashMap<>();
+    private final Map<Step, Step> parents = new IdentityHashMap<>();
+    private final Set<Step> dirtySteps = newSetFromMap(new IdentityHashMap<>());
+    private final Set<Step> changedSteps = newSetFromMap(new IdentityHashMap<>());
+    private final Set<Step> runningSteps = newSetFromMap(new IdentityHashMap<>());
+    private final Set<Step> unknownSteps = newSetFromMap(new IdentityHashMap<>());
+
+    private Step rootStep;
+    private String environment;
+    private boolean fullRebuild = true;
+    private StepExecutionReport lastReport;
+
+    LiveReport(long executionId, Step rootStep) {
+        this.executionId = executionId;
+        this.rootStep = rootStep;
+    }
+
+    void reset(Step rootStep) {
+        this.rootStep = rootStep;
+        invalidate();
+    }
+
+    void invalidate() {
+        reports.clear();
+        parents.clear();
+        dirtySteps.clear();
+        changedSteps.clear();
+        runningSteps.clear();
+        unknownSteps.clear();
+        fullRebuild = true;
+    }
+
+    /**
+     * @param resetSubSteps forget the reports of all descendants, for steps which sub steps may have been reset silently (retries...)
+     */
+    void markDirty(Step step, boolean resetSubSteps) {
+        changedSteps.add(step);
+        if (resetSubSteps) {
+            forgetSubSteps(step);
+        }
+        if (step != rootStep && !parents.containsKey(step)) {
+            // Step was never reported, its ancestors are unknown
+            unknownSteps.add(step);
+            dirtySteps.add(step);
+            List.copyOf(runningSteps).forEach(this::markAncestorsDirty);
+        } else {
+            markAncestorsDirty(step);
+        }
+    }
+
+    private void markAncestorsDirty(Step step) {
+        Step current = step;
+        while (current != rootStep && dirtySteps.add(current)) {
+            current = parents.get(current);
+            if (current == null) {
+                fullRebuild = true;
+                return;
+            }
+        }
+    }
+
+    Optional<StepExecutionReport> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    /**
+     * Generate the report of the whole execution, only regenerating dirty steps.
+     *
+     * @param rootStatusSupplier the status to use for the root step
+     * @return the new report and the patch to go from the previous report to the new one
+     */
+    ReportUpdate update(Function<Step, Status> rootStatusSupplier) throws CannotGenerateReportException {
+        try {
+            String currentEnvironment = Reporter.getEnvironment(rootStep);
+            if (!Objects.equals(environment, currentEnvironment)) {
+                environment = currentEnvironment;
+                fullRebuild = true;
+            }
+
+            Set<Step> structureChangedSteps = newSetFromMap(new IdentityHashMap<>());
+            StepExecutionReport report = build(rootStep, rootStatusSupplier, structureChangedSteps);
+            if (!fullRebuild && unknownSteps.stream().anyMatch(step -> !parents.containsKey(step))) {
+                fullRebuild = true;
+                report = build(rootStep, rootStatusSupplier, structureChangedSteps);
+            }
+
+            changedSteps.addAll(structureChangedSteps);
+            Step patchedStep = fullRebuild ? rootStep : commonAncestor(changedSteps);
+            StepExecutionReportPatch patch = patch(patchedStep);
+
+            dirtySteps.clear();
+            changedSteps.clear();
+            unknownSteps.clear();
+            fullRebuild = false;
+            lastReport = report;
+            return new ReportUpdate(report, patch);
+        } catch (RuntimeException e) {
+            invalidate();
+            throw e;
+        }
+    }
+
+    private StepExecutionReport build(Step step, Function<Step, Status> statusSupplier, Set<Step> structureChangedSteps) {
+        List<Step> subSteps = new ArrayList<>(step.subSteps());
+        StepExecutionReport previousReport = reports.get(step);
+        if (previousReport != null && previousReport.steps.size() != subSteps.size()) {
+            structureChangedSteps.add(step);
+        }
+
+        List<StepExecutionReport> subReports = new ArrayList<>(subSteps.size());
+        for (Step subStep : subSteps) {
+            if (parents.put(subStep, step) != step) {
+                structureChangedSteps.add(step);
+            }
+            StepExecutionReport subReport = fullRebuild || dirtySteps.contains(subStep) ? null : reports.get(subStep);
+            if (subReport == null) {
+                subReport = build(subStep, Step::status, structureChangedSteps);
+            }
+            subReports.add(subReport);
+        }
+
+        StepExecutionReport report = Reporter.buildReport(step, statusSupplier, environment, subReports);
+        reports.put(step, report);
+        if (report.status == Status.RUNNING) {
+            runningSteps.add(step);
+        } else {
+            runningSteps.remove(step);
+        }
+        return report;
+    }
+
+    private void forgetSubSteps(Step step) {
+        step.subSteps().forEach(subStep -> {
+            reports.remove(subStep);
+            forgetSubSteps(subStep);
+        });
+    }
+
+    private Step commonAncestor(Set<Step> steps) {
+        List<Step> common = null;
+        for (Step step : steps) {
+            List<Step> lineage = lineage(step);
+            if (lineage.isEmpty()) {
+                return rootStep;
+            }
+            if (common == null) {
+                common = lineage;
+            } else {
+                int i = 0;
+                while (i < common.size() && i < lineage.size() && common.get(i) == lineage.get(i)) {
+                    i++;
+                }
+                common = common.subList(0, i);
+            }
+        }
+        return common == null || common.isEmpty() ? rootStep : common.getLast();
+    }
+
+    /**
+     * @return steps from root to given step, or an empty list if the step is not attached to the root step
+     */
+    private List<Step> lineage(Step step) {
+        LinkedList<Step> lineage = new LinkedList<>();
+        Step current = step;
+        while (current != null) {
+            lineage.addFirst(current);
+            if (current == rootStep) {
+                return lineage;
+            }
+            current = parents.get(current);
+        }
+        return emptyList();
+    }
+
+    private StepExecutionReportPatch patch(Step patchedStep) {
+        List<Step> lineage = lineage(patchedStep);
+        List<Integer> path = new ArrayList<>();
+        List<StepExecutionReport> ancestors = new ArrayList<>();
+        for (int i = 1; i < lineage.size(); i++) {
+            Step parent = lineage.get(i - 1);
+            path.add(parent.subSteps().indexOf(lineage.get(i)));
+            ancestors.add(new StepExecutionReportBuilder()
+                .from(reports.get(parent))
+                .setSteps(emptyList())
+                .createStepExecutionReport());
+        }
+        return new StepExecutionReportPatch(executionId, path, ancestors, reports.get(patchedStep));
+    }
+
+    record ReportUpdate(StepExecutionReport report, StepExecutionReportPatch patch) {
+    }
+}
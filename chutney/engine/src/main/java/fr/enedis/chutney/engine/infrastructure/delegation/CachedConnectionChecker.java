@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.infrastructure.delegation;
+
+import fr.enedis.chutney.engine.domain.delegation.ConnectionChecker;
+import fr.enedis.chutney.engine.domain.delegation.NamedHostAndPort;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remember connectivity of each agent for a given time to live, so that consecutive delegations to an agent do not probe it each time.
+ * Unreachable agents are remembered as well, so that they do not delay each delegation attempt with a connection timeout.
+ */
+class CachedConnectionChecker implements ConnectionChecker {
+
+    private final ConnectionChecker delegate;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<NamedHostAndPort, Connectivity> connectivities = new ConcurrentHashMap<>();
+
+    CachedConnectionChecker(ConnectionChecker delegate, Duration ttl) {
+        this(delegate, ttl, System::nanoTime);
+    }
+
+    CachedConnectionChecker(ConnectionChecker delegate, Duration ttl, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean canConnectTo(NamedHostAndPort namedHostAndPort) {
+        long now = nanoClock.getAsLong();
+        Connectivity connectivity = connectivities.get(namedHostAndPort);
+        if (connectivity == null || now - connectivity.expirationNanos >= 0) {
+            connectivity = new Connectivity(delegate.canConnectTo(namedHostAndPort), now + ttlNanos);
+            connectivities.put(namedHostAndPort, connectivity);
+        }
+        return connectivity.reachable;
+    }
+
+    /**
+     * Forget connectivity of given agent, i.e. when a call to it failed.
+     */
+    void invalidate(NamedHostAndPort namedHostAndPort) {
+        connectivities.remove(namedHostAndPort);
+    }
+
+    private record Connectivity(boolean reachable, long expirationNanos) {
+    }
+}
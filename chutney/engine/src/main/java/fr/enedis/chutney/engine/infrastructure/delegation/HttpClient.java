@@ -17,18 +17,20 @@ import com.google.common.collect.Lists;
 import fr.enedis.chutney.engine.api.execution.ExecutionRequestDto;
 import fr.enedis.chutney.engine.api.execution.StepExecutionReportDto;
 import fr.enedis.chutney.engine.domain.delegation.CannotDelegateException;
-import fr.enedis.chutney.engine.domain.delegation.ConnectionChecker;
 import fr.enedis.chutney.engine.domain.delegation.DelegationClient;
 import fr.enedis.chutney.engine.domain.delegation.NamedHostAndPort;
 import fr.enedis.chutney.engine.domain.execution.engine.Dataset;
 import fr.enedis.chutney.engine.domain.execution.engine.Environment;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReport;
+import java.time.Duration;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.support.BasicAuthenticationInterceptor;
 import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import tools.jackson.databind.cfg.DateTimeFeature;
 import tools.jackson.databind.json.JsonMapper;
@@ -38,18 +40,33 @@ import tools.jackson.databind.json.JsonMapper;
     The complete scenario will not work due to this early unexpected teardown.
     Thus, Finally Actions should be driven by the main Agent executing the whole scenario.
 */
+/**
+ * Delegate steps executions to agents over HTTP.
+ * <p>
+ * Connections are kept alive and shared between delegations to the same agent, multiplexed when the agent supports HTTP/2.
+ * Agents connectivity is checked once per {@link #CONNECTIVITY_TTL}, unless a delegation fails to reach the agent.
+ * <p>
+ * Each delegated step is sent in its own request, its report being received once the agent has executed it.
+ * Batching consecutive steps and streaming partial reports need a new agent endpoint, and are left out of this client.
+ */
 public class HttpClient implements DelegationClient {
 
+    static final Duration CONNECTIVITY_TTL = Duration.ofSeconds(30);
+
     private final RestTemplate restTemplate;
-    private final ConnectionChecker connectionChecker;
+    private final CachedConnectionChecker connectionChecker;
 
     public HttpClient() {
         this(null, null);
     }
 
     public HttpClient(String username, String password) {
-        this.restTemplate = new RestTemplate();
-        this.connectionChecker = new TcpConnectionChecker();
+        this.restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(
+            java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_2)
+                .build()
+        ));
+        this.connectionChecker = new CachedConnectionChecker(new TcpConnectionChecker(), CONNECTIVITY_TTL);
 
         JsonMapper objectMapper = JsonMapper.builder()
             .changeDefaultPropertyInclusion(v -> v.withValueInclusion(JsonInclude.Include.NON_NULL))
@@ -63,16 +80,20 @@ public class HttpClient implements DelegationClient {
 
     @Override
     public StepExecutionReport handDown(Step step, NamedHostAndPort delegate) throws CannotDelegateException {
-        if (connectionChecker.canConnectTo(delegate)) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            Dataset dataset = new Dataset(emptyMap(), emptyList()); // TODO - check if it still works
-            Environment environment =  new Environment((String) step.getScenarioContext().get("environment"));
-            HttpEntity<ExecutionRequestDto> request = new HttpEntity<>(ExecutionRequestMapper.from(step.definition(), dataset, environment), headers);
+        if (!connectionChecker.canConnectTo(delegate)) {
+            throw new CannotDelegateException(delegate);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Dataset dataset = new Dataset(emptyMap(), emptyList()); // TODO - check if it still works
+        Environment environment =  new Environment((String) step.getScenarioContext().get("environment"));
+        HttpEntity<ExecutionRequestDto> request = new HttpEntity<>(ExecutionRequestMapper.from(step.definition(), dataset, environment), headers);
+        try {
             StepExecutionReportDto reportDto = restTemplate.postForObject("https://" + delegate.host() + ":" + delegate.port() + EXECUTION_URL, request, StepExecutionReportDto.class);
             return StepExecutionReportMapper.fromDto(reportDto);
-        } else {
-            throw new CannotDelegateException(delegate);
+        } catch (ResourceAccessException e) {
+            connectionChecker.invalidate(delegate);
+            throw e;
         }
     }
 
@@ -15,6 +15,7 @@ import fr.enedis.chutney.action.domain.ActionTemplateParserV2;
 import fr.enedis.chutney.action.domain.ActionTemplateRegistry;
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
+import fr.enedis.chutney.action.spi.ActionResources;
 import fr.enedis.chutney.engine.api.execution.DatasetDto;
 import fr.enedis.chutney.engine.api.execution.EnvironmentDto;
 import fr.enedis.chutney.engine.api.execution.ExecutionRequestDto;
@@ -29,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.assertj.core.util.Maps;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -101,8 +103,8 @@ public class ExecutionConfigurationTest {
         assertThat(finalReport).hasFieldOrPropertyWithValue("status", StatusDto.STOPPED);
         // check first step status
         assertThat(finalReport.steps.getFirst()).hasFieldOrPropertyWithValue("status", StatusDto.SUCCESS);
-        // check second step status
-        assertThat(finalReport.steps.get(1)).hasFieldOrPropertyWithValue("status", StatusDto.SUCCESS);
+        // check second step status, interrupted by the stop
+        assertThat(finalReport.steps.get(1)).hasFieldOrPropertyWithValue("status", StatusDto.STOPPED);
         // check third step status
         assertThat(finalReport.steps.get(2)).hasFieldOrPropertyWithValue("status", StatusDto.STOPPED);
         assertThat(finalReport.environment).isEqualTo(FAKE_ENV.name());
@@ -150,6 +152,19 @@ public class ExecutionConfigurationTest {
         assertThat(executorService.isShutdown()).isTrue();
     }
 
+    @Test
+    public void should_close_action_resources_on_close() throws Exception {
+        //G
+        ExecutionConfiguration executionConfiguration = new ExecutionConfiguration();
+        int closed = TestActionResources.CLOSED.get();
+
+        //W
+        executionConfiguration.embeddedTestEngine().close();
+
+        //T
+        assertThat(TestActionResources.CLOSED.get()).isEqualTo(closed + 1);
+    }
+
     private StepDefinitionRequestDto createSucessStep() {
         return new StepDefinitionRequestDto(
             "scenario name",
@@ -203,4 +218,14 @@ public class ExecutionConfigurationTest {
             throw new RuntimeException("Should be catch by fault barrier");
         }
     }
+
+    public static class TestActionResources implements ActionResources {
+
+        static final AtomicInteger CLOSED = new AtomicInteger();
+
+        @Override
+        public void close() {
+            CLOSED.incrementAndGet();
+        }
+    }
 }
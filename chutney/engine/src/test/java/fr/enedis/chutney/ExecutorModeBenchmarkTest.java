@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.enedis.chutney.engine.api.execution.ExecutionRequestDto;
+import fr.enedis.chutney.engine.api.execution.StatusDto;
+import fr.enedis.chutney.engine.api.execution.StepExecutionReportDto;
+import fr.enedis.chutney.engine.api.execution.TestEngine;
+import fr.enedis.chutney.tools.Jsons;
+import fr.enedis.chutney.tools.VirtualThreadExecutorService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keep it for example.
+ * Compare throughput and latency of I/O bound scenarios executions between platform threads pool and virtual threads executors.
+ */
+class ExecutorModeBenchmarkTest {
+
+    private static final int SCENARIOS = 500;
+    private static final int POOL_SIZE = 20;
+
+    @Disabled
+    @Test
+    void compare_platform_and_virtual_threads_executors() {
+        ExecutionRequestDto request = Jsons.loadJsonFromClasspath("scenarios_examples/simpleStep/io_bound_steps.json", ExecutionRequestDto.class);
+
+        benchmark("platform pool " + POOL_SIZE, Executors.newFixedThreadPool(POOL_SIZE), request);
+        benchmark("virtual limit " + POOL_SIZE, new VirtualThreadExecutorService("engine-executor", POOL_SIZE), request);
+        benchmark("virtual limit " + SCENARIOS, new VirtualThreadExecutorService("engine-executor", SCENARIOS), request);
+    }
+
+    private static void benchmark(String mode, ExecutorService engineExecutor, ExecutionRequestDto request) {
+        TestEngine testEngine = new ExecutionConfiguration(5L, engineExecutor, emptyMap(), null, null).embeddedTestEngine();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            List<CompletableFuture<Long>> latencies = IntStream.range(0, SCENARIOS)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    long submission = System.nanoTime();
+                    StepExecutionReportDto report = testEngine.execute(request);
+                    assertThat(report.status).isEqualTo(StatusDto.SUCCESS);
+                    return System.nanoTime() - submission;
+                }, callers))
+                .toList();
+            double averageLatencyMs = latencies.stream().mapToLong(CompletableFuture::join).average().orElse(0) / 1_000_000;
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            System.out.printf("%-20s throughput: %7.1f scenarios/s, average latency: %7.1f ms%n", mode, SCENARIOS * 1000.0 / elapsedMs, averageLatencyMs);
+        } finally {
+            engineExecutor.shutdown();
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package fr.enedis.chutney.action.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
 import fr.enedis.chutney.action.TestActionTemplateFactory.ComplexAction;
@@ -15,12 +16,16 @@ import fr.enedis.chutney.action.TestActionTemplateFactory.Pojo;
 import fr.enedis.chutney.action.TestActionTemplateFactory.TwoParametersAction;
 import fr.enedis.chutney.action.TestActionTemplateFactory.ValidSimpleAction;
 import fr.enedis.chutney.action.TypeBasedParameterResolver;
+import fr.enedis.chutney.action.domain.parameter.Parameter;
+import fr.enedis.chutney.action.domain.parameter.ParameterResolver;
 import fr.enedis.chutney.action.spi.Action;
 import fr.enedis.chutney.action.spi.ActionExecutionResult;
 import fr.enedis.chutney.action.spi.ActionExecutionResult.Status;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 public class ActionTemplateV2Test {
@@ -69,4 +74,59 @@ public class ActionTemplateV2Test {
         assertThat(executionResult.status).isEqualTo(Status.Success);
         assertThat(executionResult.outputs).containsOnly(entry("someString", stringValue), entry("someObject", pojo));
     }
+
+    @Test
+    public void parameters_resolvers_are_looked_up_once_for_same_resolvers_kinds() {
+        ActionTemplate actionTemplate = new ActionTemplateParserV2().parse(TwoParametersAction.class).result();
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            String stringValue = "value " + i;
+            Action action = actionTemplate.create(List.of(
+                new KindParameterResolver(int.class, 42, lookups),
+                new KindParameterResolver(String.class, stringValue, lookups)
+            ));
+            assertThat(action.execute().outputs).containsOnly(entry("someString", stringValue), entry("someInt", 42));
+        }
+
+        assertThat(lookups.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void action_constructor_error_fails_instantiation() {
+        ActionTemplate actionTemplate = new ActionTemplateParserV2().parse(FailingConstructorAction.class).result();
+
+        assertThatThrownBy(() -> actionTemplate.create(Collections.emptyList()))
+            .isInstanceOf(ActionInstantiationFailureException.class)
+            .hasMessageContaining("constructor error");
+    }
+
+    public static class FailingConstructorAction implements Action {
+        public FailingConstructorAction() {
+            throw new IllegalStateException("constructor error");
+        }
+
+        @Override
+        public ActionExecutionResult execute() {
+            return ActionExecutionResult.ok();
+        }
+    }
+
+    private record KindParameterResolver(Class<?> type, Object value, AtomicInteger lookups) implements ParameterResolver {
+        @Override
+        public boolean canResolve(Parameter parameter) {
+            lookups.incrementAndGet();
+            return type.equals(parameter.rawType());
+        }
+
+        @Override
+        public Object resolve(Parameter parameter) {
+            return value;
+        }
+
+        @Override
+        public Object kind() {
+            return type;
+        }
+    }
 }
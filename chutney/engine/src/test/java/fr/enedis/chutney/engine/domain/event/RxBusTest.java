@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import fr.enedis.chutney.engine.domain.execution.RxBus;
+import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.command.PauseExecutionCommand;
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.event.BeginStepExecutionEvent;
+import fr.enedis.chutney.engine.domain.execution.event.EndScenarioExecutionEvent;
+import fr.enedis.chutney.engine.domain.execution.event.EndStepExecutionEvent;
+import fr.enedis.chutney.engine.domain.execution.event.Event;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RxBusTest {
+
+    private final RxBus sut = RxBus.getInstance();
+    private final Step step = mock(Step.class);
+    private final List<ScenarioExecution> executions = new ArrayList<>();
+
+    @AfterEach
+    public void closeExecutionChannels() {
+        // Bus is a singleton, channels of executions never ended would outlive the test
+        executions.forEach(execution -> sut.post(new EndScenarioExecutionEvent(execution, step)));
+    }
+
+    @Test
+    public void should_dispatch_events_to_their_execution_subscribers_only() {
+        ScenarioExecution execution = newExecution();
+        ScenarioExecution otherExecution = newExecution();
+        List<Event> received = new CopyOnWriteArrayList<>();
+        sut.registerOnExecutionId(BeginStepExecutionEvent.class, execution.executionId, received::add);
+
+        BeginStepExecutionEvent expected = new BeginStepExecutionEvent(execution, step);
+        sut.post(expected);
+        sut.post(new BeginStepExecutionEvent(otherExecution, step));
+        sut.post(new EndStepExecutionEvent(execution, step));
+
+        assertThat(received).containsExactly(expected);
+    }
+
+    @Test
+    public void should_dispatch_events_to_execution_subscribers_of_their_super_types() {
+        ScenarioExecution execution = newExecution();
+        List<Event> received = new CopyOnWriteArrayList<>();
+        sut.registerOnExecutionId(BeginStepExecutionEvent.class, execution.executionId, received::add);
+        sut.post(new BeginStepExecutionEvent(execution, step));
+        sut.registerOnExecutionId(Event.class, execution.executionId, received::add);
+
+        BeginStepExecutionEvent begin = new BeginStepExecutionEvent(execution, step);
+        EndStepExecutionEvent end = new EndStepExecutionEvent(execution, step);
+        sut.post(begin);
+        sut.post(end);
+
+        assertThat(received).hasSize(4).containsSubsequence(begin, end).filteredOn(e -> e == begin).hasSize(2);
+    }
+
+    @Test
+    public void should_dispatch_events_posted_by_a_subscriber_after_the_current_one() {
+        ScenarioExecution execution = newExecution();
+        List<String> received = new CopyOnWriteArrayList<>();
+        sut.registerOnExecutionId(BeginStepExecutionEvent.class, execution.executionId, e -> {
+            sut.post(new EndStepExecutionEvent(execution, step));
+            received.add("begin");
+        });
+        sut.registerOnExecutionId(EndStepExecutionEvent.class, execution.executionId, e -> received.add("end"));
+
+        sut.post(new BeginStepExecutionEvent(execution, step));
+
+        assertThat(received).containsExactly("begin", "end");
+    }
+
+    @Test
+    public void should_close_execution_channel_at_the_end_of_the_execution() {
+        ScenarioExecution execution = newExecution();
+        List<Event> received = new CopyOnWriteArrayList<>();
+        sut.registerOnExecutionId(EndStepExecutionEvent.class, execution.executionId, received::add);
+
+        sut.post(new EndScenarioExecutionEvent(execution, step));
+        sut.post(new EndStepExecutionEvent(execution, step));
+        sut.post(new PauseExecutionCommand(execution.executionId));
+
+        assertThat(received).isEmpty();
+        assertThat(execution.hasToPause()).isFalse();
+    }
+
+    @Test
+    public void should_dispatch_events_to_type_subscribers_until_disposed() {
+        ScenarioExecution execution = newExecution();
+        List<Event> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = sut.register(Event.class, e -> {
+            if (e.executionId() == execution.executionId) {
+                received.add(e);
+            }
+        });
+
+        sut.post(new BeginStepExecutionEvent(execution, step));
+        sut.post(new PauseExecutionCommand(execution.executionId));
+        subscription.dispose();
+        sut.post(new EndStepExecutionEvent(execution, step));
+
+        assertThat(received).hasSize(2);
+        assertThat(execution.hasToPause()).isTrue();
+    }
+
+    private ScenarioExecution newExecution() {
+        ScenarioExecution execution = ScenarioExecution.createScenarioExecution(null);
+        executions.add(execution);
+        return execution;
+    }
+}
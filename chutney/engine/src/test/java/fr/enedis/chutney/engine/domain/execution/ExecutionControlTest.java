@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ExecutionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutionControl sut = new ExecutionControl(meterRegistry);
+
+    @Test
+    void should_wake_up_paused_thread_as_soon_as_resumed() {
+        sut.pause();
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(sut::awaitRestart);
+        await().during(200, MILLISECONDS).atMost(1, SECONDS).until(() -> !waiting.isDone());
+
+        sut.resume();
+
+        await().atMost(200, MILLISECONDS).until(waiting::isDone);
+        assertThat(sut.isPaused()).isFalse();
+        assertThat(meterRegistry.get(ExecutionControl.LATENCY_METRIC).tag("command", "resume").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_wake_up_paused_thread_when_stopped() {
+        sut.pause();
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(sut::awaitRestart);
+
+        sut.stop();
+
+        await().atMost(200, MILLISECONDS).until(waiting::isDone);
+        assertThat(sut.isStopped()).isTrue();
+    }
+
+    @Test
+    void should_end_waiting_delay_when_stopped() {
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> sut.awaitStop(10, SECONDS));
+
+        sut.stop();
+
+        await().atMost(200, MILLISECONDS).until(waiting::isDone);
+        assertThat(waiting.join()).isTrue();
+        assertThat(sut.awaitStop(10, SECONDS)).isTrue();
+        assertThat(new ExecutionControl(meterRegistry).awaitStop(10, MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void should_interrupt_running_action_when_stopped_and_clear_interruption_after() {
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> {
+            boolean interrupted = sut.runInterruptiblyOnStop(() -> {
+                try {
+                    SECONDS.sleep(10);
+                    return false;
+                } catch (InterruptedException e) {
+                    return true;
+                }
+            });
+            return interrupted && !Thread.currentThread().isInterrupted();
+        });
+        await().during(100, MILLISECONDS).atMost(1, SECONDS).until(() -> !running.isDone());
+
+        sut.stop();
+
+        await().atMost(200, MILLISECONDS).until(running::isDone);
+        assertThat(running.join()).isTrue();
+        assertThat(meterRegistry.get(ExecutionControl.LATENCY_METRIC).tag("command", "stop").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution;
+
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.event.BeginStepExecutionEvent;
+import fr.enedis.chutney.engine.domain.execution.event.EndScenarioExecutionEvent;
+import fr.enedis.chutney.engine.domain.execution.event.EndStepExecutionEvent;
+import fr.enedis.chutney.engine.domain.report.Reporter;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keep it for example.
+ * Measure step events dispatching throughput when many executions are running at the same time.
+ */
+class RxBusBenchmarkTest {
+
+    private static final int EXECUTIONS = 500;
+    private static final int STEPS_PER_EXECUTION = 200;
+
+    @Disabled
+    @Test
+    void dispatch_step_events_of_concurrent_executions() throws InterruptedException {
+        new Reporter();
+        Step step = Step.nonExecutable(new StepDefinition("step", null, "", null, null, null, null, null));
+        List<ScenarioExecution> executions = IntStream.range(0, EXECUTIONS)
+            .mapToObj(i -> ScenarioExecution.createScenarioExecution(null))
+            .toList();
+
+        CountDownLatch done = new CountDownLatch(EXECUTIONS);
+        long start = System.nanoTime();
+        try (ExecutorService posters = Executors.newFixedThreadPool(EXECUTIONS)) {
+            executions.forEach(execution -> posters.execute(() -> {
+                for (int i = 0; i < STEPS_PER_EXECUTION; i++) {
+                    RxBus.getInstance().post(new BeginStepExecutionEvent(execution, step));
+                    RxBus.getInstance().post(new EndStepExecutionEvent(execution, step));
+                }
+                RxBus.getInstance().post(new EndScenarioExecutionEvent(execution, step));
+                done.countDown();
+            }));
+            done.await();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long events = (long) EXECUTIONS * (2 * STEPS_PER_EXECUTION + 1);
+
+        System.out.printf("%d executions, %d events dispatched in %d ms : %.0f events/s%n", EXECUTIONS, events, elapsedMs, events * 1000.0 / elapsedMs);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine;
+
+import fr.enedis.chutney.action.domain.ActionTemplate;
+import fr.enedis.chutney.action.domain.ActionTemplateParserV2;
+import fr.enedis.chutney.action.domain.parameter.Parameter;
+import fr.enedis.chutney.action.domain.parameter.ParameterResolver;
+import fr.enedis.chutney.action.spi.Action;
+import fr.enedis.chutney.action.spi.ActionExecutionResult;
+import fr.enedis.chutney.action.spi.injectable.ActionsConfiguration;
+import fr.enedis.chutney.action.spi.injectable.FinallyActionRegistry;
+import fr.enedis.chutney.action.spi.injectable.Input;
+import fr.enedis.chutney.action.spi.injectable.Logger;
+import fr.enedis.chutney.action.spi.injectable.StepDefinitionSpi;
+import fr.enedis.chutney.action.spi.injectable.Target;
+import fr.enedis.chutney.engine.domain.execution.engine.parameterResolver.ContextParameterResolver;
+import fr.enedis.chutney.engine.domain.execution.engine.parameterResolver.DelegateLogger;
+import fr.enedis.chutney.engine.domain.execution.engine.parameterResolver.InputParameterResolver;
+import fr.enedis.chutney.engine.domain.execution.engine.parameterResolver.TypedValueParameterResolver;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keep it for example.
+ * Measure no-op actions instantiations per second, with the resolvers given by {@link DefaultStepExecutor}.
+ * Baseline hides resolvers kinds, so that parameters resolvers are looked up for each instantiation.
+ */
+class ActionCreationBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    @Disabled
+    @Test
+    void create_no_op_actions() {
+        ActionTemplate actionTemplate = new ActionTemplateParserV2().parse(NoOpAction.class).result();
+
+        measure("without binding plan", actionTemplate, () -> resolvers().stream().map(ActionCreationBenchmarkTest::withoutKind).toList());
+        measure("with binding plan", actionTemplate, ActionCreationBenchmarkTest::resolvers);
+    }
+
+    private static void measure(String name, ActionTemplate actionTemplate, Supplier<List<ParameterResolver>> resolvers) {
+        long blackhole = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole += actionTemplate.create(resolvers.get()).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += actionTemplate.create(resolvers.get()).hashCode();
+        }
+        long elapsedNs = System.nanoTime() - start;
+        System.out.printf("%s : %.0f actions/s (%d)%n", name, ITERATIONS * 1e9 / elapsedNs, blackhole % 2);
+    }
+
+    private static List<ParameterResolver> resolvers() {
+        return List.of(
+            new InputParameterResolver(Map.of("value", "v")),
+            new TypedValueParameterResolver<>(Target.class, null),
+            new TypedValueParameterResolver<>(Logger.class, new DelegateLogger(s -> {}, s -> {})),
+            new TypedValueParameterResolver<>(StepDefinitionSpi.class, null),
+            new TypedValueParameterResolver<>(FinallyActionRegistry.class, finallyAction -> {}),
+            new TypedValueParameterResolver<>(ActionsConfiguration.class, null),
+            new ContextParameterResolver(Map.of())
+        );
+    }
+
+    private static ParameterResolver withoutKind(ParameterResolver resolver) {
+        return new ParameterResolver() {
+            @Override
+            public boolean canResolve(Parameter parameter) {
+                return resolver.canResolve(parameter);
+            }
+
+            @Override
+            public Object resolve(Parameter parameter) {
+                return resolver.resolve(parameter);
+            }
+        };
+    }
+
+    public static class NoOpAction implements Action {
+        public NoOpAction(@Input("value") String value, Logger logger, Map<String, Object> context) {
+        }
+
+        @Override
+        public ActionExecutionResult execute() {
+            return ActionExecutionResult.ok();
+        }
+    }
+}
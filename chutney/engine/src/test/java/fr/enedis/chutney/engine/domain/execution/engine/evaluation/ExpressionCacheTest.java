@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine.evaluation;
+
+import static fr.enedis.chutney.engine.domain.execution.engine.evaluation.ExpressionCache.COMPILATION_THRESHOLD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+class ExpressionCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExpressionCache sut = new ExpressionCache(2, meterRegistry);
+
+    @Test
+    void should_parse_expression_once() {
+        ExpressionCache.CachedExpression first = sut.get("#a + #b");
+        ExpressionCache.CachedExpression second = sut.get("#a + #b");
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.counter("chutney_spel_expression_cache", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chutney_spel_expression_cache", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_bound_cache_size() {
+        sut.get("1");
+        sut.get("2");
+        sut.get("3");
+
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_throw_evaluation_exception_on_unparsable_expression() {
+        assertThatThrownBy(() -> sut.get("#a +"))
+            .isInstanceOf(EvaluationException.class);
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    void should_keep_evaluating_compiled_expression_when_variable_type_changes() {
+        ExpressionCache.CachedExpression expression = sut.get("#value.toString()");
+
+        for (int i = 0; i < COMPILATION_THRESHOLD; i++) {
+            assertThat(expression.getValue(context(Map.of("value", i)))).isEqualTo(String.valueOf(i));
+        }
+
+        assertThat(expression.getValue(context(Map.of("value", List.of("a"))))).isEqualTo("[a]");
+        assertThat(meterRegistry.counter("chutney_spel_expression_compile_failure").count()).isZero();
+    }
+
+    @Test
+    void should_count_compilation_failure() {
+        ExpressionCache.CachedExpression expression = sut.get("{1, 2, #value}");
+
+        for (int i = 0; i < COMPILATION_THRESHOLD; i++) {
+            expression.getValue(context(Map.of("value", i)));
+        }
+
+        assertThat(meterRegistry.counter("chutney_spel_expression_compile_failure").count()).isEqualTo(1);
+    }
+
+    private static StandardEvaluationContext context(Map<String, Object> variables) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariables(variables);
+        return context;
+    }
+}
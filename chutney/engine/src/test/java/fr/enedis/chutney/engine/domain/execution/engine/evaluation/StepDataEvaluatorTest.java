@@ -15,6 +15,7 @@ import fr.enedis.chutney.engine.domain.execution.evaluation.SpelFunctions;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -267,6 +268,25 @@ public class StepDataEvaluatorTest {
         assertThat(((Map) evaluatedInputs.get("objectWithSpaceBeforePrefix")).get("k5")).isEqualTo("value5");
     }
 
+    @Test
+    public void named_data_shadow_context_variables_without_modifying_context() {
+        Map<String, Object> context = new HashMap<>();
+        context.put("name", "fromContext");
+        context.put("other", "otherFromContext");
+
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("before", "${#name}");
+        inputs.put("name", "fromInput");
+        inputs.put("after", "${#name} ${#other}");
+
+        Map<String, Object> evaluatedInputs = sut.evaluateNamedDataWithContextVariables(inputs, context);
+
+        assertThat(evaluatedInputs)
+            .containsEntry("before", "fromContext")
+            .containsEntry("after", "fromInput otherFromContext");
+        assertThat(context).containsEntry("name", "fromContext").hasSize(2);
+    }
+
     private static class TestObject {
         private final String attribute;
 
@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine.scenario;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LayeredScenarioContextTest {
+
+    @Test
+    void upper_layers_shadow_lower_ones_without_copying_them() {
+        Map<String, Object> scenarioContext = new HashMap<>(Map.of("a", "scenario", "b", "scenario"));
+        Map<String, Object> localContext = new HashMap<>();
+        localContext.put("b", null);
+
+        LayeredContext sut = LayeredContext.of(scenarioContext, null, localContext);
+        scenarioContext.put("c", "added after");
+
+        assertThat(sut.get("a")).isEqualTo("scenario");
+        assertThat(sut.containsKey("b")).isTrue();
+        assertThat(sut.get("b")).isNull();
+        assertThat(sut.get("c")).isEqualTo("added after");
+        assertThat(sut).hasSize(3);
+        assertThatThrownBy(() -> sut.put("d", "value")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void writes_are_kept_in_own_layer() {
+        ScenarioContextImpl parent = new ScenarioContextImpl();
+        parent.put("a", "parent");
+        parent.put("b", "parent");
+
+        LayeredScenarioContext sut = parent.newLayer();
+        sut.put("b", "child");
+        sut.put("c", "child");
+
+        assertThat(sut).containsEntry("a", "parent").containsEntry("b", "child").containsEntry("c", "child");
+        assertThat(sut.ownLayer()).containsOnlyKeys("b", "c");
+        assertThat(parent).containsEntry("b", "parent").doesNotContainKey("c");
+        assertThat(sut.getOrDefault("missing", "default")).isEqualTo("default");
+    }
+
+    @Test
+    void removing_parent_entry_hides_it_until_written_again() {
+        ScenarioContextImpl parent = new ScenarioContextImpl();
+        parent.put("a", "parent");
+        parent.put("b", "parent");
+
+        LayeredScenarioContext sut = parent.newLayer();
+        assertThat(sut.remove("a")).isEqualTo("parent");
+
+        assertThat(sut).doesNotContainKey("a").containsOnlyKeys("b").hasSize(1);
+        assertThat(sut.get("a")).isNull();
+        assertThat(sut.removedKeys()).containsExactly("a");
+        assertThat(parent).containsEntry("a", "parent");
+
+        sut.put("a", "child");
+        assertThat(sut).containsEntry("a", "child").hasSize(2);
+        assertThat(sut.removedKeys()).isEmpty();
+    }
+
+    @Test
+    void flattened_entries_are_kept_until_next_write() {
+        ScenarioContextImpl parent = new ScenarioContextImpl();
+        parent.put("a", "parent");
+
+        LayeredScenarioContext sut = parent.newLayer();
+        sut.put("b", "child");
+        Set<Map.Entry<String, Object>> entries = sut.entrySet();
+
+        assertThat(sut.entrySet()).isSameAs(entries);
+        sut.put("c", "child");
+        assertThat(sut.entrySet()).isNotSameAs(entries).hasSize(3);
+        sut.remove("c");
+        assertThat(sut).containsOnlyKeys("a", "b");
+    }
+}
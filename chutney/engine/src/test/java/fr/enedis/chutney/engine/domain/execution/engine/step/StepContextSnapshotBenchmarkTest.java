@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.engine.step;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keep it for example.
+ * Compare step overhead of taking snapshots of large outputs, when reports read them or not.
+ */
+class StepContextSnapshotBenchmarkTest {
+
+    private static final int STEPS = 200;
+    private static final Map<String, Object> INPUTS = Map.of("uri", "/records", "timeout", "5 s");
+    private static final Map<String, Object> OUTPUTS = Map.of(
+        "body", IntStream.range(0, 10_000).mapToObj(i -> Map.of("id", i, "name", "record " + i, "tags", List.of("a", "b", "c"))).toList()
+    );
+
+    @Disabled
+    @Test
+    void compare_snapshots_overhead() {
+        System.out.printf("%-30s %6d us/step%n", "snapshot only", averageMicros(false));
+        System.out.printf("%-30s %6d us/step%n", "snapshot read by report", averageMicros(true));
+    }
+
+    private static long averageMicros(boolean read) {
+        run(read); // warm up
+        long start = System.nanoTime();
+        run(read);
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / STEPS;
+    }
+
+    private static void run(boolean read) {
+        for (int i = 0; i < STEPS; i++) {
+            StepContextSnapshot snapshot = new StepContextSnapshot(INPUTS, OUTPUTS);
+            if (read) {
+                snapshot.getInputsSnapshot();
+                snapshot.getOutputsSnapshot();
+            }
+        }
+    }
+}
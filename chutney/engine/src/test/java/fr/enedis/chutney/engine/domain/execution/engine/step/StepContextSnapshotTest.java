@@ -9,7 +9,11 @@ package fr.enedis.chutney.engine.domain.execution.engine.step;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import fr.enedis.chutney.engine.domain.execution.ReportSnapshotsBudget;
 import fr.enedis.chutney.engine.domain.execution.engine.step.jackson.ReportObjectMapperConfiguration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import tools.jackson.core.JacksonException;
@@ -50,4 +54,61 @@ public class StepContextSnapshotTest {
         assertThat(serializedInput).isEqualTo("{\"inputObject\":{\"inputValue1\":{\"inputValue2\":{\"inputValue3\":\"value\"}}}}");
         assertThat(serializedOutput).isEqualTo("{\"inputObject\":{\"inputValue1\":{\"inputValue2\":{\"inputValue3\":\"value\"}}}}");
     }
+
+    @Test
+    public void should_keep_containers_as_they_were_when_snapshot_was_taken() {
+        // Given
+        List<Object> body = new ArrayList<>(List.of("first"));
+        Map<String, Object> outputs = new HashMap<>(Map.of("body", body));
+        StepContextSnapshot stepContextSnapshot = new StepContextSnapshot(Map.of(), outputs);
+
+        // When
+        body.add("second");
+        outputs.put("other", "value");
+
+        // Then
+        assertThat(stepContextSnapshot.getOutputsSnapshot()).containsOnlyKeys("body");
+        assertThat(stepContextSnapshot.getOutputsSnapshot().get("body").toString()).isEqualTo("[\"first\"]");
+    }
+
+    @Test
+    public void should_not_keep_values_exceeding_report_snapshots_budget() {
+        // Given
+        ReportSnapshotsBudget budget = new ReportSnapshotsBudget(10);
+        StepContextSnapshot first = new StepContextSnapshot(Map.of("small", "12345"), Map.of(), budget);
+        StepContextSnapshot second = new StepContextSnapshot(Map.of("big", "123456789"), Map.of(), budget);
+
+        // When
+        Map<String, Object> firstInputs = first.getInputsSnapshot();
+        Map<String, Object> secondInputs = second.getInputsSnapshot();
+
+        // Then
+        assertThat(firstInputs.get("small").toString()).isEqualTo("\"12345\"");
+        assertThat(secondInputs.get("big")).isEqualTo("Snapshot of 11 bytes not kept, report snapshots limit of 10 bytes reached");
+    }
+
+    @Test
+    public void should_not_serialize_values_once_report_snapshots_budget_is_used_up() {
+        // Given
+        ReportSnapshotsBudget budget = new ReportSnapshotsBudget(7);
+        StepContextSnapshot first = new StepContextSnapshot(Map.of("small", "12345"), Map.of(), budget);
+        first.getInputsSnapshot();
+        SerializationCounter value = new SerializationCounter();
+
+        // When
+        StepContextSnapshot second = new StepContextSnapshot(Map.of(), Map.of("value", value), budget);
+
+        // Then
+        assertThat(second.getOutputsSnapshot().get("value")).isEqualTo("Snapshot not kept, report snapshots limit of 7 bytes reached");
+        assertThat(value.serializations).isZero();
+    }
+
+    public static class SerializationCounter {
+        private int serializations = 0;
+
+        public String getValue() {
+            serializations++;
+            return "value";
+        }
+    }
 }
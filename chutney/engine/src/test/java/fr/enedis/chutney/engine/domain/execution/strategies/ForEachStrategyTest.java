@@ -11,6 +11,7 @@ import static fr.enedis.chutney.engine.api.execution.StatusDto.FAILURE;
 import static fr.enedis.chutney.engine.api.execution.StatusDto.SUCCESS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.mock;
 
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.node.ArrayNode;
@@ -22,10 +23,21 @@ import fr.enedis.chutney.ExecutionConfiguration;
 import fr.enedis.chutney.engine.api.execution.ExecutionRequestDto;
 import fr.enedis.chutney.engine.api.execution.StepExecutionReportDto;
 import fr.enedis.chutney.engine.api.execution.TestEngine;
+import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.StepDefinition;
+import fr.enedis.chutney.engine.domain.execution.StepDefinitionBuilder;
+import fr.enedis.chutney.engine.domain.execution.engine.evaluation.StepDataEvaluator;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContextImpl;
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.evaluation.SpelFunctions;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
 import fr.enedis.chutney.tools.Jsons;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 
 class ForEachStrategyTest {
@@ -260,6 +272,47 @@ class ForEachStrategyTest {
         assertThat(parentStep.steps.get(1).status).isEqualTo(SUCCESS);
     }
 
+    @Test
+    public void should_run_iterations_in_parallel_and_merge_their_outputs() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/forEachStrategy/parallel_step_iterations.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result.status).isEqualTo(SUCCESS);
+        StepExecutionReportDto parentStep = result.steps.getFirst();
+        assertThat(parentStep.steps).extracting(s -> s.name)
+            .containsExactly("0 - Hello website on A", "1 - Hello website on B", "2 - Hello website on C");
+        assertThat(result.steps.get(1).name).isEqualTo("Checks /A/0 /B/1 /C/2");
+    }
+
+    @Test
+    public void should_create_each_iteration_step_when_it_runs() {
+        // G
+        StepDefinition definition = new StepDefinitionBuilder()
+            .withName("<i> - step")
+            .withType("success")
+            .withStrategy(new StepStrategyDefinition("for", new StrategyProperties(Map.of("dataset", List.of(Map.of("v", "a"), Map.of("v", "b"), Map.of("v", "c"))))))
+            .build();
+        AtomicReference<Step> step = new AtomicReference<>();
+        List<Integer> iterationStepsOnExecution = new ArrayList<>();
+        step.set(new Step(new StepDataEvaluator(new SpelFunctions()), definition, (scenarioExecution, target, iteration) -> {
+            iterationStepsOnExecution.add(step.get().subSteps().size());
+            iteration.success();
+        }, List.of()));
+
+        // W
+        Status status = new ForEachStrategy().execute(ScenarioExecution.createScenarioExecution(null), step.get(), new ScenarioContextImpl(), Map.of(), mock(StepExecutionStrategies.class));
+
+        // T
+        assertThat(status).isEqualTo(Status.SUCCESS);
+        assertThat(iterationStepsOnExecution).containsExactly(1, 2, 3);
+        assertThat(step.get().subSteps()).extracting(Step::name).containsExactly("0 - step", "1 - step", "2 - step");
+    }
+
     @Test
     public void should_repeat_step_with_iteration_strategy_and_data_from_context() {
         // G
@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.enedis.chutney.engine.domain.execution.StepDefinition;
+import fr.enedis.chutney.engine.domain.execution.StepDefinitionBuilder;
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IterationTemplateTest {
+
+    @Test
+    void should_resolve_index_placeholders_of_iteration_step_and_sub_steps() {
+        StepDefinition subStepDefinition = new StepDefinitionBuilder()
+            .withName("sub step <j>")
+            .withType("success")
+            .withInputs(Map.of("value", List.of("${#dataset[<j>]}", "constant")))
+            .build();
+        StepDefinition definition = new StepDefinitionBuilder()
+            .withName("step <j>")
+            .withType("")
+            .withInputs(Map.of("key <j>", Map.of("nested", "<j><j>")))
+            .withOutputs(Map.of("output", "${#result<j>}"))
+            .withSteps(List.of(subStepDefinition))
+            .build();
+        Step step = new Step(null, definition, null, List.of(new Step(null, subStepDefinition, null, emptyList())));
+
+        Step iteration = IterationTemplate.compile("j", step, step.subSteps()).iteration(3);
+
+        assertThat(iteration.name()).isEqualTo("step 3");
+        assertThat(iteration.definition().inputs()).isEqualTo(Map.of("key 3", Map.of("nested", "33")));
+        assertThat(iteration.definition().outputs).isEqualTo(Map.of("output", "${#result3}"));
+        assertThat(iteration.definition().getStrategy()).hasValueSatisfying(s -> assertThat(s.type).isEmpty());
+        assertThat(iteration.definition().steps).singleElement().satisfies(d -> assertThat(d.name).isEqualTo("sub step 3"));
+        assertThat(iteration.subSteps()).singleElement().satisfies(subStep -> {
+            assertThat(subStep.name()).isEqualTo("sub step 3");
+            assertThat(subStep.definition().inputs()).isEqualTo(Map.of("value", List.of("${#dataset[3]}", "constant")));
+        });
+    }
+
+    @Test
+    void should_share_values_without_placeholder_between_iterations() {
+        Map<String, Object> inputs = Map.of("constant", Map.of("nested", List.of("value")));
+        Map<String, Object> validations = Map.of("check", "${true}");
+        StepDefinition definition = new StepDefinitionBuilder()
+            .withName("step")
+            .withType("success")
+            .withInputs(Map.of("constant", inputs.get("constant"), "indexed", "<i>"))
+            .withValidations(validations)
+            .build();
+
+        IterationTemplate sut = IterationTemplate.compile("i", new Step(null, definition, null, emptyList()), emptyList());
+        StepDefinition first = sut.iteration(0).definition();
+        StepDefinition second = sut.iteration(1).definition();
+
+        assertThat(first.inputs().get("constant")).isSameAs(inputs.get("constant"));
+        assertThat(second.inputs().get("constant")).isSameAs(inputs.get("constant"));
+        assertThat(first.inputs().get("indexed")).isEqualTo("0");
+        assertThat(second.inputs().get("indexed")).isEqualTo("1");
+        assertThat(first.validations).isEqualTo(second.validations).isEqualTo(validations);
+    }
+
+    @Test
+    void should_resolve_iteration_values_once() {
+        StepDefinition subStepDefinition = new StepDefinitionBuilder()
+            .withName("sub step <i>")
+            .withType("success")
+            .build();
+        StepDefinition definition = new StepDefinitionBuilder()
+            .withName("step <i>")
+            .withType("")
+            .withInputs(Map.of("map", Map.of("key", "<i>"), "list", List.of(Map.of("key", "<i>"))))
+            .withSteps(List.of(subStepDefinition))
+            .build();
+
+        StepDefinition iteration = IterationTemplate.compile("i", new Step(null, definition, null, emptyList()), emptyList()).iteration(2).definition();
+
+        assertThat(iteration.inputs().get("map")).isSameAs(iteration.inputs().get("map"));
+        assertThat(((List<?>) iteration.inputs().get("list")).getFirst()).isSameAs(((List<?>) iteration.inputs().get("list")).getFirst());
+        assertThat(iteration.steps.getFirst()).isSameAs(iteration.steps.getFirst());
+        assertThat(iteration.inputs()).isEqualTo(Map.of("map", Map.of("key", "2"), "list", List.of(Map.of("key", "2"))));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import static fr.enedis.chutney.engine.api.execution.StatusDto.FAILURE;
+import static fr.enedis.chutney.engine.api.execution.StatusDto.NOT_EXECUTED;
+import static fr.enedis.chutney.engine.api.execution.StatusDto.SUCCESS;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import fr.enedis.chutney.ExecutionConfiguration;
+import fr.enedis.chutney.engine.api.execution.ExecutionRequestDto;
+import fr.enedis.chutney.engine.api.execution.StepExecutionReportDto;
+import fr.enedis.chutney.engine.api.execution.TestEngine;
+import fr.enedis.chutney.engine.domain.execution.engine.evaluation.StepDataEvaluator;
+import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContextImpl;
+import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import fr.enedis.chutney.tools.Jsons;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ParallelStepExecutionStrategyTest {
+
+    private final StepExecutionStrategy sut = new ParallelStepExecutionStrategy();
+
+    @Test
+    public void should_run_substeps_concurrently() {
+        // Given
+        CountDownLatch allStarted = new CountDownLatch(2);
+        Step firstStep = awaitingStep(allStarted);
+        Step secondStep = awaitingStep(allStarted);
+
+        Step rootStep = mock(Step.class);
+        when(rootStep.subSteps()).thenReturn(newArrayList(firstStep, secondStep));
+        when(rootStep.isParentStep()).thenReturn(true);
+        when(rootStep.strategy()).thenReturn(Optional.of(new StepStrategyDefinition("parallel", new StrategyProperties())));
+        when(rootStep.dataEvaluator()).thenReturn(new StepDataEvaluator(null));
+        when(rootStep.status()).thenReturn(Status.SUCCESS);
+
+        StepExecutionStrategies strategies = mock(StepExecutionStrategies.class);
+        when(strategies.buildStrategyFrom(any())).thenReturn(DefaultStepExecutionStrategy.instance);
+        when(strategies.executor()).thenReturn(task -> Thread.ofVirtual().start(task));
+
+        // When
+        sut.execute(null, rootStep, new ScenarioContextImpl(), strategies);
+
+        // Then
+        assertThat(allStarted.getCount()).isZero();
+    }
+
+    @Test
+    public void should_run_substeps_on_calling_thread_when_executor_is_saturated() {
+        // Given
+        Step firstStep = mock(Step.class);
+        Step secondStep = mock(Step.class);
+        when(firstStep.execute(any(), any(), any())).thenReturn(Status.SUCCESS);
+        when(secondStep.execute(any(), any(), any())).thenReturn(Status.SUCCESS);
+
+        Step rootStep = mock(Step.class);
+        when(rootStep.subSteps()).thenReturn(newArrayList(firstStep, secondStep));
+        when(rootStep.isParentStep()).thenReturn(true);
+        when(rootStep.strategy()).thenReturn(Optional.of(new StepStrategyDefinition("parallel", new StrategyProperties(Map.of("maxConcurrency", "1")))));
+        when(rootStep.dataEvaluator()).thenReturn(new StepDataEvaluator(null));
+
+        StepExecutionStrategies strategies = mock(StepExecutionStrategies.class);
+        when(strategies.buildStrategyFrom(any())).thenReturn(DefaultStepExecutionStrategy.instance);
+        when(strategies.executor()).thenReturn(task -> {
+            // Never runs submitted tasks
+        });
+
+        // When
+        sut.execute(null, rootStep, new ScenarioContextImpl(), strategies);
+
+        // Then
+        verify(firstStep).execute(any(), any(), any());
+        verify(secondStep).execute(any(), any(), any());
+    }
+
+    @Test
+    public void should_merge_substeps_outputs_in_declaration_order() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/parallelStrategy/parallel_steps_with_context_put.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result.status).isEqualTo(SUCCESS);
+        assertThat(result.steps.getFirst().steps).extracting(s -> s.status).containsOnly(SUCCESS);
+        assertThat(result.steps.get(1).name).isEqualTo("Next step 1 2 second");
+    }
+
+    @Test
+    public void should_not_execute_pending_substeps_after_a_failure_when_fail_fast() {
+        // G
+        final TestEngine testEngine = new ExecutionConfiguration().embeddedTestEngine();
+        ExecutionRequestDto requestDto = Jsons.loadJsonFromClasspath("scenarios_examples/parallelStrategy/parallel_steps_fail_fast.json", ExecutionRequestDto.class);
+
+        // W
+        StepExecutionReportDto result = testEngine.execute(requestDto);
+
+        // T
+        assertThat(result.status).isEqualTo(FAILURE);
+        assertThat(result.steps.getFirst().steps).extracting(s -> s.status).containsExactly(FAILURE, NOT_EXECUTED);
+    }
+
+    private Step awaitingStep(CountDownLatch allStarted) {
+        Step step = mock(Step.class);
+        when(step.execute(any(), any(), any())).then(invocation -> {
+            allStarted.countDown();
+            return allStarted.await(5, TimeUnit.SECONDS) ? Status.SUCCESS : Status.FAILURE;
+        });
+        return step;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.domain.execution.strategies;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import fr.enedis.chutney.engine.domain.execution.report.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+    private static StrategyProperties properties(String timeOut, String retryDelay) {
+        return new StrategyProperties()
+            .setProperty("timeOut", timeOut)
+            .setProperty("retryDelay", retryDelay);
+    }
+
+    @Test
+    void fixed_backoff_by_default() {
+        RetryPolicy policy = RetryPolicy.from(properties("10 s", "100 ms"), UnaryOperator.identity());
+
+        assertThat(policy.nextDelayMs(0)).isEqualTo(100);
+        assertThat(policy.nextDelayMs(100)).isEqualTo(100);
+        assertThat(policy.allowsAttemptAfter(1000)).isTrue();
+        assertThat(policy.retryOn(Status.FAILURE)).isTrue();
+        assertThat(policy.retryOn(Status.WARN)).isFalse();
+        assertThat(policy.description()).isEqualTo("Retry strategy definition : [timeOut 10 s] [delay 100 ms]");
+    }
+
+    @Test
+    void exponential_backoff_is_capped_by_max_delay() {
+        RetryPolicy policy = RetryPolicy.from(
+            properties("10 s", "100 ms").setProperty("backoff", "exponential").setProperty("maxDelay", "500 ms"),
+            UnaryOperator.identity()
+        );
+
+        long delay = 0;
+        List<Long> delays = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            delay = policy.nextDelayMs(delay);
+            delays.add(delay);
+        }
+
+        assertThat(delays).containsExactly(100L, 200L, 400L, 500L, 500L);
+    }
+
+    @Test
+    void decorrelated_jitter_backoff_stays_between_retry_delay_and_three_times_previous_delay() {
+        RetryPolicy policy = RetryPolicy.from(
+            properties("10 s", "100 ms").setProperty("backoff", "decorrelated-jitter").setProperty("maxDelay", "2 s"),
+            UnaryOperator.identity()
+        );
+
+        long delay = policy.nextDelayMs(0);
+        assertThat(delay).isEqualTo(100);
+        for (int i = 0; i < 50; i++) {
+            long next = policy.nextDelayMs(delay);
+            assertThat(next).isBetween(100L, Math.min(delay * 3, 2000));
+            delay = next;
+        }
+    }
+
+    @Test
+    void reject_invalid_properties() {
+        assertThatThrownBy(() -> RetryPolicy.from(properties("10 s", "100 ms").setProperty("backoff", "linear"), UnaryOperator.identity()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("fixed, exponential, decorrelated-jitter");
+        assertThatThrownBy(() -> RetryPolicy.from(properties("10 s", "100 ms").setProperty("maxAttempts", "0"), UnaryOperator.identity()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RetryPolicy.from(properties("10 s", "100 ms").setProperty("retryOn", "KO"), UnaryOperator.identity()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -10,6 +10,7 @@ package fr.enedis.chutney.engine.domain.execution.strategies;
 import static fr.enedis.chutney.engine.domain.execution.ScenarioExecution.createScenarioExecution;
 import static fr.enedis.chutney.engine.domain.execution.report.Status.FAILURE;
 import static fr.enedis.chutney.engine.domain.execution.report.Status.SUCCESS;
+import static fr.enedis.chutney.engine.domain.execution.report.Status.WARN;
 import static java.util.Collections.emptyMap;
 import static java.util.List.of;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +20,7 @@ import static org.mockito.AdditionalMatchers.or;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
@@ -31,19 +33,21 @@ import fr.enedis.chutney.engine.api.execution.ExecutionRequestDto;
 import fr.enedis.chutney.engine.api.execution.StatusDto;
 import fr.enedis.chutney.engine.api.execution.StepExecutionReportDto;
 import fr.enedis.chutney.engine.api.execution.TestEngine;
+import fr.enedis.chutney.engine.domain.execution.RxBus;
 import fr.enedis.chutney.engine.domain.execution.ScenarioExecution;
+import fr.enedis.chutney.engine.domain.execution.command.StopExecutionCommand;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.EvaluationException;
 import fr.enedis.chutney.engine.domain.execution.engine.evaluation.StepDataEvaluator;
 import fr.enedis.chutney.engine.domain.execution.engine.scenario.ScenarioContextImpl;
 import fr.enedis.chutney.engine.domain.execution.engine.step.Step;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
 import fr.enedis.chutney.tools.Jsons;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.assertj.core.util.Lists;
@@ -53,7 +57,6 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.OngoingStubbing;
-import org.springframework.util.ReflectionUtils;
 
 public class RetryWithTimeOutStrategyTest {
 
@@ -162,6 +165,92 @@ public class RetryWithTimeOutStrategyTest {
         verify(step).addErrorMessage(eq("Error message"));
     }
 
+    @Test
+    public void step_fails_retry_until_max_attempts() {
+        StrategyProperties strategyProperties = properties("10 sec", "5 ms").setProperty("maxAttempts", "3");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        Status stepExecutedStatus = strategyUnderTest.execute(createScenarioExecution(null), step, new ScenarioContextImpl(), null);
+
+        verify(step, times(3)).execute(any(), any(), any());
+        verify(step, times(2)).resetExecution();
+        assertThat(stepExecutedStatus).isEqualTo(FAILURE);
+    }
+
+    @Test
+    public void step_retry_on_given_statuses() {
+        StrategyProperties strategyProperties = properties("10 sec", "5 ms").setProperty("retryOn", "FAILURE, WARN");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(WARN, FAILURE, WARN, SUCCESS);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        Status stepExecutedStatus = strategyUnderTest.execute(createScenarioExecution(null), step, new ScenarioContextImpl(), null);
+
+        verify(step, times(4)).execute(any(), any(), any());
+        assertThat(stepExecutedStatus).isEqualTo(SUCCESS);
+    }
+
+    @Test
+    public void step_keeps_last_status_when_retries_are_exhausted() {
+        StrategyProperties strategyProperties = properties("10 sec", "5 ms")
+            .setProperty("retryOn", "FAILURE, WARN")
+            .setProperty("maxAttempts", "2");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(WARN);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        Status stepExecutedStatus = strategyUnderTest.execute(createScenarioExecution(null), step, new ScenarioContextImpl(), null);
+
+        verify(step, times(2)).execute(any(), any(), any());
+        assertThat(stepExecutedStatus).isEqualTo(WARN);
+    }
+
+    @Test
+    public void step_fails_cancel_attempt_after_attempt_timeout() {
+        StrategyProperties strategyProperties = properties("10 sec", "5 ms")
+            .setProperty("attemptTimeOut", "100 ms")
+            .setProperty("maxAttempts", 2);
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+        ScenarioExecution scenarioExecution = createScenarioExecution(null);
+
+        Step step = mock(Step.class);
+        when(step.execute(any(), any(), any())).thenAnswer(invocation -> scenarioExecution.runInterruptiblyOnStop(() -> {
+            try {
+                TimeUnit.SECONDS.sleep(10);
+                return SUCCESS;
+            } catch (InterruptedException e) {
+                return FAILURE;
+            }
+        }));
+        when(step.dataEvaluator()).thenReturn(new StepDataEvaluator(null));
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+
+        long start = System.currentTimeMillis();
+        Status stepExecutedStatus = strategyUnderTest.execute(scenarioExecution, step, new ScenarioContextImpl(), null);
+
+        assertThat(System.currentTimeMillis() - start).isBetween(200L, 2000L);
+        assertThat(stepExecutedStatus).isEqualTo(FAILURE);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        verify(step, times(2)).execute(any(), any(), any());
+        verify(step, times(2)).addInformation(and(startsWith("Attempt "), contains("attempt timed out")));
+    }
+
+    @Test
+    public void step_report_keeps_last_attempts_only() {
+        StrategyProperties strategyProperties = properties("10 sec", "1 ms").setProperty("maxAttempts", "15");
+        StepStrategyDefinition strategyDefinition = new StepStrategyDefinition("", strategyProperties);
+
+        Step step = mockStep(FAILURE);
+        when(step.strategy()).thenReturn(Optional.of(strategyDefinition));
+        strategyUnderTest.execute(createScenarioExecution(null), step, new ScenarioContextImpl(), null);
+
+        verify(step).addInformation(eq("5 earlier attempt(s) not reported"));
+        verify(step, times(RetryWithTimeOutStrategy.REPORTED_ATTEMPTS)).addInformation(startsWith("Attempt "));
+        verify(step).addInformation(startsWith("Attempt 15 : FAILURE"));
+    }
+
     @Test
     public void should_execute_all_actions_when_status_is_not_KO() {
         Step rootStep = mock(Step.class);
@@ -348,9 +437,7 @@ public class RetryWithTimeOutStrategyTest {
 
 
     private void stopExecution(ScenarioExecution scenarioExecution) {
-        Field stopField = ReflectionUtils.findField(ScenarioExecution.class, "stop");
-        stopField.setAccessible(true);
-        ReflectionUtils.setField(stopField, scenarioExecution, true);
+        RxBus.getInstance().post(new StopExecutionCommand(scenarioExecution.executionId));
     }
 
     private static Stream<Arguments> informationParameters() {
@@ -30,6 +30,7 @@ import fr.enedis.chutney.engine.domain.execution.event.EndScenarioExecutionEvent
 import fr.enedis.chutney.engine.domain.execution.event.StartScenarioExecutionEvent;
 import fr.enedis.chutney.engine.domain.execution.report.Status;
 import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReport;
+import fr.enedis.chutney.engine.domain.execution.report.StepExecutionReportPatch;
 import io.reactivex.rxjava3.observers.TestObserver;
 import java.util.ArrayList;
 import java.util.List;
@@ -74,7 +75,7 @@ public class ReporterTest {
             executor.submit(getter);
             long startTime = System.currentTimeMillis();
             while (System.currentTimeMillis() - startTime < 500) {
-                StepExecutionReport report = sut.generateReport(step, Step::status, "env");
+                StepExecutionReport report = generateReport(step);
                 if (Status.FAILURE.equals(report.status)) {
                     fail();
                 }
@@ -90,7 +91,7 @@ public class ReporterTest {
         Step subSubStep1 = step.subSteps().getFirst().subSteps().getFirst();
         Step subSubStep2 = step.subSteps().getFirst().subSteps().get(1);
 
-        StepExecutionReport report = sut.generateReport(step, Step::status, "env");
+        StepExecutionReport report = generateReport(step);
         assertThat(report.status).isEqualTo(Status.NOT_EXECUTED);
         assertThat(report.steps.getFirst().status).isEqualTo(Status.NOT_EXECUTED);
         assertThat(report.steps.getFirst().steps.getFirst().status).isEqualTo(Status.NOT_EXECUTED);
@@ -100,7 +101,7 @@ public class ReporterTest {
         step.beginExecution(scenarioExecution);
         subStep1.beginExecution(scenarioExecution);
         subSubStep1.beginExecution(scenarioExecution);
-        report = sut.generateReport(step, Step::status, "env");
+        report = generateReport(step);
         assertThat(report.status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().steps.getFirst().status).isEqualTo(RUNNING);
@@ -108,7 +109,7 @@ public class ReporterTest {
         assertThat(report.steps.get(1).status).isEqualTo(Status.NOT_EXECUTED);
 
         subSubStep1.pauseExecution(scenarioExecution);
-        report = sut.generateReport(step, Step::status, "env");
+        report = generateReport(step);
         assertThat(report.status).isEqualTo(Status.PAUSED);
         assertThat(report.steps.getFirst().status).isEqualTo(Status.PAUSED);
         assertThat(report.steps.getFirst().steps.getFirst().status).isEqualTo(Status.PAUSED);
@@ -116,7 +117,7 @@ public class ReporterTest {
         assertThat(report.steps.get(1).status).isEqualTo(Status.NOT_EXECUTED);
 
         subSubStep1.success();
-        report = sut.generateReport(step, Step::status, "env");
+        report = generateReport(step);
         assertThat(report.status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().steps.getFirst().status).isEqualTo(SUCCESS);
@@ -124,7 +125,7 @@ public class ReporterTest {
         assertThat(report.steps.get(1).status).isEqualTo(Status.NOT_EXECUTED);
 
         subSubStep2.beginExecution(scenarioExecution);
-        report = sut.generateReport(step, Step::status, "env");
+        report = generateReport(step);
         assertThat(report.status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().steps.getFirst().status).isEqualTo(SUCCESS);
@@ -133,7 +134,7 @@ public class ReporterTest {
 
         subSubStep2.success();
         subStep1.endExecution(scenarioExecution);
-        report = sut.generateReport(step, Step::status, "env");
+        report = generateReport(step);
         assertThat(report.status).isEqualTo(RUNNING);
         assertThat(report.steps.getFirst().status).isEqualTo(SUCCESS);
         assertThat(report.steps.getFirst().steps.getFirst().status).isEqualTo(SUCCESS);
@@ -213,6 +214,97 @@ public class ReporterTest {
         assertThat(step.status()).isEqualTo(SUCCESS);
     }
 
+    @Test
+    public void should_publish_patches_rebuilding_published_reports() {
+        sut.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> reportsObserver = sut.subscribeOnExecution(scenarioExecution.executionId).test();
+        TestObserver<StepExecutionReportPatch> patchesObserver = sut.subscribePatchesOnExecution(scenarioExecution.executionId).test();
+
+        executeFakeScenarioSuccess();
+
+        reportsObserver.assertComplete();
+        patchesObserver.assertComplete();
+        List<StepExecutionReport> reports = reportsObserver.values();
+        List<StepExecutionReportPatch> patches = patchesObserver.values();
+        assertThat(patches).hasSameSizeAs(reports);
+        assertThat(patches.getFirst().isSnapshot()).isTrue();
+        assertThat(patches).anyMatch(patch -> patch.path.size() == 2);
+
+        StepExecutionReport patchedReport = null;
+        for (int i = 0; i < patches.size(); i++) {
+            patchedReport = patches.get(i).applyTo(patchedReport);
+            assertThat(patchedReport).usingRecursiveComparison().isEqualTo(reports.get(i));
+        }
+    }
+
+    @Test
+    public void should_reuse_reports_of_unchanged_steps() {
+        Step subStep1 = step.subSteps().getFirst();
+        Step subSubStep1 = subStep1.subSteps().getFirst();
+        Step subSubStep2 = subStep1.subSteps().get(1);
+
+        sut.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> observer = sut.subscribeOnExecution(scenarioExecution.executionId).test();
+        RxBus.getInstance().post(new StartScenarioExecutionEvent(scenarioExecution, step));
+        step.beginExecution(scenarioExecution);
+        subStep1.beginExecution(scenarioExecution);
+        subSubStep1.beginExecution(scenarioExecution);
+        subSubStep1.success();
+        subSubStep1.endExecution(scenarioExecution);
+        subSubStep2.beginExecution(scenarioExecution);
+
+        List<StepExecutionReport> reports = observer.values();
+        StepExecutionReport beforeLastReport = reports.get(reports.size() - 2);
+        StepExecutionReport lastReport = reports.getLast();
+        assertThat(lastReport.steps.getFirst().steps.getFirst()).isSameAs(beforeLastReport.steps.getFirst().steps.getFirst());
+        assertThat(lastReport.steps.get(1)).isSameAs(beforeLastReport.steps.get(1));
+        assertThat(lastReport.steps.getFirst().steps.get(1).status).isEqualTo(RUNNING);
+        observer.dispose();
+    }
+
+    @Test
+    public void should_report_steps_added_to_running_step_without_rebuilding_other_steps() {
+        Step subStep2 = step.subSteps().get(1);
+
+        sut.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> observer = sut.subscribeOnExecution(scenarioExecution.executionId).test();
+        RxBus.getInstance().post(new StartScenarioExecutionEvent(scenarioExecution, step));
+        step.beginExecution(scenarioExecution);
+        subStep2.beginExecution(scenarioExecution);
+        Step iteration = new Step(dataEvaluator, new StepDefinition("iteration", fakeTarget, "actionType", null, null, null, null, null), null, List.of());
+        subStep2.addStepExecution(iteration);
+        iteration.beginExecution(scenarioExecution);
+
+        List<StepExecutionReport> reports = observer.values();
+        StepExecutionReport beforeLastReport = reports.get(reports.size() - 2);
+        StepExecutionReport lastReport = reports.getLast();
+        assertThat(lastReport.steps.getFirst()).isSameAs(beforeLastReport.steps.getFirst());
+        assertThat(lastReport.steps.get(1).steps).singleElement().satisfies(report -> {
+            assertThat(report.name).isEqualTo("iteration");
+            assertThat(report.status).isEqualTo(RUNNING);
+        });
+        observer.dispose();
+    }
+
+    @Test
+    public void should_coalesce_running_reports_when_snapshot_interval_is_set() {
+        Reporter coalescingReporter = new Reporter(0, 60_000);
+        coalescingReporter.createPublisher(scenarioExecution.executionId, step);
+        TestObserver<StepExecutionReport> observer = coalescingReporter.subscribeOnExecution(scenarioExecution.executionId).test();
+
+        executeFakeScenarioSuccess();
+
+        observer.assertComplete();
+        assertThat(observer.values()).hasSizeLessThan(3);
+        assertThat(observer.values().getLast().status).isEqualTo(step.status());
+        assertThat(observer.values().getLast().steps.getFirst().status).isEqualTo(SUCCESS);
+        assertThat(observer.values().getLast().steps.getFirst().steps.get(1).status).isEqualTo(SUCCESS);
+    }
+
+    private static StepExecutionReport generateReport(Step step) {
+        return new LiveReport(0L, step).update(Step::status).report();
+    }
+
     private Step buildFakeScenario() {
         List<StepDefinition> subSubSteps = new ArrayList<>();
         StepDefinition subSubStepDef1 = new StepDefinition("fakeStep1", fakeTarget, "actionType", null, null, null, null, null);
@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.engine.infrastructure.delegation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import fr.enedis.chutney.engine.domain.delegation.ConnectionChecker;
+import fr.enedis.chutney.engine.domain.delegation.NamedHostAndPort;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CachedConnectionCheckerTest {
+
+    private final NamedHostAndPort agent = new NamedHostAndPort("agent", "host", 1234);
+    private final ConnectionChecker delegate = mock(ConnectionChecker.class);
+    private final AtomicLong now = new AtomicLong();
+    private final CachedConnectionChecker sut = new CachedConnectionChecker(delegate, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void should_check_connectivity_once_per_ttl() {
+        when(delegate.canConnectTo(agent)).thenReturn(true, false);
+
+        assertThat(sut.canConnectTo(agent)).isTrue();
+        now.set(Duration.ofSeconds(29).toNanos());
+        assertThat(sut.canConnectTo(agent)).isTrue();
+        verify(delegate, times(1)).canConnectTo(agent);
+
+        now.set(Duration.ofSeconds(30).toNanos());
+        assertThat(sut.canConnectTo(agent)).isFalse();
+        verify(delegate, times(2)).canConnectTo(agent);
+    }
+
+    @Test
+    void should_check_connectivity_again_once_invalidated() {
+        when(delegate.canConnectTo(agent)).thenReturn(true, false);
+
+        assertThat(sut.canConnectTo(agent)).isTrue();
+        sut.invalidate(agent);
+
+        assertThat(sut.canConnectTo(agent)).isFalse();
+        verify(delegate, times(2)).canConnectTo(agent);
+    }
+}
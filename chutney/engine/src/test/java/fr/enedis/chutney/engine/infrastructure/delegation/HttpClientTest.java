@@ -59,23 +59,26 @@ public class HttpClientTest {
         wireMockConfig()
             .port(SocketUtils.findAvailableTcpPort())
             .httpsPort(SocketUtils.findAvailableTcpPort())
+            // Certificate of localhost, with its subject alternative names, so that hostname verification succeeds
+            .keystorePath(HttpClientTest.class.getResource("/security/localhost.jks").getPath())
+            .keystorePassword("localhost")
+            .keyManagerPassword("localhost")
+            .keystoreType("JKS")
     );
 
-    static {
-        //for localhost testing only
-        javax.net.ssl.HttpsURLConnection.setDefaultHostnameVerifier(
-            (hostname, sslSession) -> "localhost".equals(hostname));
-    }
+    private SSLContext defaultSslContext;
 
     @BeforeEach
-    public void setUp() {
+    public void setUp() throws NoSuchAlgorithmException {
         server.start();
+        defaultSslContext = SSLContext.getDefault();
         SSLContext.setDefault(sslContext(new TrustManager[]{TrustAllX509TrustManager.INSTANCE}));
     }
 
     @AfterEach
     public void tearDown() {
         server.stop();
+        SSLContext.setDefault(defaultSslContext);
     }
 
     @ParameterizedTest
@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.server.core.domain.execution;
+
+import fr.enedis.chutney.server.core.domain.execution.history.ExecutionHistory;
+import fr.enedis.chutney.server.core.domain.execution.history.ExecutionHistoryRepository;
+import fr.enedis.chutney.server.core.domain.execution.report.ServerReportStatus;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind persistence of execution history.
+ * <p>
+ * Running executions updates are coalesced by execution and written at most once per write interval,
+ * all pending executions being written in one batch.
+ * Other updates, i.e. final or paused states, are written synchronously and supersede pending ones.
+ * <p>
+ * Writes of one execution are serialized by a lock of their own, so executions are written independently of each other.
+ * Executions of a failed batch are queued again, up to {@link #MAX_FLUSH_ATTEMPTS} times.
+ */
+class ExecutionHistoryWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionHistoryWriter.class);
+    static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final ExecutionHistoryRepository executionHistoryRepository;
+    private final Map<Long, Pending> pendingExecutions = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> executionLocks = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private long writeIntervalMilliSeconds;
+
+    ExecutionHistoryWriter(ExecutionHistoryRepository executionHistoryRepository, long writeIntervalMilliSeconds) {
+        this.executionHistoryRepository = executionHistoryRepository;
+        this.writeIntervalMilliSeconds = writeIntervalMilliSeconds;
+    }
+
+    void setWriteIntervalMilliSeconds(long writeIntervalMilliSeconds) {
+        this.writeIntervalMilliSeconds = writeIntervalMilliSeconds;
+    }
+
+    void write(ExecutionHistory.Execution execution) {
+        if (writeIntervalMilliSeconds <= 0 || execution.status() != ServerReportStatus.RUNNING) {
+            long executionId = execution.executionId();
+            ReentrantLock lock = executionLocks.computeIfAbsent(executionId, id -> new ReentrantLock());
+            lock.lock();
+            try {
+                pendingExecutions.remove(executionId);
+                executionHistoryRepository.update(execution.scenarioId(), execution);
+            } finally {
+                if (execution.status() != ServerReportStatus.RUNNING && execution.status() != ServerReportStatus.PAUSED) {
+                    executionLocks.remove(executionId, lock);
+                }
+                lock.unlock();
+            }
+        } else {
+            pendingExecutions.merge(execution.executionId(), new Pending(execution, 0), (previous, last) -> last);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Write all pending executions in one batch.
+     */
+    void flush() {
+        // Locks are taken in ascending execution id order, concurrent flushes cannot deadlock
+        List<ReentrantLock> locks = new ArrayList<>();
+        List<Pending> batch = new ArrayList<>();
+        try {
+            for (Long executionId : new TreeSet<>(pendingExecutions.keySet())) {
+                ReentrantLock lock = executionLocks.computeIfAbsent(executionId, id -> new ReentrantLock());
+                lock.lock();
+                locks.add(lock);
+                Pending pending = pendingExecutions.remove(executionId);
+                if (pending != null) {
+                    batch.add(pending);
+                } else if (!lock.hasQueuedThreads()) {
+                    executionLocks.remove(executionId, lock); // Written meanwhile by its final state
+                }
+            }
+            if (!batch.isEmpty()) {
+                LOGGER.trace("Write history of {} running execution(s)", batch.size());
+                write(batch);
+            }
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            executionHistoryRepository.update(batch.stream().map(Pending::execution).toList());
+        } catch (RuntimeException e) {
+            int requeued = 0;
+            for (Pending pending : batch) {
+                if (pending.attempts() + 1 < MAX_FLUSH_ATTEMPTS) {
+                    pendingExecutions.putIfAbsent(pending.execution().executionId(), new Pending(pending.execution(), pending.attempts() + 1));
+                    requeued++;
+                }
+            }
+            LOGGER.warn("Write history of {} running execution(s) failed, {} queued again", batch.size(), requeued, e);
+            if (requeued > 0) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            Completable.timer(writeIntervalMilliSeconds, TimeUnit.MILLISECONDS, Schedulers.io())
+                .subscribe(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                }, throwable -> LOGGER.error("Write history of running executions failed", throwable));
+        }
+    }
+
+    private record Pending(ExecutionHistory.Execution execution, int attempts) {
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.server.core.domain.execution;
+
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCore;
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportPatchCore;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+
+/**
+ * Report of a running execution, rebuilt from the patches published by the engine, and relay of these patches to followers.
+ * <p>
+ * First patch received by a follower holds the current report (if any), following ones are relayed as the execution goes on.
+ */
+class ExecutionReportPatches {
+
+    private final Subject<StepExecutionReportPatchCore> patches = PublishSubject.create();
+    private StepExecutionReportCore report;
+    private boolean completed = false;
+
+    /**
+     * @return the report with given patch applied
+     * @throws IllegalStateException when the patch does not match the current report
+     */
+    synchronized StepExecutionReportCore apply(StepExecutionReportPatchCore patch) {
+        report = patch.applyTo(report);
+        patches.onNext(patch);
+        return report;
+    }
+
+    synchronized void complete() {
+        if (!completed) {
+            completed = true;
+            patches.onComplete();
+        }
+    }
+
+    Observable<StepExecutionReportPatchCore> follow() {
+        return Observable.create(emitter -> {
+            synchronized (this) {
+                if (report != null) {
+                    emitter.onNext(StepExecutionReportPatchCore.snapshot(report));
+                }
+                if (completed) {
+                    emitter.onComplete();
+                } else {
+                    emitter.setDisposable(patches.subscribe(emitter::onNext, emitter::tryOnError, emitter::onComplete));
+                }
+            }
+        });
+    }
+}
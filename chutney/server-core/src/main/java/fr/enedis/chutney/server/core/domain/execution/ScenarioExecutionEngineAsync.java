@@ -16,12 +16,14 @@ import fr.enedis.chutney.server.core.domain.execution.history.ImmutableExecution
 import fr.enedis.chutney.server.core.domain.execution.report.ScenarioExecutionReport;
 import fr.enedis.chutney.server.core.domain.execution.report.ServerReportStatus;
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCore;
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportPatchCore;
 import fr.enedis.chutney.server.core.domain.execution.state.ExecutionStateRepository;
 import fr.enedis.chutney.server.core.domain.instrument.ChutneyMetrics;
 import fr.enedis.chutney.server.core.domain.scenario.TestCase;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import jakarta.annotation.PreDestroy;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -38,14 +40,17 @@ public class ScenarioExecutionEngineAsync {
     private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioExecutionEngineAsync.class);
     private static final long DEFAULT_RETENTION_DELAY_SECONDS = 5;
     private static final long DEFAULT_DEBOUNCE_MILLISECONDS = 100;
+    private static final long DEFAULT_HISTORY_WRITE_INTERVAL_MILLISECONDS = 1000;
 
     private final ExecutionHistoryRepository executionHistoryRepository;
     private final ServerTestEngine executionEngine;
     private final ExecutionStateRepository executionStateRepository;
     private final ChutneyMetrics metrics;
     private final ExecutionReportSummarizer reportSummarizer;
+    private final ExecutionHistoryWriter historyWriter;
 
     private final Map<Long, Pair<Observable<ScenarioExecutionReport>, Long>> scenarioExecutions = new ConcurrentHashMap<>();
+    private final Map<Long, ExecutionReportPatches> executionsPatches = new ConcurrentHashMap<>();
     private long retentionDelaySeconds;
     private long debounceMilliSeconds;
 
@@ -54,7 +59,7 @@ public class ScenarioExecutionEngineAsync {
                                         ExecutionStateRepository executionStateRepository,
                                         ChutneyMetrics metrics,
                                         ObjectMapper reportObjectMapper) {
-        this(executionHistoryRepository, executionEngine, executionStateRepository, metrics, reportObjectMapper, DEFAULT_RETENTION_DELAY_SECONDS, DEFAULT_DEBOUNCE_MILLISECONDS);
+        this(executionHistoryRepository, executionEngine, executionStateRepository, metrics, reportObjectMapper, DEFAULT_RETENTION_DELAY_SECONDS, DEFAULT_DEBOUNCE_MILLISECONDS, DEFAULT_HISTORY_WRITE_INTERVAL_MILLISECONDS);
     }
 
     public ScenarioExecutionEngineAsync(ExecutionHistoryRepository executionHistoryRepository,
@@ -64,11 +69,23 @@ public class ScenarioExecutionEngineAsync {
                                         ObjectMapper reportObjectMapper,
                                         long retentionDelaySeconds,
                                         long debounceMilliSeconds) {
+        this(executionHistoryRepository, executionEngine, executionStateRepository, metrics, reportObjectMapper, retentionDelaySeconds, debounceMilliSeconds, DEFAULT_HISTORY_WRITE_INTERVAL_MILLISECONDS);
+    }
+
+    public ScenarioExecutionEngineAsync(ExecutionHistoryRepository executionHistoryRepository,
+                                        ServerTestEngine executionEngine,
+                                        ExecutionStateRepository executionStateRepository,
+                                        ChutneyMetrics metrics,
+                                        ObjectMapper reportObjectMapper,
+                                        long retentionDelaySeconds,
+                                        long debounceMilliSeconds,
+                                        long historyWriteIntervalMilliSeconds) {
         this.executionHistoryRepository = executionHistoryRepository;
         this.executionEngine = executionEngine;
         this.executionStateRepository = executionStateRepository;
         this.metrics = metrics;
         this.reportSummarizer = new ExecutionReportSummarizer(reportObjectMapper);
+        this.historyWriter = new ExecutionHistoryWriter(executionHistoryRepository, historyWriteIntervalMilliSeconds);
         this.retentionDelaySeconds = retentionDelaySeconds;
         this.debounceMilliSeconds = debounceMilliSeconds;
     }
@@ -88,7 +105,7 @@ public class ScenarioExecutionEngineAsync {
             executionRequest.campaignExecution.updateScenarioExecutionId(storedExecution);
         }
         // Start engine execution
-        Pair<Observable<StepExecutionReportCore>, Long> followResult = callEngineExecution(executionRequest, storedExecution);
+        Pair<Observable<StepExecutionReportPatchCore>, Long> followResult = callEngineExecution(executionRequest, storedExecution);
         // Build execution observable
         Observable<ScenarioExecutionReport> executionObservable = buildScenarioExecutionReportObservable(executionRequest, storedExecution.executionId(), followResult);
         // Store execution Observable to permit further subscriptions
@@ -122,8 +139,8 @@ public class ScenarioExecutionEngineAsync {
         return executionHistoryRepository.store(executionRequest.testCase.id(), detachedExecution);
     }
 
-    private Pair<Observable<StepExecutionReportCore>, Long> callEngineExecution(ExecutionRequest executionRequest, ExecutionHistory.Execution storedExecution) {
-        Pair<Observable<StepExecutionReportCore>, Long> followResult;
+    private Pair<Observable<StepExecutionReportPatchCore>, Long> callEngineExecution(ExecutionRequest executionRequest, ExecutionHistory.Execution storedExecution) {
+        Pair<Observable<StepExecutionReportPatchCore>, Long> followResult;
         try {
             followResult = executionEngine.executeAndFollow(executionRequest);
         } catch (Exception e) {
@@ -137,12 +154,18 @@ public class ScenarioExecutionEngineAsync {
     Observable<ScenarioExecutionReport> buildScenarioExecutionReportObservable(
         ExecutionRequest executionRequest,
         Long executionId,
-        Pair<Observable<StepExecutionReportCore>, Long> engineExecution
+        Pair<Observable<StepExecutionReportPatchCore>, Long> engineExecution
     ) {
+        // Rebuild reports from engine patches, relaying them to patches followers
+        ExecutionReportPatches reportPatches = new ExecutionReportPatches();
+        executionsPatches.put(executionId, reportPatches);
+
         // Observe in background
         Observable<StepExecutionReportCore> replayer = engineExecution.getLeft()
             .subscribeOn(Schedulers.io())
-            .observeOn(Schedulers.io());
+            .observeOn(Schedulers.io())
+            .map(reportPatches::apply)
+            .doOnTerminate(reportPatches::complete);
 
         // Debounce configuration
         if (debounceMilliSeconds > 0) {
@@ -197,6 +220,17 @@ public class ScenarioExecutionEngineAsync {
         }
     }
 
+    /**
+     * Follow a running execution through report patches, first one holding the current report.
+     */
+    public Observable<StepExecutionReportPatchCore> followExecutionPatches(String scenarioId, Long executionId) {
+        ExecutionReportPatches reportPatches = executionsPatches.get(executionId);
+        if (reportPatches == null) {
+            throw new ScenarioNotRunningException(scenarioId);
+        }
+        return reportPatches.follow();
+    }
+
     public void stop(String scenarioId, Long executionId) {
         if (scenarioExecutions.containsKey(executionId)) {
             executionEngine.stop(scenarioExecutions.get(executionId).getRight());
@@ -229,6 +263,21 @@ public class ScenarioExecutionEngineAsync {
         this.debounceMilliSeconds = debounceMilliSeconds;
     }
 
+    /**
+     * @param historyWriteIntervalMilliSeconds interval between writes of running executions history, 0 to write every report
+     */
+    public void setHistoryWriteIntervalMilliSeconds(long historyWriteIntervalMilliSeconds) {
+        historyWriter.setWriteIntervalMilliSeconds(historyWriteIntervalMilliSeconds);
+    }
+
+    /**
+     * Write pending running executions history, i.e. on shutdown.
+     */
+    @PreDestroy
+    public void flushHistory() {
+        historyWriter.flush();
+    }
+
     public ExecutionHistory.Execution saveNotExecutedScenarioExecution(ExecutionRequest executionRequest) {
         ExecutionHistory.DetachedExecution detachedExecution = ImmutableExecutionHistory.DetachedExecution.builder()
             .time(LocalDateTime.now())
@@ -287,9 +336,11 @@ public class ScenarioExecutionEngineAsync {
                 .subscribe(() -> {
                     LOGGER.trace("Remove replayer for execution {}", executionId);
                     scenarioExecutions.remove(executionId);
+                    executionsPatches.remove(executionId);
                 }, throwable -> LOGGER.error("Cannot remove replayer for execution {}", executionId, throwable));
         } else {
             scenarioExecutions.remove(executionId);
+            executionsPatches.remove(executionId);
         }
     }
 
@@ -307,7 +358,7 @@ public class ScenarioExecutionEngineAsync {
     private void updateHistory(long executionId, ExecutionRequest executionRequest, ScenarioExecutionReport report) {
         LOGGER.trace("Update history for execution {}", executionId);
         try {
-            executionHistoryRepository.update(executionRequest.testCase.id(), reportSummarizer.summarize(report, executionRequest).attach(executionId, executionRequest.testCase.id()));
+            historyWriter.write(reportSummarizer.summarize(report, executionRequest).attach(executionId, executionRequest.testCase.id()));
         } catch (Exception e) {
             LOGGER.error("Update history for execution {} failed", executionId, e);
         }
@@ -8,6 +8,7 @@
 package fr.enedis.chutney.server.core.domain.execution;
 
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCore;
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportPatchCore;
 import io.reactivex.rxjava3.core.Observable;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -15,7 +16,10 @@ public interface ServerTestEngine {
 
     StepExecutionReportCore execute(ExecutionRequest executionRequest);
 
-    Pair<Observable<StepExecutionReportCore>, Long> executeAndFollow(ExecutionRequest executionRequest);
+    /**
+     * @return report patches of the execution, first one holding the whole report, and the engine execution id
+     */
+    Pair<Observable<StepExecutionReportPatchCore>, Long> executeAndFollow(ExecutionRequest executionRequest);
 
     void stop(Long executionHash);
 
@@ -54,6 +54,12 @@ public interface ExecutionHistoryRepository {
      */
     void update(String scenarioId, ExecutionHistory.Execution updatedExecution);
 
+    /**
+     * Override several previously stored {@link ExecutionHistory.Execution} at once.
+     * Executions not found are skipped.
+     */
+    void update(List<ExecutionHistory.Execution> updatedExecutions);
+
     int setAllRunningExecutionsToKO();
 
     List<ExecutionSummary> getExecutionsWithStatus(ServerReportStatus status);
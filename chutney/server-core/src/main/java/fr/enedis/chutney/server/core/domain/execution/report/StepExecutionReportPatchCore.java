@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.server.core.domain.execution.report;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental update of a running execution report, as published by the engine.
+ * <p>
+ * The changed step is addressed by its {@link #path}, i.e. the indexes of the sub steps to follow from the root step.
+ * An empty path targets the root step, so the patch then holds the whole report.
+ * {@link #ancestors} are the new versions of the steps along the path (root first), without their sub steps.
+ */
+public class StepExecutionReportPatchCore {
+
+    public final List<Integer> path;
+    public final List<StepExecutionReportCore> ancestors;
+    public final StepExecutionReportCore report;
+
+    public StepExecutionReportPatchCore(List<Integer> path, List<StepExecutionReportCore> ancestors, StepExecutionReportCore report) {
+        if (path.size() != ancestors.size()) {
+            throw new IllegalArgumentException("Patch path and ancestors must have the same size");
+        }
+        this.path = List.copyOf(path);
+        this.ancestors = List.copyOf(ancestors);
+        this.report = report;
+    }
+
+    public static StepExecutionReportPatchCore snapshot(StepExecutionReportCore report) {
+        return new StepExecutionReportPatchCore(emptyList(), emptyList(), report);
+    }
+
+    public boolean isSnapshot() {
+        return path.isEmpty();
+    }
+
+    /**
+     * @param snapshot the report this patch is based on, may be null for a snapshot patch
+     * @return a new report with this patch applied
+     * @throws IllegalStateException when the snapshot structure does not match the patch path
+     */
+    public StepExecutionReportCore applyTo(StepExecutionReportCore snapshot) {
+        return applyTo(snapshot, 0);
+    }
+
+    private StepExecutionReportCore applyTo(StepExecutionReportCore node, int depth) {
+        if (depth == path.size()) {
+            return report;
+        }
+        int index = path.get(depth);
+        if (node == null || index >= node.steps.size()) {
+            throw new IllegalStateException("Cannot apply patch " + path + " on report at depth " + depth);
+        }
+        List<StepExecutionReportCore> subSteps = new ArrayList<>(node.steps);
+        subSteps.set(index, applyTo(subSteps.get(index), depth + 1));
+        StepExecutionReportCore ancestor = ancestors.get(depth);
+        return new StepExecutionReportCore(
+            ancestor.name,
+            ancestor.duration,
+            ancestor.startDate,
+            ancestor.status,
+            ancestor.information,
+            ancestor.errors,
+            subSteps,
+            ancestor.type,
+            ancestor.targetName,
+            ancestor.targetUrl,
+            ancestor.strategy,
+            ancestor.evaluatedInputs,
+            ancestor.stepOutputs
+        );
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.server.core.domain.execution;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import fr.enedis.chutney.server.core.domain.execution.history.ExecutionHistory;
+import fr.enedis.chutney.server.core.domain.execution.history.ExecutionHistoryRepository;
+import fr.enedis.chutney.server.core.domain.execution.history.ImmutableExecutionHistory;
+import fr.enedis.chutney.server.core.domain.execution.report.ServerReportStatus;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ExecutionHistoryWriterTest {
+
+    private final ExecutionHistoryRepository executionHistoryRepository = mock(ExecutionHistoryRepository.class);
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final ExecutionHistoryWriter sut = new ExecutionHistoryWriter(executionHistoryRepository, 1000);
+
+    @BeforeEach
+    void setUp() {
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> testScheduler);
+    }
+
+    @AfterEach
+    void after() {
+        RxJavaPlugins.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_coalesce_running_executions_and_write_them_in_one_batch() {
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "first"));
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "second"));
+        sut.write(execution(2L, ServerReportStatus.RUNNING, "first"));
+
+        testScheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        verify(executionHistoryRepository, never()).update(anyList());
+
+        testScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        ArgumentCaptor<List<ExecutionHistory.Execution>> batch = ArgumentCaptor.forClass(List.class);
+        verify(executionHistoryRepository).update(batch.capture());
+        assertThat(batch.getValue())
+            .extracting(ExecutionHistory.Execution::executionId, ExecutionHistory.Execution::report)
+            .containsExactlyInAnyOrder(
+                tuple(1L, "second"),
+                tuple(2L, "first")
+            );
+        verify(executionHistoryRepository, never()).update(anyString(), any());
+    }
+
+    @Test
+    void should_write_final_execution_synchronously_instead_of_pending_one() {
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "running"));
+        ExecutionHistory.Execution finalExecution = execution(1L, ServerReportStatus.SUCCESS, "final");
+        sut.write(finalExecution);
+
+        verify(executionHistoryRepository).update("scenario", finalExecution);
+
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        verify(executionHistoryRepository, never()).update(anyList());
+    }
+
+    @Test
+    void should_write_every_execution_without_write_interval() {
+        sut.setWriteIntervalMilliSeconds(0);
+
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "first"));
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "second"));
+
+        verify(executionHistoryRepository, times(2)).update(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_queue_again_executions_of_a_failed_batch() {
+        doThrow(new RuntimeException("database unavailable")).doNothing().when(executionHistoryRepository).update(anyList());
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "first"));
+
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        sut.write(execution(2L, ServerReportStatus.RUNNING, "first"));
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ArgumentCaptor<List<ExecutionHistory.Execution>> batch = ArgumentCaptor.forClass(List.class);
+        verify(executionHistoryRepository, times(2)).update(batch.capture());
+        assertThat(batch.getAllValues().get(1))
+            .extracting(ExecutionHistory.Execution::executionId)
+            .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void should_give_up_a_batch_after_max_attempts() {
+        doThrow(new RuntimeException("database unavailable")).when(executionHistoryRepository).update(anyList());
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "first"));
+
+        testScheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        verify(executionHistoryRepository, times(ExecutionHistoryWriter.MAX_FLUSH_ATTEMPTS)).update(anyList());
+    }
+
+    @Test
+    void should_write_pending_executions_on_explicit_flush() {
+        sut.write(execution(1L, ServerReportStatus.RUNNING, "first"));
+
+        sut.flush();
+
+        verify(executionHistoryRepository).update(anyList());
+    }
+
+    @Test
+    void should_not_serialize_writes_of_different_executions() throws Exception {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        AtomicBoolean firstWriteReleased = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            ExecutionHistory.Execution execution = invocation.getArgument(1);
+            if (execution.executionId() == 1L) {
+                firstWriteStarted.countDown();
+                firstWriteReleased.set(releaseFirstWrite.await(5, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(executionHistoryRepository).update(anyString(), any());
+
+        Thread first = Thread.ofVirtual().start(() -> sut.write(execution(1L, ServerReportStatus.SUCCESS, "final")));
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        sut.write(execution(2L, ServerReportStatus.SUCCESS, "final"));
+        releaseFirstWrite.countDown();
+        first.join();
+
+        assertThat(firstWriteReleased).isTrue();
+        verify(executionHistoryRepository, times(2)).update(anyString(), any());
+    }
+
+    private ExecutionHistory.Execution execution(long executionId, ServerReportStatus status, String report) {
+        return ImmutableExecutionHistory.Execution.builder()
+            .executionId(executionId)
+            .time(now())
+            .duration(0L)
+            .status(status)
+            .report(report)
+            .testCaseTitle("title")
+            .environment("env")
+            .user("user")
+            .scenarioId("scenario")
+            .build();
+    }
+}
@@ -27,6 +27,7 @@ import fr.enedis.chutney.server.core.domain.execution.report.ScenarioExecutionRe
 import fr.enedis.chutney.server.core.domain.execution.report.ServerReportStatus;
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCore;
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCoreBuilder;
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportPatchCore;
 import fr.enedis.chutney.server.core.domain.execution.state.ExecutionStateRepository;
 import fr.enedis.chutney.server.core.domain.instrument.ChutneyMetrics;
 import fr.enedis.chutney.server.core.domain.scenario.TestCase;
@@ -37,6 +38,7 @@ import tools.jackson.databind.json.JsonMapper;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.observers.TestObserver;
 import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.schedulers.TestScheduler;
 import java.time.Instant;
 import java.util.Arrays;
@@ -130,7 +132,7 @@ public class ScenarioExecutionEngineAsyncTest {
         final Long executionId = 4L;
 
         stubHistoryExecution(scenarioId, executionId);
-        final Triple<Pair<Observable<StepExecutionReportCore>, Long>, List<StepExecutionReportCore>, TestScheduler> engineStub = stubEngineExecution(100);
+        final Triple<Pair<Observable<StepExecutionReportPatchCore>, Long>, List<StepExecutionReportCore>, TestScheduler> engineStub = stubEngineExecution(100);
         RxJavaPlugins.setIoSchedulerHandler(scheduler -> engineStub.getRight());
 
         final ScenarioExecutionEngineAsync sut = new ScenarioExecutionEngineAsync(
@@ -142,6 +144,7 @@ public class ScenarioExecutionEngineAsyncTest {
         );
         sut.setRetentionDelaySeconds(1);
         sut.setDebounceMilliSeconds(0);
+        sut.setHistoryWriteIntervalMilliSeconds(0);
         DataSet dataset = DataSet.builder().withName("ds").withConstants(Map.of("A", "B")).build();
 
         // When
@@ -183,7 +186,7 @@ public class ScenarioExecutionEngineAsyncTest {
         when(executionStateRepository.runningState(scenarioId)).thenReturn(Optional.empty());
 
         stubHistoryExecution(scenarioId, executionId);
-        Triple<Pair<Observable<StepExecutionReportCore>, Long>, List<StepExecutionReportCore>, TestScheduler> engineStub = stubEngineExecution(100);
+        Triple<Pair<Observable<StepExecutionReportPatchCore>, Long>, List<StepExecutionReportCore>, TestScheduler> engineStub = stubEngineExecution(100);
         RxJavaPlugins.setIoSchedulerHandler(scheduler -> engineStub.getRight());
         final List<StepExecutionReportCore> reportsList = engineStub.getMiddle();
 
@@ -209,6 +212,50 @@ public class ScenarioExecutionEngineAsyncTest {
         testObserver.dispose();
     }
 
+    @Test
+    public void should_rebuild_reports_from_engine_patches_and_relay_them_to_patches_followers() {
+        // Given
+        final long executionId = 6L;
+        final TestCase testCase = emptyTestCase();
+        stubHistoryExecution(testCase.id(), executionId);
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> Schedulers.trampoline());
+
+        Instant startDate = Instant.now();
+        StepExecutionReportCore runningReport = stepExecution("root", ServerReportStatus.RUNNING,
+            Arrays.asList(
+                stepExecution("first", ServerReportStatus.SUCCESS, null, startDate),
+                stepExecution("second", ServerReportStatus.RUNNING, null, startDate)), startDate);
+        StepExecutionReportPatchCore secondStepEnd = new StepExecutionReportPatchCore(
+            List.of(1),
+            List.of(stepExecution("root", ServerReportStatus.SUCCESS, List.of(), startDate)),
+            stepExecution("second", ServerReportStatus.SUCCESS, null, startDate));
+        Observable<StepExecutionReportPatchCore> enginePatches = Observable.just(StepExecutionReportPatchCore.snapshot(runningReport), secondStepEnd);
+
+        final ScenarioExecutionEngineAsync sut = new ScenarioExecutionEngineAsync(
+            executionHistoryRepository,
+            executionEngine,
+            executionStateRepository,
+            metrics,
+            om,
+            0,
+            0
+        );
+
+        // When
+        Observable<ScenarioExecutionReport> reports = sut.buildScenarioExecutionReportObservable(new ExecutionRequest(testCase, "", ""), executionId, Pair.of(enginePatches, 0L));
+        TestObserver<StepExecutionReportPatchCore> patchesObserver = sut.followExecutionPatches(testCase.id(), executionId).test();
+        TestObserver<ScenarioExecutionReport> reportsObserver = reports.test();
+
+        // Then
+        reportsObserver.assertComplete();
+        StepExecutionReportCore lastReport = reportsObserver.values().getLast().report;
+        assertThat(lastReport.status).isEqualTo(ServerReportStatus.SUCCESS);
+        assertThat(lastReport.steps).extracting(step -> step.status).containsExactly(ServerReportStatus.SUCCESS, ServerReportStatus.SUCCESS);
+
+        patchesObserver.assertComplete();
+        assertThat(patchesObserver.values()).extracting(patch -> patch.path).containsExactly(List.of(), List.of(1));
+    }
+
     @Test
     public void should_save_not_executed_scenario_report() {
         // Given
@@ -319,7 +366,7 @@ public class ScenarioExecutionEngineAsyncTest {
             .createStepExecutionReport();
     }
 
-    private Triple<Pair<Observable<StepExecutionReportCore>, Long>, List<StepExecutionReportCore>, TestScheduler> stubEngineExecution(long delay) {
+    private Triple<Pair<Observable<StepExecutionReportPatchCore>, Long>, List<StepExecutionReportCore>, TestScheduler> stubEngineExecution(long delay) {
         final List<String> stepNames = Arrays.asList("name", "sub 1", "sub 2");
         Instant startDate = Instant.now();
         final List<StepExecutionReportCore> reportsList = Arrays.asList(
@@ -349,9 +396,10 @@ public class ScenarioExecutionEngineAsyncTest {
                 .delay(delay, TimeUnit.MILLISECONDS, finalTestScheduler));
         }
 
-        when(executionEngine.executeAndFollow(any())).thenReturn(Pair.of(observable, 0L));
+        Observable<StepExecutionReportPatchCore> patches = observable.map(StepExecutionReportPatchCore::snapshot);
+        when(executionEngine.executeAndFollow(any())).thenReturn(Pair.of(patches, 0L));
 
-        return Triple.of(Pair.of(observable, 0L), reportsList, testScheduler);
+        return Triple.of(Pair.of(patches, 0L), reportsList, testScheduler);
     }
 
     private ExecutionHistory.Execution stubHistoryExecution(String scenarioId, long executionId) {
@@ -11,9 +11,14 @@ import static fr.enedis.chutney.config.ServerConfigurationValues.CAMPAIGNS_EXECU
 import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_DELEGATION_PASSWORD_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_DELEGATION_USER_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_EXECUTOR_POOL_SIZE_SPRING_VALUE;
+import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_REPORT_SNAPSHOTS_MAX_BYTES;
+import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_REPORT_SNAPSHOTS_MAX_BYTES_SPRING_VALUE;
+import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_REPORTER_PUBLISHER_SNAPSHOT_INTERVAL_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.ENGINE_REPORTER_PUBLISHER_TTL_SPRING_VALUE;
+import static fr.enedis.chutney.config.ServerConfigurationValues.EXECUTION_ASYNC_HISTORY_WRITE_INTERVAL_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.EXECUTION_ASYNC_PUBLISHER_DEBOUNCE_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.EXECUTION_ASYNC_PUBLISHER_TTL_SPRING_VALUE;
+import static fr.enedis.chutney.config.ServerConfigurationValues.EXECUTORS_VIRTUAL_THREADS_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.TASK_SQL_MINIMUM_MEMORY_PERCENTAGE_REQUIRED;
 import static fr.enedis.chutney.config.ServerConfigurationValues.TASK_SQL_MINIMUM_MEMORY_PERCENTAGE_REQUIRED_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.TASK_SQL_NB_LOGGED_ROW;
@@ -40,64 +45,51 @@ import fr.enedis.chutney.server.core.domain.execution.state.ExecutionStateReposi
 import fr.enedis.chutney.server.core.domain.instrument.ChutneyMetrics;
 import java.util.HashMap;
 import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.ExecutorService;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.TaskExecutor;
-import org.springframework.core.task.support.ExecutorServiceAdapter;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import tools.jackson.databind.ObjectMapper;
 
 @Configuration
 public class ExecutionsConfiguration {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionsConfiguration.class);
-
-
     /**
      * For fr.enedis.chutney.config.ServerConfiguration#executionConfiguration()
      */
     @Bean
-    public ThreadPoolTaskExecutor engineExecutor(@Value(ENGINE_EXECUTOR_POOL_SIZE_SPRING_VALUE) Integer threadForEngine) {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(threadForEngine);
-        executor.setMaxPoolSize(threadForEngine);
-        executor.setThreadNamePrefix("engine-executor");
-        executor.initialize();
-        LOGGER.debug("Pool for engine created with size {}", threadForEngine);
-        return executor;
+    public FactoryBean<ExecutorService> engineExecutor(@Value(ENGINE_EXECUTOR_POOL_SIZE_SPRING_VALUE) Integer threadForEngine,
+                                                       @Value(EXECUTORS_VIRTUAL_THREADS_SPRING_VALUE) boolean virtualThreads) {
+        return ExecutorServices.create(virtualThreads, threadForEngine, "engine-executor");
     }
 
     /**
      * For fr.enedis.chutney.config.ServerConfiguration#campaignExecutionEngine()
      */
     @Bean
-    public TaskExecutor campaignExecutor(@Value(CAMPAIGNS_EXECUTOR_POOL_SIZE_SPRING_VALUE) Integer threadForCampaigns) {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(threadForCampaigns);
-        executor.setMaxPoolSize(threadForCampaigns);
-        executor.setThreadNamePrefix("campaign-executor");
-        executor.initialize();
-        LOGGER.debug("Pool for campaigns created with size {}", threadForCampaigns);
-        return executor;
+    public FactoryBean<ExecutorService> campaignExecutor(@Value(CAMPAIGNS_EXECUTOR_POOL_SIZE_SPRING_VALUE) Integer threadForCampaigns,
+                                                         @Value(EXECUTORS_VIRTUAL_THREADS_SPRING_VALUE) boolean virtualThreads) {
+        return ExecutorServices.create(virtualThreads, threadForCampaigns, "campaign-executor");
     }
 
     @Bean
     public ExecutionConfiguration executionConfiguration(
         @Value(ENGINE_REPORTER_PUBLISHER_TTL_SPRING_VALUE) Long reporterTTL,
-        @Qualifier("engineExecutor") ThreadPoolTaskExecutor engineExecutor,
+        @Value(ENGINE_REPORTER_PUBLISHER_SNAPSHOT_INTERVAL_SPRING_VALUE) Long reporterSnapshotInterval,
+        @Qualifier("engineExecutor") ExecutorService engineExecutor,
         @Value(TASK_SQL_NB_LOGGED_ROW_SPRING_VALUE) String nbLoggedRow,
         @Value(TASK_SQL_MINIMUM_MEMORY_PERCENTAGE_REQUIRED_SPRING_VALUE) String minimumMemoryPercentageRequired,
+        @Value(ENGINE_REPORT_SNAPSHOTS_MAX_BYTES_SPRING_VALUE) String reportSnapshotsMaxBytes,
         @Value(ENGINE_DELEGATION_USER_SPRING_VALUE) String delegateUser,
         @Value(ENGINE_DELEGATION_PASSWORD_SPRING_VALUE) String delegatePassword
     ) {
         Map<String, String> actionsConfiguration = new HashMap<>();
         actionsConfiguration.put(TASK_SQL_NB_LOGGED_ROW, nbLoggedRow);
         actionsConfiguration.put(TASK_SQL_MINIMUM_MEMORY_PERCENTAGE_REQUIRED, minimumMemoryPercentageRequired);
-        return new ExecutionConfiguration(reporterTTL, engineExecutor.getThreadPoolExecutor(), actionsConfiguration, delegateUser, delegatePassword);
+        actionsConfiguration.put(ENGINE_REPORT_SNAPSHOTS_MAX_BYTES, reportSnapshotsMaxBytes);
+        return new ExecutionConfiguration(reporterTTL, reporterSnapshotInterval, engineExecutor, actionsConfiguration, delegateUser, delegatePassword);
     }
 
     @Bean
@@ -115,7 +107,8 @@ public class ExecutionsConfiguration {
                                                               ChutneyMetrics metrics,
                                                               @Qualifier("reportObjectMapper") ObjectMapper objectMapper,
                                                               @Value(EXECUTION_ASYNC_PUBLISHER_TTL_SPRING_VALUE) long replayerRetention,
-                                                              @Value(EXECUTION_ASYNC_PUBLISHER_DEBOUNCE_SPRING_VALUE) long debounceMilliSeconds) {
+                                                              @Value(EXECUTION_ASYNC_PUBLISHER_DEBOUNCE_SPRING_VALUE) long debounceMilliSeconds,
+                                                              @Value(EXECUTION_ASYNC_HISTORY_WRITE_INTERVAL_SPRING_VALUE) long historyWriteIntervalMilliSeconds) {
         return new ScenarioExecutionEngineAsync(
             executionHistoryRepository,
             executionEngine,
@@ -123,7 +116,8 @@ public class ExecutionsConfiguration {
             metrics,
             objectMapper,
             replayerRetention,
-            debounceMilliSeconds);
+            debounceMilliSeconds,
+            historyWriteIntervalMilliSeconds);
     }
 
     @Bean
@@ -135,7 +129,7 @@ public class ExecutionsConfiguration {
                                                     TestCaseRepositoryAggregator testCaseRepository,
                                                     JiraXrayEmbeddedApi jiraXrayEmbeddedApi,
                                                     ChutneyMetrics metrics,
-                                                    @Qualifier("campaignExecutor") TaskExecutor campaignExecutor,
+                                                    @Qualifier("campaignExecutor") ExecutorService campaignExecutor,
                                                     DataSetRepository datasetRepository,
                                                     ObjectMapper objectMapper) { // TODO - Choose explicitly which mapper to use
         return new CampaignExecutionEngine(
@@ -147,7 +141,7 @@ public class ExecutionsConfiguration {
             testCaseRepository,
             jiraXrayEmbeddedApi,
             metrics,
-            new ExecutorServiceAdapter(campaignExecutor),
+            campaignExecutor,
             datasetRepository,
             objectMapper
         );
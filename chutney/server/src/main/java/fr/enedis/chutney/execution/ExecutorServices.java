@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.execution;
+
+import fr.enedis.chutney.tools.VirtualThreadExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.scheduling.concurrent.ExecutorConfigurationSupport;
+import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
+
+/**
+ * Build executors either as fixed size thread pools or as virtual threads executors.
+ * In virtual threads mode, the size is used as an admission limit of concurrently running tasks.
+ * <p>
+ * Executors are given as factory beans, so that Spring manages their lifecycle and shuts them down with the application context.
+ */
+final class ExecutorServices {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorServices.class);
+
+    private ExecutorServices() {
+    }
+
+    static FactoryBean<ExecutorService> create(boolean virtualThreads, int size, String name) {
+        if (virtualThreads) {
+            LOGGER.debug("Virtual threads executor {} created with admission limit {}", name, size);
+            return new VirtualThreadExecutorFactoryBean(name, size);
+        }
+        ThreadPoolExecutorFactoryBean executor = new ThreadPoolExecutorFactoryBean();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setThreadNamePrefix(name);
+        LOGGER.debug("Pool {} created with size {}", name, size);
+        return executor;
+    }
+
+    private static final class VirtualThreadExecutorFactoryBean extends ExecutorConfigurationSupport implements FactoryBean<ExecutorService> {
+
+        private final String name;
+        private final int admissionLimit;
+        private ExecutorService executor;
+
+        private VirtualThreadExecutorFactoryBean(String name, int admissionLimit) {
+            this.name = name;
+            this.admissionLimit = admissionLimit;
+        }
+
+        @Override
+        protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+            executor = new VirtualThreadExecutorService(name, admissionLimit);
+            return executor;
+        }
+
+        @Override
+        public ExecutorService getObject() {
+            return executor;
+        }
+
+        @Override
+        public Class<? extends ExecutorService> getObjectType() {
+            return executor != null ? executor.getClass() : ExecutorService.class;
+        }
+    }
+}
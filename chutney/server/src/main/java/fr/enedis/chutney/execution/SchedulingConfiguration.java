@@ -7,6 +7,7 @@
 
 package fr.enedis.chutney.execution;
 
+import static fr.enedis.chutney.config.ServerConfigurationValues.EXECUTORS_VIRTUAL_THREADS_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.SCHEDULED_CAMPAIGNS_EXECUTOR_POOL_SIZE_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.SCHEDULED_PURGE_MAX_CAMPAIGN_EXECUTIONS_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.SCHEDULED_PURGE_MAX_SCENARIO_EXECUTIONS_SPRING_VALUE;
@@ -25,18 +26,17 @@ import java.util.concurrent.ExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.core.task.support.ExecutorServiceAdapter;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
@@ -82,14 +82,9 @@ public class SchedulingConfiguration implements AsyncConfigurer {
      * @see CampaignScheduler#executeScheduledCampaigns()
      */
     @Bean
-    public ExecutorService scheduledCampaignsExecutor(@Value(SCHEDULED_CAMPAIGNS_EXECUTOR_POOL_SIZE_SPRING_VALUE) Integer threadForScheduledCampaigns) {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(threadForScheduledCampaigns);
-        executor.setMaxPoolSize(threadForScheduledCampaigns);
-        executor.setThreadNamePrefix("scheduled-campaigns-executor");
-        executor.initialize();
-        LOGGER.debug("Pool for scheduled campaigns created with size {}", threadForScheduledCampaigns);
-        return new ExecutorServiceAdapter(executor);
+    public FactoryBean<ExecutorService> scheduledCampaignsExecutor(@Value(SCHEDULED_CAMPAIGNS_EXECUTOR_POOL_SIZE_SPRING_VALUE) Integer threadForScheduledCampaigns,
+                                                                   @Value(EXECUTORS_VIRTUAL_THREADS_SPRING_VALUE) boolean virtualThreads) {
+        return ExecutorServices.create(virtualThreads, threadForScheduledCampaigns, "scheduled-campaigns-executor");
     }
 
     @Bean
@@ -145,6 +145,22 @@ public class ScenarioExecutionUiController {
         );
     }
 
+    /**
+     * Follow a running execution through report patches: first event holds the current report, following ones the changed steps.
+     */
+    @PreAuthorize("hasAuthority('EXECUTION_READ')")
+    @GetMapping(path = BASE_URL + "/{scenarioId}/execution/{executionId}/patches")
+    public Flux<ServerSentEvent<String>> followScenarioExecutionPatches(@PathVariable("scenarioId") String scenarioId, @PathVariable("executionId") Long executionId) {
+        LOGGER.debug("followScenarioExecutionPatches for scenarioId='{}' and executionID='{}'", scenarioId, executionId);
+        return Flux.from(executionEngineAsync.followExecutionPatches(scenarioId, executionId).map(
+            patch -> ServerSentEvent.<String>builder()
+                .id(String.valueOf(executionId))
+                .event(patch.isSnapshot() && patch.report.isTerminated() ? "last" : "patch")
+                .data(reportObjectMapper.writeValueAsString(patch))
+                .build()
+        ).toFlowable(BackpressureStrategy.BUFFER));
+    }
+
     @PreAuthorize("hasAuthority('EXECUTION_WRITE')")
     @PostMapping(path = BASE_URL + "/{scenarioId}/execution/{executionId}/stop")
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
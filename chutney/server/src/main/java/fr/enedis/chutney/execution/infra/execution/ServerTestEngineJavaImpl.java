@@ -13,6 +13,7 @@ import fr.enedis.chutney.engine.api.execution.TestEngine;
 import fr.enedis.chutney.server.core.domain.execution.ExecutionRequest;
 import fr.enedis.chutney.server.core.domain.execution.ServerTestEngine;
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCore;
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportPatchCore;
 import io.reactivex.rxjava3.core.Observable;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -35,11 +36,11 @@ public class ServerTestEngineJavaImpl implements ServerTestEngine {
     }
 
     @Override
-    public Pair<Observable<StepExecutionReportCore>, Long> executeAndFollow(ExecutionRequest executionRequest) {
+    public Pair<Observable<StepExecutionReportPatchCore>, Long> executeAndFollow(ExecutionRequest executionRequest) {
         ExecutionRequestDto executionRequestDto = executionRequestMapper.toDto(executionRequest);
         Long executionId = executionEngine.executeAsync(executionRequestDto);
         return Pair.of(
-            executionEngine.receiveNotification(executionId).map(StepExecutionReportMapperCore::fromDto),
+            executionEngine.receivePatchNotification(executionId).map(StepExecutionReportMapperCore::fromDto),
             executionId
         );
     }
@@ -11,9 +11,11 @@ import static java.util.Collections.EMPTY_MAP;
 
 import fr.enedis.chutney.engine.api.execution.StatusDto;
 import fr.enedis.chutney.engine.api.execution.StepExecutionReportDto;
+import fr.enedis.chutney.engine.api.execution.StepExecutionReportPatchDto;
 import fr.enedis.chutney.server.core.domain.execution.report.ServerReportStatus;
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCore;
 import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportCoreBuilder;
+import fr.enedis.chutney.server.core.domain.execution.report.StepExecutionReportPatchCore;
 import java.util.stream.Collectors;
 
 class StepExecutionReportMapperCore {
@@ -39,6 +41,14 @@ class StepExecutionReportMapperCore {
             .createStepExecutionReport();
     }
 
+    static StepExecutionReportPatchCore fromDto(StepExecutionReportPatchDto patchDto) {
+        return new StepExecutionReportPatchCore(
+            patchDto.path,
+            patchDto.ancestors.stream().map(StepExecutionReportMapperCore::fromDto).collect(Collectors.toList()),
+            fromDto(patchDto.report)
+        );
+    }
+
     private static class ReportStatusMapper {
         public static ServerReportStatus fromDto(StatusDto status) {
             return ServerReportStatus.valueOf(status.name());
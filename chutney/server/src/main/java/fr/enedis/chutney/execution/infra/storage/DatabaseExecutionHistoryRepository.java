@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
@@ -179,6 +180,21 @@ class DatabaseExecutionHistoryRepository implements ExecutionHistoryRepository {
         updateReport(updatedExecution);
     }
 
+    @Override
+    @Transactional
+    public void update(List<Execution> updatedExecutions) {
+        Map<Long, Execution> updatedExecutionsById = updatedExecutions.stream()
+            .collect(Collectors.toMap(Execution::executionId, Function.identity(), (previous, last) -> last));
+
+        List<ScenarioExecutionEntity> executions = scenarioExecutionsJpaRepository.findAllById(updatedExecutionsById.keySet());
+        executions.forEach(execution -> execution.updateFromExecution(updatedExecutionsById.get(execution.id())));
+        scenarioExecutionsJpaRepository.saveAll(executions);
+
+        List<ScenarioExecutionReportEntity> reports = scenarioExecutionReportJpaRepository.findAllById(updatedExecutionsById.keySet());
+        reports.forEach(report -> report.updateReport(updatedExecutionsById.get(report.scenarioExecutionId())));
+        scenarioExecutionReportJpaRepository.saveAll(reports);
+    }
+
     private void updateReport(Execution execution) throws ReportNotFoundException {
         ScenarioExecutionReportEntity scenarioExecutionReport = scenarioExecutionReportJpaRepository.findById(execution.executionId()).orElseThrow(
             () -> new ReportNotFoundException(execution.executionId())
@@ -7,6 +7,8 @@
 
 package fr.enedis.chutney.execution.infra.storage.index;
 
+import static fr.enedis.chutney.index.infra.SubstringSearch.addSubstringField;
+import static fr.enedis.chutney.index.infra.SubstringSearch.substringQuery;
 import static org.apache.lucene.document.Field.Store;
 
 import fr.enedis.chutney.execution.infra.storage.jpa.ScenarioExecutionReportEntity;
@@ -23,7 +25,6 @@ import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
-import org.apache.lucene.search.WildcardQuery;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
@@ -41,29 +42,38 @@ public class ExecutionReportIndexRepository {
     }
 
     public void save(ScenarioExecutionReportEntity report) {
-        Document document = new Document();
-        document.add(new StringField(WHAT, WHAT_VALUE, Store.YES));
-        document.add(new StringField(ID, report.scenarioExecutionId().toString(), Store.YES));
-        document.add(new TextField(REPORT, report.getReport().toLowerCase(), Store.NO));
-        luceneIndexRepository.index(document);
+        luceneIndexRepository.index(createDocument(report));
     }
 
     public void saveAll(List<ScenarioExecutionReportEntity> reports) {
-        reports.forEach(this::save);
+        luceneIndexRepository.indexAll(reports.stream().map(this::createDocument).toList());
     }
 
     public void delete(Long scenarioExecutionId) {
+        luceneIndexRepository.delete(byIdQuery(scenarioExecutionId));
+    }
+
+    public void deleteAllById(Set<Long> scenarioExecutionIds) {
+        luceneIndexRepository.delete(scenarioExecutionIds.stream().map(this::byIdQuery).toList());
+    }
+
+    private Document createDocument(ScenarioExecutionReportEntity report) {
+        Document document = new Document();
+        document.add(new StringField(WHAT, WHAT_VALUE, Store.YES));
+        document.add(new StringField(ID, report.scenarioExecutionId().toString(), Store.YES));
+        String reportContent = report.getReport().toLowerCase();
+        document.add(new TextField(REPORT, reportContent, Store.NO));
+        addSubstringField(document, REPORT, reportContent);
+        return document;
+    }
+
+    private Query byIdQuery(Long scenarioExecutionId) {
         Query whatQuery = new TermQuery(new Term(WHAT, WHAT_VALUE));
         Query idQuery = new TermQuery(new Term(ID, scenarioExecutionId.toString()));
-        BooleanQuery query = new BooleanQuery.Builder()
+        return new BooleanQuery.Builder()
             .add(idQuery, BooleanClause.Occur.MUST)
             .add(whatQuery, BooleanClause.Occur.MUST)
             .build();
-        luceneIndexRepository.delete(query);
-    }
-
-    public void deleteAllById(Set<Long> scenarioExecutionIds) {
-        scenarioExecutionIds.forEach(this::delete);
     }
 
 
@@ -77,7 +87,7 @@ public class ExecutionReportIndexRepository {
 
     private List<Hit> search(String keyword) {
         Query whatQuery = new TermQuery(new Term(WHAT, WHAT_VALUE));
-        Query reportQuery = new WildcardQuery(new Term(REPORT, "*" + keyword.toLowerCase() + "*"));
+        Query reportQuery = substringQuery(REPORT, keyword);
 
         BooleanQuery query = new BooleanQuery.Builder()
             .add(reportQuery, BooleanClause.Occur.MUST)
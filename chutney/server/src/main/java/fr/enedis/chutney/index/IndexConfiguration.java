@@ -7,7 +7,9 @@
 
 package fr.enedis.chutney.index;
 
+import static fr.enedis.chutney.config.ServerConfigurationValues.INDEXING_COMMIT_INTERVAL_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.INDEXING_FOLDER_SPRING_VALUE;
+import static fr.enedis.chutney.config.ServerConfigurationValues.INDEXING_REFRESH_INTERVAL_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.INDEXING_TTL_UNIT_SPRING_VALUE;
 import static fr.enedis.chutney.config.ServerConfigurationValues.INDEXING_TTL_VALUE_SPRING_VALUE;
 
@@ -18,6 +20,7 @@ import fr.enedis.chutney.index.infra.config.IndexConfig;
 import fr.enedis.chutney.index.infra.config.OnDiskIndexConfig;
 import fr.enedis.chutney.migration.domain.DataMigrationExecutor;
 import fr.enedis.chutney.migration.domain.DataMigrator;
+import java.time.Duration;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +34,12 @@ public class IndexConfiguration {
     @Value(INDEXING_FOLDER_SPRING_VALUE)
     private String indexFolder;
 
+    @Value(INDEXING_REFRESH_INTERVAL_SPRING_VALUE)
+    private long indexRefreshIntervalMilliseconds;
+
+    @Value(INDEXING_COMMIT_INTERVAL_SPRING_VALUE)
+    private long indexCommitIntervalMilliseconds;
+
     @Bean
     public IndexService indexService(List<IndexRepository<?>> indexRepositories) {
         return new IndexService(indexRepositories);
@@ -38,22 +47,30 @@ public class IndexConfiguration {
 
     @Bean
     public LuceneIndexRepository reportLuceneIndexRepository(IndexConfig reportIndexConfig) {
-        return new LuceneIndexRepository(reportIndexConfig);
+        return luceneIndexRepository(reportIndexConfig);
     }
 
     @Bean
     public LuceneIndexRepository scenarioLuceneIndexRepository(IndexConfig scenarioIndexConfig) {
-        return new LuceneIndexRepository(scenarioIndexConfig);
+        return luceneIndexRepository(scenarioIndexConfig);
     }
 
     @Bean
     public LuceneIndexRepository datasetLuceneIndexRepository(IndexConfig datasetIndexConfig) {
-        return new LuceneIndexRepository(datasetIndexConfig);
+        return luceneIndexRepository(datasetIndexConfig);
     }
 
     @Bean
     public LuceneIndexRepository campaignLuceneIndexRepository(IndexConfig campaignIndexConfig) {
-        return new LuceneIndexRepository(campaignIndexConfig);
+        return luceneIndexRepository(campaignIndexConfig);
+    }
+
+    private LuceneIndexRepository luceneIndexRepository(IndexConfig indexConfig) {
+        return new LuceneIndexRepository(
+            indexConfig,
+            Duration.ofMillis(indexRefreshIntervalMilliseconds),
+            Duration.ofMillis(indexCommitIntervalMilliseconds)
+        );
     }
 
     @Bean
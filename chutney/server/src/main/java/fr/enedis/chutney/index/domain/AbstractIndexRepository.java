@@ -7,6 +7,8 @@
 package fr.enedis.chutney.index.domain;
 
 
+import static fr.enedis.chutney.index.infra.SubstringSearch.addSubstringField;
+import static fr.enedis.chutney.index.infra.SubstringSearch.substringQuery;
 import static org.apache.lucene.search.BooleanClause.Occur.MUST;
 import static org.apache.lucene.search.BooleanClause.Occur.SHOULD;
 
@@ -22,7 +24,6 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
-import org.apache.lucene.search.WildcardQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
@@ -36,6 +37,7 @@ public abstract class AbstractIndexRepository<T> implements IndexRepository<T> {
     protected static final String CONTENT = "content";
     protected static final String DESCRIPTION = "description";
     protected static final String TAGS = "tags";
+    private static final List<String> SEARCHED_FIELDS = List.of(ID, TITLE, DESCRIPTION, CONTENT, TAGS);
 
     protected final String whatValue;
 
@@ -53,6 +55,7 @@ public abstract class AbstractIndexRepository<T> implements IndexRepository<T> {
     @Override
     public void save(T entity) {
         Document document = createDocument(entity);
+        SEARCHED_FIELDS.forEach(field -> addSubstringField(document, field, document.get(field)));
         luceneIndexRepository.update(byIdQuery(getId(entity)), document);
     }
 
@@ -72,12 +75,8 @@ public abstract class AbstractIndexRepository<T> implements IndexRepository<T> {
 
         for (String kw : keywords) {
             BooleanQuery.Builder fieldQueryBuilder = new BooleanQuery.Builder()
-                .setMinimumNumberShouldMatch(1)
-                .add(likeQuery(ID, kw), SHOULD)
-                .add(likeQuery(TITLE, kw), SHOULD)
-                .add(likeQuery(DESCRIPTION, kw), SHOULD)
-                .add(likeQuery(CONTENT, kw), SHOULD)
-                .add(likeQuery(TAGS, kw), SHOULD);
+                .setMinimumNumberShouldMatch(1);
+            SEARCHED_FIELDS.forEach(field -> fieldQueryBuilder.add(substringQuery(field, kw), SHOULD));
 
             propertiesQueryBuilder.add(fieldQueryBuilder.build(), MUST);
         }
@@ -102,10 +101,6 @@ public abstract class AbstractIndexRepository<T> implements IndexRepository<T> {
         return luceneIndexRepository.count(whatQuery);
     }
 
-    private Query likeQuery(String column, String keyword) {
-        return new WildcardQuery(new Term(column, "*" + keyword + "*"));
-    }
-
     private Query byIdQuery(String id) {
         Query whatQuery = new TermQuery(new Term(WHAT, whatValue));
         Query idQuery = new TermQuery(new Term(ID, id));
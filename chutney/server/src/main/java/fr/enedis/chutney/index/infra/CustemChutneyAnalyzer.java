@@ -15,9 +15,22 @@ import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
 
 public class CustemChutneyAnalyzer extends Analyzer {
 
+    /**
+     * Fields with this suffix are indexed as n-grams of their tokens, see {@link SubstringSearch}
+     */
+    public static final String NGRAM_FIELD_SUFFIX = "_ngram";
+    public static final int MIN_GRAM = 3;
+    public static final int MAX_GRAM = 10;
+
+    public CustemChutneyAnalyzer() {
+        // Token stream components depend on field name
+        super(PER_FIELD_REUSE_STRATEGY);
+    }
+
     @Override
     protected TokenStreamComponents createComponents(String fieldName) {
         Tokenizer source = new WhitespaceTokenizer();
@@ -25,6 +38,9 @@ public class CustemChutneyAnalyzer extends Analyzer {
         List<String> stopWords = List.of("#", "-", "+", "~", "*", "/", "\\");
         CharArraySet stopSet = new CharArraySet(stopWords, true);
         tokenStream = new StopFilter(tokenStream, stopSet);
+        if (fieldName.endsWith(NGRAM_FIELD_SUFFIX)) {
+            tokenStream = new NGramTokenFilter(tokenStream, MIN_GRAM, MAX_GRAM, true);
+        }
         return new TokenStreamComponents(source, tokenStream);
     }
 }
@@ -7,16 +7,23 @@
 
 package fr.enedis.chutney.index.infra;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import fr.enedis.chutney.index.infra.config.IndexConfig;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.index.Term;
@@ -26,32 +33,65 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.search.highlight.Highlighter;
 import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
 import org.apache.lucene.search.highlight.QueryScorer;
 import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
-import org.apache.lucene.store.Directory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class LuceneIndexRepository {
+/**
+ * Index writes are not committed one by one : they are made visible to searches through near-real-time readers,
+ * and committed to disk on a schedule and on {@link #close()}.
+ */
+public class LuceneIndexRepository implements AutoCloseable {
+
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofSeconds(5);
 
     private final IndexWriter indexWriter;
-    private final Directory indexDirectory;
     private final Analyzer analyzer;
+    private final SearcherManager searcherManager;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong refreshedWrites = new AtomicLong();
+    private final boolean commitOnWrite;
+    private final ScheduledExecutorService scheduler;
     private static final Logger LOGGER = LoggerFactory.getLogger(LuceneIndexRepository.class);
 
     public LuceneIndexRepository(IndexConfig config) {
-        this.indexDirectory = config.directory();
+        this(config, DEFAULT_REFRESH_INTERVAL, DEFAULT_COMMIT_INTERVAL);
+    }
+
+    /**
+     * @param refreshInterval interval between background refreshes of the search reader
+     * @param commitInterval  interval between commits of pending writes, zero to commit each write
+     */
+    public LuceneIndexRepository(IndexConfig config, Duration refreshInterval, Duration commitInterval) {
         this.indexWriter = config.indexWriter();
         this.analyzer = config.analyzer();
+        try {
+            this.searcherManager = new SearcherManager(indexWriter, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't open index searcher", e);
+        }
+        this.commitOnWrite = commitInterval.isZero();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("lucene-index-maintenance").daemon().factory());
+        this.scheduler.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(), MILLISECONDS);
+        if (!commitOnWrite) {
+            this.scheduler.scheduleWithFixedDelay(this::commit, commitInterval.toMillis(), commitInterval.toMillis(), MILLISECONDS);
+        }
     }
 
     public void index(Document document) {
+        indexAll(List.of(document));
+    }
+
+    public void indexAll(List<Document> documents) {
         try {
-            this.indexWriter.addDocument(document);
-            this.indexWriter.commit();
+            this.indexWriter.addDocuments(documents);
+            written();
         } catch (Exception e) {
             LOGGER.error("Couldn't index data", e);
         }
@@ -60,7 +100,7 @@ public class LuceneIndexRepository {
     public void update(Query query, Document document) {
         try {
             this.indexWriter.updateDocuments(query, List.of(document));
-            this.indexWriter.commit();
+            written();
         } catch (Exception e) {
             LOGGER.error("Couldn't index data", e);
         }
@@ -68,47 +108,126 @@ public class LuceneIndexRepository {
 
     public List<Document> search(Query query, int limit) {
         List<Document> result = new ArrayList<>();
-        try (DirectoryReader reader = DirectoryReader.open(indexDirectory)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
+        IndexSearcher searcher = null;
+        try {
+            searcher = acquireSearcher();
             ScoreDoc[] hits = searcher.search(query, limit).scoreDocs;
             StoredFields storedFields = searcher.storedFields();
             for (ScoreDoc hit : hits) {
                 result.add(storedFields.document(hit.doc));
             }
         } catch (Exception ignored) {
+        } finally {
+            releaseSearcher(searcher);
         }
         return result;
     }
 
     public int count(Query query) {
-        try (DirectoryReader reader = DirectoryReader.open(indexDirectory)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
+        IndexSearcher searcher = null;
+        try {
+            searcher = acquireSearcher();
             return searcher.count(query);
-
         } catch (Exception e) {
             LOGGER.error("Couldn't count elements in index", e);
             return 0;
+        } finally {
+            releaseSearcher(searcher);
         }
     }
 
     public void delete(Query query) {
+        delete(List.of(query));
+    }
+
+    public void delete(List<Query> queries) {
         try {
-            indexWriter.deleteDocuments(query);
-            indexWriter.commit();
+            indexWriter.deleteDocuments(queries.toArray(new Query[0]));
+            written();
         } catch (IOException e) {
-            LOGGER.error("Couldn't delete index using query " + query, e);
+            LOGGER.error("Couldn't delete index using queries " + queries, e);
         }
     }
 
     public void deleteAll() {
         try {
             indexWriter.deleteAll();
-            indexWriter.commit();
+            written();
         } catch (Exception e) {
             LOGGER.error("Couldn't delete all indexes", e);
         }
     }
 
+    /**
+     * Commit pending writes to disk.
+     */
+    public void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (Exception e) {
+            LOGGER.error("Couldn't commit index", e);
+        }
+    }
+
+    /**
+     * Stop background tasks and commit pending writes. Index writer is left open.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, SECONDS)) {
+                LOGGER.warn("Index maintenance tasks did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commit();
+        try {
+            searcherManager.close();
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't close index searcher", e);
+        }
+    }
+
+    private void written() throws IOException {
+        writes.incrementAndGet();
+        if (commitOnWrite) {
+            indexWriter.commit();
+        }
+    }
+
+    private IndexSearcher acquireSearcher() throws IOException {
+        long written = writes.get();
+        if (refreshedWrites.get() < written) {
+            // Read your own writes without waiting for the background refresh.
+            // Writes are marked as refreshed only once a refresh has succeeded, so concurrent readers wait for it too.
+            searcherManager.maybeRefreshBlocking();
+            refreshedWrites.accumulateAndGet(written, Math::max);
+        }
+        return searcherManager.acquire();
+    }
+
+    private void releaseSearcher(IndexSearcher searcher) {
+        if (searcher != null) {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException e) {
+                LOGGER.warn("Couldn't release index searcher", e);
+            }
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't refresh index searcher", e);
+        }
+    }
+
     public String highlight(List<String> keywords, String field, String value, boolean strict) {
         if (StringUtils.isBlank(value)) {
             return null;
@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.index.infra;
+
+import static fr.enedis.chutney.index.infra.CustemChutneyAnalyzer.MAX_GRAM;
+import static fr.enedis.chutney.index.infra.CustemChutneyAnalyzer.MIN_GRAM;
+import static fr.enedis.chutney.index.infra.CustemChutneyAnalyzer.NGRAM_FIELD_SUFFIX;
+import static org.apache.lucene.search.BooleanClause.Occur.FILTER;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+
+/**
+ * Substring search on a field, through term lookups on its n-gram sub field instead of leading wildcard queries
+ * which scan the whole terms dictionary.
+ * <p>
+ * As for wildcard queries, a keyword matches when it is a substring of one of the field tokens.
+ * Keywords longer than {@link CustemChutneyAnalyzer#MAX_GRAM} match documents holding all their n-grams, possibly in different tokens.
+ */
+public final class SubstringSearch {
+
+    private SubstringSearch() {
+    }
+
+    public static String ngramField(String field) {
+        return field + NGRAM_FIELD_SUFFIX;
+    }
+
+    /**
+     * Add the n-gram sub field of given field, if the document holds a value for it.
+     */
+    public static void addSubstringField(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(ngramField(field), value, Field.Store.NO));
+        }
+    }
+
+    public static Query substringQuery(String field, String keyword) {
+        String kw = keyword.toLowerCase();
+        if (kw.length() < MIN_GRAM || kw.contains("*") || kw.contains("?")) {
+            return new WildcardQuery(new Term(field, "*" + kw + "*"));
+        }
+        if (kw.length() <= MAX_GRAM) {
+            return new ConstantScoreQuery(new TermQuery(new Term(ngramField(field), kw)));
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (int start = 0; start < kw.length(); start += MAX_GRAM) {
+            int gramStart = Math.min(start, kw.length() - MAX_GRAM);
+            builder.add(new TermQuery(new Term(ngramField(field), kw.substring(gramStart, gramStart + MAX_GRAM))), FILTER);
+        }
+        return new ConstantScoreQuery(builder.build());
+    }
+}
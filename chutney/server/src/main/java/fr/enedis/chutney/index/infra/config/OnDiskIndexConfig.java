@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Map;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexFormatTooOldException;
@@ -30,6 +31,13 @@ public class OnDiskIndexConfig implements IndexConfig {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OnDiskIndexConfig.class);
 
+    /**
+     * Version of indexed documents structure, to be incremented when it changes so that existing indexes are rebuilt.
+     * 2 : n-gram sub fields for substring search
+     */
+    static final String INDEX_VERSION = "2";
+    static final String INDEX_VERSION_KEY = "chutney.index.version";
+
     private final IndexWriter indexWriter;
     private final Directory indexDirectory;
     private final Analyzer analyzer;
@@ -50,7 +58,7 @@ public class OnDiskIndexConfig implements IndexConfig {
     private OpenedIndex openIndex(Path path, String indexName) throws IOException {
         Directory directory = FSDirectory.open(path);
         try {
-            return new OpenedIndex(directory, createAndCommitWriter(directory));
+            return new OpenedIndex(directory, createAndCommitWriter(directory, indexName));
         } catch (IOException | IllegalArgumentException e) {
             closeDirectory(directory);
             if (!isRecoverableIndexError(e)) {
@@ -67,16 +75,36 @@ public class OnDiskIndexConfig implements IndexConfig {
             );
             cleanFolder(path);
             Directory recreatedDirectory = FSDirectory.open(path);
-            return new OpenedIndex(recreatedDirectory, createAndCommitWriter(recreatedDirectory));
+            return new OpenedIndex(recreatedDirectory, createAndCommitWriter(recreatedDirectory, indexName));
         }
     }
 
-    private IndexWriter createAndCommitWriter(Directory directory) throws IOException {
+    private IndexWriter createAndCommitWriter(Directory directory, String indexName) throws IOException {
         IndexWriter writer = new IndexWriter(directory, getIndexWriterConfig());
+        if (!INDEX_VERSION.equals(indexVersion(writer))) {
+            if (writer.getDocStats().numDocs > 0) {
+                LOGGER.info("Index {} has an outdated structure. Clearing it for re-indexing.", indexName);
+            }
+            writer.deleteAll();
+            writer.setLiveCommitData(Map.of(INDEX_VERSION_KEY, INDEX_VERSION).entrySet());
+        }
         writer.commit();
         return writer;
     }
 
+    private static String indexVersion(IndexWriter writer) {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : commitData) {
+            if (INDEX_VERSION_KEY.equals(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
     private static boolean isRecoverableIndexError(Throwable throwable) {
         Throwable current = throwable;
         while (current != null) {
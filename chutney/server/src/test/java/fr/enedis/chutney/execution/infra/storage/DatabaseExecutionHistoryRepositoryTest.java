@@ -243,6 +243,22 @@ public class DatabaseExecutionHistoryRepositoryTest {
             assertThat(updatedExecution.info()).hasValue("updated");
         }
 
+        @Test
+        public void update_executions_in_batch_skips_unknown_ones() {
+            String scenarioId = givenScenario().getId().toString();
+            Execution first = sut.store(scenarioId, buildDetachedExecution(RUNNING, "first", ""));
+            Execution second = sut.store(scenarioId, buildDetachedExecution(RUNNING, "second", ""));
+
+            sut.update(List.of(
+                buildDetachedExecution(RUNNING, "first updated", "").attach(first.executionId(), scenarioId),
+                buildDetachedExecution(RUNNING, "second updated", "").attach(second.executionId(), scenarioId),
+                buildDetachedExecution(RUNNING, "unknown", "").attach(-1L, scenarioId)
+            ));
+
+            assertThat(sut.getExecution(scenarioId, first.executionId()).info()).hasValue("first updated");
+            assertThat(sut.getExecution(scenarioId, second.executionId()).info()).hasValue("second updated");
+        }
+
         @Disabled("TODO - Failed sometimes - investigation has to be done")
         @Test
         public void update_preserve_other_executions_order() {
@@ -117,6 +117,17 @@ public class IndexRepositoryTest {
         assertThat(results.getFirst().title()).isEqualTo("~12345 OR <mark>#appel</mark> OR --copy");
     }
 
+    @Test
+    public void search_substring_of_words() {
+        ScenarioEntity scenario = createScenarioEntity(1L, "Scenario Title", "Description", "Call of service_with_a_long_name", "tag1,tag2");
+        scenarioRepository.save(scenario);
+
+        assertThat(scenarioRepository.search("enari")).hasSize(1);
+        assertThat(scenarioRepository.search("with_a_long_nam")).hasSize(1);
+        assertThat(scenarioRepository.search("with_a_short_nam")).isEmpty();
+        assertThat(scenarioRepository.search("ag2")).hasSize(1);
+    }
+
     private CampaignEntity createCampaignEntity(Long id, String title, String description, String environment, boolean parallelRun, boolean retryAuto, String datasetId, List<String> tags, Integer version, List<CampaignScenarioEntity> campaignScenarios) {
         return new CampaignEntity(id, title, description, environment, parallelRun, retryAuto, datasetId, tags, version, campaignScenarios);
     }
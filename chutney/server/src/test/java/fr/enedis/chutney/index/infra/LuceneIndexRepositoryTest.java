@@ -15,11 +15,18 @@ import static org.mockito.Mockito.when;
 
 import fr.enedis.chutney.index.infra.config.IndexConfig;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -35,6 +42,7 @@ public class LuceneIndexRepositoryTest {
     private Directory directory;
     private Analyzer analyzer;
     private IndexWriter indexWriter;
+    private IndexConfig indexConfig;
     private LuceneIndexRepository luceneIndexRepository;
 
     @BeforeEach
@@ -44,7 +52,7 @@ public class LuceneIndexRepositoryTest {
         IndexWriterConfig config = new IndexWriterConfig(analyzer);
         indexWriter = new IndexWriter(directory, config);
 
-        IndexConfig indexConfig = mock(IndexConfig.class);
+        indexConfig = mock(IndexConfig.class);
         when(indexConfig.directory()).thenReturn(directory);
         when(indexConfig.indexWriter()).thenReturn(indexWriter);
         when(indexConfig.analyzer()).thenReturn(analyzer);
@@ -54,6 +62,7 @@ public class LuceneIndexRepositoryTest {
 
     @AfterEach
     public void tearDown() throws IOException {
+        luceneIndexRepository.close();
         indexWriter.close();
         directory.close();
     }
@@ -99,6 +108,70 @@ public class LuceneIndexRepositoryTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    public void testIndexAllAndDeleteAll() throws Exception {
+        luceneIndexRepository.indexAll(List.of(
+            createDocument("First", "Bulk document"),
+            createDocument("Second", "Bulk document")
+        ));
+        assertEquals(2, luceneIndexRepository.count(createQuery("content", "bulk")));
+
+        luceneIndexRepository.delete(List.of(createQuery("title", "first"), createQuery("title", "second")));
+        assertEquals(0, luceneIndexRepository.count(createQuery("content", "bulk")));
+    }
+
+    @Test
+    public void testConcurrentSearchesReadPriorWrites() throws Exception {
+        Query query = createQuery("content", "concurrent");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 1; i <= 50; i++) {
+                luceneIndexRepository.index(createDocument("Document " + i, "concurrent write"));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> counts = new ArrayList<>();
+                for (int reader = 0; reader < 4; reader++) {
+                    counts.add(executor.submit(() -> {
+                        start.await();
+                        return luceneIndexRepository.count(query);
+                    }));
+                }
+                start.countDown();
+                for (Future<Integer> count : counts) {
+                    assertEquals(i, count.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCommitPendingWritesOnClose() throws Exception {
+        indexWriter.commit();
+        luceneIndexRepository.index(createDocument("Durable", "Document to commit"));
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(0, reader.numDocs());
+        }
+
+        luceneIndexRepository.close();
+
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(1, reader.numDocs());
+        }
+    }
+
+    @Test
+    public void testCommitOnWriteWithZeroCommitInterval() throws Exception {
+        luceneIndexRepository.close();
+        luceneIndexRepository = new LuceneIndexRepository(indexConfig, Duration.ofSeconds(1), Duration.ZERO);
+
+        luceneIndexRepository.index(createDocument("Durable", "Document to commit"));
+
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(1, reader.numDocs());
+        }
+    }
+
     private Query createQuery(String field, String queryString) throws Exception {
         QueryParser parser = new QueryParser(field, analyzer);
         return parser.parse(queryString);
@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.index.infra;
+
+import static fr.enedis.chutney.index.infra.SubstringSearch.addSubstringField;
+import static fr.enedis.chutney.index.infra.SubstringSearch.substringQuery;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keep it for example.
+ * Compare leading wildcard queries with n-gram term lookups on a synthetic index of execution reports.
+ */
+class SubstringSearchBenchmarkTest {
+
+    private static final int REPORTS = 100_000;
+    private static final int ITERATIONS = 50;
+    private static final List<String> KEYWORDS = List.of("status", "http_get", "0042", "assertion_failed_on_body");
+
+    @Disabled
+    @Test
+    void compare_wildcard_and_ngram_query_latency() throws IOException {
+        try (Directory directory = new ByteBuffersDirectory();
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new CustemChutneyAnalyzer()))) {
+            Random random = new Random(42);
+            for (int i = 0; i < REPORTS; i++) {
+                String report = syntheticReport(random, i);
+                Document document = new Document();
+                document.add(new TextField("report", report, Field.Store.NO));
+                addSubstringField(document, "report", report);
+                writer.addDocument(document);
+            }
+            writer.commit();
+
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                for (String keyword : KEYWORDS) {
+                    Query wildcardQuery = new WildcardQuery(new Term("report", "*" + keyword + "*"));
+                    Query ngramQuery = substringQuery("report", keyword);
+                    assertThat(searcher.count(ngramQuery)).isGreaterThanOrEqualTo(searcher.count(wildcardQuery));
+
+                    System.out.printf("%-25s wildcard: %6d us, n-gram: %6d us%n", keyword, averageMicros(searcher, wildcardQuery), averageMicros(searcher, ngramQuery));
+                }
+            }
+        }
+    }
+
+    private static long averageMicros(IndexSearcher searcher, Query query) throws IOException {
+        searcher.count(query); // warm up
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            searcher.search(query, 100);
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static String syntheticReport(Random random, int index) {
+        StringBuilder report = new StringBuilder();
+        report.append("{\"executionid\":").append(index).append(",\"steps\":[");
+        for (int step = 0; step < 10; step++) {
+            report.append(" {\"name\":\"step_").append(random.nextInt(10_000))
+                .append("\",\"type\":\"").append(random.nextBoolean() ? "http_get" : "sql")
+                .append("\",\"status\":\"").append(random.nextInt(20) == 0 ? "assertion_failed_on_body" : "success")
+                .append("\",\"duration\":").append(random.nextInt(5_000))
+                .append("} ");
+        }
+        return report.append("]}").toString();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.index.infra.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.enedis.chutney.index.infra.CustemChutneyAnalyzer;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OnDiskIndexConfigTest {
+
+    @TempDir
+    private Path indexDir;
+
+    @Test
+    void should_clear_index_with_outdated_structure_for_reindexing() throws IOException {
+        try (Directory directory = FSDirectory.open(indexDir.resolve("report"));
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new CustemChutneyAnalyzer()))) {
+            writer.addDocument(document());
+            writer.commit();
+        }
+
+        OnDiskIndexConfig sut = new OnDiskIndexConfig(indexDir.toString(), "report");
+
+        assertThat(sut.indexWriter().getDocStats().numDocs).isZero();
+        sut.indexWriter().close();
+    }
+
+    @Test
+    void should_keep_index_with_current_structure() throws IOException {
+        OnDiskIndexConfig first = new OnDiskIndexConfig(indexDir.toString(), "report");
+        first.indexWriter().addDocument(document());
+        first.indexWriter().commit();
+        first.indexWriter().close();
+
+        OnDiskIndexConfig sut = new OnDiskIndexConfig(indexDir.toString(), "report");
+
+        assertThat(sut.indexWriter().getDocStats().numDocs).isEqualTo(1);
+        sut.indexWriter().close();
+    }
+
+    private static Document document() {
+        Document document = new Document();
+        document.add(new StringField("id", "1", Field.Store.YES));
+        return document;
+    }
+}
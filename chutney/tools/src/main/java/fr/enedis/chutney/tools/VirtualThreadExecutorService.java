@@ -0,0 +1,150 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.tools;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executor starting a virtual thread per task, where concurrency is bounded by an admission limit instead of a thread count.
+ * <p>
+ * Submitting never blocks : tasks over the limit are queued, and a virtual thread is only started once a task is admitted, in submission order.
+ * On shutdown, queued tasks are still run.
+ */
+public final class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final int admissionLimit;
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int running = 0;
+    private volatile boolean shutdown = false;
+
+    public VirtualThreadExecutorService(String threadNamePrefix, int admissionLimit) {
+        if (admissionLimit < 1) {
+            throw new IllegalArgumentException("Admission limit must be strictly positive");
+        }
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix + "-", 1).factory());
+        this.admissionLimit = admissionLimit;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            if (running < admissionLimit) {
+                running++;
+                start(command);
+            } else {
+                waiting.addLast(command);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of submitted tasks waiting for an admission
+     */
+    public int waitingTasks() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void start(Runnable command) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    done();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running--;
+            throw e;
+        }
+    }
+
+    /**
+     * Hand the admission of a finished task over to the first waiting one.
+     */
+    private void done() {
+        lock.lock();
+        try {
+            Runnable next = waiting.pollFirst();
+            if (next != null) {
+                start(next);
+            } else {
+                running--;
+                if (shutdown && running == 0) {
+                    delegate.shutdown();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (running == 0) {
+                delegate.shutdown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        lock.lock();
+        try {
+            shutdown = true;
+            List<Runnable> notStarted = new ArrayList<>(waiting);
+            waiting.clear();
+            delegate.shutdownNow();
+            return notStarted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: 2017-2026 Enedis
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package fr.enedis.chutney.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadExecutorServiceTest {
+
+    @Test
+    void should_bound_running_tasks_by_admission_limit() throws InterruptedException {
+        VirtualThreadExecutorService sut = new VirtualThreadExecutorService("test", 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            sut.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+        sut.shutdown();
+        assertThat(sut.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_run_tasks_on_named_virtual_threads() throws InterruptedException {
+        VirtualThreadExecutorService sut = new VirtualThreadExecutorService("test-executor", 1);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        sut.execute(() -> { threads.add(Thread.currentThread()); done.countDown(); });
+        sut.execute(() -> { threads.add(Thread.currentThread()); done.countDown(); });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threads).allMatch(Thread::isVirtual);
+        assertThat(threads).extracting(Thread::getName).allMatch(name -> name.startsWith("test-executor-"));
+        sut.shutdown();
+    }
+
+    @Test
+    void should_queue_tasks_over_admission_limit_and_run_them_in_submission_order() throws InterruptedException {
+        VirtualThreadExecutorService sut = new VirtualThreadExecutorService("test", 1);
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+
+        sut.execute(() -> {
+            firstRunning.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add(0);
+            done.countDown();
+        });
+        assertThat(firstRunning.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < 4; i++) {
+            int index = i;
+            sut.execute(() -> { order.add(index); done.countDown(); });
+        }
+
+        assertThat(sut.waitingTasks()).isEqualTo(3);
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(0, 1, 2, 3);
+        assertThat(sut.waitingTasks()).isZero();
+        sut.shutdown();
+    }
+
+    @Test
+    void should_run_queued_tasks_after_shutdown_and_reject_new_ones() throws InterruptedException {
+        VirtualThreadExecutorService sut = new VirtualThreadExecutorService("test", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+
+        sut.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.incrementAndGet();
+        });
+        sut.execute(ran::incrementAndGet);
+        sut.shutdown();
+
+        assertThatThrownBy(() -> sut.execute(ran::incrementAndGet)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(sut.isTerminated()).isFalse();
+        release.countDown();
+        assertThat(sut.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran.get()).isEqualTo(2);
+    }
+}
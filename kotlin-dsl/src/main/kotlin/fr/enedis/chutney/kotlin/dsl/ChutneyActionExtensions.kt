@@ -1119,15 +1119,28 @@ fun ChutneyStepBuilder.JmsBrokerStartAction(
  * -------
  * Outputs:
  * - recordResult : list of result of sql command (List<fr.enedis.chutney.action.sql.core.Records>)
+ * -------
+ * When streaming, rows are read in one pass without row limit, spilled to disk above chutney.actions.sql.streaming.max-in-memory-rows
+ * - recordResult : list of result of sql command (List<fr.enedis.chutney.action.sql.core.StreamedRecords>)
+ * - count, checksum, min, max : row count, order independent checksum, minimum and maximum of each column of a single statement
+ * -------
+ * With batchStatement, the statement is executed once per row of parameters (or csv), by batches within one transaction
+ * - affectedRows : total of affected rows
+ * - batches : rows, affected rows and duration of each batch (List<fr.enedis.chutney.action.sql.core.BatchResult.Batch>)
  */
 fun ChutneyStepBuilder.SqlAction(
     target: String,
-    statements: List<String>,
+    statements: List<String> = listOf(),
     outputs: Map<String, Any> = mapOf(),
     nbLoggedRow: Int? = null,
     minimumMemoryPercentageRequired: Int? = null,
     validations: Map<String, Any> = mapOf(),
-    strategy: Strategy? = null
+    strategy: Strategy? = null,
+    streaming: Boolean? = null,
+    batchStatement: String? = null,
+    parameters: Any? = null,
+    csv: String? = null,
+    batchSize: Int? = null
 ) {
     implementation = ChutneyStepImpl(
         type = "sql",
@@ -1135,7 +1148,12 @@ fun ChutneyStepBuilder.SqlAction(
         inputs = listOf(
             "statements" to statements,
             "nbLoggedRow" to nbLoggedRow,
-            "minimumMemoryPercentageRequired" to minimumMemoryPercentageRequired
+            "minimumMemoryPercentageRequired" to minimumMemoryPercentageRequired,
+            "streaming" to streaming,
+            "batchStatement" to batchStatement,
+            "parameters" to parameters,
+            "csv" to csv,
+            "batchSize" to batchSize
         ).notEmptyToMap(),
         outputs = outputs,
         validations = validations
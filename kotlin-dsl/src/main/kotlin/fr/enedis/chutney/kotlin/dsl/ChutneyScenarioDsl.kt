@@ -86,8 +86,27 @@ class ChutneyScenarioBuilder(
 
 @JsonInclude(NON_EMPTY)
 open class Strategy(val type: String, val parameters: Map<String, String> = emptyMap())
-open class RetryTimeOutStrategy(timeout: String, retryDelay: String) :
-    Strategy(type = TYPE, parameters = mapOf("timeOut" to timeout, "retryDelay" to retryDelay)) {
+open class RetryTimeOutStrategy(
+    timeout: String,
+    retryDelay: String,
+    backoff: String? = null,
+    maxDelay: String? = null,
+    maxAttempts: Int? = null,
+    attemptTimeout: String? = null,
+    retryOn: List<String>? = null
+) :
+    Strategy(
+        type = TYPE,
+        parameters = listOfNotNull(
+            "timeOut" to timeout,
+            "retryDelay" to retryDelay,
+            backoff?.let { "backoff" to it },
+            maxDelay?.let { "maxDelay" to it },
+            maxAttempts?.let { "maxAttempts" to it.toString() },
+            attemptTimeout?.let { "attemptTimeOut" to it },
+            retryOn?.let { "retryOn" to it.joinToString(",") }
+        ).toMap()
+    ) {
     companion object {
         const val TYPE: String = "retry-with-timeout"
     }
@@ -103,6 +122,15 @@ open class IfStrategy(condition: String) :
 open class SoftAssertStrategy :
     Strategy(type = "soft-assert")
 
+open class ParallelStrategy(maxConcurrency: Int? = null, failFast: Boolean = false) :
+    Strategy(
+        type = "parallel",
+        parameters = listOfNotNull(
+            maxConcurrency?.let { "maxConcurrency" to it.toString() },
+            "failFast" to failFast.toString()
+        ).toMap()
+    )
+
 @ChutneyScenarioDsl
 class ChutneyStepBuilder(var description: String = "", var strategy: Strategy? = null) {
 